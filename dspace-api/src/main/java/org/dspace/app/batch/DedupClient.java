@@ -30,12 +30,13 @@ import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
  * CLI Tool used to populate the deduplication index of solr dedup core.
  * 
- * Usage: ./dspace index-deduplication [-chfueto[r <item handle/uuid>]]
+ * Usage: ./dspace index-deduplication [-chfueob[r <item handle/uuid>][t <threads>]]
  */
 public class DedupClient {
     private static Logger log = LogManager.getLogger(DedupClient.class);
@@ -59,7 +60,7 @@ public class DedupClient {
         Context context = new Context();
         context.turnOffAuthorisationSystem();
 
-        String usage = "./dspace index-deduplication [-chfueo[r <item handle/uuid>]]"
+        String usage = "./dspace index-deduplication [-chfueob[r <item handle/uuid>][t <threads>]]"
                 + " or nothing to update/clean an existing index.";
         Options options = new Options();
         HelpFormatter formatter = new HelpFormatter();
@@ -86,6 +87,12 @@ public class DedupClient {
 
         options.addOption("e", "readfile", true, "Read the identifier from a file");
 
+        options.addOption("b", "bulk", false,
+            "rebuild the whole index in bulk, grouping the items by signature in memory");
+
+        options.addOption("t", "threads", true,
+            "number of threads used to rebuild the index, 0 to use all the available processors");
+
         try {
             line = new PosixParser().parse(options, args);
         } catch (Exception e) {
@@ -152,10 +159,21 @@ public class DedupClient {
             } catch (Exception e) {
                 log.error("Error: " + e.getMessage());
             }
+        } else if (line.hasOption("b")) {
+            log.info("Rebuilding Index in bulk");
+            // the rebuild deletes the stale documents only when it succeeds, the index is not cleaned upfront
+            int threads = line.hasOption("t") ? Integer.parseInt(line.getOptionValue("t"))
+                : DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("deduplication.indexer.items.threads", 5);
+            indexer.rebuildIndex(context, threads);
         } else {
             log.info("Updating and Cleaning Index");
             indexer.cleanIndex(line.hasOption("f"));
-            indexer.updateIndex(context, line.hasOption("f"));
+            if (line.hasOption("t")) {
+                indexer.updateIndex(context, line.hasOption("f"), Integer.parseInt(line.getOptionValue("t")));
+            } else {
+                indexer.updateIndex(context, line.hasOption("f"));
+            }
         }
 
         log.info("Done with indexing");
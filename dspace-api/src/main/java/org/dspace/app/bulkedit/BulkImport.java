@@ -22,14 +22,23 @@ import static org.dspace.authorize.ResourcePolicy.TYPE_INHERITED;
 import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 import static org.dspace.util.WorkbookUtils.getCellValue;
 import static org.dspace.util.WorkbookUtils.getRows;
+import static org.dspace.util.WorkbookUtils.isNotEmptyRow;
+import static org.dspace.util.WorkbookUtils.isNotFirstRow;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,6 +53,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -59,6 +69,7 @@ import org.dspace.app.bulkimport.model.EntityRow;
 import org.dspace.app.bulkimport.model.ImportAction;
 import org.dspace.app.bulkimport.model.MetadataGroup;
 import org.dspace.app.bulkimport.model.UploadDetails;
+import org.dspace.app.bulkimport.util.ChildRowSpool;
 import org.dspace.app.bulkimport.util.ImportFileUtil;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
@@ -102,6 +113,7 @@ import org.dspace.submit.model.AccessConditionOption;
 import org.dspace.submit.model.UploadConfiguration;
 import org.dspace.submit.model.UploadConfigurationService;
 import org.dspace.util.MultiFormatDateParser;
+import org.dspace.util.StreamingWorkbookReader;
 import org.dspace.util.UUIDUtils;
 import org.dspace.util.WorkbookUtils;
 import org.dspace.utils.DSpace;
@@ -224,6 +236,20 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
     private Map<String, AccessConditionOption> uploadAccessConditions;
 
+    private boolean streaming;
+
+    private int commitBatchSize;
+
+    private File errorReportFile;
+
+    /**
+     * The messages about the rows of the batch being imported, logged only once
+     * the batch is committed. Null when the rows are imported one by one.
+     */
+    private List<Runnable> batchMessages;
+
+    private Writer errorReport;
+
     @Override
     @SuppressWarnings("unchecked")
     public void setup() throws ParseException {
@@ -263,6 +289,9 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (commandLine.hasOption("er")) {
             abortOnError = true;
         }
+
+        streaming = commandLine.hasOption("s");
+        commitBatchSize = configurationService.getIntProperty("bulkedit.bulk-import.commit.count", 100);
     }
 
     @Override
@@ -296,12 +325,144 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     }
 
     public void performImport(InputStream is) {
+        if (streaming) {
+            performStreamingImport(is);
+            return;
+        }
         Workbook workbook = createWorkbook(is);
         validateWorkbook(workbook);
         List<EntityRow> entityRows = getValidEntityRows(workbook);
         performImport(entityRows);
     }
 
+    /**
+     * Import the given xlsx workbook reading it row by row: the metadata groups
+     * and the bitstreams are read first and spooled in temporary files, then
+     * every valid row of the main sheet is imported as soon as it is read,
+     * together with its own spooled rows, committing every commitBatchSize rows.
+     * The rows with errors are also written in an error report attached to the
+     * process.
+     */
+    private void performStreamingImport(InputStream is) {
+        try (StreamingWorkbookReader reader = new StreamingWorkbookReader(is);
+             ChildRowSpool<MetadataGroup> metadataGroups = new ChildRowSpool<>();
+             ChildRowSpool<UploadDetails> uploadDetails = new ChildRowSpool<>()) {
+
+            Workbook headers = reader.readHeaders();
+            validateWorkbook(headers);
+            openErrorReport();
+
+            handler.logInfo("Start reading all the metadata group rows");
+            for (Sheet sheet : getAllMetadataGroupSheets(headers)) {
+                Map<String, Integer> sheetHeaders = getHeaderMap(sheet);
+                reader.readRows(sheet.getSheetName(), row -> {
+                    if (isNotFirstRow(row) && isNotEmptyRow(row) && isMetadataGroupRowValid(row)) {
+                        spool(metadataGroups, buildMetadataGroup(row, sheetHeaders));
+                    }
+                });
+            }
+            handler.logInfo("Found " + metadataGroups.size() + " metadata groups to process");
+
+            if (headers.getSheet(BITSTREAMS_SHEET_NAME) != null) {
+                handler.logInfo("Start reading all the bitstream rows");
+                reader.readRows(BITSTREAMS_SHEET_NAME, row -> {
+                    if (isNotFirstRow(row) && isNotEmptyRow(row) && isUploadRowValid(row)) {
+                        spool(uploadDetails, buildUploadDetails(row));
+                    }
+                });
+                handler.logInfo("Found " + uploadDetails.size() + " bitstreams to process");
+            }
+
+            Sheet entityRowSheet = headers.getSheetAt(0);
+            Map<String, Integer> entityRowHeaders = getHeaderMap(entityRowSheet);
+
+            List<EntityRow> batch = new ArrayList<>(commitBatchSize);
+            int[] processedRows = { 0 };
+            reader.readRows(entityRowSheet.getSheetName(), row -> {
+                if (isNotFirstRow(row) && isNotEmptyRow(row) && isEntityRowRowValid(row)) {
+                    batch.add(buildEntityRow(row, entityRowHeaders, parentId -> readSpooled(metadataGroups, parentId),
+                        parentId -> readSpooled(uploadDetails, parentId)));
+                }
+                if (batch.size() >= commitBatchSize) {
+                    processedRows[0] += performImportInBatch(batch);
+                }
+            });
+            processedRows[0] += performImportInBatch(batch);
+            handler.logInfo("Processed " + processedRows[0] + " items");
+
+            writeErrorReport();
+
+        } catch (IOException | SQLException | AuthorizeException e) {
+            throw new BulkImportException("An error occurs during the workbook reading", e);
+        } finally {
+            closeErrorReport();
+        }
+    }
+
+    /**
+     * Import the given rows committing only once at the end. If one of the rows
+     * fails the whole batch is rolled back and its rows are imported again one by
+     * one, so that only the failing rows are discarded. The messages about the
+     * rows of the batch are logged only after the commit, so that a rolled back
+     * row is never reported as imported. The given list is cleared.
+     */
+    private int performImportInBatch(List<EntityRow> entityRows) {
+        int size = entityRows.size();
+        if (size == 0) {
+            return 0;
+        }
+
+        List<Runnable> messages = new ArrayList<>();
+        batchMessages = messages;
+        boolean committed = false;
+        try {
+            for (EntityRow entityRow : entityRows) {
+                importEntityRow(entityRow);
+            }
+            context.commit();
+            committed = true;
+        } catch (Exception e) {
+            LOGGER.warn("An error occurs importing the rows from " + entityRows.get(0).getRow() + " to "
+                + entityRows.get(size - 1).getRow() + ", importing them one by one", e);
+        } finally {
+            batchMessages = null;
+        }
+
+        if (committed) {
+            messages.forEach(Runnable::run);
+        } else {
+            rollback();
+            handler.logWarning("Rows from " + entityRows.get(0).getRow() + " to " + entityRows.get(size - 1).getRow()
+                + " rolled back because of an error, importing them again one by one");
+            entityRows.forEach(entityRow -> performImport(entityRow));
+        }
+
+        entityRows.clear();
+        return size;
+    }
+
+    private <T extends ChildRow> Map<String, List<T>> groupByParentId(List<T> childRows) {
+        return childRows.stream()
+            .collect(Collectors.groupingBy(ChildRow::getParentId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private <T extends ChildRow & Serializable> void spool(ChildRowSpool<T> spool, T childRow) {
+        try {
+            spool.add(childRow);
+        } catch (IOException e) {
+            String parentId = childRow.getParentId();
+            throw new BulkImportException("An error occurs spooling a row of the parent " + parentId, e);
+        }
+    }
+
+    private <T extends ChildRow & Serializable> List<T> readSpooled(ChildRowSpool<T> spool, String parentId) {
+        try {
+            return spool.get(parentId);
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs reading the spooled rows of the parent " + parentId, e);
+        }
+    }
+
     private Workbook createWorkbook(InputStream is) {
         try {
             return WorkbookFactory.create(is);
@@ -502,13 +663,16 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         List<MetadataGroup> metadataGroups = getValidMetadataGroups(metadataGroupSheets);
         handler.logInfo("Found " + metadataGroups.size() + " metadata groups to process");
 
-        List<UploadDetails> uploadDetails = getUploadDetails(workbook);
+        Map<String, List<MetadataGroup>> metadataGroupsByParent = groupByParentId(metadataGroups);
+        Map<String, List<UploadDetails>> uploadDetailsByParent = groupByParentId(getUploadDetails(workbook));
 
         return WorkbookUtils.getRows(entityRowSheet)
             .filter(WorkbookUtils::isNotFirstRow)
             .filter(WorkbookUtils::isNotEmptyRow)
             .filter(this::isEntityRowRowValid)
-            .map(row -> buildEntityRow(row, headers, metadataGroups, uploadDetails))
+            .map(row -> buildEntityRow(row, headers,
+                parentId -> metadataGroupsByParent.getOrDefault(parentId, List.of()),
+                parentId -> uploadDetailsByParent.getOrDefault(parentId, List.of())))
             .collect(Collectors.toList());
     }
 
@@ -533,7 +697,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     }
 
     private EntityRow buildEntityRow(Row row, Map<String, Integer> headers,
-        List<MetadataGroup> metadataGroups, List<UploadDetails> uploadDetails) {
+        Function<String, List<MetadataGroup>> metadataGroups, Function<String, List<UploadDetails>> uploadDetails) {
 
         String id = getIdFromRow(row);
         String action = getActionFromRow(row);
@@ -847,32 +1011,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
         try {
 
-            Item item = null;
-
-            switch (entityRow.getAction()) {
-                case ADD:
-                case ADD_ARCHIVE:
-                case ADD_WORKSPACE:
-                    item = addItem(entityRow);
-                    break;
-                case UPDATE:
-                case UPDATE_WORKFLOW:
-                case UPDATE_ARCHIVE:
-                    item = updateItem(entityRow);
-                    break;
-                case DELETE:
-                    deleteItem(entityRow);
-                    break;
-                case NOT_SPECIFIED:
-                default:
-                    item = addOrUpdateItem(entityRow);
-                    break;
-            }
-
-            if (item != null) {
-                context.uncacheEntity(item);
-            }
-
+            importEntityRow(entityRow);
             context.commit();
 
         } catch (BulkImportException bie) {
@@ -884,6 +1023,36 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
     }
 
+    private void importEntityRow(EntityRow entityRow) throws Exception {
+
+        Item item = null;
+
+        switch (entityRow.getAction()) {
+            case ADD:
+            case ADD_ARCHIVE:
+            case ADD_WORKSPACE:
+                item = addItem(entityRow);
+                break;
+            case UPDATE:
+            case UPDATE_WORKFLOW:
+            case UPDATE_ARCHIVE:
+                item = updateItem(entityRow);
+                break;
+            case DELETE:
+                deleteItem(entityRow);
+                break;
+            case NOT_SPECIFIED:
+            default:
+                item = addOrUpdateItem(entityRow);
+                break;
+        }
+
+        if (item != null) {
+            context.uncacheEntity(item);
+        }
+
+    }
+
     private Item addItem(EntityRow entityRow)
         throws AuthorizeException, SQLException, IOException, WorkflowException {
 
@@ -909,7 +1078,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
                 installItem(entityRow, workspaceItem);
                 break;
             case ADD_WORKSPACE:
-                handler.logInfo("Row " + row + " - WorkspaceItem created successfully - ID: " + itemId);
+                logRowInfo("Row " + row + " - WorkspaceItem created successfully - ID: " + itemId);
                 break;
             default:
                 break;
@@ -936,7 +1105,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             List<Bitstream> bitstreams = bitstreamsByBundle.get(uploadDetails.getBundleName());
 
             if (zeroBasedPosition >= bitstreams.size()) {
-                handler.logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow() +
+                logRowError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow() +
                     " - No bitstream found at position " + bitstreamPosition + " for Item with id " + item.getID());
                 continue;
             }
@@ -969,7 +1138,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             throw new RuntimeException(e);
         }
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logRowInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream deleted successfully - ID: " + bitstream.getID());
     }
 
@@ -978,7 +1147,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         updateBitstreamMetadata(bitstream, uploadDetails);
         updateBitstreamPolicies(bitstream, item, uploadDetails);
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logRowInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream updated successfully - ID: " + bitstream.getID());
     }
 
@@ -1030,7 +1199,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
                 try {
                     aco.createResourcePolicy(context, obj, name, description, startDate, endDate);
                 } catch (Exception e) {
-                    handler.logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row "
+                    logRowError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row "
                         + uploadDetails.getRow() + " - " + e.getMessage());
                 }
                 break;
@@ -1046,7 +1215,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         Optional<InputStream> inputStream = importFileUtil.getInputStream(filePath);
 
         if (inputStream.isEmpty()) {
-            handler.logError("Cannot create bitstream from file at path " + filePath);
+            logRowError("Cannot create bitstream from file at path " + filePath);
             return;
         }
 
@@ -1063,7 +1232,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         setBitstreamPolicies(bitstream, uploadDetails);
         setBitstreamFormat(bitstream);
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logRowInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream created successfully - ID: " + bitstream.getID());
 
     }
@@ -1092,7 +1261,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             bitstreamService.setFormat(context, bitstream, bf);
             bitstreamService.update(context, bitstream);
         } catch (SQLException | AuthorizeException e) {
-            handler.logError(e.getMessage());
+            logRowError(e.getMessage());
         }
     }
 
@@ -1112,9 +1281,9 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
         if (authorizeService.isAdmin(context)) {
             installItemService.installItem(context, inProgressItem);
-            handler.logInfo("Row " + row + " - Item archived successfully - ID: " + itemId);
+            logRowInfo("Row " + row + " - Item archived successfully - ID: " + itemId);
         } else {
-            handler.logWarning("Row " + row + " - Current user can't deposit an item directly bypassing the workflow");
+            logRowWarning("Row " + row + " - Current user can't deposit an item directly bypassing the workflow");
         }
 
     }
@@ -1128,9 +1297,9 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         List<String> validationErrors = validateItem(workspaceItem);
         if (CollectionUtils.isEmpty(validationErrors)) {
             workflowService.start(context, workspaceItem);
-            handler.logInfo("Row " + row + " - WorkflowItem created successfully - ID: " + itemId);
+            logRowInfo("Row " + row + " - WorkflowItem created successfully - ID: " + itemId);
         } else {
-            handler.logWarning("Row " + row + " - Invalid item left in workspace - ID: " + itemId
+            logRowWarning("Row " + row + " - Invalid item left in workspace - ID: " + itemId
                 + " - validation errors: " + validationErrors);
         }
 
@@ -1157,7 +1326,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         addUploadsToItem(item, entityRow);
         configureDiscoverability(item, entityRow);
 
-        handler.logInfo("Row " + entityRow.getRow() + " - Item updated successfully - ID: " + item.getID());
+        logRowInfo("Row " + entityRow.getRow() + " - Item updated successfully - ID: " + item.getID());
 
         switch (entityRow.getAction()) {
             case UPDATE_WORKFLOW:
@@ -1181,7 +1350,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (inProgressItem != null) {
             installItem(entityRow, inProgressItem);
         } else {
-            handler.logInfo("Row " + entityRow.getRow() + " - No workspace/workflow item to archive found");
+            logRowInfo("Row " + entityRow.getRow() + " - No workspace/workflow item to archive found");
         }
 
     }
@@ -1193,7 +1362,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (workspaceItem != null) {
             startWorkflow(entityRow, workspaceItem);
         } else {
-            handler.logInfo("Row " + entityRow.getRow() + " - No workspace item to start found");
+            logRowInfo("Row " + entityRow.getRow() + " - No workspace item to start found");
         }
     }
 
@@ -1205,7 +1374,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         }
 
         itemService.delete(context, item);
-        handler.logInfo("Row " + entityRow.getRow() + " - Item deleted successfully");
+        logRowInfo("Row " + entityRow.getRow() + " - Item deleted successfully");
     }
 
     private Item addOrUpdateItem(EntityRow entityRow) throws Exception {
@@ -1472,12 +1641,12 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         }
     }
 
-    private <T extends ChildRow> List<T> getOwnChildRows(Row row, List<T> childRows) {
+    private <T extends ChildRow> List<T> getOwnChildRows(Row row, Function<String, List<T>> childRowsByParentId) {
         String id = getIdFromRow(row);
         int rowIndex = row.getRowNum() + 1;
-        return childRows.stream()
-            .filter(g -> g.getParentId().equals(id) || g.getParentId().equals(ROW_ID + ID_SEPARATOR + rowIndex))
-            .collect(Collectors.toList());
+        List<T> ownChildRows = new ArrayList<>(childRowsByParentId.apply(id));
+        ownChildRows.addAll(childRowsByParentId.apply(ROW_ID + ID_SEPARATOR + rowIndex));
+        return ownChildRows;
     }
 
     private boolean isValidAction(String id, String action, Row row) {
@@ -1583,7 +1752,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         }
 
         String message = "Row " + entityRow.getRow() + " - " + getRootCauseMessage(bie);
-        handler.logError(message);
+        logError(message);
 
     }
 
@@ -1593,7 +1762,68 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (abortOnError) {
             throw new BulkImportException(errorMessage);
         } else {
-            handler.logError(errorMessage);
+            logError(errorMessage);
+        }
+    }
+
+    private void logRowInfo(String message) {
+        logRowMessage(() -> handler.logInfo(message));
+    }
+
+    private void logRowWarning(String message) {
+        logRowMessage(() -> handler.logWarning(message));
+    }
+
+    private void logRowError(String message) {
+        logRowMessage(() -> logError(message));
+    }
+
+    private void logRowMessage(Runnable message) {
+        if (batchMessages != null) {
+            batchMessages.add(message);
+        } else {
+            message.run();
+        }
+    }
+
+    private void logError(String message) {
+        handler.logError(message);
+        if (errorReport != null) {
+            try {
+                errorReport.write(message + System.lineSeparator());
+            } catch (IOException e) {
+                LOGGER.error("An error occurs writing the error report", e);
+            }
+        }
+    }
+
+    private void openErrorReport() throws IOException {
+        errorReportFile = File.createTempFile("bulk-import-errors", ".txt");
+        errorReport = Files.newBufferedWriter(errorReportFile.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private void writeErrorReport() throws IOException, SQLException, AuthorizeException {
+        errorReport.close();
+        errorReport = null;
+        if (errorReportFile.length() > 0) {
+            try (InputStream inputStream = new FileInputStream(errorReportFile)) {
+                handler.writeFilestream(context, "bulk-import-errors.txt", inputStream, "bulkImportErrors");
+            }
+        }
+    }
+
+    private void closeErrorReport() {
+        if (errorReport != null) {
+            try {
+                errorReport.close();
+            } catch (IOException e) {
+                LOGGER.warn("An error occurs closing the error report", e);
+            }
+            errorReport = null;
+        }
+        if (errorReportFile != null) {
+            FileUtils.deleteQuietly(errorReportFile);
+            errorReportFile = null;
         }
     }
 
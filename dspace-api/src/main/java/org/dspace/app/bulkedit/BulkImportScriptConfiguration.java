@@ -56,6 +56,11 @@ public class BulkImportScriptConfiguration<T extends BulkImport> extends ScriptC
             options.getOption("er").setType(boolean.class);
             options.getOption("er").setRequired(false);
 
+            options.addOption("s", "streaming", false, "read the xlsx file row by row, committing the imported "
+                + "items in batches, to import files with many rows with a constant memory usage");
+            options.getOption("s").setType(boolean.class);
+            options.getOption("s").setRequired(false);
+
             super.options = options;
         }
         return options;
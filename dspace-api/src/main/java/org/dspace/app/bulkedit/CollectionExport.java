@@ -7,12 +7,18 @@
  */
 package org.dspace.app.bulkedit;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.UUID;
 
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
 import org.dspace.app.bulkimport.exception.BulkImportException;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
@@ -85,22 +91,27 @@ public class CollectionExport extends DSpaceRunnable<CollectionExportScriptConfi
     }
 
     private void performExport(Collection collection) {
+        File exportFile = null;
         try {
             xlsCollectionCrosswalk.setHandler(handler);
             String fileName = xlsCollectionCrosswalk.getFileName();
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            xlsCollectionCrosswalk.disseminate(context, collection, out);
+            exportFile = Files.createTempFile("collection-export", ".xlsx").toFile();
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(exportFile))) {
+                xlsCollectionCrosswalk.disseminate(context, collection, out);
+            }
 
-            ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
             context.setMode(Context.Mode.READ_WRITE);
-            handler.writeFilestream(context, fileName, in, xlsCollectionCrosswalk.getMIMEType());
+            try (InputStream in = new FileInputStream(exportFile)) {
+                handler.writeFilestream(context, fileName, in, xlsCollectionCrosswalk.getMIMEType());
+            }
 
             handler.logInfo("Items exported successfully into file named " + fileName);
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
             xlsCollectionCrosswalk.setHandler(null);
+            FileUtils.deleteQuietly(exportFile);
         }
     }
 
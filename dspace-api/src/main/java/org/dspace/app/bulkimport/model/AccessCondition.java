@@ -7,6 +7,7 @@
  */
 package org.dspace.app.bulkimport.model;
 
+import java.io.Serializable;
 import java.util.Date;
 
 /**
@@ -15,7 +16,9 @@ import java.util.Date;
  *
  * @author Mohamed Eskander (mohamed.eskander at 4science.it)
  */
-public class AccessCondition {
+public class AccessCondition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String name;
 
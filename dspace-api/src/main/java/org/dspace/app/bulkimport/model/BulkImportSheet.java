@@ -10,10 +10,23 @@ package org.dspace.app.bulkimport.model;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.dspace.util.WorkbookUtils.createCell;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.poi.ss.usermodel.Row;
@@ -21,37 +34,55 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.dspace.app.bulkimport.service.BulkImportWorkbookBuilderImpl;
 import org.dspace.content.Collection;
-import org.dspace.util.WorkbookUtils;
+import org.dspace.util.ColumnWidthEstimator;
 
 /**
  * Class that model one of the sheets of the workbook produced by
  * {@link BulkImportWorkbookBuilderImpl}.
+ * <p>
+ * Only the row being filled is kept in memory: the previous ones are spooled to
+ * a temporary file and copied in the workbook by {@link #writeTo(Workbook, int)}
+ * once all the rows are known. This way the headers can still be appended
+ * while the rows are written (e.g. the language variants of the metadata) and
+ * the workbook can be written by a streaming implementation.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
-public final class BulkImportSheet {
+public final class BulkImportSheet implements Closeable {
 
-    private final Collection collection;
-
-    private final Sheet sheet;
+    private final String name;
 
-    private final Row headerRow;
+    private final Collection collection;
 
     private final Map<String, Integer> headers;
 
+    private final List<String> headerNames;
+
     private final boolean nestedMetadata;
 
-    public BulkImportSheet(Workbook workbook, String sheetname, boolean nestedMetadata, Collection collection) {
-        this.sheet = workbook.createSheet(sheetname);
+    private final File spoolFile;
+
+    private final DataOutputStream spool;
+
+    private Map<Integer, String> lastRow;
+
+    public BulkImportSheet(String name, boolean nestedMetadata, Collection collection) {
+        this.name = name;
         this.collection = collection;
-        this.headerRow = sheet.createRow(0);
         this.headers = new HashMap<String, Integer>();
+        this.headerNames = new ArrayList<String>();
         this.nestedMetadata = nestedMetadata;
+        try {
+            this.spoolFile = Files.createTempFile("bulk-import-sheet", ".bin").toFile();
+            this.spool = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spoolFile)));
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurs creating the temporary file of sheet " + name, e);
+        }
     }
 
-    public Sheet getSheet() {
-        return sheet;
+    public String getName() {
+        return name;
     }
 
     public Collection getCollection() {
@@ -84,32 +115,114 @@ public final class BulkImportSheet {
     public Integer appendHeader(String header) {
         int lastColumn = headers.size();
         headers.put(header, lastColumn);
-        createCell(headerRow, lastColumn, header);
+        headerNames.add(header);
         return lastColumn;
     }
 
-    public Row appendRow() {
-        return sheet.createRow(sheet.getPhysicalNumberOfRows());
+    public void appendRow() {
+        spoolLastRow();
+        lastRow = new TreeMap<Integer, String>();
     }
 
     public void setValueOnLastRow(String header, String value) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
-        int column = getHeaderPosition(header);
-        if (column == -1) {
-            throw new IllegalArgumentException("Unknown header '" + header + "'");
-        }
-        createCell(lastRow, column, value);
+        lastRow.put(getColumn(header), value);
     }
 
     public void appendValueOnLastRow(String header, String value, String separator) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
+        int column = getColumn(header);
+        String cellContent = lastRow.get(column);
+        lastRow.put(column, getValueLimitedByLength(isEmpty(cellContent) ? value : cellContent + separator + value));
+    }
+
+    /**
+     * Create a sheet in the given workbook with the headers and all the rows
+     * appended so far, estimating the column widths from the first rows.
+     *
+     * @param workbook              the workbook to write into
+     * @param columnWidthSampleSize the number of rows used to estimate the column
+     *                              widths
+     */
+    public void writeTo(Workbook workbook, int columnWidthSampleSize) {
+
+        spoolLastRow();
+
+        Sheet sheet = workbook.createSheet(name);
+        ColumnWidthEstimator columnWidthEstimator = new ColumnWidthEstimator(columnWidthSampleSize);
+
+        Row headerRow = sheet.createRow(0);
+        for (int column = 0; column < headerNames.size(); column++) {
+            createCell(headerRow, column, headerNames.get(column));
+        }
+        columnWidthEstimator.sample(headerNames);
+
+        try {
+            spool.close();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(spoolFile)))) {
+                int rowNum = 1;
+                Map<Integer, String> values;
+                while ((values = readRow(in)) != null) {
+                    Row row = sheet.createRow(rowNum++);
+                    values.forEach((column, value) -> createCell(row, column, value));
+                    columnWidthEstimator.sample(values);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurs writing the rows of sheet " + name, e);
+        }
+
+        columnWidthEstimator.apply(sheet);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            spool.close();
+        } finally {
+            Files.deleteIfExists(spoolFile.toPath());
+        }
+    }
+
+    private int getColumn(String header) {
         int column = getHeaderPosition(header);
         if (column == -1) {
             throw new IllegalArgumentException("Unknown header '" + header + "'");
         }
-        String cellContent = WorkbookUtils.getCellValue(lastRow, column);
-        createCell(lastRow, column,
-                getValueLimitedByLength(isEmpty(cellContent) ? value : cellContent + separator + value));
+        return column;
+    }
+
+    private void spoolLastRow() {
+        if (lastRow == null) {
+            return;
+        }
+        try {
+            spool.writeInt(lastRow.size());
+            for (Map.Entry<Integer, String> value : lastRow.entrySet()) {
+                byte[] bytes = StringUtils.defaultString(value.getValue()).getBytes(StandardCharsets.UTF_8);
+                spool.writeInt(value.getKey());
+                spool.writeInt(bytes.length);
+                spool.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurs writing the temporary file of sheet " + name, e);
+        }
+        lastRow = null;
+    }
+
+    private Map<Integer, String> readRow(DataInputStream in) throws IOException {
+        int size;
+        try {
+            size = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        Map<Integer, String> values = new TreeMap<Integer, String>();
+        for (int i = 0; i < size; i++) {
+            int column = in.readInt();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            values.put(column, new String(bytes, StandardCharsets.UTF_8));
+        }
+        return values;
     }
 
     private String getValueLimitedByLength(String value) {
@@ -51,7 +51,7 @@ public class BulkImportWorkbook {
 
     public Optional<BulkImportSheet> getNestedMetadataSheetByName(String name) {
         return nestedMetadataSheets.stream()
-            .filter(sheet -> sheet.getSheet().getSheetName().equals(name))
+            .filter(sheet -> sheet.getName().equals(name))
             .findFirst();
     }
 
@@ -9,12 +9,16 @@ package org.dspace.app.bulkimport.model;
 
 import static org.apache.commons.collections4.multimap.UnmodifiableMultiValuedMap.unmodifiableMultiValuedMap;
 
+import java.io.Serializable;
+
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.content.vo.MetadataValueVO;
 
-public class MetadataGroup implements ChildRow {
+public class MetadataGroup implements ChildRow, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String parentId;
 
@@ -11,6 +11,7 @@ package org.dspace.app.bulkimport.model;
 import static java.util.Collections.unmodifiableList;
 import static org.apache.commons.collections4.multimap.UnmodifiableMultiValuedMap.unmodifiableMultiValuedMap;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.apache.commons.collections4.MultiValuedMap;
@@ -20,7 +21,9 @@ import org.dspace.content.vo.MetadataValueVO;
 /*
  * @author Jurgen Mamani
  */
-public class UploadDetails implements ChildRow {
+public class UploadDetails implements ChildRow, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static final String ORIGINAL_BUNDLE = "ORIGINAL";
 
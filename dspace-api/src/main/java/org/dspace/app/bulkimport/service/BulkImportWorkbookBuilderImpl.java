@@ -23,7 +23,9 @@ import static org.dspace.app.bulkedit.BulkImport.METADATA_ATTRIBUTES_SEPARATOR;
 import static org.dspace.app.bulkedit.BulkImport.METADATA_SEPARATOR;
 import static org.dspace.app.bulkedit.BulkImport.PARENT_ID_HEADER;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -38,11 +40,8 @@ import javax.annotation.PostConstruct;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.dspace.app.bulkedit.BulkImport;
 import org.dspace.app.bulkimport.model.BulkImportSheet;
 import org.dspace.app.bulkimport.model.BulkImportWorkbook;
@@ -64,6 +63,7 @@ import org.dspace.core.Context;
 import org.dspace.core.CrisConstants;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
 import org.dspace.submit.model.AccessConditionOption;
 import org.dspace.submit.model.UploadConfiguration;
 import org.dspace.submit.model.UploadConfigurationService;
@@ -96,6 +96,9 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     @Autowired
     private XlsCollectionCrosswalk xlsCollectionCrosswalk;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     private DCInputsReader reader;
     private DSpaceRunnableHandler handler;
 
@@ -132,24 +135,38 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     @Override
     public Workbook build(Context context, Collection collection, Iterator<ItemDTO> items) {
 
-        Workbook workbook = new XSSFWorkbook();
+        BulkImportSheet mainSheet = null;
+        List<BulkImportSheet> nestedSheets = new ArrayList<>();
+        BulkImportSheet bitstreamSheet = null;
+
+        try {
+
+            mainSheet = writeMainSheetHeader(collection);
+            nestedSheets = writeNestedMetadataSheetsHeader(collection);
+            bitstreamSheet = writeBitstreamSheetHeader(collection);
+
+            BulkImportWorkbook bulkImportWorkbook = new BulkImportWorkbook(mainSheet, nestedSheets, bitstreamSheet);
 
-        BulkImportSheet mainSheet = writeMainSheetHeader(collection, workbook);
-        List<BulkImportSheet> nestedSheets = writeNestedMetadataSheetsHeader(collection, workbook);
-        BulkImportSheet bitstreamSheet = writeBitstreamSheetHeader(collection, workbook);
+            writeWorkbookContent(items, bulkImportWorkbook);
 
-        BulkImportWorkbook bulkImportWorkbook = new BulkImportWorkbook(mainSheet, nestedSheets, bitstreamSheet);
+            SXSSFWorkbook workbook = new SXSSFWorkbook(getRowAccessWindowSize());
+            workbook.setCompressTempFiles(true);
 
-        writeWorkbookContent(items, bulkImportWorkbook);
+            int columnWidthSampleSize = getColumnWidthSampleSize();
+            bulkImportWorkbook.getAllSheets().forEach(sheet -> sheet.writeTo(workbook, columnWidthSampleSize));
 
-        autoSizeColumns(bulkImportWorkbook.getAllSheets());
+            return workbook;
 
-        return workbook;
+        } finally {
+            closeSheet(mainSheet);
+            nestedSheets.forEach(this::closeSheet);
+            closeSheet(bitstreamSheet);
+        }
 
     }
 
-    private BulkImportSheet writeMainSheetHeader(Collection collection, Workbook workbook) {
-        BulkImportSheet mainSheet = new BulkImportSheet(workbook, "items", false, collection);
+    private BulkImportSheet writeMainSheetHeader(Collection collection) {
+        BulkImportSheet mainSheet = new BulkImportSheet("items", false, collection);
         mainSheet.appendHeader(ID_HEADER);
         mainSheet.appendHeader(DISCOVERABLE_HEADER);
         List<String> metadataFields = getSubmissionFormMetadata(collection);
@@ -159,14 +176,14 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         return mainSheet;
     }
 
-    private List<BulkImportSheet> writeNestedMetadataSheetsHeader(Collection collection, Workbook workbook) {
+    private List<BulkImportSheet> writeNestedMetadataSheetsHeader(Collection collection) {
         return getSubmissionFormMetadataGroups(collection).stream()
-            .map(metadataGroup -> writeNestedMetadataSheetHeader(collection, workbook, metadataGroup))
+            .map(metadataGroup -> writeNestedMetadataSheetHeader(collection, metadataGroup))
             .collect(Collectors.toList());
     }
 
-    private BulkImportSheet writeNestedMetadataSheetHeader(Collection collection, Workbook workbook, String field) {
-        BulkImportSheet nestedMetadataSheet = new BulkImportSheet(workbook, field, true, collection);
+    private BulkImportSheet writeNestedMetadataSheetHeader(Collection collection, String field) {
+        BulkImportSheet nestedMetadataSheet = new BulkImportSheet(field, true, collection);
         List<String> nestedMetadataFields = getSubmissionFormMetadataGroup(collection, field);
         nestedMetadataSheet.appendHeader(PARENT_ID_HEADER);
         for (String metadataField : nestedMetadataFields) {
@@ -175,8 +192,8 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         return nestedMetadataSheet;
     }
 
-    private BulkImportSheet writeBitstreamSheetHeader(Collection collection, Workbook workbook) {
-        BulkImportSheet bitstreamSheet = new BulkImportSheet(workbook, BITSTREAMS_SHEET_NAME, true, collection);
+    private BulkImportSheet writeBitstreamSheetHeader(Collection collection) {
+        BulkImportSheet bitstreamSheet = new BulkImportSheet(BITSTREAMS_SHEET_NAME, true, collection);
 
         for (String bitstreamSheetHeader : BulkImport.BITSTREAMS_SHEET_HEADERS) {
             bitstreamSheet.appendHeader(bitstreamSheetHeader);
@@ -232,7 +249,7 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
 
     private void writeNestedMetadataSheet(ItemDTO item, BulkImportSheet nestedMetadataSheet) {
 
-        String groupName = nestedMetadataSheet.getSheet().getSheetName();
+        String groupName = nestedMetadataSheet.getName();
         int groupSize = getMetadataGroupSize(item, groupName);
 
         for (int groupIndex = 0; groupIndex < groupSize; groupIndex++) {
@@ -455,9 +472,6 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         return item.getMetadataValues(metadataGroupFieldName).size();
     }
 
-    private void autoSizeColumns(List<BulkImportSheet> sheets) {
-        sheets.forEach(sheet -> autoSizeColumns(sheet.getSheet()));
-    }
     private ItemDTO convertItem(
             Context context, Collection collection, Item item, BiConsumer<Level, String> logHandler) {
         if (isNotInCollection(context, item, collection)) {
@@ -495,16 +509,25 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         }
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
-            }
+    private void closeSheet(BulkImportSheet sheet) {
+        if (sheet == null) {
+            return;
+        }
+        try {
+            sheet.close();
+        } catch (IOException e) {
+            LOGGER.warn("An error occurs closing the sheet " + sheet.getName(), e);
         }
     }
 
+    private int getRowAccessWindowSize() {
+        return configurationService.getIntProperty("bulkedit.export.row-access-window", 100);
+    }
+
+    private int getColumnWidthSampleSize() {
+        return configurationService.getIntProperty("bulkedit.export.column-width.sample-rows", 100);
+    }
+
     public void setReader(DCInputsReader reader) {
         this.reader = reader;
     }
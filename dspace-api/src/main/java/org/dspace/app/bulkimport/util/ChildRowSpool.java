@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.dspace.app.bulkimport.model.ChildRow;
+
+/**
+ * Spools the child rows of a streamed bulk import in a temporary file, so that
+ * only the position of the rows of each parent is kept in memory. All the rows
+ * must be added before reading the rows of a parent.
+ *
+ * @param <T> the type of the child rows
+ */
+public class ChildRowSpool<T extends ChildRow & Serializable> implements Closeable {
+
+    private final File file;
+
+    private final Map<String, List<Long>> positionsByParentId = new HashMap<>();
+
+    private DataOutputStream output;
+
+    private RandomAccessFile input;
+
+    private long size = 0;
+
+    private int count = 0;
+
+    public ChildRowSpool() throws IOException {
+        this.file = Files.createTempFile("bulk-import-child-rows", ".bin").toFile();
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())));
+    }
+
+    /**
+     * Add the given child row to the spool.
+     *
+     * @param  childRow    the row to add
+     * @throws IOException if the row can not be written
+     */
+    public void add(T childRow) throws IOException {
+        if (output == null) {
+            throw new IllegalStateException("The rows of the spool are already being read");
+        }
+        byte[] bytes = SerializationUtils.serialize(childRow);
+        positionsByParentId.computeIfAbsent(childRow.getParentId(), parentId -> new ArrayList<>()).add(size);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        size += Integer.BYTES + bytes.length;
+        count++;
+    }
+
+    /**
+     * Returns the child rows of the given parent, in the order they were added.
+     *
+     * @param  parentId    the id of the parent row
+     * @return             the child rows, an empty list if there are none
+     * @throws IOException if the rows can not be read
+     */
+    public List<T> get(String parentId) throws IOException {
+        List<Long> positions = positionsByParentId.get(parentId);
+        if (positions == null) {
+            return List.of();
+        }
+        if (input == null) {
+            output.close();
+            output = null;
+            input = new RandomAccessFile(file, "r");
+        }
+        List<T> childRows = new ArrayList<>(positions.size());
+        for (Long position : positions) {
+            input.seek(position);
+            byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            childRows.add(SerializationUtils.deserialize(bytes));
+        }
+        return childRows;
+    }
+
+    /**
+     * Returns the number of rows added to the spool.
+     */
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (output != null) {
+                output.close();
+            }
+            if (input != null) {
+                input.close();
+            }
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+}
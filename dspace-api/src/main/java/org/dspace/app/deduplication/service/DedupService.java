@@ -39,6 +39,22 @@ public interface DedupService {
 
     public void updateIndex(Context context, boolean b);
 
+    /**
+     * Rebuild the signatures of all the items splitting the work between the
+     * given number of threads, one thread per available processor if lower than
+     * one.
+     */
+    public void updateIndex(Context context, boolean force, int numThreads);
+
+    /**
+     * Rebuild the FAKE and MATCH documents of all the items in bulk, grouping
+     * the items by the signature values they share instead of querying the
+     * index for every item, and write back the stored decisions. The previous
+     * FAKE and MATCH documents are removed only if the rebuild succeeds.
+     */
+    public void rebuildIndex(Context context, int numThreads)
+        throws SQLException, SearchServiceException, IOException;
+
     public void optimize();
 
     public void unIndexContent(Context context, String handleOrUuid) throws IllegalStateException, SQLException;
@@ -0,0 +1,473 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.FacetParams;
+import org.dspace.app.deduplication.service.SearchDeduplication;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.DeduplicationFlag;
+import org.dspace.app.deduplication.utils.NearDuplicateSignature;
+import org.dspace.app.deduplication.utils.Signature;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.deduplication.Deduplication;
+import org.dspace.deduplication.service.DeduplicationService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.utils.DSpace;
+import org.dspace.versioning.VersionHistory;
+import org.dspace.versioning.factory.VersionServiceFactory;
+import org.dspace.versioning.service.VersionHistoryService;
+
+/**
+ * Rebuild the whole deduplication index in bulk.
+ * <p>
+ * Instead of querying the dedup core for every item, as
+ * {@link SolrDedupServiceImpl#indexContent(Context, Item, boolean)} does, the
+ * signatures of all the items are computed in parallel (each worker with its
+ * own context) and the FAKE documents are written in batches. The signature
+ * values shared by more than one item are then read from the dedup core in
+ * pages, faceting the new FAKE documents on every signature field, and each
+ * page of shared values gives the MATCH documents, whose version checks are
+ * resolved from the version history collected together with the signatures.
+ * Only the version data of the items and the potential matches are kept in
+ * memory. Finally the stored decisions are written back from the database.
+ * <p>
+ * The FAKE and MATCH documents written by a previous run are deleted only
+ * when the rebuild completes without errors, so that a failed rebuild leaves
+ * the previous documents in place.
+ */
+class SolrDedupBulkIndexer {
+
+    private static final Logger log = LogManager.getLogger(SolrDedupBulkIndexer.class);
+
+    /**
+     * The number of shared signature values whose items are read with a single
+     * query.
+     */
+    private static final int VALUES_PER_QUERY = 100;
+
+    private final SolrDedupServiceImpl dedupService;
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final VersionHistoryService versionHistoryService = VersionServiceFactory.getInstance()
+        .getVersionHistoryService();
+
+    private final DeduplicationService deduplicationService;
+
+    private final SearchDeduplication searchSignature;
+
+    private final int numThreads;
+
+    private final int batchSize;
+
+    private final int maxBucketSize;
+
+    private final Map<String, PotentialMatch> matches = new HashMap<String, PotentialMatch>();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    SolrDedupBulkIndexer(SolrDedupServiceImpl dedupService, DeduplicationService deduplicationService,
+        int numThreads, int batchSize, int maxBucketSize) {
+        this.dedupService = dedupService;
+        this.deduplicationService = deduplicationService;
+        this.numThreads = numThreads < 1 ? Runtime.getRuntime().availableProcessors() : numThreads;
+        this.batchSize = batchSize;
+        this.maxBucketSize = maxBucketSize;
+        this.searchSignature = new DSpace().getServiceManager()
+            .getServiceByName("item".toUpperCase() + "SearchDeduplication", SearchDeduplication.class);
+    }
+
+    void rebuild(Context context) throws SQLException, SearchServiceException, IOException {
+        if (dedupService.getSolr() == null) {
+            throw new IOException("The deduplication core is not available");
+        }
+        long start = System.currentTimeMillis();
+        String rebuildStart = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(start));
+        List<UUID> ids = dedupService.findAllItemIds(context);
+        log.info("Rebuilding the deduplication index of " + ids.size() + " items with " + numThreads + " threads");
+
+        Map<UUID, ItemVersion> versions = computeSignatures(ids);
+        commit();
+        findPotentialMatches(versions, rebuildStart);
+        writeMatches(new ArrayList<PotentialMatch>(matches.values()));
+        writeDecisions(context);
+        commit();
+
+        if (failures.get() > 0) {
+            log.warn(failures.get() + " items or matches could not be written, the FAKE and MATCH documents of the "
+                + "previous runs are kept");
+        } else {
+            // the documents not rewritten belong to items or matches that no longer exist
+            dedupService.delete(SolrDedupServiceImpl.RESOURCE_RESOURCETYPE_FIELD + ":" + Constants.ITEM + " AND "
+                + SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":(" + DeduplicationFlag.FAKE.getDescription() + " OR "
+                + DeduplicationFlag.MATCH.getDescription() + ") AND " + SolrDedupServiceImpl.LAST_INDEXED_FIELD
+                + ":[* TO \"" + rebuildStart + "\"}");
+            commit();
+        }
+
+        log.info("Deduplication index rebuilt in " + (System.currentTimeMillis() - start) + " ms: "
+            + matches.size() + " potential matches");
+    }
+
+    /**
+     * Compute the signatures of the given items, writing their FAKE documents,
+     * and return the version data of the items with at least one signature.
+     */
+    private Map<UUID, ItemVersion> computeSignatures(List<UUID> ids) throws IOException {
+        Map<UUID, ItemVersion> result = new ConcurrentHashMap<UUID, ItemVersion>();
+        runInParallel("signatures", ids, (context, id, batch) -> {
+            Item item = itemService.find(context, id);
+            if (item == null) {
+                return;
+            }
+            Map<String, List<String>> signatures = new HashMap<String, List<String>>();
+            dedupService.fillSignature(context, item, signatures, new ArrayList<String>());
+            if (!signatures.isEmpty()) {
+                VersionHistory history = versionHistoryService.findByItem(context, item);
+                result.put(id, new ItemVersion(history != null ? history.getID() : null,
+                    itemService.isLatestVersion(context, item)));
+                batch.add(dedupService.createDocument(context, id, id, DeduplicationFlag.FAKE, signatures,
+                    searchSignature, null));
+            }
+            context.uncacheEntity(item);
+        });
+        return result;
+    }
+
+    /**
+     * Collect the pairs of items sharing at least one signature value, with the
+     * values they share for every signature, reading the shared values of each
+     * signature field from the FAKE documents written since the rebuild start
+     * in pages of batchSize values.
+     */
+    private void findPotentialMatches(Map<UUID, ItemVersion> versions, String rebuildStart) throws IOException {
+        Map<String, NearDuplicateSignature> nearDuplicateSignatures = dedupService
+            .getNearDuplicateSignatures(Constants.ITEM);
+        String fakeFilter = SolrDedupServiceImpl.RESOURCE_RESOURCETYPE_FIELD + ":" + Constants.ITEM + " AND "
+            + SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.FAKE.getDescription() + " AND "
+            + SolrDedupServiceImpl.LAST_INDEXED_FIELD + ":[\"" + rebuildStart + "\" TO *]";
+
+        for (String field : getSignatureFields()) {
+            Set<String> notSimilar = new HashSet<String>();
+            int offset = 0;
+            List<FacetField.Count> sharedValues;
+            do {
+                sharedValues = findSharedValues(field, fakeFilter, offset);
+                offset += sharedValues.size();
+                List<FacetField.Count> buckets = new ArrayList<FacetField.Count>();
+                for (FacetField.Count value : sharedValues) {
+                    if (value.getCount() > maxBucketSize) {
+                        log.warn("Skipping the " + value.getCount() + " items sharing the " + field + " value "
+                            + value.getName() + ", more than " + maxBucketSize);
+                    } else {
+                        buckets.add(value);
+                    }
+                }
+                for (List<FacetField.Count> chunk : ListUtils.partition(buckets, VALUES_PER_QUERY)) {
+                    addMatches(field, nearDuplicateSignatures.get(field), chunk, fakeFilter, versions, notSimilar);
+                }
+            } while (sharedValues.size() == batchSize);
+            log.info(field + ": " + offset + " shared values, " + matches.size() + " potential matches");
+        }
+    }
+
+    /**
+     * The dedup core fields of the signatures configured for the items.
+     */
+    private Set<String> getSignatureFields() {
+        Set<String> fields = new LinkedHashSet<String>();
+        for (Signature algo : new DSpace().getServiceManager().getServicesByType(Signature.class)) {
+            if (algo.getResourceTypeID() == Constants.ITEM) {
+                fields.add(algo.getSignatureType() + "_signature");
+                fields.add("plain_" + algo.getSignatureType() + "_signature");
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns a page of the values of the given field shared by at least two
+     * FAKE documents, with the number of documents sharing them.
+     */
+    private List<FacetField.Count> findSharedValues(String field, String fakeFilter, int offset)
+        throws IOException {
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(fakeFilter);
+        query.setRows(0);
+        query.setFacet(true);
+        query.addFacetField(field);
+        query.setFacetMinCount(2);
+        query.setFacetLimit(batchSize);
+        query.setFacetSort(FacetParams.FACET_SORT_INDEX);
+        query.set(FacetParams.FACET_OFFSET, offset);
+        FacetField facet = query(query).getFacetField(field);
+        return facet != null && facet.getValues() != null ? facet.getValues() : List.of();
+    }
+
+    /**
+     * Read the FAKE documents sharing the given values of a signature field
+     * and add a potential match for every pair of their items.
+     */
+    private void addMatches(String field, NearDuplicateSignature nearDuplicateSignature,
+        List<FacetField.Count> values, String fakeFilter, Map<UUID, ItemVersion> versions, Set<String> notSimilar)
+        throws IOException {
+        Map<String, List<UUID>> buckets = new HashMap<String, List<UUID>>();
+        long rows = 0;
+        for (FacetField.Count value : values) {
+            buckets.put(value.getName(), new ArrayList<UUID>(2));
+            rows += value.getCount();
+        }
+
+        SolrQuery query = new SolrQuery(field + ":(" + values.stream()
+            .map(value -> ClientUtils.escapeQueryChars(value.getName()))
+            .collect(Collectors.joining(" OR ")) + ")");
+        query.addFilterQuery(fakeFilter);
+        query.setFields(SolrDedupServiceImpl.RESOURCE_IDS_FIELD, field);
+        query.setRows((int) rows);
+
+        Map<UUID, List<String>> fieldValues = new HashMap<UUID, List<String>>();
+        for (SolrDocument document : query(query).getResults()) {
+            UUID id = UUID.fromString((String) document.getFirstValue(SolrDedupServiceImpl.RESOURCE_IDS_FIELD));
+            List<String> documentValues = document.getFieldValues(field).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+            fieldValues.put(id, documentValues);
+            for (String value : new HashSet<String>(documentValues)) {
+                List<UUID> bucket = buckets.get(value);
+                if (bucket != null) {
+                    bucket.add(id);
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<UUID>> bucket : buckets.entrySet()) {
+            List<UUID> members = bucket.getValue();
+            for (int i = 0; i < members.size(); i++) {
+                for (int j = i + 1; j < members.size(); j++) {
+                    UUID first = members.get(i);
+                    UUID second = members.get(j);
+                    if (!isCandidate(versions.get(first), versions.get(second))) {
+                        continue;
+                    }
+                    String pairKey = PotentialMatch.key(first, second);
+                    PotentialMatch match = matches.get(pairKey);
+                    boolean alreadyVerified = match != null && match.signatures.containsKey(field);
+                    if (nearDuplicateSignature != null && !alreadyVerified) {
+                        if (notSimilar.contains(pairKey) || !nearDuplicateSignature
+                            .isSimilar(fieldValues.get(first), fieldValues.get(second))) {
+                            notSimilar.add(pairKey);
+                            continue;
+                        }
+                    }
+                    if (match == null) {
+                        match = new PotentialMatch(first, second);
+                        matches.put(pairKey, match);
+                    }
+                    match.signatures.computeIfAbsent(field, key -> new ArrayList<String>()).add(bucket.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Two different versions of the same item never match, and at least one of
+     * the two items must be the latest version.
+     */
+    private boolean isCandidate(ItemVersion first, ItemVersion second) {
+        if (first == null || second == null) {
+            return false;
+        }
+        if (first.versionHistoryId != null && first.versionHistoryId.equals(second.versionHistoryId)) {
+            return false;
+        }
+        return first.latestVersion || second.latestVersion;
+    }
+
+    private void writeMatches(List<PotentialMatch> matches) throws IOException {
+        runInParallel("matches", matches, (context, match, batch) -> {
+            batch.add(dedupService.createDocument(context, match.firstId, match.secondId, DeduplicationFlag.MATCH,
+                match.signatures, searchSignature, null));
+        });
+    }
+
+    private void writeDecisions(Context context) throws SQLException, IOException {
+        int offset = 0;
+        List<Deduplication> rows;
+        do {
+            rows = deduplicationService.findAll(context, batchSize, offset);
+            List<SolrInputDocument> batch = new ArrayList<SolrInputDocument>();
+            for (Deduplication row : rows) {
+                addDecision(context, batch, row, row.getSubmitterDecision(), row.getReaderNote());
+                addDecision(context, batch, row, row.getWorkflowDecision(), row.getReaderNote());
+                addDecision(context, batch, row, row.getAdminDecision(), row.getNote());
+                context.uncacheEntity(row);
+            }
+            dedupService.writeDocuments(batch);
+            offset += rows.size();
+        } while (rows.size() == batchSize);
+        log.info("decisions: " + offset + " rows");
+    }
+
+    private void addDecision(Context context, List<SolrInputDocument> batch, Deduplication row, String decision,
+        String note) {
+        if (StringUtils.isNotBlank(decision)) {
+            batch.add(dedupService.createDocument(context, row.getFirstItemId(), row.getSecondItemId(),
+                DeduplicationFlag.getEnum(decision), null, null, note));
+        }
+    }
+
+    private QueryResponse query(SolrQuery query) throws IOException {
+        try {
+            return dedupService.getSolr().query(query, SolrRequest.METHOD.POST);
+        } catch (SolrServerException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void commit() throws IOException {
+        try {
+            dedupService.getSolr().commit();
+        } catch (SolrServerException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Process the given elements in chunks of batchSize elements, distributed
+     * between the worker threads. Each chunk is processed with its own context
+     * and its documents are written with a single update request.
+     */
+    private <T> void runInParallel(String phase, List<T> elements, Worker<T> worker) throws IOException {
+        AtomicInteger processed = new AtomicInteger();
+        int total = elements.size();
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int offset = 0; offset < total; offset += batchSize) {
+            List<T> chunk = elements.subList(offset, Math.min(offset + batchSize, total));
+            tasks.add(() -> {
+                processChunk(chunk, worker);
+                log.info(phase + ": " + processed.addAndGet(chunk.size()) + " / " + total);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> void processChunk(List<T> chunk, Worker<T> worker) throws IOException {
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+        try {
+            List<SolrInputDocument> batch = new ArrayList<SolrInputDocument>(chunk.size());
+            for (T element : chunk) {
+                try {
+                    worker.process(context, element, batch);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    log.error("Error processing " + element + " for the deduplication index: " + e.getMessage(), e);
+                }
+            }
+            dedupService.writeDocuments(batch);
+        } finally {
+            context.abort();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker<T> {
+        void process(Context context, T element, List<SolrInputDocument> batch) throws Exception;
+    }
+
+    private static class ItemVersion {
+
+        private final Integer versionHistoryId;
+
+        private final boolean latestVersion;
+
+        ItemVersion(Integer versionHistoryId, boolean latestVersion) {
+            this.versionHistoryId = versionHistoryId;
+            this.latestVersion = latestVersion;
+        }
+    }
+
+    private static class PotentialMatch {
+
+        private final UUID firstId;
+
+        private final UUID secondId;
+
+        private final Map<String, List<String>> signatures = new HashMap<String, List<String>>();
+
+        PotentialMatch(UUID firstId, UUID secondId) {
+            this.firstId = firstId;
+            this.secondId = secondId;
+        }
+
+        static String key(UUID firstId, UUID secondId) {
+            UUID[] sortedIds = new UUID[] { firstId, secondId };
+            Arrays.sort(sortedIds);
+            return sortedIds[0] + "-" + sortedIds[1];
+        }
+
+        @Override
+        public String toString() {
+            return key(firstId, secondId);
+        }
+    }
+}
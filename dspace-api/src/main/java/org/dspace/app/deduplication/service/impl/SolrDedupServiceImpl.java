@@ -21,9 +21,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import com.google.common.collect.ImmutableList;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.apache.logging.log4j.LogManager;
@@ -45,6 +45,7 @@ import org.dspace.app.deduplication.service.SearchDeduplication;
 import org.dspace.app.deduplication.service.SolrDedupServiceIndexPlugin;
 import org.dspace.app.deduplication.utils.DuplicateItemInfo;
 import org.dspace.app.deduplication.utils.IDedupUtils;
+import org.dspace.app.deduplication.utils.NearDuplicateSignature;
 import org.dspace.app.deduplication.utils.Signature;
 import org.dspace.app.util.Util;
 import org.dspace.authorize.AuthorizeException;
@@ -116,6 +117,9 @@ public class SolrDedupServiceImpl implements DedupService {
 
     private DSpace dspace = new DSpace();
 
+    private final Map<Integer, Map<String, NearDuplicateSignature>> nearDuplicateSignatures =
+        new ConcurrentHashMap<>();
+
     public static final String SUBQUERY_NOT_IN_REJECTED = "-({!join from=" + RESOURCE_ID_FIELD + " to="
             + RESOURCE_ID_FIELD + "}" + RESOURCE_FLAG_FIELD + ":reject_admin)";
 
@@ -293,7 +297,7 @@ public class SolrDedupServiceImpl implements DedupService {
 
     }
 
-    private void fillSignature(Context ctx, DSpaceObject iu, Map<String, List<String>> tmpMapFilter,
+    void fillSignature(Context ctx, DSpaceObject iu, Map<String, List<String>> tmpMapFilter,
             List<String> tmpFilter) {
         // get all algorithms to build signature
         List<Signature> signAlgo = dspace.getServiceManager().getServicesByType(Signature.class);
@@ -365,6 +369,7 @@ public class SolrDedupServiceImpl implements DedupService {
         String[] tmpArrayFilter = new String[tmpFilter.size()];
         QueryResponse response = find("*:*", tmpFilter.toArray(tmpArrayFilter));
         SolrDocumentList list = response.getResults();
+        Map<String, NearDuplicateSignature> nearDuplicateSignatures = getNearDuplicateSignatures(iu.getType());
         external: for (SolrDocument resultDoc : list) {
 
             // build the MATCH identifier
@@ -389,6 +394,7 @@ public class SolrDedupServiceImpl implements DedupService {
             }
 
             Map<String, List<String>> tmp = new HashMap<String, List<String>>();
+            boolean rejectedCandidate = false;
 
             for (String field : resultDoc.getFieldNames()) {
                 List<String> valueResult = new ArrayList<String>();
@@ -403,17 +409,57 @@ public class SolrDedupServiceImpl implements DedupService {
                             }
                         }
                     }
+                    // a collision of near-duplicate buckets is only a candidate, check the similarity
+                    NearDuplicateSignature nearDuplicateSignature = nearDuplicateSignatures.get(field);
+                    if (!valueResult.isEmpty() && nearDuplicateSignature != null && !nearDuplicateSignature
+                        .isSimilar(valueCurrentSignature, valuesSignature.stream().map(String::valueOf)
+                            .collect(Collectors.toList()))) {
+                        valueResult.clear();
+                        rejectedCandidate = true;
+                    }
                 }
                 if (!valueResult.isEmpty()) {
                     tmp.put(field, valueResult);
                 }
             }
 
+            // a candidate whose near-duplicate collisions were all rejected is not a match, the
+            // other documents returned by the signature query are matched as before
+            if (rejectedCandidate && tmp.isEmpty()) {
+                continue external;
+            }
+
             build(ctx, iu.getID(), matchId, DeduplicationFlag.MATCH, tmp, searchSignature, null);
 
         }
     }
 
+    /**
+     * Returns the near-duplicate signatures configured for the given resource
+     * type, keyed by the names of the dedup core fields they are stored in. The
+     * signatures are looked up once for each resource type.
+     */
+    Map<String, NearDuplicateSignature> getNearDuplicateSignatures(int resourceType) {
+        return nearDuplicateSignatures.computeIfAbsent(resourceType, type -> {
+            Map<String, NearDuplicateSignature> result = new HashMap<String, NearDuplicateSignature>();
+            for (Signature algo : dspace.getServiceManager().getServicesByType(Signature.class)) {
+                if (algo instanceof NearDuplicateSignature && algo.getResourceTypeID() == type) {
+                    result.put(algo.getSignatureType() + "_signature", (NearDuplicateSignature) algo);
+                    result.put("plain_" + algo.getSignatureType() + "_signature", (NearDuplicateSignature) algo);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Forget the near-duplicate signatures looked up so far, so that the
+     * signatures registered since then are used by the next indexing.
+     */
+    protected void clearNearDuplicateSignatures() {
+        nearDuplicateSignatures.clear();
+    }
+
     private boolean isNotLastVersion(Context context, UUID itemId) {
         try {
             Item item = itemService.find(context, itemId);
@@ -455,6 +501,24 @@ public class SolrDedupServiceImpl implements DedupService {
 
     public void build(Context ctx, UUID firstId, UUID secondId, DeduplicationFlag flag,
             Map<String, List<String>> signatures, SearchDeduplication searchSignature, String note) {
+        SolrInputDocument doc = createDocument(ctx, firstId, secondId, flag, signatures, searchSignature, note);
+        String dedupID = (String) doc.getFieldValue(RESOURCE_ID_FIELD);
+
+        // write the document to the index
+        try {
+            writeDocument(doc);
+            log.info("Wrote " + flag.description + " duplicate: " + dedupID + " to Index");
+        } catch (RuntimeException e) {
+            log.error("Error while writing a " + flag.description + " to deduplication index: " + dedupID + " message:"
+                    + e.getMessage(), e);
+        } catch (IOException e) {
+            log.error("Error while writing a " + flag.description + " to deduplication index: " + dedupID + " message:"
+                    + e.getMessage(), e);
+        }
+    }
+
+    SolrInputDocument createDocument(Context ctx, UUID firstId, UUID secondId, DeduplicationFlag flag,
+            Map<String, List<String>> signatures, SearchDeduplication searchSignature, String note) {
         SolrInputDocument doc = new SolrInputDocument();
 
         // build upgraded document
@@ -494,17 +558,7 @@ public class SolrDedupServiceImpl implements DedupService {
 
         }
 
-        // write the document to the index
-        try {
-            writeDocument(doc);
-            log.info("Wrote " + flag.description + " duplicate: " + dedupID + " to Index");
-        } catch (RuntimeException e) {
-            log.error("Error while writing a " + flag.description + " to deduplication index: " + dedupID + " message:"
-                    + e.getMessage(), e);
-        } catch (IOException e) {
-            log.error("Error while writing a " + flag.description + " to deduplication index: " + dedupID + " message:"
-                    + e.getMessage(), e);
-        }
+        return doc;
     }
 
     private boolean areDifferentVersionsOfSameItem(Context context, Item iu, UUID matchId) {
@@ -527,6 +581,24 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
+    /**
+     * Write the given documents to the index with a single update request.
+     *
+     * @throws IOException if the documents cannot be written
+     */
+    void writeDocuments(Collection<SolrInputDocument> docs) throws IOException {
+        if (docs.isEmpty()) {
+            return;
+        }
+        try {
+            if (getSolr() != null) {
+                getSolr().add(docs);
+            }
+        } catch (SolrServerException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void unIndexContent(Context context, Item item) {
         try {
@@ -654,7 +726,8 @@ public class SolrDedupServiceImpl implements DedupService {
     @Override
     public void indexContent(Context context, List<UUID> ids, boolean force) {
         try {
-            startMultiThreadIndex(context, force, ids);
+            startMultiThreadIndex(context, force, ids,
+                configurationService.getIntProperty("deduplication.indexer.items.threads", 5));
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -662,16 +735,31 @@ public class SolrDedupServiceImpl implements DedupService {
 
     @Override
     public void updateIndex(Context context, boolean force) {
+        updateIndex(context, force, configurationService.getIntProperty("deduplication.indexer.items.threads", 5));
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, int numThreads) {
         try {
-            startMultiThreadIndex(context, true, null);
+            List<UUID> ids = findAllItemIds(context);
+            startMultiThreadIndex(context, true, ids, numThreads);
             commit();
-            startMultiThreadIndex(context, false, null);
+            startMultiThreadIndex(context, false, ids, numThreads);
             commit();
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    @Override
+    public void rebuildIndex(Context context, int numThreads)
+        throws SQLException, SearchServiceException, IOException {
+        new SolrDedupBulkIndexer(this, deduplicationService, numThreads,
+            configurationService.getIntProperty("deduplication.indexer.bulk.batch-size", 1000),
+            configurationService.getIntProperty("deduplication.indexer.bulk.max-bucket-size", 500))
+            .rebuild(context);
+    }
+
     @Override
     public void optimize() {
         try {
@@ -757,15 +845,30 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
-    private void startMultiThreadIndex(Context context, boolean onlyFake, List<UUID> ids) throws SQLException {
-        int numThreads = configurationService.getIntProperty("deduplication.indexer.items.threads", 5);
+    List<UUID> findAllItemIds(Context context) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        Iterator<Item> items = itemService.findAllUnfiltered(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            ids.add(item.getID());
+            context.uncacheEntity(item);
+        }
+        return ids;
+    }
+
+    /**
+     * Split the given items between the indexer threads, each one with its own
+     * context, and wait for all of them to complete. A number of threads lower
+     * than one means one thread per available processor.
+     */
+    private void startMultiThreadIndex(Context context, boolean onlyFake, List<UUID> ids, int numThreads)
+        throws SQLException {
+        if (numThreads < 1) {
+            numThreads = Runtime.getRuntime().availableProcessors();
+        }
 
         if (ids == null) {
-            ids = new ArrayList<>();
-            Iterator<Item> items = itemService.findAllUnfiltered(context);
-            for (Item item : ImmutableList.copyOf(items)) {
-                ids.add(item.getID());
-            }
+            ids = findAllItemIds(context);
         }
         List<UUID>[] arrayIDList = Util.splitList(ids, numThreads);
         List<IndexerThread> threads = new ArrayList<IndexerThread>();
@@ -774,11 +877,12 @@ public class SolrDedupServiceImpl implements DedupService {
             thread.start();
             threads.add(thread);
         }
-        boolean finished = false;
-        while (!finished) {
-            finished = true;
-            for (IndexerThread thread : threads) {
-                finished = finished && !thread.isAlive();
+        for (IndexerThread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
             }
         }
     }
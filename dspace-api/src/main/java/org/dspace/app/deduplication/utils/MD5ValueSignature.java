@@ -211,7 +211,7 @@ public class MD5ValueSignature implements Signature {
         return result;
     }
 
-    private DSpaceObject getParent(Context context, DSpaceObject obj) {
+    protected DSpaceObject getParent(Context context, DSpaceObject obj) {
         Item item = (Item) obj;
         try {
             if (item.isArchived()) {
@@ -0,0 +1,265 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.ibm.icu.text.Normalizer;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Computes the MinHash sketch of the character shingles of a text and splits it
+ * in locality-sensitive hashing bands.
+ * <p>
+ * Each band is encoded as a token made of two hex digits for the band index,
+ * eight hex digits for the blocking key and eight hex digits for every row of
+ * the band. Two texts share at least one band token with a probability that
+ * grows steeply with their Jaccard similarity, so the tokens can be stored in
+ * the deduplication core and candidate pairs retrieved with a plain term query.
+ * The similarity of the candidates is then estimated from the decoded sketches
+ * with {@link #estimateSimilarity(List, List)}.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public class MinHashGenerator {
+
+    private static final long MERSENNE_PRIME = (1L << 31) - 1;
+
+    private static final HashFunction SHINGLE_HASH = Hashing.murmur3_32_fixed();
+
+    private static final int BAND_LENGTH = 2;
+
+    private static final int BLOCK_LENGTH = 8;
+
+    private static final int VALUE_LENGTH = 8;
+
+    private final int bands;
+
+    private final int rows;
+
+    private final int shingleSize;
+
+    private final long[] multipliers;
+
+    private final long[] increments;
+
+    public MinHashGenerator(int bands, int rows, int shingleSize, long seed) {
+        if (bands <= 0 || bands > 0xff || rows <= 0 || shingleSize <= 0) {
+            throw new IllegalArgumentException("Invalid MinHash configuration: bands=" + bands + ", rows=" + rows
+                + ", shingleSize=" + shingleSize);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.multipliers = new long[bands * rows];
+        this.increments = new long[bands * rows];
+        Random random = new Random(seed);
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = 1 + Math.floorMod(random.nextLong(), MERSENNE_PRIME - 1);
+            increments[i] = Math.floorMod(random.nextLong(), MERSENNE_PRIME);
+        }
+    }
+
+    /**
+     * Normalize the given text removing diacritics, punctuation and case, so
+     * that only letters and digits separated by single spaces remain.
+     *
+     * @param  text the text to normalize
+     * @return      the normalized text, empty if the text has no letters or digits
+     */
+    public String normalize(String text) {
+        if (StringUtils.isBlank(text)) {
+            return StringUtils.EMPTY;
+        }
+        String norm = Normalizer.normalize(text, Normalizer.NFD);
+        norm = norm.replaceAll("\\p{M}", "");
+        norm = norm.replaceAll("[^\\p{L}\\p{N}]+", " ");
+        return norm.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Compute the MinHash sketch of the given text.
+     *
+     * @param  text the text to sketch
+     * @return      the minimum hash of the text shingles for each hash function,
+     *              or null if the text has nothing to compare
+     */
+    public int[] sketch(String text) {
+        Set<String> shingles = shingles(normalize(text));
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] sketch = new int[bands * rows];
+        Arrays.fill(sketch, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = Math.floorMod(SHINGLE_HASH.hashString(shingle, StandardCharsets.UTF_8).asInt(),
+                MERSENNE_PRIME);
+            for (int i = 0; i < sketch.length; i++) {
+                int value = (int) ((multipliers[i] * hash + increments[i]) % MERSENNE_PRIME);
+                if (value < sketch[i]) {
+                    sketch[i] = value;
+                }
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Encode the given sketch as one token per band.
+     *
+     * @param  blockingKey an optional key (collection, entity type) that must be
+     *                     equal for two sketches to collide, may be empty
+     * @param  sketch      the sketch computed by {@link #sketch(String)}
+     * @return             the band tokens, in band order
+     */
+    public List<String> toBandTokens(String blockingKey, int[] sketch) {
+        List<String> tokens = new ArrayList<String>(bands);
+        String block = toHex(StringUtils.defaultString(blockingKey).hashCode(), BLOCK_LENGTH);
+        for (int band = 0; band < bands; band++) {
+            StringBuilder token = new StringBuilder(BAND_LENGTH + BLOCK_LENGTH + rows * VALUE_LENGTH);
+            token.append(toHex(band, BAND_LENGTH)).append(block);
+            for (int row = 0; row < rows; row++) {
+                token.append(toHex(sketch[band * rows + row], VALUE_LENGTH));
+            }
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Estimate the Jaccard similarity of two signatures built with
+     * {@link #toBandTokens(String, int[])}. When the signatures hold several
+     * sketches (multi-valued metadata) the best pair is considered; sketches
+     * with different blocking keys are never similar.
+     *
+     * @param  first  the band tokens of the first object
+     * @param  second the band tokens of the second object
+     * @return        the estimated similarity, between 0 and 1
+     */
+    public double estimateSimilarity(List<String> first, List<String> second) {
+        double best = 0;
+        List<DecodedSketch> secondSketches = decode(second);
+        for (DecodedSketch firstSketch : decode(first)) {
+            for (DecodedSketch secondSketch : secondSketches) {
+                best = Math.max(best, firstSketch.similarity(secondSketch));
+            }
+        }
+        return best;
+    }
+
+    private Set<String> shingles(String text) {
+        Set<String> shingles = new LinkedHashSet<String>();
+        if (StringUtils.isEmpty(text)) {
+            return shingles;
+        }
+        if (text.length() <= shingleSize) {
+            shingles.add(text);
+            return shingles;
+        }
+        for (int i = 0; i + shingleSize <= text.length(); i++) {
+            shingles.add(text.substring(i, i + shingleSize));
+        }
+        return shingles;
+    }
+
+    private List<DecodedSketch> decode(List<String> tokens) {
+        List<DecodedSketch> sketches = new ArrayList<DecodedSketch>();
+        if (tokens == null) {
+            return sketches;
+        }
+        int tokenLength = BAND_LENGTH + BLOCK_LENGTH + rows * VALUE_LENGTH;
+        DecodedSketch current = null;
+        for (String token : tokens) {
+            if (token == null || token.length() != tokenLength) {
+                continue;
+            }
+            try {
+                int band = Integer.parseInt(token.substring(0, BAND_LENGTH), 16);
+                String block = token.substring(BAND_LENGTH, BAND_LENGTH + BLOCK_LENGTH);
+                if (band >= bands) {
+                    continue;
+                }
+                if (current == null || band == 0 || current.hasBand(band) || !current.block.equals(block)) {
+                    current = new DecodedSketch(block);
+                    sketches.add(current);
+                }
+                for (int row = 0; row < rows; row++) {
+                    int start = BAND_LENGTH + BLOCK_LENGTH + row * VALUE_LENGTH;
+                    current.values[band * rows + row] = Long.parseLong(token.substring(start, start + VALUE_LENGTH),
+                        16);
+                }
+                current.present[band] = true;
+            } catch (NumberFormatException e) {
+                // not a band token, ignore it
+            }
+        }
+        return sketches;
+    }
+
+    private static String toHex(int value, int length) {
+        return StringUtils.leftPad(Integer.toHexString(value), length, '0');
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    private class DecodedSketch {
+
+        private final String block;
+
+        private final long[] values = new long[MinHashGenerator.this.bands * rows];
+
+        private final boolean[] present = new boolean[MinHashGenerator.this.bands];
+
+        DecodedSketch(String block) {
+            this.block = block;
+        }
+
+        boolean hasBand(int band) {
+            return present[band];
+        }
+
+        double similarity(DecodedSketch other) {
+            if (!block.equals(other.block)) {
+                return 0;
+            }
+            int compared = 0;
+            int equal = 0;
+            for (int band = 0; band < present.length; band++) {
+                if (!present[band] || !other.present[band]) {
+                    continue;
+                }
+                for (int row = 0; row < rows; row++) {
+                    compared++;
+                    if (values[band * rows + row] == other.values[band * rows + row]) {
+                        equal++;
+                    }
+                }
+            }
+            return compared == 0 ? 0 : (double) equal / compared;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.external.model.ExternalDataObject;
+
+/**
+ * Near-duplicate signature based on the MinHash of the character shingles of a
+ * metadata value (typically the title). The signature values are the
+ * locality-sensitive hashing bands computed by {@link MinHashGenerator}, so two
+ * items become candidate duplicates as soon as one band collides and are
+ * reported as duplicates only if their estimated similarity reaches the
+ * configured threshold. Unlike {@link MD5ValueSignature}, titles that differ by
+ * a word or a typo are still detected.
+ * <p>
+ * The collection and the entity type of the item, when enabled with
+ * useCollection and useEntityType, are used as blocking key: items with a
+ * different key never collide.
+ */
+public class MinHashSignature extends MD5ValueSignature implements NearDuplicateSignature {
+
+    private int bands = 16;
+
+    private int rows = 4;
+
+    private int shingleSize = 3;
+
+    private long seed = 7919;
+
+    private double similarityThreshold = 0.8;
+
+    private MinHashGenerator generator;
+
+    @Override
+    public List<String> getSignature(DSpaceObject item, Context context) {
+        return computeSignature(getMultiValue(item, getMetadata()), getBlockingKey(item, context));
+    }
+
+    @Override
+    public List<String> getPlainSignature(DSpaceObject item, Context context) {
+        return computeSignature(getMultiValue(item, getMetadata()), StringUtils.EMPTY);
+    }
+
+    @Override
+    public List<String> getSignature(ExternalDataObject object) {
+        return computeSignature(getMultiValue(object, getMetadata()), StringUtils.EMPTY);
+    }
+
+    @Override
+    public boolean isSimilar(List<String> signature, List<String> otherSignature) {
+        return getGenerator().estimateSimilarity(signature, otherSignature) >= similarityThreshold;
+    }
+
+    private List<String> computeSignature(List<String> values, String blockingKey) {
+        List<String> result = new ArrayList<String>();
+        if (values == null) {
+            return result;
+        }
+        MinHashGenerator minHash = getGenerator();
+        for (String value : values) {
+            int[] sketch = minHash.sketch(removeIgnoredPrefix(value));
+            if (sketch != null) {
+                result.addAll(minHash.toBandTokens(blockingKey, sketch));
+            }
+        }
+        return result;
+    }
+
+    private String removeIgnoredPrefix(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return value;
+        }
+        for (String prefix : ignorePrefix) {
+            if (value.startsWith(prefix)) {
+                return value.substring(prefix.length());
+            }
+        }
+        return value;
+    }
+
+    private String getBlockingKey(DSpaceObject item, Context context) {
+        String key = StringUtils.EMPTY;
+        if (Objects.nonNull(item) && isUseCollection()) {
+            DSpaceObject parent = getParent(context, item);
+            if (Objects.nonNull(parent)) {
+                key += parent.getID().toString();
+            }
+        }
+        if (item instanceof Item && isUseEntityType()) {
+            key += StringUtils.defaultString(
+                getItemService().getMetadataFirstValue((Item) item, "dspace", "entity", "type", null));
+        }
+        return key;
+    }
+
+    synchronized MinHashGenerator getGenerator() {
+        if (generator == null) {
+            generator = new MinHashGenerator(bands, rows, shingleSize, seed);
+        }
+        return generator;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public synchronized void setBands(int bands) {
+        this.bands = bands;
+        this.generator = null;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public synchronized void setRows(int rows) {
+        this.rows = rows;
+        this.generator = null;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public synchronized void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+        this.generator = null;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public synchronized void setSeed(long seed) {
+        this.seed = seed;
+        this.generator = null;
+    }
+
+    public double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    public void setSimilarityThreshold(double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.util.List;
+
+/**
+ * A {@link Signature} whose values are not exact fingerprints but buckets of a
+ * locality-sensitive hash: objects sharing a value are only candidate
+ * duplicates, that must be confirmed comparing their whole signatures.
+ */
+public interface NearDuplicateSignature extends Signature {
+
+    /**
+     * Check if two objects whose signatures share at least one value are similar
+     * enough to be considered duplicates.
+     *
+     * @param  signature      the signature values of the first object
+     * @param  otherSignature the signature values of the second object
+     * @return                true if the two objects are near duplicates
+     */
+    public boolean isSimilar(List<String> signature, List<String> otherSignature);
+}
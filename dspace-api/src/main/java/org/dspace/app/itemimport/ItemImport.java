@@ -23,6 +23,7 @@ import java.util.UUID;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.tika.Tika;
 import org.dspace.app.itemimport.factory.ItemImportServiceFactory;
 import org.dspace.app.itemimport.service.ItemImportService;
@@ -82,6 +83,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
     protected boolean help = false;
     protected File workDir = null;
     protected File workFile = null;
+    protected int threads = 0;
+    protected File zipFile = null;
 
     protected static final CollectionService collectionService =
             ContentServiceFactory.getInstance().getCollectionService();
@@ -146,7 +149,19 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             isQuiet = true;
         }
 
+        if (commandLine.hasOption('T')) {
+            threads = NumberUtils.toInt(commandLine.getOptionValue('T'), 0);
+            if (threads < 1) {
+                throw new ParseException("The number of threads must be a positive integer");
+            }
+        }
+
         setZip();
+
+        // the parallel import reads the items directly from the zip file
+        if (threads > 0 && (!zip || !"add".equals(command))) {
+            throw new ParseException("The threads option only works with the --add command of a zip file");
+        }
     }
 
     @Override
@@ -238,8 +253,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             }
         } finally {
             if (zip) {
-                // if zip file was valid then clean sourcedir
-                if (zipvalid && sourcedir != null && new File(sourcedir).exists()) {
+                // if zip file was valid and extracted then clean sourcedir
+                if (zipvalid && zipFile == null && sourcedir != null && new File(sourcedir).exists()) {
                     FileUtils.deleteDirectory(new File(sourcedir));
                 }
 
@@ -308,7 +323,7 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
         readMapfile(context);
 
         if ("add".equals(command)) {
-            itemImportService.addItems(context, collections, sourcedir, mapfile, template);
+            addItems(context, itemImportService, collections);
         } else if ("replace".equals(command)) {
             itemImportService.replaceItems(context, collections, sourcedir, mapfile, template);
         } else if ("delete".equals(command)) {
@@ -324,6 +339,23 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
         }
     }
 
+    /**
+     * Add the items, reading them directly from the zip file in parallel if
+     * the threads option is set, or from the source directory otherwise
+     * @param context
+     * @param itemImportService
+     * @param collections
+     * @throws Exception
+     */
+    protected void addItems(Context context, ItemImportService itemImportService,
+            List<Collection> collections) throws Exception {
+        if (zipFile != null) {
+            itemImportService.addItemsFromZip(context, collections, zipFile, mapfile, template, threads);
+        } else {
+            itemImportService.addItems(context, collections, sourcedir, mapfile, template);
+        }
+    }
+
     /**
      * Read the ZIP archive in SAF format
      * @param context
@@ -357,6 +389,12 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
                     "Error reading file, the file couldn't be found for filename: " + zipfilename);
         }
 
+        if (threads > 0) {
+            // the items are read directly from the zip file
+            zipFile = workFile;
+            return;
+        }
+
         workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                            + File.separator + context.getCurrentUser().getID());
         sourcedir = itemImportService.unzip(workFile, workDir.getAbsolutePath());
@@ -89,7 +89,7 @@ public class ItemImportCLI extends ItemImport {
     protected void process(Context context, ItemImportService itemImportService,
             List<Collection> collections) throws Exception {
         if ("add".equals(command)) {
-            itemImportService.addItems(context, collections, sourcedir, mapfile, template);
+            addItems(context, itemImportService, collections);
         } else if ("replace".equals(command)) {
             itemImportService.replaceItems(context, collections, sourcedir, mapfile, template);
         } else if ("delete".equals(command)) {
@@ -113,6 +113,12 @@ public class ItemImportCLI extends ItemImport {
                 InputStream validationFileStream = new FileInputStream(myZipFile);
                 validateZip(validationFileStream);
 
+                if (threads > 0) {
+                    // the items are read directly from the zip file
+                    zipFile = myZipFile;
+                    return;
+                }
+
                 workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                         + File.separator + context.getCurrentUser().getID());
                 sourcedir = itemImportService.unzip(
@@ -130,6 +136,11 @@ public class ItemImportCLI extends ItemImport {
                     workFile = new File(itemImportService.getTempWorkDir() + File.separator
                             + zipfilename + "-" + context.getCurrentUser().getID());
                     FileUtils.copyInputStreamToFile(optionalFileStream.get(), workFile);
+                    if (threads > 0) {
+                        // the items are read directly from the zip file
+                        zipFile = workFile;
+                        return;
+                    }
                     workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                                        + File.separator + context.getCurrentUser().getID());
                     sourcedir = itemImportService.unzip(workFile, workDir.getAbsolutePath());
@@ -70,6 +70,10 @@ public class ItemImportCLIScriptConfiguration extends ItemImportScriptConfigurat
         options.addOption(Option.builder("q").longOpt("quiet")
                 .desc("don't display metadata")
                 .hasArg(false).required(false).build());
+        options.addOption(Option.builder("T").longOpt("threads")
+                .desc("import the items of the zip file in parallel with the given number of threads, reading them "
+                    + "directly from the zip file (add only)")
+                .hasArg().required(false).build());
 
         options.addOption(Option.builder("h").longOpt("help")
                 .desc("help")
@@ -28,7 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -44,6 +46,15 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.mail.MessagingException;
@@ -330,6 +341,204 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    @Override
+    public void addItemsFromZip(Context c, List<Collection> mycollections, File zipFile, String mapFile,
+                                boolean template, int threads) throws Exception {
+        PrintWriter mapOut = null;
+        File stagingDir = null;
+
+        try (SafZipArchive archive = new SafZipArchive(zipFile)) {
+            Map<String, String> skipItems = new HashMap<>(); // set of items to skip if in 'resume' mode
+
+            itemFolderMap = new HashMap<>();
+
+            logDebug("Adding items from zip file: " + zipFile + " with " + threads + " threads");
+            logDebug("Generating mapfile: " + mapFile);
+
+            if (!isTest) {
+                if (isResume) {
+                    skipItems = readMapFile(mapFile);
+                }
+
+                // sneaky isResume == true means open file in append mode
+                mapOut = new PrintWriter(new FileWriter(new File(mapFile), isResume));
+            }
+
+            // every worker extracts only the item folder that it is importing
+            stagingDir = Files.createTempDirectory(getTempWorkDirFile().toPath(), ItemImport.TEMP_DIR).toFile();
+
+            List<ImportedZipItem> importedItems = importItemsFromZip(c, archive, stagingDir, mycollections,
+                skipItems, mapOut, template, threads);
+
+            //now that all items are imported, link the relationships with the main context
+            for (ImportedZipItem importedItem : importedItems) {
+                Item item = importedItem.itemId != null ? itemService.find(c, importedItem.itemId) : null;
+                itemFolderMap.put(importedItem.itemName, item);
+            }
+
+            for (String itemName : archive.getItemNames()) {
+                if (skipItems.containsKey(itemName)) {
+                    //we still need the item in the map for relationship linking
+                    Item skippedItem = resolveItem(c, skipItems.get(itemName));
+                    itemFolderMap.put(itemName, skippedItem);
+
+                    File itemDir = archive.extractItem(itemName, stagingDir, "relationships");
+                    importedItems.add(new ImportedZipItem(itemName, null,
+                        processRelationshipFile(itemDir.getAbsolutePath(), "relationships")));
+                }
+            }
+
+            for (ImportedZipItem importedItem : importedItems) {
+                addRelationships(c, importedItem.itemName, itemFolderMap.get(importedItem.itemName),
+                    importedItem.relationships);
+            }
+
+        } finally {
+            if (mapOut != null) {
+                mapOut.flush();
+                mapOut.close();
+            }
+            FileUtils.deleteQuietly(stagingDir);
+        }
+    }
+
+    /**
+     * Import the item folders of the given archive with a pool of workers,
+     * each one with its own Context. Every item is committed as soon as it is
+     * imported, and only then written to the mapfile, so that an import that
+     * fails can be resumed from the mapfile. The import stops at the first
+     * error.
+     *
+     * @return the imported items
+     */
+    protected List<ImportedZipItem> importItemsFromZip(Context c, SafZipArchive archive, File stagingDir,
+                                                       List<Collection> mycollections, Map<String, String> skipItems,
+                                                       PrintWriter mapOut, boolean template, int threads)
+        throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ImportThreadFactory());
+        CompletionService<ImportedZipItem> completionService = new ExecutorCompletionService<>(executor);
+        List<ImportedZipItem> importedItems = new ArrayList<>();
+
+        try {
+
+            int submitted = 0;
+            for (String itemName : archive.getItemNames()) {
+                if (skipItems.containsKey(itemName)) {
+                    logInfo("Skipping import of " + itemName);
+                    continue;
+                }
+                completionService.submit(() -> addItemFromZip(c, archive, stagingDir, mycollections, itemName,
+                    mapOut, template));
+                submitted++;
+            }
+
+            for (int i = 0; i < submitted; i++) {
+                ImportedZipItem importedItem = waitFor(completionService.take());
+                if (importedItem != null) {
+                    importedItems.add(importedItem);
+                    logInfo(i + " " + importedItem.itemName);
+                }
+            }
+
+        } finally {
+            executor.shutdownNow();
+            if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+                logWarn("Some import workers did not terminate in time");
+            }
+        }
+
+        return importedItems;
+    }
+
+    /**
+     * Import a single item folder of the archive in a new Context, that is
+     * committed, or aborted in test mode, before returning.
+     *
+     * @return the imported item, or null if the item folder was skipped
+     */
+    protected ImportedZipItem addItemFromZip(Context c, SafZipArchive archive, File stagingDir,
+                                             List<Collection> mycollections, String itemName, PrintWriter mapOut,
+                                             boolean template) throws Exception {
+        Context workerContext = createWorkerContext(c);
+        File workerDir = Files.createTempDirectory(stagingDir.toPath(), "item").toFile();
+        try {
+            File itemDir = archive.extractItem(itemName, workerDir);
+            String path = itemDir.getAbsolutePath();
+
+            List<Collection> clist;
+            if (mycollections == null) {
+                try {
+                    clist = processCollectionFile(workerContext, path, "collections");
+                } catch (IllegalArgumentException e) {
+                    logError(e.getMessage() + " Skipping.");
+                    return null;
+                }
+                if (clist == null) {
+                    logError("No collections specified for item " + itemName + ". Skipping.");
+                    return null;
+                }
+            } else {
+                clist = new ArrayList<>();
+                for (Collection collection : mycollections) {
+                    clist.add(workerContext.reloadEntity(collection));
+                }
+            }
+
+            StringWriter mapLine = new StringWriter();
+            Item item;
+            try (PrintWriter itemMapOut = new PrintWriter(mapLine)) {
+                item = addItem(workerContext, clist, workerDir.getAbsolutePath(), itemName, itemMapOut, template);
+            }
+            UUID itemId = item != null ? item.getID() : null;
+            Map<String, List<String>> relationships = processRelationshipFile(path, "relationships");
+
+            if (isTest) {
+                workerContext.abort();
+            } else {
+                workerContext.complete();
+            }
+
+            // the item is committed, the mapfile can record it
+            if (mapOut != null) {
+                synchronized (mapOut) {
+                    mapOut.print(mapLine);
+                    mapOut.flush();
+                }
+            }
+
+            return new ImportedZipItem(itemName, itemId, relationships);
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+            FileUtils.deleteQuietly(workerDir);
+        }
+    }
+
+    private Context createWorkerContext(Context c) throws SQLException {
+        Context workerContext = new Context(Context.Mode.BATCH_EDIT);
+        if (c.getCurrentUser() != null) {
+            workerContext.setCurrentUser(ePersonService.find(workerContext, c.getCurrentUser().getID()));
+        }
+        if (c.ignoreAuthorization()) {
+            workerContext.turnOffAuthorisationSystem();
+        }
+        return workerContext;
+    }
+
+    private ImportedZipItem waitFor(Future<ImportedZipItem> importedItem) throws Exception {
+        try {
+            return importedItem.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
      /**
       * Add relationships from a 'relationships' manifest file.
       * 
@@ -347,32 +556,45 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
             //look for a 'relationship' manifest
             Map<String, List<String>> relationships = processRelationshipFile(path, "relationships");
-            if (!relationships.isEmpty()) {
+            addRelationships(c, folderName, item, relationships);
+
+        }
 
-                for (Map.Entry<String, List<String>> relEntry : relationships.entrySet()) {
+    }
 
-                    String relationshipType = relEntry.getKey();
-                    List<String> identifierList = relEntry.getValue();
+    /**
+     * Add the relationships read from the 'relationships' manifest file of an
+     * item folder.
+     *
+     * @param c Context
+     * @param folderName The name of the item folder
+     * @param item The imported item
+     * @param relationships The relationships, by relationship type
+     * @throws Exception
+     */
+    protected void addRelationships(Context c, String folderName, Item item,
+                                    Map<String, List<String>> relationships) throws Exception {
 
-                    for (String itemIdentifier : identifierList) {
+        for (Map.Entry<String, List<String>> relEntry : relationships.entrySet()) {
 
-                        if (isTest) {
-                            logInfo("\tAdding relationship (type: " + relationshipType +
-                                ") from " + folderName + " to " + itemIdentifier);
-                            continue;
-                        }
+            String relationshipType = relEntry.getKey();
+            List<String> identifierList = relEntry.getValue();
 
-                        //find referenced item
-                        Item relationItem = resolveRelatedItem(c, itemIdentifier);
-                        if (null == relationItem) {
-                            throw new Exception("Could not find item for " + itemIdentifier);
-                        }
+            for (String itemIdentifier : identifierList) {
 
-                        addRelationship(c, item, relationItem, relationshipType);
-                    }
+                if (isTest) {
+                    logInfo("\tAdding relationship (type: " + relationshipType +
+                        ") from " + folderName + " to " + itemIdentifier);
+                    continue;
+                }
 
+                //find referenced item
+                Item relationItem = resolveRelatedItem(c, itemIdentifier);
+                if (null == relationItem) {
+                    throw new Exception("Could not find item for " + itemIdentifier);
                 }
 
+                addRelationship(c, item, relationItem, relationshipType);
             }
 
         }
@@ -2383,6 +2605,42 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         this.handler = handler;
     }
 
+    /**
+     * An item folder imported from a zip file, with the relationships to link
+     * once all the item folders are imported.
+     */
+    protected static class ImportedZipItem {
+
+        private final String itemName;
+
+        private final UUID itemId;
+
+        private final Map<String, List<String>> relationships;
+
+        protected ImportedZipItem(String itemName, UUID itemId, Map<String, List<String>> relationships) {
+            this.itemName = itemName;
+            this.itemId = itemId;
+            this.relationships = relationships;
+        }
+
+    }
+
+    /**
+     * Creates daemon import threads with a recognizable name.
+     */
+    private static class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "item-import-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
     private void logInfo(String message) {
         logInfo(message, null);
     }
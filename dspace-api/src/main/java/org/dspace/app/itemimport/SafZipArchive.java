@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemimport;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.collections4.ComparatorUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A ZIP archive in Simple Archive Format, whose item folders are read through
+ * the central directory of the archive instead of extracting it as a whole.
+ * <P>
+ * As in {@link ItemImportServiceImpl#unzip(File, String)}, the item folders
+ * can be at the root of the archive or inside a single top level folder.
+ * The entries of an item folder can be extracted independently of the others,
+ * and concurrently, as {@link ZipFile} supports concurrent reads.
+ */
+public class SafZipArchive implements Closeable {
+
+    private final ZipFile zipFile;
+
+    private final String rootFolder;
+
+    private final Map<String, List<ZipEntry>> entriesByItem = new LinkedHashMap<>();
+
+    /**
+     * Opens the given archive and indexes its item folders.
+     *
+     * @param  file        the ZIP archive
+     * @throws IOException if the archive cannot be read
+     */
+    public SafZipArchive(File file) throws IOException {
+        this.zipFile = new ZipFile(file);
+        this.rootFolder = findRootFolder();
+
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String relativeName = StringUtils.removeStart(normalize(entry.getName()), rootFolder);
+            int index = relativeName.indexOf('/');
+            if (entry.isDirectory() || index <= 0) {
+                continue;
+            }
+            entriesByItem.computeIfAbsent(relativeName.substring(0, index), name -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    /**
+     * Returns the names of the item folders, in natural order.
+     */
+    public List<String> getItemNames() {
+        List<String> itemNames = new ArrayList<>(entriesByItem.keySet());
+        itemNames.sort(ComparatorUtils.naturalComparator());
+        return itemNames;
+    }
+
+    /**
+     * Extracts the files of the given item folder in a folder with the same
+     * name inside the given directory.
+     *
+     * @param  itemName    the name of the item folder
+     * @param  destDir     the directory to extract the item folder to
+     * @param  fileNames   the names of the files to extract, relative to the
+     *                     item folder, or none to extract all the files
+     * @return             the extracted item folder
+     * @throws IOException if an error occurs extracting the files, or if an
+     *                     entry would be extracted outside the item folder
+     */
+    public File extractItem(String itemName, File destDir, String... fileNames) throws IOException {
+        Path itemDir = destDir.toPath().resolve(itemName).normalize();
+        if (!itemDir.startsWith(destDir.toPath().normalize())) {
+            throw new IOException("Bad item folder: '" + itemName + "' in file '" + zipFile.getName() + "'!");
+        }
+        Files.createDirectories(itemDir);
+
+        String itemFolder = rootFolder + itemName + "/";
+        for (ZipEntry entry : entriesByItem.getOrDefault(itemName, List.of())) {
+            String fileName = normalize(entry.getName()).substring(itemFolder.length());
+            if (fileNames.length > 0 && !ArrayUtils.contains(fileNames, fileName)) {
+                continue;
+            }
+            Path outFile = itemDir.resolve(fileName).normalize();
+            // Verify that this file will be extracted into the item folder (and not somewhere else!)
+            if (!outFile.startsWith(itemDir)) {
+                throw new IOException("Bad zip entry: '" + entry.getName() + "' in file '" + zipFile.getName()
+                    + "'! Cannot process this file.");
+            }
+
+            Files.createDirectories(outFile.getParent());
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                Files.copy(in, outFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        return itemDir.toFile();
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+    /**
+     * Returns the top level folder that contains the item folders, with a
+     * trailing slash, or an empty string if the item folders are at the root
+     * of the archive.
+     */
+    private String findRootFolder() {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String[] entryChunks = normalize(entry.getName()).split("/");
+            if (!entry.isDirectory() && entryChunks.length > 2) {
+                return entryChunks[0] + "/";
+            }
+        }
+        return "";
+    }
+
+    private String normalize(String entryName) {
+        // entries could have been created on Windows
+        return StringUtils.replace(entryName, "\\", "/");
+    }
+
+}
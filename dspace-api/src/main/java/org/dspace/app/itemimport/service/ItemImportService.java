@@ -61,6 +61,25 @@ public interface ItemImportService {
     public void addItems(Context c, List<Collection> mycollections,
                          String sourceDir, String mapFile, boolean template) throws Exception;
 
+    /**
+     * Add items reading the item folders directly from a zip file in Simple
+     * Archive Format, without extracting it as a whole. The items are
+     * imported in parallel by the given number of workers, each one with its
+     * own Context, and every item is committed as soon as it is imported and
+     * then recorded in the mapfile, so that a failed import can be resumed.
+     *
+     * @param c             DSpace Context
+     * @param mycollections List of Collections, or null to read them from the
+     *                      'collections' file of each item folder
+     * @param zipFile       the zip file
+     * @param mapFile       map file
+     * @param template      whether to use template item
+     * @param threads       the number of workers
+     * @throws Exception if error
+     */
+    public void addItemsFromZip(Context c, List<Collection> mycollections, File zipFile, String mapFile,
+                                boolean template, int threads) throws Exception;
+
     /**
      * Unzip a file
      *
@@ -32,6 +32,9 @@ public interface CrisMetricsDAO extends GenericDAO<CrisMetrics> {
 
     public List<CrisMetrics> findAllLast(Context context, Integer limit, Integer offset) throws SQLException;
 
+    public List<CrisMetrics> findAllLastAfterResource(Context context, UUID lastResourceId, Date acquiredSince,
+           int limit) throws SQLException;
+
     public int countAllLast(Context context) throws SQLException;
 
     public int countRows(Context context) throws SQLException;
@@ -48,4 +51,10 @@ public interface CrisMetricsDAO extends GenericDAO<CrisMetrics> {
     public List<CrisMetrics> findMetricByResourceIdMetricTypeAndBetweenSomeDate(Context context, String metricType,
            UUID resourceId, Date before, Date after) throws SQLException;
 
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsType(Context context, String metricType,
+           List<UUID> resourceIds) throws SQLException;
+
+    public List<CrisMetrics> findMetricsByResourceIdsMetricTypeAndBetweenSomeDate(Context context, String metricType,
+           List<UUID> resourceIds, Date before, Date after) throws SQLException;
+
 }
\ No newline at end of file
@@ -72,6 +72,37 @@ public class CrisMetricsDAOImpl extends AbstractHibernateDAO<CrisMetrics> implem
         return list(context, criteriaQuery, false, CrisMetrics.class, limit, offset);
     }
 
+    @Override
+    public List<CrisMetrics> findAllLastAfterResource(Context context, UUID lastResourceId, Date acquiredSince,
+        int limit) throws SQLException {
+        String filter = " WHERE m.last = true"
+            + (acquiredSince != null ? " AND m.acquisitionDate >= :acquiredSince" : "");
+
+        Query resourceQuery = createQuery(context, "SELECT DISTINCT m.resource.id FROM CrisMetrics m" + filter
+            + (lastResourceId != null ? " AND m.resource.id > :lastResourceId" : "") + " ORDER BY m.resource.id");
+        if (acquiredSince != null) {
+            resourceQuery.setParameter("acquiredSince", acquiredSince);
+        }
+        if (lastResourceId != null) {
+            resourceQuery.setParameter("lastResourceId", lastResourceId);
+        }
+        resourceQuery.setMaxResults(limit);
+        @SuppressWarnings("unchecked")
+        List<UUID> resourceIds = resourceQuery.getResultList();
+        if (resourceIds.isEmpty()) {
+            return List.of();
+        }
+
+        // all the metrics of the selected resources, so that a resource is never split across pages
+        Query query = createQuery(context, "SELECT m FROM CrisMetrics m" + filter
+            + " AND m.resource.id IN (:resourceIds) ORDER BY m.resource.id, m.id");
+        if (acquiredSince != null) {
+            query.setParameter("acquiredSince", acquiredSince);
+        }
+        query.setParameter("resourceIds", resourceIds);
+        return list(query);
+    }
+
     public int countAllLast(Context context) throws SQLException {
         Query query = createQuery(context,
                 "SELECT count(*)"
@@ -136,4 +167,33 @@ public class CrisMetricsDAOImpl extends AbstractHibernateDAO<CrisMetrics> implem
         return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
     }
 
+    @Override
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsType(Context context, String metricType,
+                                        List<UUID> resourceUuids) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, CrisMetrics.class);
+        Root<CrisMetrics> crisMetricsRoot = criteriaQuery.from(CrisMetrics.class);
+        Join<CrisMetrics, DSpaceObject> join = crisMetricsRoot.join(CrisMetrics_.resource);
+        criteriaQuery.where(criteriaBuilder.and(
+                criteriaBuilder.equal(crisMetricsRoot.get(CrisMetrics_.metricType), metricType),
+                criteriaBuilder.equal(crisMetricsRoot.get(CrisMetrics_.last), true),
+                join.get(DSpaceObject_.id).in(resourceUuids)));
+        return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
+    }
+
+    @Override
+    public List<CrisMetrics> findMetricsByResourceIdsMetricTypeAndBetweenSomeDate(Context context, String metricType,
+                                        List<UUID> resourceUuids, Date before, Date after) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, CrisMetrics.class);
+        Root<CrisMetrics> crisMetricsRoot = criteriaQuery.from(CrisMetrics.class);
+        Join<CrisMetrics, DSpaceObject> join = crisMetricsRoot.join(CrisMetrics_.resource);
+        criteriaQuery.where(criteriaBuilder.and(
+                criteriaBuilder.equal(crisMetricsRoot.get(CrisMetrics_.metricType), metricType),
+                criteriaBuilder.greaterThanOrEqualTo(crisMetricsRoot.get(CrisMetrics_.acquisitionDate), before),
+                criteriaBuilder.lessThan(crisMetricsRoot.get(CrisMetrics_.acquisitionDate), after),
+                join.get(DSpaceObject_.id).in(resourceUuids)));
+        return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
+    }
+
 }
\ No newline at end of file
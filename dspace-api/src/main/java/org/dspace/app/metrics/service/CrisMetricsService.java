@@ -9,6 +9,7 @@ package org.dspace.app.metrics.service;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +35,24 @@ public interface CrisMetricsService {
 
     public List<CrisMetrics> findAllLast(Context context, Integer limit, Integer offset) throws SQLException;
 
+    /**
+     * Find the last CrisMetrics of a page of resources, ordered by resource id
+     * and then by metric id. All the last metrics of a resource belong to the
+     * same page, which can be iterated using the id of the last resource of the
+     * previous page.
+     *
+     * @param context         DSpace context object
+     * @param lastResourceId  the id of the last resource of the previous page,
+     *                        null to start from the first page
+     * @param acquiredSince   if not null, only the metrics acquired since this
+     *                        date are returned
+     * @param limit           the maximum number of resources of the page
+     * @return                the last metrics of the resources of the page
+     * @throws SQLException   if database error
+     */
+    public List<CrisMetrics> findAllLastAfterResource(Context context, UUID lastResourceId, Date acquiredSince,
+        int limit) throws SQLException;
+
     public int countAllLast(Context context) throws SQLException;
 
     public int count(Context context) throws SQLException;
@@ -69,4 +88,35 @@ public interface CrisMetricsService {
                                                        String metricType, UUID resourceId,
                                                        Date startDate, String period) throws SQLException;
 
+    /**
+     * Find the last CrisMetrics of the given type of all the given resources.
+     *
+     * @param context         DSpace context object
+     * @param metricType      the CrisMetric type
+     * @param resourceIds     the uuids of the DSpace resources
+     * @return                a map between the resource uuid and its last metric,
+     *                        resources without such metric are not in the map
+     * @throws SQLException   if database error
+     */
+    public Map<UUID, CrisMetrics> findLastMetricsByResourceIdsAndMetricsType(Context context, String metricType,
+                                                                            List<UUID> resourceIds)
+        throws SQLException;
+
+    /**
+     * Bulk version of {@link #getCrisMetricByPeriod(Context, String, UUID, Date, String)}
+     * that searches the CrisMetrics of all the given resources with a single query.
+     *
+     * @param context         DSpace context object
+     * @param metricType      the CrisMetric type
+     * @param resourceIds     the uuids of the DSpace resources
+     * @param startDate       date from which the period is to be extended
+     * @param period          period can be either a week or a month [week or month].
+     * @return                a map between the resource uuid and the metric found
+     *                        for the period, resources without such metric are
+     *                        not in the map
+     * @throws SQLException   if database error
+     */
+    public Map<UUID, CrisMetrics> getCrisMetricsByPeriod(Context context, String metricType, List<UUID> resourceIds,
+                                                         Date startDate, String period) throws SQLException;
+
 }
@@ -7,12 +7,17 @@
  */
 package org.dspace.app.metrics.service;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
@@ -63,6 +68,12 @@ public class CrisMetricsServiceImpl implements CrisMetricsService {
         return crisMetricsDAO.findAllLast(context, limit, offset);
     }
 
+    @Override
+    public List<CrisMetrics> findAllLastAfterResource(Context context, UUID lastResourceId, Date acquiredSince,
+        int limit) throws SQLException {
+        return crisMetricsDAO.findAllLastAfterResource(context, lastResourceId, acquiredSince, limit);
+    }
+
     @Override
     public int countAllLast(Context context) throws SQLException {
         return crisMetricsDAO.countAllLast(context);
@@ -131,6 +142,44 @@ public class CrisMetricsServiceImpl implements CrisMetricsService {
         return Optional.empty();
     }
 
+    @Override
+    public Map<UUID, CrisMetrics> findLastMetricsByResourceIdsAndMetricsType(Context context, String metricType,
+                                                                            List<UUID> resourceIds)
+        throws SQLException {
+        if (resourceIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return crisMetricsDAO.findLastMetricsByResourceIdsAndMetricsType(context, metricType, resourceIds).stream()
+            .collect(Collectors.toMap(metric -> metric.getResource().getID(), Function.identity(),
+                BinaryOperator.maxBy(Comparator.comparing(CrisMetrics::getAcquisitionDate,
+                    Comparator.nullsFirst(Comparator.naturalOrder())))));
+    }
+
+    @Override
+    public Map<UUID, CrisMetrics> getCrisMetricsByPeriod(Context context, String metricType, List<UUID> resourceIds,
+                                                         Date startDate, String period) throws SQLException {
+
+        if (resourceIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (StringUtils.equals("week", period)) {
+            return getPeriodStatus(context, metricType, resourceIds, DateUtils.addDays(startDate, -7));
+        }
+        if (StringUtils.equals("month", period)) {
+            return getPeriodStatus(context, metricType, resourceIds, DateUtils.addMonths(startDate, -1));
+        }
+        return Collections.emptyMap();
+    }
+
+    private Map<UUID, CrisMetrics> getPeriodStatus(Context context, String metricType, List<UUID> resourceIds,
+                                                   Date date) throws SQLException {
+        List<CrisMetrics> metrics = crisMetricsDAO.findMetricsByResourceIdsMetricTypeAndBetweenSomeDate(context,
+                metricType, resourceIds, getDateByDelta(date, 0), getDateByDelta(date, +1));
+        return metrics.stream()
+            .collect(Collectors.toMap(metric -> metric.getResource().getID(), Function.identity(),
+                BinaryOperator.maxBy(Comparator.comparing(CrisMetrics::getAcquisitionDate))));
+    }
+
     private Optional<CrisMetrics> getPeriodStatus(Context context, String metricType, UUID resourceId, Date date)
             throws SQLException {
         List<CrisMetrics> metrics = crisMetricsDAO.findMetricByResourceIdMetricTypeAndBetweenSomeDate(context,
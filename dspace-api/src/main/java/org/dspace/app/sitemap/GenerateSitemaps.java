@@ -10,8 +10,13 @@ package org.dspace.app.sitemap;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -19,22 +24,16 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
+import org.dspace.app.sitemap.SitemapManifest.Chunk;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
-import org.dspace.discovery.DiscoverQuery;
-import org.dspace.discovery.DiscoverResult;
-import org.dspace.discovery.IndexableObject;
-import org.dspace.discovery.SearchService;
-import org.dspace.discovery.SearchServiceException;
-import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -56,8 +55,11 @@ public class GenerateSitemaps {
     private static final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private static final ConfigurationService configurationService =
         DSpaceServicesFactory.getInstance().getConfigurationService();
-    private static final SearchService searchService = SearchUtils.getSearchService();
-    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_CHUNK_SIZE = 50000;
+    private static final String COMMUNITY_TYPE = "Community";
+    private static final String COLLECTION_TYPE = "Collection";
+    private static final String ITEM_TYPE = "Item";
 
     /**
      * Default constructor
@@ -169,6 +171,11 @@ public class GenerateSitemaps {
             log.error("Unable to create output directory");
         }
 
+        boolean incremental = makeSitemapOrg && isIncrementalEnabled();
+        if (incremental) {
+            generateIncrementalSitemaps(outputDir, uiURLStem);
+        }
+
         AbstractGenerator html = null;
         AbstractGenerator sitemapsOrg = null;
 
@@ -176,100 +183,22 @@ public class GenerateSitemaps {
             html = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
         }
 
-        if (makeSitemapOrg) {
+        if (makeSitemapOrg && !incremental) {
             sitemapsOrg = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
         }
 
+        if (html == null && sitemapsOrg == null) {
+            return;
+        }
+
         Context c = new Context(Context.Mode.READ_ONLY);
-        int offset = 0;
-        long commsCount = 0;
-        long collsCount = 0;
-        long itemsCount = 0;
 
         try {
-            DiscoverQuery discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Community");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                commsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "communities/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
-                }
-                offset += PAGE_SIZE;
-            } while (offset < commsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Collection");
-            do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                collsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url = uiURLStem + "collections/" + doc.getID();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
-                }
-                offset += PAGE_SIZE;
-            } while (offset < collsCount);
-
-            offset = 0;
-            discoveryQuery = new DiscoverQuery();
-            discoveryQuery.setMaxResults(PAGE_SIZE);
-            discoveryQuery.setQuery("search.resourcetype:Item");
-            discoveryQuery.addSearchField("search.entitytype");
-            do {
-
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
-                List<IndexableObject> docs = discoverResult.getIndexableObjects();
-                itemsCount = discoverResult.getTotalSearchResults();
-
-                for (IndexableObject doc : docs) {
-                    String url;
-                    List<String> entityTypeFieldValues = discoverResult.getSearchDocument(doc).get(0)
-                                            .getSearchFieldValues("search.entitytype");
-                    if (CollectionUtils.isNotEmpty(entityTypeFieldValues)) {
-                        url = uiURLStem + "entities/" + StringUtils.lowerCase(entityTypeFieldValues.get(0)) + "/"
-                                + doc.getID();
-                    } else {
-                        url = uiURLStem + "items/" + doc.getID();
-                    }
-                    Date lastMod = doc.getLastModified();
-                    c.uncacheEntity(doc.getIndexedObject());
-
-                    if (makeHTMLMap) {
-                        html.addURL(url, null);
-                    }
-                    if (makeSitemapOrg) {
-                        sitemapsOrg.addURL(url, null);
-                    }
-                }
-                offset += PAGE_SIZE;
-            } while (offset < itemsCount);
-
-            if (makeHTMLMap) {
+            long commsCount = addURLs(c, COMMUNITY_TYPE, uiURLStem, html, sitemapsOrg);
+            long collsCount = addURLs(c, COLLECTION_TYPE, uiURLStem, html, sitemapsOrg);
+            long itemsCount = addURLs(c, ITEM_TYPE, uiURLStem, html, sitemapsOrg);
+
+            if (html != null) {
                 int files = html.finish();
                 log.info(LogHelper.getHeader(c, "write_sitemap",
                                               "type=html,num_files=" + files + ",communities="
@@ -277,17 +206,118 @@ public class GenerateSitemaps {
                                                   + ",items=" + itemsCount));
             }
 
-            if (makeSitemapOrg) {
+            if (sitemapsOrg != null) {
                 int files = sitemapsOrg.finish();
                 log.info(LogHelper.getHeader(c, "write_sitemap",
                                               "type=html,num_files=" + files + ",communities="
                                                   + commsCount + ",collections=" + collsCount
                                                   + ",items=" + itemsCount));
             }
-        } catch (SearchServiceException e) {
-            throw new RuntimeException(e);
         } finally {
             c.abort();
         }
     }
+
+    /**
+     * Adds the URLs of all the objects of the given type to the given
+     * generators, reading the objects from the discovery index with a cursor.
+     *
+     * @return the number of added URLs
+     */
+    private static long addURLs(Context c, String resourceType, String uiURLStem, AbstractGenerator html,
+        AbstractGenerator sitemapsOrg) throws IOException {
+
+        long count = 0;
+        Iterator<SitemapEntry> entries = new SitemapSolrCursor(c, getSolrSearchCore(), resourceType, PAGE_SIZE);
+        while (entries.hasNext()) {
+            String url = entries.next().getURL(uiURLStem);
+            if (html != null) {
+                html.addURL(url, null);
+            }
+            if (sitemapsOrg != null) {
+                sitemapsOrg.addURL(url, null);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Generate the sitemaps.org protocol sitemaps in chunks, rewriting only the
+     * chunks whose objects changed since the previous generation. The chunks
+     * of communities, collections and items are generated concurrently.
+     *
+     * @param  outputDir   the directory to write the sitemaps to
+     * @param  uiURLStem   the URL of the UI, ending with a slash
+     * @throws IOException if IO error occurs
+     */
+    private static void generateIncrementalSitemaps(File outputDir, String uiURLStem) throws IOException {
+
+        int chunkSize = configurationService.getIntProperty("sitemap.incremental.chunk-size", 10000);
+        chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, chunkSize));
+
+        IncrementalSitemapsGenerator generator = new IncrementalSitemapsGenerator(outputDir, uiURLStem, chunkSize);
+        SitemapManifest manifest = SitemapManifest.read(outputDir);
+
+        List<String> resourceTypes = List.of(COMMUNITY_TYPE, COLLECTION_TYPE, ITEM_TYPE);
+        ExecutorService executor = Executors.newFixedThreadPool(resourceTypes.size());
+
+        try {
+
+            List<Future<List<Chunk>>> futures = new ArrayList<>();
+            for (String resourceType : resourceTypes) {
+                List<Chunk> previousChunks = manifest.getChunks(resourceType);
+                futures.add(executor.submit(() -> generateChunks(generator, resourceType, previousChunks)));
+            }
+
+            List<Chunk> chunks = new ArrayList<>();
+            for (Future<List<Chunk>> future : futures) {
+                chunks.addAll(waitFor(future));
+            }
+
+            generator.writeIndex(chunks);
+            manifest.setChunks(chunks);
+            manifest.write(outputDir);
+
+            log.info("Generated the sitemaps index with " + chunks.size() + " sitemaps");
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Chunk> generateChunks(IncrementalSitemapsGenerator generator, String resourceType,
+        List<Chunk> previousChunks) throws SQLException, IOException {
+
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            SitemapSolrCursor entries = new SitemapSolrCursor(context, getSolrSearchCore(), resourceType, PAGE_SIZE);
+            return generator.generateChunks(resourceType, entries, previousChunks);
+        } finally {
+            context.abort();
+        }
+    }
+
+    private static <T> T waitFor(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Sitemaps generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static boolean isIncrementalEnabled() {
+        return configurationService.getBooleanProperty("sitemap.incremental.enabled", false);
+    }
+
+    private static SolrSearchCore getSolrSearchCore() {
+        return DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServicesByType(SolrSearchCore.class).get(0);
+    }
 }
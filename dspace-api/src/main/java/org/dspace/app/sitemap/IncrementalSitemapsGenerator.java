@@ -0,0 +1,269 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.sitemap.SitemapManifest.Chunk;
+
+/**
+ * Generator of <a href="http://sitemaps.org/">Sitemaps</a> split in GZIP
+ * compressed chunks, that are rewritten only when the objects that they
+ * contain change.
+ * <P>
+ * The objects of each type are read ordered by their key, and every chunk
+ * contains the objects whose keys are between its first key and the first key
+ * of the next chunk. At each generation the objects are assigned to the chunks
+ * of the previous one, recorded in the {@link SitemapManifest}, and a chunk is
+ * rewritten only if the fingerprint of the ids and modification dates of its
+ * objects changed. A chunk that grows beyond the maximum size is split, and a
+ * chunk that no longer contains objects is deleted.
+ * <P>
+ * The chunks of different types can be generated concurrently.
+ */
+public class IncrementalSitemapsGenerator {
+
+    private static final Logger log = LogManager.getLogger(IncrementalSitemapsGenerator.class);
+
+    private static final String INDEX_FILE_NAME = "sitemap_index.xml";
+
+    private final File outputDir;
+
+    private final String uiURLStem;
+
+    private final int chunkSize;
+
+    /**
+     * @param outputDir the directory to write the sitemaps to
+     * @param uiURLStem the URL of the UI, ending with a slash, that is the
+     *                  base of the URLs of the objects and of the sitemaps
+     * @param chunkSize the maximum number of URLs of a chunk
+     */
+    public IncrementalSitemapsGenerator(File outputDir, String uiURLStem, int chunkSize) {
+        this.outputDir = outputDir;
+        this.uiURLStem = uiURLStem;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes the chunks of the objects of the given type that changed since the
+     * previous generation.
+     *
+     * @param  type           the type of the objects
+     * @param  entries        the objects, ordered by their key
+     * @param  previousChunks the chunks of the previous generation of the same
+     *                        type, ordered by their first key
+     * @return                the current chunks of the given type
+     * @throws IOException    if an error occurs writing the chunks
+     */
+    public List<Chunk> generateChunks(String type, Iterator<SitemapEntry> entries, List<Chunk> previousChunks)
+        throws IOException {
+        return new ChunksGeneration(type, previousChunks).generate(entries);
+    }
+
+    /**
+     * Writes the sitemap index that links to the given chunks.
+     *
+     * @param  chunks      all the chunks
+     * @throws IOException if an error occurs writing the index
+     */
+    public void writeIndex(List<Chunk> chunks) throws IOException {
+        SitemapsOrgGenerator formatter = new SitemapsOrgGenerator(outputDir, uiURLStem, null);
+        writeAtomically(INDEX_FILE_NAME, false, output -> {
+            output.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+            output.println("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+            for (Chunk chunk : chunks) {
+                output.print("<sitemap><loc>" + uiURLStem + chunk.getFileName() + "</loc>");
+                output.print("<lastmod>" + formatter.w3dtfFormat.format(chunk.getLastModified())
+                    + "</lastmod></sitemap>\n");
+            }
+            output.println("</sitemapindex>");
+        });
+    }
+
+    private void writeAtomically(String fileName, boolean compress, ContentWriter contentWriter)
+        throws IOException {
+        File file = new File(outputDir, fileName);
+        File tempFile = new File(outputDir, fileName + ".tmp");
+
+        OutputStream outputStream = Files.newOutputStream(tempFile.toPath());
+        if (compress) {
+            outputStream = new GZIPOutputStream(outputStream);
+        }
+
+        try (PrintStream output = new PrintStream(outputStream, false, UTF_8.name())) {
+            contentWriter.write(output);
+        }
+
+        Files.move(tempFile.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private String fingerprint(List<SitemapEntry> entries) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        for (SitemapEntry entry : entries) {
+            Date lastModified = entry.getLastModified();
+            digest.update((entry.getUniqueId() + "|" + entry.getURL(uiURLStem) + "|"
+                + (lastModified != null ? lastModified.getTime() : "") + "\n").getBytes(UTF_8));
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * A generation of the chunks of a type.
+     */
+    private class ChunksGeneration {
+
+        private final String type;
+
+        private final List<Chunk> previousChunks;
+
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private final SitemapsOrgGenerator formatter = new SitemapsOrgGenerator(outputDir, uiURLStem, null);
+
+        private int nextFileNumber;
+
+        private int region;
+
+        private List<SitemapEntry> buffer = new ArrayList<>();
+
+        private boolean regionSplit;
+
+        private boolean regionFileReused;
+
+        private int writtenChunks;
+
+        private ChunksGeneration(String type, List<Chunk> previousChunks) {
+            this.type = type;
+            this.previousChunks = previousChunks;
+            this.nextFileNumber = previousChunks.stream()
+                .mapToInt(chunk -> getFileNumber(chunk.getFileName()))
+                .max().orElse(-1) + 1;
+        }
+
+        private List<Chunk> generate(Iterator<SitemapEntry> entries) throws IOException {
+
+            while (entries.hasNext()) {
+                SitemapEntry entry = entries.next();
+
+                while (region + 1 < previousChunks.size()
+                    && entry.getUniqueId().compareTo(previousChunks.get(region + 1).getFirstKey()) >= 0) {
+                    closeRegion();
+                    region++;
+                }
+
+                buffer.add(entry);
+
+                if (buffer.size() > chunkSize) {
+                    writeChunk(new ArrayList<>(buffer.subList(0, chunkSize)));
+                    buffer = new ArrayList<>(buffer.subList(chunkSize, buffer.size()));
+                    regionSplit = true;
+                }
+            }
+
+            closeRegion();
+            while (++region < previousChunks.size()) {
+                closeRegion();
+            }
+
+            log.info("Written " + writtenChunks + " of the " + chunks.size() + " sitemaps of type " + type);
+            return chunks;
+        }
+
+        private void closeRegion() throws IOException {
+            Chunk previousChunk = region < previousChunks.size() ? previousChunks.get(region) : null;
+
+            if (isUnchanged(previousChunk)) {
+                chunks.add(previousChunk);
+            } else {
+                if (!buffer.isEmpty()) {
+                    writeChunk(buffer);
+                }
+                if (previousChunk != null && !regionFileReused) {
+                    Files.deleteIfExists(new File(outputDir, previousChunk.getFileName()).toPath());
+                }
+            }
+
+            buffer = new ArrayList<>();
+            regionSplit = false;
+            regionFileReused = false;
+        }
+
+        private boolean isUnchanged(Chunk previousChunk) {
+            return previousChunk != null && !regionSplit && !buffer.isEmpty()
+                && buffer.size() == previousChunk.getCount()
+                && fingerprint(buffer).equals(previousChunk.getFingerprint())
+                && new File(outputDir, previousChunk.getFileName()).exists();
+        }
+
+        private void writeChunk(List<SitemapEntry> entries) throws IOException {
+            Chunk previousChunk = region < previousChunks.size() ? previousChunks.get(region) : null;
+
+            Chunk chunk = new Chunk();
+            chunk.setType(type);
+            chunk.setFirstKey(entries.get(0).getUniqueId());
+            chunk.setCount(entries.size());
+            chunk.setFingerprint(fingerprint(entries));
+            chunk.setLastModified(new Date());
+
+            if (previousChunk != null && !regionFileReused) {
+                chunk.setFileName(previousChunk.getFileName());
+                regionFileReused = true;
+            } else {
+                chunk.setFileName("sitemap-" + StringUtils.lowerCase(type) + "-" + nextFileNumber++ + ".xml.gz");
+            }
+
+            writeAtomically(chunk.getFileName(), true, output -> {
+                output.print(formatter.getLeadingBoilerPlate());
+                for (SitemapEntry entry : entries) {
+                    output.print(formatter.getURLText(entry.getURL(uiURLStem), entry.getLastModified()));
+                }
+                output.print(formatter.getTrailingBoilerPlate());
+            });
+
+            chunks.add(chunk);
+            writtenChunks++;
+        }
+
+        private int getFileNumber(String fileName) {
+            String number = StringUtils.substringBefore(StringUtils.substringAfterLast(fileName, "-"), ".");
+            return StringUtils.isNumeric(number) ? Integer.parseInt(number) : -1;
+        }
+
+    }
+
+    /**
+     * Writer of the content of a sitemap file.
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+
+        void write(PrintStream output) throws IOException;
+
+    }
+
+}
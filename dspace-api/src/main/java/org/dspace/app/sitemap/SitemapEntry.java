@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An object to include in the sitemaps, as read from the discovery index.
+ */
+public final class SitemapEntry {
+
+    private final String uniqueId;
+
+    private final String resourceType;
+
+    private final String resourceId;
+
+    private final String entityType;
+
+    private final Date lastModified;
+
+    public SitemapEntry(String uniqueId, String resourceType, String resourceId, String entityType,
+        Date lastModified) {
+        this.uniqueId = uniqueId;
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+        this.entityType = entityType;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Returns the URL of the page of this object in the UI.
+     *
+     * @param  uiURLStem the URL of the UI, ending with a slash
+     * @return           the URL
+     */
+    public String getURL(String uiURLStem) {
+        switch (resourceType) {
+            case "Community":
+                return uiURLStem + "communities/" + resourceId;
+            case "Collection":
+                return uiURLStem + "collections/" + resourceId;
+            default:
+                if (StringUtils.isNotBlank(entityType)) {
+                    return uiURLStem + "entities/" + StringUtils.lowerCase(entityType) + "/" + resourceId;
+                }
+                return uiURLStem + "items/" + resourceId;
+        }
+    }
+
+    /**
+     * The unique id of the object in the discovery index, that orders the
+     * entries of the sitemaps.
+     */
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+}
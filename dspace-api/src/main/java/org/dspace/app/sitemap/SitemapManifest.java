@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Manifest of the sitemap chunks written by the
+ * {@link IncrementalSitemapsGenerator}, stored as JSON in the sitemaps
+ * directory. For each chunk it records the range of objects that it contains
+ * and a fingerprint of their ids and modification dates, so that the next
+ * generation can rewrite only the chunks whose objects changed.
+ */
+public class SitemapManifest {
+
+    private static final Logger log = LogManager.getLogger(SitemapManifest.class);
+
+    public static final String FILE_NAME = "sitemap_manifest.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private List<Chunk> chunks = new ArrayList<>();
+
+    /**
+     * Reads the manifest from the given directory. A missing or unreadable
+     * manifest is read as an empty one, so that all the chunks are written.
+     *
+     * @param  outputDir the sitemaps directory
+     * @return           the manifest
+     */
+    public static SitemapManifest read(File outputDir) {
+        File file = new File(outputDir, FILE_NAME);
+        if (!file.exists()) {
+            return new SitemapManifest();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(file, SitemapManifest.class);
+        } catch (IOException e) {
+            log.warn("Unable to read the sitemap manifest " + file + ", all the sitemaps will be written", e);
+            return new SitemapManifest();
+        }
+    }
+
+    /**
+     * Writes this manifest in the given directory.
+     *
+     * @param  outputDir   the sitemaps directory
+     * @throws IOException if an error occurs writing the manifest
+     */
+    public void write(File outputDir) throws IOException {
+        OBJECT_MAPPER.writeValue(new File(outputDir, FILE_NAME), this);
+    }
+
+    /**
+     * Returns the chunks of the given type, ordered by their first key.
+     */
+    public List<Chunk> getChunks(String type) {
+        return chunks.stream()
+            .filter(chunk -> type.equals(chunk.getType()))
+            .sorted(Comparator.comparing(Chunk::getFirstKey))
+            .collect(Collectors.toList());
+    }
+
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<Chunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * A sitemap file, that contains the objects of a type whose keys are
+     * between its first key and the first key of the next chunk of the same
+     * type.
+     */
+    public static class Chunk {
+
+        private String type;
+
+        private String fileName;
+
+        private String firstKey;
+
+        private int count;
+
+        private String fingerprint;
+
+        private Date lastModified;
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFirstKey() {
+            return firstKey;
+        }
+
+        public void setFirstKey(String firstKey) {
+            this.firstKey = firstKey;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public Date getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(Date lastModified) {
+            this.lastModified = lastModified;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.SolrServiceSearchPlugin;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Iterator over the objects of a given type in the discovery index, ordered
+ * by their unique id. The index is read with a Solr cursor, so that every
+ * page costs the same regardless of its depth, and only the stored fields
+ * needed to build the sitemaps are read, without loading the objects from the
+ * database. The configured {@link SolrServiceSearchPlugin}s are applied as in
+ * any other search, so only the objects visible to the user of the given
+ * context are returned.
+ */
+public class SitemapSolrCursor implements Iterator<SitemapEntry> {
+
+    private static final String ENTITY_TYPE_FIELD = "search.entitytype";
+
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
+
+    private final SolrSearchCore solrSearchCore;
+
+    private final SolrQuery solrQuery;
+
+    private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+    private boolean lastPage;
+
+    private Iterator<SolrDocument> currentPage = Collections.emptyIterator();
+
+    public SitemapSolrCursor(Context context, SolrSearchCore solrSearchCore, String resourceType, int pageSize) {
+        this.solrSearchCore = solrSearchCore;
+        this.solrQuery = buildQuery(context, resourceType, pageSize);
+    }
+
+    private SolrQuery buildQuery(Context context, String resourceType, int pageSize) {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + resourceType);
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_TYPE_FIELD,
+            SearchUtils.RESOURCE_ID_FIELD, ENTITY_TYPE_FIELD, LAST_MODIFIED_FIELD);
+        query.setRows(pageSize);
+        // the cursor requires the sort on the unique key of the index
+        query.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery(query.getQuery());
+        DSpaceServicesFactory.getInstance().getServiceManager().getServicesByType(SolrServiceSearchPlugin.class)
+            .forEach(plugin -> plugin.additionalSearchParameters(context, discoverQuery, query));
+
+        return query;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext() && !lastPage) {
+            readNextPage();
+        }
+        return currentPage.hasNext();
+    }
+
+    @Override
+    public SitemapEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return toSitemapEntry(currentPage.next());
+    }
+
+    private void readNextPage() {
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        try {
+            QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            currentPage = response.getResults().iterator();
+            String nextCursorMark = response.getNextCursorMark();
+            lastPage = nextCursorMark == null || nextCursorMark.equals(cursorMark);
+            cursorMark = nextCursorMark;
+        } catch (SolrServerException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private SitemapEntry toSitemapEntry(SolrDocument document) {
+        return new SitemapEntry((String) document.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID),
+            (String) document.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD),
+            (String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD),
+            (String) document.getFirstValue(ENTITY_TYPE_FIELD),
+            (Date) document.getFirstValue(LAST_MODIFIED_FIELD));
+    }
+
+}
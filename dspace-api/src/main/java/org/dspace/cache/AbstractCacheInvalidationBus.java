@@ -0,0 +1,79 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.utils.DSpace;
+
+/**
+ * Base implementation of {@link CacheInvalidationBus} that keeps the listeners
+ * and delivers the received invalidations to them.
+ */
+public abstract class AbstractCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LogManager.getLogger(AbstractCacheInvalidationBus.class);
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts the bus. The default implementation does nothing.
+     */
+    public void start() {
+
+    }
+
+    /**
+     * Stops the bus. The default implementation does nothing.
+     */
+    public void stop() {
+
+    }
+
+    @Override
+    public void register(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unregister(CacheInvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers the given invalidations to all the listeners of this JVM. A
+     * failing listener does not prevent the delivery to the other ones.
+     *
+     * @param invalidations the invalidations to deliver
+     */
+    protected void deliver(Collection<CacheInvalidation> invalidations) {
+        List<CacheInvalidationListener> allListeners = getListeners();
+        for (CacheInvalidation invalidation : invalidations) {
+            for (CacheInvalidationListener listener : allListeners) {
+                try {
+                    listener.invalidate(invalidation);
+                } catch (RuntimeException e) {
+                    log.error("An error occurs invalidating {} with {}", invalidation,
+                        listener.getClass().getName(), e);
+                }
+            }
+        }
+    }
+
+    private List<CacheInvalidationListener> getListeners() {
+        List<CacheInvalidationListener> allListeners = new ArrayList<>(listeners);
+        allListeners.addAll(new DSpace().getServiceManager().getServicesByType(CacheInvalidationListener.class));
+        return allListeners;
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An invalidation of the cached data about an object, identified by its type
+ * and its id. The type of the DSpace objects is their
+ * {@link org.dspace.core.Constants#typeText} (e.g. <code>COLLECTION</code>),
+ * while the type of the other objects is their simple class name (e.g.
+ * <code>EntityType</code>). An invalidation without id invalidates all the
+ * objects of its type, while the {@link #ALL} invalidation invalidates all the
+ * cached data.
+ */
+public final class CacheInvalidation {
+
+    /**
+     * The type of the invalidation of all the cached data.
+     */
+    public static final String ALL_TYPES = "*";
+
+    /**
+     * Invalidation of all the cached data, e.g. after that some invalidations
+     * may have been lost.
+     */
+    public static final CacheInvalidation ALL = new CacheInvalidation(ALL_TYPES, null);
+
+    /**
+     * The type of the invalidations of the whole CRIS layout configuration.
+     */
+    public static final String CRIS_LAYOUT_TYPE = "CrisLayout";
+
+    private static final char ID_SEPARATOR = ':';
+
+    private final String type;
+
+    private final String id;
+
+    private CacheInvalidation(String type, String id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Creates an invalidation of the object with the given type and id.
+     *
+     * @param  type the type of the object
+     * @param  id   the id of the object, null to invalidate all the objects of
+     *              the given type
+     * @return      the invalidation
+     */
+    public static CacheInvalidation of(String type, Object id) {
+        if (StringUtils.isBlank(type) || StringUtils.containsAny(type, ID_SEPARATOR, '\n')) {
+            throw new IllegalArgumentException("Invalid cache invalidation type: " + type);
+        }
+        return new CacheInvalidation(type, id != null ? id.toString() : null);
+    }
+
+    /**
+     * Creates an invalidation of all the objects of the given type.
+     *
+     * @param  type the type of the objects
+     * @return      the invalidation
+     */
+    public static CacheInvalidation all(String type) {
+        return of(type, null);
+    }
+
+    /**
+     * Parses an invalidation written with {@link #toString()}.
+     *
+     * @param  value the invalidation as string
+     * @return       the invalidation
+     */
+    public static CacheInvalidation parse(String value) {
+        String type = StringUtils.substringBefore(value, String.valueOf(ID_SEPARATOR));
+        String id = StringUtils.substringAfter(value, String.valueOf(ID_SEPARATOR));
+        if (ALL_TYPES.equals(type)) {
+            return ALL;
+        }
+        return of(type, StringUtils.isEmpty(id) ? null : id);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns true if this invalidation concerns the objects of the given type,
+     * that is if it has the given type or if it invalidates all the cached data.
+     */
+    public boolean isOfType(String type) {
+        return isAll() || this.type.equals(type);
+    }
+
+    /**
+     * Returns true if all the objects of the type of this invalidation must be
+     * invalidated.
+     */
+    public boolean isAllOfType() {
+        return id == null;
+    }
+
+    /**
+     * Returns true if all the cached data must be invalidated.
+     */
+    public boolean isAll() {
+        return ALL_TYPES.equals(type);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        CacheInvalidation other = (CacheInvalidation) obj;
+        return Objects.equals(type, other.type) && Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return id != null ? type + ID_SEPARATOR + id : type;
+    }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.sql.SQLException;
+import java.util.Collection;
+
+import org.dspace.core.Context;
+
+/**
+ * Bus that delivers cache invalidations to the {@link CacheInvalidationListener}s
+ * of the JVMs sharing the same database, so that the data cached by a node is
+ * evicted when another node (e.g. a command line process) changes it.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Publishes the given invalidations. The invalidations are delivered only
+     * once the current transaction of the given context is committed, and
+     * never if it is rolled back, so that the old data is not cached again in
+     * the meantime.
+     *
+     * @param  context       the DSpace context that made the changes
+     * @param  invalidations the invalidations to publish
+     * @throws SQLException  if a database error occurs
+     */
+    void publish(Context context, Collection<CacheInvalidation> invalidations) throws SQLException;
+
+    /**
+     * Registers a listener that is not a Spring bean.
+     *
+     * @param listener the listener to register
+     */
+    void register(CacheInvalidationListener listener);
+
+    /**
+     * Unregisters a listener registered with {@link #register(CacheInvalidationListener)}.
+     *
+     * @param listener the listener to unregister
+     */
+    void unregister(CacheInvalidationListener listener);
+
+}
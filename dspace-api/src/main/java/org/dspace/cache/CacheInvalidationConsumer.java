@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.utils.DSpace;
+
+/**
+ * Consumer that publishes on the {@link CacheInvalidationBus} an invalidation
+ * for each object modified in a transaction. The invalidations are published
+ * at the end of the event dispatching, that happens before the commit of the
+ * transaction, so that a transactional bus delivers them only if the commit
+ * succeeds.
+ * <p>
+ * The changes of bundles and bitstreams are published as changes of their
+ * items too, since the representations of the items (e.g. the IIIF manifests)
+ * include them.
+ */
+public class CacheInvalidationConsumer implements Consumer {
+
+    private static final Logger log = LogManager.getLogger(CacheInvalidationConsumer.class);
+
+    private final Set<CacheInvalidation> invalidations = new LinkedHashSet<>();
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    public void initialize() throws Exception {
+        cacheInvalidationBus = new DSpace().getSingletonService(CacheInvalidationBus.class);
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        if (event.getSubjectID() == null) {
+            return;
+        }
+
+        invalidations.add(CacheInvalidation.of(event.getSubjectTypeAsString(), event.getSubjectID()));
+
+        int subjectType = event.getSubjectType();
+        if (subjectType == Constants.BUNDLE || subjectType == Constants.BITSTREAM) {
+            addItemInvalidation(context, event);
+        }
+    }
+
+    private void addItemInvalidation(Context context, Event event) {
+        DSpaceObject subject = event.getSubject(context);
+        if (subject instanceof Bitstream) {
+            ((Bitstream) subject).getBundles().forEach(bundle -> addItemInvalidations(bundle));
+        } else if (subject instanceof Bundle) {
+            addItemInvalidations((Bundle) subject);
+        }
+    }
+
+    private void addItemInvalidations(Bundle bundle) {
+        for (Item item : bundle.getItems()) {
+            invalidations.add(CacheInvalidation.of(Constants.typeText[Constants.ITEM], item.getID()));
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        try {
+            if (cacheInvalidationBus != null) {
+                cacheInvalidationBus.publish(context, invalidations);
+            } else {
+                log.warn("No cache invalidation bus configured, {} invalidations discarded", invalidations.size());
+            }
+        } finally {
+            invalidations.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+
+    }
+
+}
@@ -0,0 +1,26 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+/**
+ * A cache that receives the invalidations published on the
+ * {@link CacheInvalidationBus}. All the Spring beans implementing this
+ * interface are registered automatically.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * Removes from the cache the data concerning the given invalidation, if
+     * any. This method may be called by a thread of the bus, concurrently with
+     * the readers of the cache.
+     *
+     * @param invalidation the invalidation
+     */
+    void invalidate(CacheInvalidation invalidation);
+
+}
@@ -0,0 +1,149 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.dspace.content.BitstreamFormat;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.EntityType;
+import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataSchema;
+import org.dspace.content.RelationshipType;
+import org.dspace.content.Site;
+import org.dspace.core.Constants;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.Group2GroupCache;
+import org.dspace.layout.CrisLayoutBox;
+import org.dspace.layout.CrisLayoutBox2Field;
+import org.dspace.layout.CrisLayoutField;
+import org.dspace.layout.CrisLayoutMetric2Box;
+import org.dspace.layout.CrisLayoutTab;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+/**
+ * Implementation of {@link CacheInvalidationListener} that evicts the
+ * invalidated entities from the Hibernate second-level cache. The cached query
+ * results are not evicted: the tables of the invalidated entities, and of
+ * their collections, are marked as updated in the update timestamps cache, so
+ * that only the cached results of the queries on those tables become stale.
+ */
+public class HibernateCacheInvalidationListener implements CacheInvalidationListener {
+
+    private static final Map<String, CachedEntity> CACHED_ENTITIES = Map.of(
+        Constants.typeText[Constants.COMMUNITY], new CachedEntity(Community.class, UUID::fromString),
+        Constants.typeText[Constants.COLLECTION], new CachedEntity(Collection.class, UUID::fromString),
+        Constants.typeText[Constants.SITE], new CachedEntity(Site.class, UUID::fromString),
+        Constants.typeText[Constants.EPERSON], new CachedEntity(EPerson.class, UUID::fromString),
+        Constants.typeText[Constants.GROUP], new CachedEntity(Group.class, UUID::fromString),
+        EntityType.class.getSimpleName(), new CachedEntity(EntityType.class, Integer::valueOf),
+        RelationshipType.class.getSimpleName(), new CachedEntity(RelationshipType.class, Integer::valueOf),
+        BitstreamFormat.class.getSimpleName(), new CachedEntity(BitstreamFormat.class, Integer::valueOf),
+        MetadataField.class.getSimpleName(), new CachedEntity(MetadataField.class, Integer::valueOf),
+        MetadataSchema.class.getSimpleName(), new CachedEntity(MetadataSchema.class, Integer::valueOf));
+
+    private static final List<Class<?>> CRIS_LAYOUT_ENTITIES = List.of(CrisLayoutTab.class, CrisLayoutBox.class,
+        CrisLayoutField.class, CrisLayoutBox2Field.class, CrisLayoutMetric2Box.class);
+
+    @Autowired
+    @Qualifier("sessionFactory")
+    private SessionFactory sessionFactory;
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        Cache cache = sessionFactory.getCache();
+
+        if (invalidation.isAll()) {
+            cache.evictAllRegions();
+            return;
+        }
+
+        if (CacheInvalidation.CRIS_LAYOUT_TYPE.equals(invalidation.getType())) {
+            CRIS_LAYOUT_ENTITIES.forEach(cache::evictEntityData);
+            invalidateQueries(CRIS_LAYOUT_ENTITIES);
+            return;
+        }
+
+        CachedEntity cachedEntity = CACHED_ENTITIES.get(invalidation.getType());
+        if (cachedEntity == null) {
+            return;
+        }
+
+        if (invalidation.isAllOfType()) {
+            cache.evictEntityData(cachedEntity.entityClass);
+        } else {
+            cache.evictEntityData(cachedEntity.entityClass, cachedEntity.idParser.apply(invalidation.getId()));
+        }
+
+        if (cachedEntity.entityClass == Group.class) {
+            cache.evictEntityData(Group2GroupCache.class);
+            invalidateQueries(List.of(Group.class, Group2GroupCache.class));
+        } else {
+            invalidateQueries(List.of(cachedEntity.entityClass));
+        }
+    }
+
+    /**
+     * Marks as updated now the tables of the given entities and of their
+     * collections, so that the cached query results that read them are no
+     * longer used.
+     */
+    private void invalidateQueries(List<Class<?>> entityClasses) {
+        SessionFactoryImplementor factory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        MetamodelImplementor metamodel = factory.getMetamodel();
+
+        Set<String> spaces = new LinkedHashSet<>();
+        for (Class<?> entityClass : entityClasses) {
+            EntityPersister persister = metamodel.entityPersister(entityClass);
+            Arrays.stream(persister.getQuerySpaces()).map(Object::toString).forEach(spaces::add);
+
+            String rolePrefix = persister.getEntityName() + ".";
+            metamodel.collectionPersisters().forEach((role, collectionPersister) -> {
+                if (role.startsWith(rolePrefix)) {
+                    spaces.addAll(Arrays.asList(collectionPersister.getCollectionSpaces()));
+                }
+            });
+        }
+
+        try (StatelessSession session = factory.openStatelessSession()) {
+            factory.getCache().getTimestampsCache()
+                .invalidate(spaces.toArray(new String[0]), (SharedSessionContractImplementor) session);
+        }
+    }
+
+    private static final class CachedEntity {
+
+        private final Class<?> entityClass;
+
+        private final Function<String, Serializable> idParser;
+
+        private CachedEntity(Class<?> entityClass, Function<String, Serializable> idParser) {
+            this.entityClass = entityClass;
+            this.idParser = idParser;
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+
+/**
+ * Implementation of {@link CacheInvalidationBus} that delivers the
+ * invalidations to the listeners of the current JVM only. The invalidations
+ * are delivered once the current transaction of the publishing context is
+ * committed, so that the old data is not cached again in the meantime, and
+ * never if it is rolled back. It fits installations where a single JVM caches
+ * data.
+ */
+public class InMemoryCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    @Override
+    public void publish(Context context, Collection<CacheInvalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        if (context == null || !context.isValid() || context.isReadOnly()) {
+            // there is no transaction to wait for
+            deliver(invalidations);
+            return;
+        }
+        // the publisher may reuse the given collection after the publication
+        List<CacheInvalidation> pendingInvalidations = new ArrayList<>(invalidations);
+        context.addCommitCallback(() -> deliver(pendingInvalidations));
+    }
+
+}
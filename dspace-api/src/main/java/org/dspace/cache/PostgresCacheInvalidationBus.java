@@ -0,0 +1,224 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link CacheInvalidationBus} based on the PostgreSQL
+ * <code>LISTEN/NOTIFY</code> feature, for installations where several JVMs
+ * (e.g. more backend nodes and the command line processes) share the same
+ * database.
+ * <p>
+ * The invalidations are published with <code>pg_notify</code> in the
+ * transaction of the publishing context, so PostgreSQL delivers them only if
+ * the transaction is committed. Each JVM listens to the notifications with a
+ * dedicated connection, so the publishing JVM receives its own invalidations
+ * too. If the listening connection is lost, the notifications sent in the
+ * meantime are lost as well, so all the cached data is invalidated after the
+ * reconnection.
+ */
+public class PostgresCacheInvalidationBus extends AbstractCacheInvalidationBus {
+
+    private static final Logger log = LogManager.getLogger(PostgresCacheInvalidationBus.class);
+
+    /**
+     * The maximum size of a notification payload is 8000 bytes, keep some
+     * margin.
+     */
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final String PAYLOAD_SEPARATOR = "\n";
+
+    /**
+     * The channel is an unquoted PostgreSQL identifier, at most 63 characters
+     * long, so that it can be safely used in the LISTEN statement.
+     */
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        // a misconfigured channel fails the startup, rather than the listening thread
+        log.info("Listening to cache invalidations on channel {}", getChannel());
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public void publish(Context context, Collection<CacheInvalidation> invalidations) throws SQLException {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        if (context == null || !context.isValid() || context.isReadOnly()) {
+            throw new IllegalArgumentException("The cache invalidations must be published in the transaction of "
+                + "the context that made the changes");
+        }
+        // the Hibernate session is bound to the current thread, so it is the session of the given context
+        Session session = getHibernateSession();
+        for (String payload : toPayloads(invalidations)) {
+            session.createNativeQuery("SELECT pg_notify(:channel, :payload)")
+                .setParameter("channel", getChannel())
+                .setParameter("payload", payload)
+                .getSingleResult();
+        }
+    }
+
+    /**
+     * Splits the given invalidations in payloads not bigger than the maximum
+     * size allowed by PostgreSQL.
+     */
+    static List<String> toPayloads(Collection<CacheInvalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        int payloadBytes = 0;
+        for (CacheInvalidation invalidation : invalidations) {
+            String value = invalidation.toString();
+            int valueBytes = value.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (payloadBytes > 0 && payloadBytes + valueBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+                payloadBytes = 0;
+            }
+            if (payloadBytes > 0) {
+                payload.append(PAYLOAD_SEPARATOR);
+            }
+            payload.append(value);
+            payloadBytes += valueBytes;
+        }
+        if (payloadBytes > 0) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Parses a payload written by {@link #toPayloads(Collection)}.
+     */
+    static List<CacheInvalidation> fromPayload(String payload) {
+        return Arrays.stream(StringUtils.split(payload, PAYLOAD_SEPARATOR))
+            .map(CacheInvalidation::parse)
+            .collect(Collectors.toList());
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + getChannel() + "\"");
+                }
+                if (reconnecting) {
+                    log.info("Listening to cache invalidations again, invalidating all the cached data");
+                    deliver(List.of(CacheInvalidation.ALL));
+                }
+                reconnecting = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(getPollTimeout());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        deliver(fromPayload(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("An error occurs listening to cache invalidations, reconnecting", e);
+                reconnecting = true;
+                sleepBeforeReconnecting();
+            }
+        }
+    }
+
+    /**
+     * Opens a connection out of the pool, since it stays open as long as the
+     * JVM runs.
+     */
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(configurationService.getProperty("db.url"),
+            configurationService.getProperty("db.username"), configurationService.getProperty("db.password"));
+    }
+
+    private void sleepBeforeReconnecting() {
+        try {
+            Thread.sleep(configurationService.getLongProperty("cache.invalidation.postgres.reconnect-delay", 10000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int getPollTimeout() {
+        return configurationService.getIntProperty("cache.invalidation.postgres.poll-timeout", 5000);
+    }
+
+    private String getChannel() {
+        String channel = configurationService.getProperty("cache.invalidation.postgres.channel",
+            "dspace_cache_invalidation");
+        if (!isValidChannel(channel)) {
+            throw new IllegalStateException("Invalid cache.invalidation.postgres.channel: " + channel
+                + ", only lowercase letters, digits and underscores are allowed");
+        }
+        return channel;
+    }
+
+    static boolean isValidChannel(String channel) {
+        return channel != null && CHANNEL_PATTERN.matcher(channel).matches();
+    }
+
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+
+}
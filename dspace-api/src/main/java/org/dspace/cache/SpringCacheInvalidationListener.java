@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Implementation of {@link CacheInvalidationListener} that evicts the
+ * invalidated objects from the caches of the Spring {@link CacheManager}. For
+ * each type of invalidation it is configured the names of the caches whose
+ * entries are keyed by the id of the invalidated object, and the names of the
+ * caches to clear entirely. The caches not configured here (e.g. the caches
+ * of the responses of external services) are never evicted.
+ */
+public class SpringCacheInvalidationListener implements CacheInvalidationListener {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Map<String, List<String>> cachesByObjectId = new HashMap<>();
+
+    private Map<String, List<String>> cachesToClear = new HashMap<>();
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+
+        if (invalidation.isAll()) {
+            cachesByObjectId.values().forEach(cacheNames -> cacheNames.forEach(this::clearCache));
+            cachesToClear.values().forEach(cacheNames -> cacheNames.forEach(this::clearCache));
+            return;
+        }
+
+        for (String cacheName : cachesByObjectId.getOrDefault(invalidation.getType(), List.of())) {
+            if (invalidation.isAllOfType()) {
+                clearCache(cacheName);
+            } else {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.evictIfPresent(invalidation.getId());
+                }
+            }
+        }
+
+        cachesToClear.getOrDefault(invalidation.getType(), List.of()).forEach(this::clearCache);
+    }
+
+    private void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    public Map<String, List<String>> getCachesByObjectId() {
+        return cachesByObjectId;
+    }
+
+    public void setCachesByObjectId(Map<String, List<String>> cachesByObjectId) {
+        this.cachesByObjectId = cachesByObjectId;
+    }
+
+    public Map<String, List<String>> getCachesToClear() {
+        return cachesToClear;
+    }
+
+    public void setCachesToClear(Map<String, List<String>> cachesToClear) {
+        this.cachesToClear = cachesToClear;
+    }
+
+}
@@ -107,6 +107,15 @@ public class ChecksumHistoryServiceImpl implements ChecksumHistoryService {
         checksumHistoryDAO.deleteByBitstream(context, bitstream);
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        if (bitstreams.isEmpty()) {
+            return;
+        }
+        mostRecentChecksumService.deleteByBitstreams(context, bitstreams);
+        checksumHistoryDAO.deleteByBitstreams(context, bitstreams);
+    }
+
     @Override
     public int prune(Context context, Map<ChecksumResultCode, Long> interests) throws SQLException {
         long now = System.currentTimeMillis();
@@ -9,6 +9,7 @@ package org.dspace.checker.dao.impl;
 
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.List;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 
@@ -58,4 +59,12 @@ public class ChecksumHistoryDAOImpl extends AbstractHibernateDAO<ChecksumHistory
         query.executeUpdate();
     }
 
+    @Override
+    public void deleteByBitstreams(Context context, List<Bitstream> bitstreams) throws SQLException {
+        String hql = "delete from ChecksumHistory where bitstream in (:bitstreams)";
+        Query query = createQuery(context, hql);
+        query.setParameter("bitstreams", bitstreams);
+        query.executeUpdate();
+    }
+
 }
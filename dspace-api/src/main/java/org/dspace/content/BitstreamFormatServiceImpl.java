@@ -15,6 +15,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.dao.BitstreamFormatDAO;
 import org.dspace.content.service.BitstreamFormatService;
 import org.dspace.core.Context;
@@ -41,6 +43,9 @@ public class BitstreamFormatServiceImpl implements BitstreamFormatService {
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
 
+    @Autowired
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     protected BitstreamFormatServiceImpl() {
 
     }
@@ -127,7 +132,7 @@ public class BitstreamFormatServiceImpl implements BitstreamFormatService {
 
         // Create a table row
         BitstreamFormat bitstreamFormat = bitstreamFormatDAO.create(context, new BitstreamFormat());
-
+        publishInvalidation(context, bitstreamFormat);
 
         log.info(LogHelper.getHeader(context, "create_bitstream_format",
                                       "bitstream_format_id="
@@ -193,6 +198,7 @@ public class BitstreamFormatServiceImpl implements BitstreamFormatService {
                                               "bitstream_format_id=" + bitstreamFormat.getID()));
 
                 bitstreamFormatDAO.save(context, bitstreamFormat);
+                publishInvalidation(context, bitstreamFormat);
             }
         }
     }
@@ -216,6 +222,7 @@ public class BitstreamFormatServiceImpl implements BitstreamFormatService {
         int numberChanged = bitstreamFormatDAO.updateRemovedBitstreamFormat(context, bitstreamFormat, unknown);
 
         // Delete this format from database
+        publishInvalidation(context, bitstreamFormat);
         bitstreamFormatDAO.delete(context, bitstreamFormat);
 
         log.info(LogHelper.getHeader(context, "delete_bitstream_format",
@@ -223,6 +230,15 @@ public class BitstreamFormatServiceImpl implements BitstreamFormatService {
                                           + numberChanged));
     }
 
+    /**
+     * Publishes the change of the given format, so that it is evicted from the
+     * caches of all the processes once the transaction is committed.
+     */
+    private void publishInvalidation(Context context, BitstreamFormat bitstreamFormat) throws SQLException {
+        cacheInvalidationBus.publish(context,
+            List.of(CacheInvalidation.of(BitstreamFormat.class.getSimpleName(), bitstreamFormat.getID())));
+    }
+
     @Override
     public int getSupportLevelID(String supportLevel) {
         for (int i = 0; i < supportLevelText.length; i++) {
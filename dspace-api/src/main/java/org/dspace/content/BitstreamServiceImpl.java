@@ -17,6 +17,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterators;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -355,6 +356,20 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDeletedBitstreams(context, limit, offset);
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        return bitstreamDAO.findDeletedBitstreams(context, after, limit);
+    }
+
+    @Override
+    public List<String> findInternalIdentifiersInUse(Context context, Set<String> internalIds)
+        throws SQLException {
+        if (internalIds.isEmpty()) {
+            return List.of();
+        }
+        return bitstreamDAO.findInternalIdentifiersInUse(context, internalIds);
+    }
+
     @Override
     public void expunge(Context context, Bitstream bitstream) throws SQLException, AuthorizeException {
         authorizeService.authorizeAction(context, bitstream, Constants.DELETE);
@@ -370,6 +385,30 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDuplicateInternalIdentifier(context, bitstream);
     }
 
+    @Override
+    public boolean lock(Context context, Bitstream bitstream) throws SQLException {
+        return bitstreamDAO.lock(context, bitstream);
+    }
+
+    @Override
+    public boolean lockShared(Context context, Bitstream bitstream) throws SQLException {
+        return bitstreamDAO.lockShared(context, bitstream);
+    }
+
+    @Override
+    public Bitstream findDuplicateContent(Context context, Bitstream bitstream) throws SQLException {
+        if (bitstream.getChecksum() == null || bitstream.getChecksumAlgorithm() == null) {
+            return null;
+        }
+        return bitstreamDAO.findDuplicateContent(context, bitstream);
+    }
+
+    @Override
+    public int replaceInternalIdentifier(Context context, Integer storeNumber, String internalId,
+                                         String newInternalId) throws SQLException {
+        return bitstreamDAO.replaceInternalIdentifier(context, storeNumber, internalId, newInternalId);
+    }
+
     @Override
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException {
         return bitstreamDAO.findByItem(context, item);
@@ -24,6 +24,8 @@ import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.params.FacetParams;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.dao.EntityTypeDAO;
 import org.dspace.content.service.EntityTypeService;
 import org.dspace.content.service.ItemService;
@@ -52,6 +54,9 @@ public class EntityTypeServiceImpl implements EntityTypeService {
     @Autowired
     protected SolrSearchCore solrSearchCore;
 
+    @Autowired
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     @Override
     public EntityType findByEntityType(Context context, String entityType) throws SQLException {
         return entityTypeDAO.findByEntityType(context, entityType);
@@ -75,7 +80,9 @@ public class EntityTypeServiceImpl implements EntityTypeService {
             throw new AuthorizeException(
                 "Only administrators can modify entityType");
         }
-        return entityTypeDAO.create(context, new EntityType());
+        EntityType entityType = entityTypeDAO.create(context, new EntityType());
+        publishInvalidation(context, entityType);
+        return entityType;
     }
 
     @Override
@@ -86,7 +93,9 @@ public class EntityTypeServiceImpl implements EntityTypeService {
         }
         EntityType entityType = new EntityType();
         entityType.setLabel(entityTypeString);
-        return entityTypeDAO.create(context, entityType);
+        entityType = entityTypeDAO.create(context, entityType);
+        publishInvalidation(context, entityType);
+        return entityType;
     }
 
     @Override
@@ -111,6 +120,7 @@ public class EntityTypeServiceImpl implements EntityTypeService {
 
             for (EntityType entityType : entityTypes) {
                 entityTypeDAO.save(context, entityType);
+                publishInvalidation(context, entityType);
             }
         }
     }
@@ -121,9 +131,19 @@ public class EntityTypeServiceImpl implements EntityTypeService {
             throw new AuthorizeException(
                 "Only administrators can delete entityType");
         }
+        publishInvalidation(context, entityType);
         entityTypeDAO.delete(context, entityType);
     }
 
+    /**
+     * Publishes the change of the given entity type, so that it is evicted from
+     * the caches of all the processes once the transaction is committed.
+     */
+    private void publishInvalidation(Context context, EntityType entityType) throws SQLException {
+        cacheInvalidationBus.publish(context,
+            List.of(CacheInvalidation.of(EntityType.class.getSimpleName(), entityType.getID())));
+    }
+
     @Override
     public EntityType findByItem(Context context, Item item) throws SQLException {
         String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
@@ -1852,6 +1852,14 @@ prevent the generation of resource policy entry values with null dspace_object a
                 ids.stream().map(uuid -> UUID.fromString(uuid)).distinct().collect(Collectors.toList()));
     }
 
+    @Override
+    public void prefetch(Context context, List<Item> items, boolean bundles, boolean owningCollection)
+        throws SQLException {
+        if (CollectionUtils.isNotEmpty(items)) {
+            itemDAO.prefetch(context, items, bundles, owningCollection);
+        }
+    }
+
     @Override
     public int countItems(Context context, Collection collection) throws SQLException {
         return itemDAO.countItems(context, collection, true, false);
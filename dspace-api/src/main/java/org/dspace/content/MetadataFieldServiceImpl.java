@@ -12,12 +12,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.dao.MetadataFieldDAO;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.MetadataSchemaService;
@@ -54,6 +57,10 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
     protected MetadataSchemaService metadataSchemaService;
     @Autowired
     protected SiteService siteService;
+    @Autowired
+    protected MetadataRegistrySnapshotHolder metadataRegistrySnapshotHolder;
+    @Autowired
+    protected CacheInvalidationBus cacheInvalidationBus;
 
     protected MetadataFieldServiceImpl() {
 
@@ -85,6 +92,8 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
 
         log.info(LogHelper.getHeader(context, "create_metadata_field",
                                       "metadata_field_id=" + metadataField.getID()));
+        metadataRegistrySnapshotHolder.fieldCreated(metadataField);
+        publishChange(context, metadataField.getID());
         // Update the index of type metadatafield
         this.triggerEventToUpdateIndex(context, metadataField.getID());
         return metadataField;
@@ -98,13 +107,34 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
     @Override
     public MetadataField findByElement(Context context, MetadataSchema metadataSchema, String element, String qualifier)
         throws SQLException {
-        return metadataFieldDAO.findByElement(context, metadataSchema, element, qualifier);
+        return findByElement(context, metadataSchema.getName(), element, qualifier);
     }
 
+    /**
+     * Finds the field with the given name by its id in the snapshot of the
+     * registry, so that the field is loaded from the Hibernate caches. The
+     * field is searched in the database only if it is not in the snapshot, or
+     * if the snapshot is outdated, in which case a new snapshot is built at the
+     * next lookup.
+     */
     @Override
     public MetadataField findByElement(Context context, String metadataSchemaName, String element, String qualifier)
         throws SQLException {
-        return metadataFieldDAO.findByElement(context, metadataSchemaName, element, qualifier);
+        MetadataRegistrySnapshot snapshot = metadataRegistrySnapshotHolder.getSnapshot(context);
+        Integer fieldId = snapshot.getFieldId(metadataSchemaName, element, qualifier);
+        if (fieldId != null) {
+            MetadataField metadataField = metadataFieldDAO.findByID(context, MetadataField.class, fieldId);
+            if (metadataField != null && Objects.equals(snapshot.getFieldName(fieldId),
+                MetadataRegistrySnapshot.toFieldName(metadataField))) {
+                return metadataField;
+            }
+        }
+
+        MetadataField metadataField = metadataFieldDAO.findByElement(context, metadataSchemaName, element, qualifier);
+        if (fieldId != null || metadataField != null) {
+            metadataRegistrySnapshotHolder.invalidate();
+        }
+        return metadataField;
     }
 
     @Override
@@ -159,6 +189,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
                                       "metadata_field_id=" + metadataField.getID() + "element=" + metadataField
                                           .getElement()
                                           + "qualifier=" + metadataField.getQualifier()));
+        registryChanged(context, metadataField.getID());
         // Update the index of type metadatafield
         this.triggerEventToUpdateIndex(context, metadataField.getID());
     }
@@ -189,6 +220,7 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
 
         log.info(LogHelper.getHeader(context, "delete_metadata_field",
                                       "metadata_field_id=" + metadataField.getID()));
+        registryChanged(context, metadataField.getID());
         // Update the index of type metadatafield
         this.triggerEventToUpdateIndex(context, metadataField.getID());
     }
@@ -199,6 +231,29 @@ public class MetadataFieldServiceImpl implements MetadataFieldService {
         return metadataFieldDAO.findMetadataFieldNamesBySchemaAndElement(context, schema, element);
     }
 
+    /**
+     * Outdates the snapshot of the registry of this JVM, and notifies the other
+     * JVMs of the change of the given field.
+     *
+     * @param context   DSpace context
+     * @param mdFieldId ID of the changed metadata field
+     */
+    private void registryChanged(Context context, int mdFieldId) throws SQLException {
+        metadataRegistrySnapshotHolder.invalidate();
+        publishChange(context, mdFieldId);
+    }
+
+    /**
+     * Notifies the other JVMs of the change of the given field.
+     *
+     * @param context   DSpace context
+     * @param mdFieldId ID of the changed metadata field
+     */
+    private void publishChange(Context context, int mdFieldId) throws SQLException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.of(MetadataField.class.getSimpleName(),
+            mdFieldId)));
+    }
+
     /**
      * Calls a MODIFY SITE event with the identifier of the changed mdField, so it can be indexed in
      * {@link org.dspace.discovery.IndexEventConsumer}, with type of {@link org.dspace.discovery.IndexableObject} in
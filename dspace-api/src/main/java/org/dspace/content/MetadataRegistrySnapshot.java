@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable snapshot of the metadata registry, that maps the names of the
+ * metadata schemas and fields to their ids. The snapshots are built by the
+ * {@link MetadataRegistrySnapshotHolder} and replaced as a whole when the
+ * registry changes, or by a patched copy when a field or a schema is created,
+ * so a snapshot can be read by any thread without locking.
+ */
+public final class MetadataRegistrySnapshot {
+
+    private final long version;
+
+    private final Map<String, Integer> fieldIdsByName;
+
+    private final Map<Integer, String> fieldNamesById;
+
+    private final Map<String, Integer> schemaIdsByName;
+
+    private final Map<String, Integer> schemaIdsByNamespace;
+
+    private MetadataRegistrySnapshot(long version, Map<String, Integer> fieldIdsByName,
+        Map<Integer, String> fieldNamesById, Map<String, Integer> schemaIdsByName,
+        Map<String, Integer> schemaIdsByNamespace) {
+        this.version = version;
+        this.fieldIdsByName = fieldIdsByName;
+        this.fieldNamesById = fieldNamesById;
+        this.schemaIdsByName = schemaIdsByName;
+        this.schemaIdsByNamespace = schemaIdsByNamespace;
+    }
+
+    /**
+     * Builds a snapshot of the given schemas and fields.
+     *
+     * @param  version the version of the registry
+     * @param  schemas all the metadata schemas
+     * @param  fields  all the metadata fields
+     * @return         the snapshot
+     */
+    public static MetadataRegistrySnapshot build(long version, List<MetadataSchema> schemas,
+        List<MetadataField> fields) {
+
+        Map<String, Integer> schemaIdsByName = new HashMap<>();
+        Map<String, Integer> schemaIdsByNamespace = new HashMap<>();
+        for (MetadataSchema schema : schemas) {
+            schemaIdsByName.put(schema.getName(), schema.getID());
+            schemaIdsByNamespace.put(schema.getNamespace(), schema.getID());
+        }
+
+        Map<String, Integer> fieldIdsByName = new HashMap<>();
+        Map<Integer, String> fieldNamesById = new HashMap<>();
+        for (MetadataField field : fields) {
+            String name = toFieldName(field.getMetadataSchema().getName(), field.getElement(), field.getQualifier());
+            fieldIdsByName.put(name, field.getID());
+            fieldNamesById.put(field.getID(), name);
+        }
+
+        return new MetadataRegistrySnapshot(version, Map.copyOf(fieldIdsByName), Map.copyOf(fieldNamesById),
+            Map.copyOf(schemaIdsByName), Map.copyOf(schemaIdsByNamespace));
+    }
+
+    /**
+     * Returns a copy of this snapshot, with the same version, that also maps
+     * the given field.
+     *
+     * @param  field the created field
+     * @return       the patched snapshot
+     */
+    public MetadataRegistrySnapshot withField(MetadataField field) {
+        String name = toFieldName(field);
+        Map<String, Integer> newFieldIdsByName = new HashMap<>(fieldIdsByName);
+        newFieldIdsByName.put(name, field.getID());
+        Map<Integer, String> newFieldNamesById = new HashMap<>(fieldNamesById);
+        newFieldNamesById.put(field.getID(), name);
+        return new MetadataRegistrySnapshot(version, Collections.unmodifiableMap(newFieldIdsByName),
+            Collections.unmodifiableMap(newFieldNamesById), schemaIdsByName, schemaIdsByNamespace);
+    }
+
+    /**
+     * Returns a copy of this snapshot, with the same version, that also maps
+     * the given schema.
+     *
+     * @param  schema the created schema
+     * @return        the patched snapshot
+     */
+    public MetadataRegistrySnapshot withSchema(MetadataSchema schema) {
+        Map<String, Integer> newSchemaIdsByName = new HashMap<>(schemaIdsByName);
+        newSchemaIdsByName.put(schema.getName(), schema.getID());
+        Map<String, Integer> newSchemaIdsByNamespace = new HashMap<>(schemaIdsByNamespace);
+        newSchemaIdsByNamespace.put(schema.getNamespace(), schema.getID());
+        return new MetadataRegistrySnapshot(version, fieldIdsByName, fieldNamesById,
+            Collections.unmodifiableMap(newSchemaIdsByName), Collections.unmodifiableMap(newSchemaIdsByNamespace));
+    }
+
+    /**
+     * Returns the name of the field with the given schema, element and
+     * qualifier in the <code>schema.element.qualifier</code> form. A blank
+     * qualifier is considered as no qualifier.
+     */
+    public static String toFieldName(String schema, String element, String qualifier) {
+        StringBuilder name = new StringBuilder(schema).append('.').append(element);
+        if (StringUtils.isNotBlank(qualifier)) {
+            name.append('.').append(qualifier);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Returns the name of the given field in the <code>schema.element.qualifier</code> form.
+     */
+    public static String toFieldName(MetadataField field) {
+        return toFieldName(field.getMetadataSchema().getName(), field.getElement(), field.getQualifier());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the id of the field with the given schema, element and qualifier,
+     * or null if the field is not in this snapshot.
+     */
+    public Integer getFieldId(String schema, String element, String qualifier) {
+        if (schema == null || element == null) {
+            return null;
+        }
+        return fieldIdsByName.get(toFieldName(schema, element, qualifier));
+    }
+
+    /**
+     * Returns the <code>schema.element.qualifier</code> name of the field with
+     * the given id, or null if the field is not in this snapshot.
+     */
+    public String getFieldName(int fieldId) {
+        return fieldNamesById.get(fieldId);
+    }
+
+    /**
+     * Returns the id of the schema with the given short name, or null if the
+     * schema is not in this snapshot.
+     */
+    public Integer getSchemaId(String name) {
+        return name != null ? schemaIdsByName.get(name) : null;
+    }
+
+    /**
+     * Returns the id of the schema with the given namespace, or null if the
+     * schema is not in this snapshot.
+     */
+    public Integer getSchemaIdByNamespace(String namespace) {
+        return namespace != null ? schemaIdsByNamespace.get(namespace) : null;
+    }
+
+    public int getFieldCount() {
+        return fieldIdsByName.size();
+    }
+
+}
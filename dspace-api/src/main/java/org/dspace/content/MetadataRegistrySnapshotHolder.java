@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationListener;
+import org.dspace.content.dao.MetadataFieldDAO;
+import org.dspace.content.dao.MetadataSchemaDAO;
+import org.dspace.core.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Holds the current {@link MetadataRegistrySnapshot}. The snapshot is built
+ * lazily at the first lookup after each change of the registry, that
+ * increments the version of the registry. A snapshot built concurrently with
+ * a change is never kept in place of a newer one. The creation of a field or
+ * of a schema does not outdate the snapshot, which is patched with the created
+ * entry instead, so that loading the registry does not rebuild the snapshot
+ * for each created field.
+ */
+public class MetadataRegistrySnapshotHolder implements CacheInvalidationListener {
+
+    private static final Logger log = LogManager.getLogger(MetadataRegistrySnapshotHolder.class);
+
+    private static final String METADATA_FIELD_TYPE = MetadataField.class.getSimpleName();
+
+    private static final String METADATA_SCHEMA_TYPE = MetadataSchema.class.getSimpleName();
+
+    @Autowired
+    private MetadataFieldDAO metadataFieldDAO;
+
+    @Autowired
+    private MetadataSchemaDAO metadataSchemaDAO;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicReference<MetadataRegistrySnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * The creations already patched in the snapshot of this JVM, whose
+     * invalidations published to the other JVMs are ignored when delivered
+     * back to this one.
+     */
+    private final Set<CacheInvalidation> patchedCreations = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the snapshot of the current version of the registry, building it
+     * if needed.
+     *
+     * @param  context      the DSpace context
+     * @return              the snapshot
+     * @throws SQLException if a database error occurs
+     */
+    public MetadataRegistrySnapshot getSnapshot(Context context) throws SQLException {
+        long currentVersion = version.get();
+        MetadataRegistrySnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot != null && currentSnapshot.getVersion() == currentVersion) {
+            return currentSnapshot;
+        }
+
+        List<MetadataSchema> schemas = metadataSchemaDAO.findAll(context, MetadataSchema.class);
+        List<MetadataField> fields = metadataFieldDAO.findAll(context, MetadataField.class);
+        MetadataRegistrySnapshot newSnapshot = MetadataRegistrySnapshot.build(currentVersion, schemas, fields);
+        log.debug("Built the snapshot {} of the metadata registry with {} fields", currentVersion,
+            newSnapshot.getFieldCount());
+
+        return snapshot.accumulateAndGet(newSnapshot, (previous, built) ->
+            previous == null || built.getVersion() >= previous.getVersion() ? built : previous);
+    }
+
+    /**
+     * Marks the current snapshot as outdated, so that the next lookup builds a
+     * new one.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Adds the given created field to the current snapshot, if it is up to
+     * date. An outdated snapshot is left as is, the field is then found by the
+     * next build.
+     *
+     * @param field the created field
+     */
+    public void fieldCreated(MetadataField field) {
+        patch(CacheInvalidation.of(METADATA_FIELD_TYPE, field.getID()), current -> current.withField(field));
+    }
+
+    /**
+     * Adds the given created schema to the current snapshot, if it is up to
+     * date.
+     *
+     * @param schema the created schema
+     */
+    public void schemaCreated(MetadataSchema schema) {
+        patch(CacheInvalidation.of(METADATA_SCHEMA_TYPE, schema.getID()), current -> current.withSchema(schema));
+    }
+
+    private void patch(CacheInvalidation creation, UnaryOperator<MetadataRegistrySnapshot> patch) {
+        patchedCreations.add(creation);
+        snapshot.updateAndGet(current ->
+            current != null && current.getVersion() == version.get() ? patch.apply(current) : current);
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (patchedCreations.remove(invalidation)) {
+            return;
+        }
+        if (invalidation.isOfType(METADATA_FIELD_TYPE) || invalidation.isOfType(METADATA_SCHEMA_TYPE)) {
+            invalidate();
+        }
+    }
+
+}
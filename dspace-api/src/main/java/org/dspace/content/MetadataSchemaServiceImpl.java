@@ -13,6 +13,8 @@ import java.util.List;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.dao.MetadataSchemaDAO;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.MetadataSchemaService;
@@ -43,6 +45,12 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
     @Autowired(required = true)
     protected MetadataSchemaDAO metadataSchemaDAO;
 
+    @Autowired
+    protected MetadataRegistrySnapshotHolder metadataRegistrySnapshotHolder;
+
+    @Autowired
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     protected MetadataSchemaServiceImpl() {
 
     }
@@ -77,12 +85,27 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         log.info(LogHelper.getHeader(context, "create_metadata_schema",
                                       "metadata_schema_id="
                                           + metadataSchema.getID()));
+        metadataRegistrySnapshotHolder.schemaCreated(metadataSchema);
+        publishChange(context, metadataSchema.getID());
         return metadataSchema;
     }
 
     @Override
     public MetadataSchema findByNamespace(Context context, String namespace) throws SQLException {
-        return metadataSchemaDAO.findByNamespace(context, namespace);
+        MetadataRegistrySnapshot snapshot = metadataRegistrySnapshotHolder.getSnapshot(context);
+        Integer schemaId = snapshot.getSchemaIdByNamespace(namespace);
+        if (schemaId != null) {
+            MetadataSchema metadataSchema = find(context, schemaId);
+            if (metadataSchema != null && namespace.equals(metadataSchema.getNamespace())) {
+                return metadataSchema;
+            }
+        }
+
+        MetadataSchema metadataSchema = metadataSchemaDAO.findByNamespace(context, namespace);
+        if (schemaId != null || metadataSchema != null) {
+            metadataRegistrySnapshotHolder.invalidate();
+        }
+        return metadataSchema;
     }
 
     @Override
@@ -109,6 +132,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         log.info(LogHelper.getHeader(context, "update_metadata_schema",
                                       "metadata_schema_id=" + metadataSchema.getID() + "namespace="
                                           + metadataSchema.getNamespace() + "name=" + metadataSchema.getName()));
+        registryChanged(context, metadataSchema.getID());
     }
 
     @Override
@@ -127,6 +151,7 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
 
         log.info(LogHelper.getHeader(context, "delete_metadata_schema",
                 "metadata_schema_id=" + metadataSchema.getID()));
+        registryChanged(context, metadataSchema.getID());
     }
 
     @Override
@@ -145,7 +170,44 @@ public class MetadataSchemaServiceImpl implements MetadataSchemaService {
         if (shortName == null) {
             return null;
         }
-        return metadataSchemaDAO.find(context, shortName);
+
+        MetadataRegistrySnapshot snapshot = metadataRegistrySnapshotHolder.getSnapshot(context);
+        Integer schemaId = snapshot.getSchemaId(shortName);
+        if (schemaId != null) {
+            MetadataSchema metadataSchema = find(context, schemaId);
+            if (metadataSchema != null && shortName.equals(metadataSchema.getName())) {
+                return metadataSchema;
+            }
+        }
+
+        MetadataSchema metadataSchema = metadataSchemaDAO.find(context, shortName);
+        if (schemaId != null || metadataSchema != null) {
+            metadataRegistrySnapshotHolder.invalidate();
+        }
+        return metadataSchema;
+    }
+
+    /**
+     * Outdates the snapshot of the registry of this JVM, and notifies the other
+     * JVMs of the change of the given schema.
+     *
+     * @param context          DSpace context
+     * @param metadataSchemaId ID of the changed metadata schema
+     */
+    private void registryChanged(Context context, int metadataSchemaId) throws SQLException {
+        metadataRegistrySnapshotHolder.invalidate();
+        publishChange(context, metadataSchemaId);
+    }
+
+    /**
+     * Notifies the other JVMs of the change of the given schema.
+     *
+     * @param context          DSpace context
+     * @param metadataSchemaId ID of the changed metadata schema
+     */
+    private void publishChange(Context context, int metadataSchemaId) throws SQLException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.of(MetadataSchema.class.getSimpleName(),
+            metadataSchemaId)));
     }
 
 
@@ -14,6 +14,8 @@ import java.util.List;
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.dao.RelationshipTypeDAO;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.core.Context;
@@ -27,13 +29,18 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
 
+    @Autowired
+    protected CacheInvalidationBus cacheInvalidationBus;
+
     @Override
     public RelationshipType create(Context context) throws SQLException, AuthorizeException {
         if (!authorizeService.isAdmin(context)) {
             throw new AuthorizeException(
                 "Only administrators can modify relationshipType");
         }
-        return relationshipTypeDAO.create(context, new RelationshipType());
+        RelationshipType relationshipType = relationshipTypeDAO.create(context, new RelationshipType());
+        publishInvalidation(context, relationshipType);
+        return relationshipType;
     }
 
     @Override
@@ -43,7 +50,9 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
             throw new AuthorizeException(
                 "Only administrators can modify relationshipType");
         }
-        return relationshipTypeDAO.create(context, relationshipType);
+        relationshipType = relationshipTypeDAO.create(context, relationshipType);
+        publishInvalidation(context, relationshipType);
+        return relationshipType;
     }
 
     @Override
@@ -161,6 +170,7 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
 
             for (RelationshipType relationshipType : relationshipTypes) {
                 relationshipTypeDAO.save(context, relationshipType);
+                publishInvalidation(context, relationshipType);
             }
         }
 
@@ -172,6 +182,7 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
             throw new AuthorizeException(
                 "Only administrators can delete entityType");
         }
+        publishInvalidation(context, relationshipType);
         relationshipTypeDAO.delete(context, relationshipType);
     }
 
@@ -179,4 +190,14 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
     public int countByEntityType(Context context, EntityType entityType) throws SQLException {
         return relationshipTypeDAO.countByEntityType(context, entityType);
     }
+
+    /**
+     * Publishes the change of the given relationship type, so that it is
+     * evicted from the caches of all the processes once the transaction is
+     * committed.
+     */
+    private void publishInvalidation(Context context, RelationshipType relationshipType) throws SQLException {
+        cacheInvalidationBus.publish(context,
+            List.of(CacheInvalidation.of(RelationshipType.class.getSimpleName(), relationshipType.getID())));
+    }
 }
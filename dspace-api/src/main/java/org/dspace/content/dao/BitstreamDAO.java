@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.dspace.content.Bitstream;
@@ -32,8 +33,22 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
+    public List<String> findInternalIdentifiersInUse(Context context, Set<String> internalIds)
+        throws SQLException;
+
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    public Bitstream findDuplicateContent(Context context, Bitstream bitstream) throws SQLException;
+
+    public boolean lock(Context context, Bitstream bitstream) throws SQLException;
+
+    public boolean lockShared(Context context, Bitstream bitstream) throws SQLException;
+
+    public int replaceInternalIdentifier(Context context, Integer storeNumber, String internalId,
+                                         String newInternalId) throws SQLException;
+
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException;
 
     public Iterator<Bitstream> findByCommunity(Context context, Community community) throws SQLException;
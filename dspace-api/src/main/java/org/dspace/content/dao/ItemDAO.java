@@ -221,5 +221,22 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
 
+    /**
+     * Initialize, with a fixed number of queries, the lazy associations of the
+     * given items that are read to render them: the handles and, if requested,
+     * the owning collection and the bundles, with the bitstreams of the
+     * bundles. The metadata of the loaded bundles and bitstreams is fetched
+     * with them. The items must be attached to the session of the given
+     * context.
+     *
+     * @param  context            context
+     * @param  items              the items to prefetch
+     * @param  bundles            whether to prefetch the bundles and their bitstreams
+     * @param  owningCollection   whether to prefetch the owning collection
+     * @throws SQLException       if database error
+     */
+    void prefetch(Context context, List<Item> items, boolean bundles, boolean owningCollection)
+        throws SQLException;
+
 
 }
@@ -12,7 +12,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import javax.persistence.EntityNotFoundException;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -28,6 +30,8 @@ import org.dspace.core.AbstractHibernateDSODAO;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.UUIDIterator;
+import org.hibernate.LockMode;
+import org.hibernate.UnresolvableObjectException;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Bitstream object.
@@ -54,6 +58,34 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, Bitstream.class);
+        Root<Bitstream> bitstreamRoot = criteriaQuery.from(Bitstream.class);
+        criteriaQuery.select(bitstreamRoot);
+        criteriaQuery.orderBy(criteriaBuilder.asc(bitstreamRoot.get(Bitstream_.ID)));
+        if (after != null) {
+            criteriaQuery.where(criteriaBuilder.and(
+                criteriaBuilder.equal(bitstreamRoot.get(Bitstream_.deleted), true),
+                criteriaBuilder.greaterThan(bitstreamRoot.get(Bitstream_.id), after)));
+        } else {
+            criteriaQuery.where(criteriaBuilder.equal(bitstreamRoot.get(Bitstream_.deleted), true));
+        }
+        return list(context, criteriaQuery, false, Bitstream.class, limit, -1);
+    }
+
+    @Override
+    public List<String> findInternalIdentifiersInUse(Context context, Set<String> internalIds)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT DISTINCT b.internalId FROM Bitstream b " +
+            "WHERE b.deleted = false AND b.internalId IN (:internalIds)");
+        query.setParameter("internalIds", internalIds);
+        @SuppressWarnings("unchecked")
+        List<String> inUse = query.getResultList();
+        return inUse;
+    }
+
     @Override
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -68,6 +100,51 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return list(context, criteriaQuery, false, Bitstream.class, -1, -1);
     }
 
+    @Override
+    public boolean lock(Context context, Bitstream bitstream) throws SQLException {
+        return lock(context, bitstream, LockMode.PESSIMISTIC_WRITE);
+    }
+
+    @Override
+    public boolean lockShared(Context context, Bitstream bitstream) throws SQLException {
+        return lock(context, bitstream, LockMode.PESSIMISTIC_READ);
+    }
+
+    private boolean lock(Context context, Bitstream bitstream, LockMode lockMode) throws SQLException {
+        try {
+            getHibernateSession(context).refresh(bitstream, lockMode);
+            return true;
+        } catch (EntityNotFoundException | UnresolvableObjectException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Bitstream findDuplicateContent(Context context, Bitstream bitstream) throws SQLException {
+        Query query = createQuery(context, "SELECT b FROM Bitstream b " +
+            "WHERE b.checksum = :checksum AND b.checksumAlgorithm = :checksumAlgorithm " +
+            "AND b.sizeBytes = :sizeBytes AND b.storeNumber = :storeNumber AND b.deleted = false " +
+            "AND b.internalId <> :internalId AND b.internalId NOT LIKE '-R%' " +
+            "ORDER BY b.internalId");
+        query.setParameter("checksum", bitstream.getChecksum());
+        query.setParameter("checksumAlgorithm", bitstream.getChecksumAlgorithm());
+        query.setParameter("sizeBytes", bitstream.getSizeBytes());
+        query.setParameter("storeNumber", bitstream.getStoreNumber());
+        query.setParameter("internalId", bitstream.getInternalId());
+        return singleResult(query);
+    }
+
+    @Override
+    public int replaceInternalIdentifier(Context context, Integer storeNumber, String internalId,
+                                         String newInternalId) throws SQLException {
+        Query query = createQuery(context, "UPDATE Bitstream b SET b.internalId = :newInternalId " +
+            "WHERE b.internalId = :internalId AND b.storeNumber = :storeNumber");
+        query.setParameter("newInternalId", newInternalId);
+        query.setParameter("internalId", internalId);
+        query.setParameter("storeNumber", storeNumber);
+        return query.executeUpdate();
+    }
+
     @Override
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException {
         Query query = createQuery(context, "SELECT b FROM MostRecentChecksum c RIGHT JOIN Bitstream b " +
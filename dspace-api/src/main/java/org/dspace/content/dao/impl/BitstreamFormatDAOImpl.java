@@ -63,7 +63,9 @@ public class BitstreamFormatDAOImpl extends AbstractHibernateDAO<BitstreamFormat
             criteriaBuilder.like(bitstreamFormatRoot.get(BitstreamFormat_.mimetype), mimeType)
                             )
         );
-        return singleResult(context, criteriaQuery);
+        Query query = getHibernateSession(context).createQuery(criteriaQuery);
+        query.setHint("org.hibernate.cacheable", Boolean.TRUE);
+        return singleResult(query);
     }
 
     /**
@@ -86,7 +88,7 @@ public class BitstreamFormatDAOImpl extends AbstractHibernateDAO<BitstreamFormat
         Root<BitstreamFormat> bitstreamFormatRoot = criteriaQuery.from(BitstreamFormat.class);
         criteriaQuery.select(bitstreamFormatRoot);
         criteriaQuery.where(criteriaBuilder.equal(bitstreamFormatRoot.get(BitstreamFormat_.shortDescription), desc));
-        return uniqueResult(context, criteriaQuery, false, BitstreamFormat.class);
+        return uniqueResult(context, criteriaQuery, true, BitstreamFormat.class);
     }
 
     @Override
@@ -125,7 +127,7 @@ public class BitstreamFormatDAOImpl extends AbstractHibernateDAO<BitstreamFormat
         criteriaQuery.orderBy(orderList);
 
 
-        return list(context, criteriaQuery, false, BitstreamFormat.class, -1, -1);
+        return list(context, criteriaQuery, true, BitstreamFormat.class, -1, -1);
 
     }
 
@@ -134,6 +136,7 @@ public class BitstreamFormatDAOImpl extends AbstractHibernateDAO<BitstreamFormat
 
         Query query = createQuery(context, "from BitstreamFormat bf where :extension in elements(bf.fileExtensions)");
         query.setParameter("extension", extension);
+        query.setHint("org.hibernate.cacheable", Boolean.TRUE);
 
         return list(query);
     }
@@ -150,7 +153,7 @@ public class BitstreamFormatDAOImpl extends AbstractHibernateDAO<BitstreamFormat
         orderList.add(criteriaBuilder.asc(bitstreamFormatRoot.get(BitstreamFormat_.id)));
         criteriaQuery.orderBy(orderList);
 
-        return list(context, criteriaQuery, false, BitstreamFormat.class, -1, -1);
+        return list(context, criteriaQuery, true, BitstreamFormat.class, -1, -1);
     }
 
 }
@@ -14,12 +14,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -51,6 +53,8 @@ import org.hibernate.type.StandardBasicTypes;
 public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDAO {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemDAOImpl.class);
 
+    private static final int PREFETCH_BATCH_SIZE = 500;
+
     protected ItemDAOImpl() {
         super();
     }
@@ -509,4 +513,39 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, ids, Item.class, this);
     }
 
+    @Override
+    public void prefetch(Context context, List<Item> items, boolean bundles, boolean owningCollection)
+        throws SQLException {
+        List<UUID> itemIds = items.stream()
+            .map(Item::getID)
+            .distinct()
+            .collect(Collectors.toList());
+
+        for (List<UUID> ids : ListUtils.partition(itemIds, PREFETCH_BATCH_SIZE)) {
+
+            if (bundles) {
+                // the bundles and the bitstreams are loaded with their metadata before initializing the
+                // collections that contain them, otherwise the eager metadata would be loaded one by one
+                executePrefetchQuery(context, "SELECT DISTINCT b FROM Bundle b LEFT JOIN FETCH b.metadata "
+                    + "WHERE b.id IN (SELECT bu.id FROM Item i JOIN i.bundles bu WHERE i.id IN (:ids))", ids);
+                executePrefetchQuery(context, "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.bundles "
+                    + "WHERE i.id IN (:ids)", ids);
+                executePrefetchQuery(context, "SELECT DISTINCT bi FROM Bitstream bi LEFT JOIN FETCH bi.metadata "
+                    + "WHERE bi.id IN (SELECT bs.id FROM Item i JOIN i.bundles bu JOIN bu.bitstreams bs "
+                    + "WHERE i.id IN (:ids))", ids);
+                executePrefetchQuery(context, "SELECT DISTINCT bu FROM Item i JOIN i.bundles bu "
+                    + "LEFT JOIN FETCH bu.bitstreams WHERE i.id IN (:ids)", ids);
+            }
+            executePrefetchQuery(context, "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.handles "
+                + (owningCollection ? "LEFT JOIN FETCH i.owningCollection " : "") + "WHERE i.id IN (:ids)", ids);
+
+        }
+    }
+
+    private void executePrefetchQuery(Context context, String hql, List<UUID> ids) throws SQLException {
+        Query query = createQuery(context, hql);
+        query.setParameter("ids", ids);
+        query.getResultList();
+    }
+
 }
@@ -7,15 +7,26 @@
  */
 package org.dspace.content.integration.crosswalks;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
-
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import de.undercouch.citeproc.helper.json.JsonBuilderFactory;
+import de.undercouch.citeproc.helper.json.MapJsonBuilderFactory;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
@@ -87,6 +98,84 @@ public class CSLItemDataCrosswalk implements ItemExportCrosswalk {
 
     }
 
+    /**
+     * Only the JSON output is streamed: the citations are sorted by the
+     * configured style, so they are generated all at once to keep the order of
+     * the whole bibliography.
+     */
+    @Override
+    public boolean supportsStreaming() {
+        return isJsonMimeType();
+    }
+
+    /**
+     * Streams the given items in chunks. The JSON output is the same produced by
+     * {@link #disseminate(Context, Iterator, OutputStream)}, while the citations
+     * are generated, and then sorted by the configured style, for each chunk
+     * separately.
+     */
+    @Override
+    public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out,
+        ItemExportOptions options) throws CrosswalkException, IOException, SQLException, AuthorizeException {
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            if (isJsonMimeType()) {
+                writeJson(context, dsoIterator, writer, options);
+            } else {
+                writeCitations(context, dsoIterator, writer, options);
+            }
+        }
+
+    }
+
+    private void writeJson(Context context, Iterator<? extends DSpaceObject> dsoIterator, Writer writer,
+        ItemExportOptions options) throws CrosswalkException, IOException, SQLException {
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonWriter.beginObject();
+        jsonWriter.name("items");
+        jsonWriter.beginArray();
+
+        ChunkedItemRenderer<List<Object>> renderer = new ChunkedItemRenderer<>(options, this::toJsonItems,
+            jsonItems -> jsonItems.forEach(jsonItem -> gson.toJson(jsonItem, jsonItem.getClass(), jsonWriter)));
+        renderer.render(context, dsoIterator);
+
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+        jsonWriter.flush();
+    }
+
+    private List<Object> toJsonItems(Context context, List<DSpaceObject> dsos) throws CrosswalkObjectNotSupported {
+        DSpaceListItemDataProvider itemDataProvider = createItemDataProvider(context, dsos.iterator());
+        JsonBuilderFactory jsonBuilderFactory = new MapJsonBuilderFactory();
+        return Arrays.stream(itemDataProvider.getIds())
+            .map(itemDataProvider::retrieveItem)
+            .map(itemData -> itemData.toJson(jsonBuilderFactory.createJsonBuilder()))
+            .collect(Collectors.toList());
+    }
+
+    private void writeCitations(Context context, Iterator<? extends DSpaceObject> dsoIterator, Writer writer,
+        ItemExportOptions options) throws CrosswalkException, IOException, SQLException {
+
+        MutableBoolean firstChunk = new MutableBoolean(true);
+
+        ChunkedItemRenderer<String> renderer = new ChunkedItemRenderer<>(options, this::generateCitation, citation -> {
+            if (firstChunk.isFalse()) {
+                writer.write("\n");
+            }
+            writer.write(citation);
+            firstChunk.setFalse();
+        });
+
+        renderer.render(context, dsoIterator);
+    }
+
+    private String generateCitation(Context context, List<DSpaceObject> dsos) throws CrosswalkObjectNotSupported {
+        DSpaceListItemDataProvider itemDataProvider = createItemDataProvider(context, dsos.iterator());
+        return cslGeneratorFactory.getCSLGenerator().generate(itemDataProvider, style, format).getCitation();
+    }
+
     private DSpaceListItemDataProvider createItemDataProvider(Context context,
         Iterator<? extends DSpaceObject> dsoIterator) throws CrosswalkObjectNotSupported {
 
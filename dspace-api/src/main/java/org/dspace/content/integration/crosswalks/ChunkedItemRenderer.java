@@ -0,0 +1,238 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.integration.crosswalks;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.crosswalk.CrosswalkException;
+import org.dspace.core.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pulls the objects to export from an iterator in chunks, renders every chunk
+ * and passes the rendered chunks, in the iteration order, to a writer.
+ * <p>
+ * With more than one rendering thread the chunks are rendered concurrently:
+ * the objects of every chunk are reloaded in a new read-only Context, with the
+ * same user, special groups and locale of the given one, while the writer is
+ * always called by the calling thread. The number of chunks read in advance
+ * is bounded by {@link ItemExportOptions#getMaxPendingChunks()}: the iterator
+ * is not read while that many chunks are waiting to be rendered or written, so
+ * the memory used does not depend on the number of exported objects.
+ *
+ * @param <R> the type of the rendered chunks
+ */
+public class ChunkedItemRenderer<R> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedItemRenderer.class);
+
+    private final ItemExportOptions options;
+
+    private final ChunkRenderer<R> renderer;
+
+    private final ChunkWriter<R> writer;
+
+    public ChunkedItemRenderer(ItemExportOptions options, ChunkRenderer<R> renderer, ChunkWriter<R> writer) {
+        this.options = options;
+        this.renderer = renderer;
+        this.writer = writer;
+    }
+
+    /**
+     * Render and write all the objects of the given iterator.
+     *
+     * @param  context             the DSpace context
+     * @param  dsoIterator         the objects to render
+     * @throws CrosswalkException  if an object can not be rendered
+     * @throws IOException         if an error occurs writing the output
+     * @throws SQLException        if a database error occurs
+     */
+    public void render(Context context, Iterator<? extends DSpaceObject> dsoIterator)
+        throws CrosswalkException, IOException, SQLException {
+        if (options.getRenderingThreads() > 1) {
+            renderInParallel(context, dsoIterator);
+        } else {
+            renderSequentially(context, dsoIterator);
+        }
+    }
+
+    private void renderSequentially(Context context, Iterator<? extends DSpaceObject> dsoIterator)
+        throws CrosswalkException, IOException, SQLException {
+        while (dsoIterator.hasNext()) {
+            List<DSpaceObject> chunk = nextChunk(dsoIterator);
+            writer.write(renderer.render(context, chunk));
+            chunk.forEach(options.getRenderedObjectConsumer());
+        }
+    }
+
+    private void renderInParallel(Context context, Iterator<? extends DSpaceObject> dsoIterator)
+        throws CrosswalkException, IOException, SQLException {
+
+        int threads = options.getRenderingThreads();
+        int maxPendingChunks = Math.max(options.getMaxPendingChunks(), threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new RenderingThreadFactory());
+        Deque<Pair<List<DSpaceObject>, Future<R>>> pendingChunks = new ArrayDeque<>();
+
+        try {
+
+            while (dsoIterator.hasNext() || !pendingChunks.isEmpty()) {
+
+                while (dsoIterator.hasNext() && pendingChunks.size() < maxPendingChunks) {
+                    List<DSpaceObject> chunk = nextChunk(dsoIterator);
+                    List<UUID> ids = getIds(chunk);
+                    Future<R> renderedChunk = executor.submit(() -> renderChunk(context, chunk, ids));
+                    pendingChunks.add(Pair.of(chunk, renderedChunk));
+                }
+
+                Pair<List<DSpaceObject>, Future<R>> nextChunk = pendingChunks.poll();
+                writer.write(waitFor(nextChunk.getRight()));
+                nextChunk.getLeft().forEach(options.getRenderedObjectConsumer());
+
+            }
+
+        } finally {
+            pendingChunks.forEach(chunk -> chunk.getRight().cancel(true));
+            executor.shutdownNow();
+        }
+
+    }
+
+    /**
+     * Render the given chunk in a new Context, that is bound to the current
+     * worker thread and closed before returning.
+     */
+    private R renderChunk(Context context, List<DSpaceObject> chunk, List<UUID> ids) throws Exception {
+        Context workerContext = createWorkerContext(context);
+        try {
+            List<DSpaceObject> reloadedChunk = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                DSpaceObject reloaded = workerContext.reloadEntity(chunk.get(i));
+                if (reloaded == null) {
+                    throw new IllegalStateException("The object with id " + ids.get(i) + " no longer exists");
+                }
+                reloadedChunk.add(reloaded);
+            }
+            return renderer.render(workerContext, reloadedChunk);
+        } finally {
+            closeWorkerContext(workerContext);
+        }
+    }
+
+    private R waitFor(Future<R> renderedChunk) throws CrosswalkException, IOException, SQLException {
+        try {
+            return renderedChunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a rendered chunk", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CrosswalkException) {
+                throw (CrosswalkException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private List<DSpaceObject> nextChunk(Iterator<? extends DSpaceObject> dsoIterator) {
+        List<DSpaceObject> chunk = new ArrayList<>(Math.min(options.getChunkSize(), 1000));
+        while (dsoIterator.hasNext() && chunk.size() < options.getChunkSize()) {
+            chunk.add(dsoIterator.next());
+        }
+        return chunk;
+    }
+
+    private List<UUID> getIds(List<DSpaceObject> chunk) {
+        List<UUID> ids = new ArrayList<>(chunk.size());
+        chunk.forEach(dso -> ids.add(dso.getID()));
+        return ids;
+    }
+
+    private Context createWorkerContext(Context context) {
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        workerContext.setCurrentUser(context.getCurrentUser());
+        workerContext.setCurrentLocale(context.getCurrentLocale());
+        context.getSpecialGroupUuids().forEach(workerContext::setSpecialGroup);
+        if (context.ignoreAuthorization()) {
+            workerContext.turnOffAuthorisationSystem();
+        }
+        return workerContext;
+    }
+
+    private void closeWorkerContext(Context workerContext) {
+        try {
+            workerContext.complete();
+        } catch (SQLException e) {
+            LOGGER.warn("An error occurs closing a rendering context", e);
+            workerContext.abort();
+        }
+    }
+
+    /**
+     * Creates daemon rendering threads with a recognizable name, so that a
+     * rendering thread never prevents the JVM from exiting.
+     */
+    private static class RenderingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "item-export-renderer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    /**
+     * Renders a chunk of objects.
+     *
+     * @param <R> the type of the rendered chunk
+     */
+    @FunctionalInterface
+    public interface ChunkRenderer<R> {
+
+        R render(Context context, List<DSpaceObject> chunk) throws CrosswalkException, IOException, SQLException;
+
+    }
+
+    /**
+     * Writes a rendered chunk.
+     *
+     * @param <R> the type of the rendered chunk
+     */
+    @FunctionalInterface
+    public interface ChunkWriter<R> {
+
+        void write(R renderedChunk) throws IOException;
+
+    }
+
+}
@@ -7,8 +7,15 @@
  */
 package org.dspace.content.integration.crosswalks;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.Optional;
 
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.crosswalk.CrosswalkException;
 import org.dspace.content.crosswalk.CrosswalkMode;
 import org.dspace.content.crosswalk.StreamDisseminationCrosswalk;
 import org.dspace.core.Context;
@@ -45,4 +52,36 @@ public interface ItemExportCrosswalk extends StreamDisseminationCrosswalk, FileN
     public default boolean isAuthorized(Context context) {
         return true;
     }
+
+    /**
+     * Returns true if the implementation streams its output with
+     * {@link #disseminate(Context, Iterator, OutputStream, ItemExportOptions)},
+     * calling the rendered object consumer of the given options, false if it
+     * renders all the objects at once.
+     *
+     * @return true if the output is streamed
+     */
+    public default boolean supportsStreaming() {
+        return false;
+    }
+
+    /**
+     * Execute crosswalk on the given objects, writing the result to the given
+     * stream while the objects are read from the iterator. The implementations
+     * that are not able to stream their output ignore the given options and
+     * render all the objects at once.
+     *
+     * @param  context             the DSpace context
+     * @param  dsoIterator         the objects to crosswalk
+     * @param  out                 the output stream
+     * @param  options             the export options
+     * @throws CrosswalkException  if crosswalk error occurs
+     * @throws IOException         if IO error occurs
+     * @throws SQLException        if database error occurs
+     * @throws AuthorizeException  if authorization error occurs
+     */
+    public default void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out,
+        ItemExportOptions options) throws CrosswalkException, IOException, SQLException, AuthorizeException {
+        disseminate(context, dsoIterator, out);
+    }
 }
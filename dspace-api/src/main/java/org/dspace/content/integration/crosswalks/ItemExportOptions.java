@@ -0,0 +1,94 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.integration.crosswalks;
+
+import java.util.function.Consumer;
+
+import org.dspace.content.DSpaceObject;
+
+/**
+ * Options of a streaming multi-item export performed with
+ * {@link ItemExportCrosswalk#disseminate(org.dspace.core.Context, java.util.Iterator, java.io.OutputStream,
+ * ItemExportOptions)}.
+ */
+public class ItemExportOptions {
+
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int renderingThreads = 1;
+
+    private int maxPendingChunks;
+
+    private Consumer<DSpaceObject> renderedObjectConsumer = dso -> { };
+
+    /**
+     * Returns the maximum number of objects rendered together and flushed to the
+     * output before reading the next objects from the iterator.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public ItemExportOptions setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(chunkSize, 1);
+        return this;
+    }
+
+    /**
+     * Returns the number of threads rendering the chunks. With more than one
+     * thread every chunk is rendered with a dedicated read-only Context, while
+     * the chunks are still written in the iteration order.
+     *
+     * @return the number of rendering threads
+     */
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
+
+    public ItemExportOptions setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = Math.max(renderingThreads, 1);
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of chunks read from the iterator and not yet
+     * written when rendering with more than one thread: once reached, no other
+     * object is read until the oldest pending chunk is written. When not set, two
+     * chunks per rendering thread are allowed.
+     *
+     * @return the maximum number of pending chunks
+     */
+    public int getMaxPendingChunks() {
+        return maxPendingChunks > 0 ? maxPendingChunks : renderingThreads * 2;
+    }
+
+    public ItemExportOptions setMaxPendingChunks(int maxPendingChunks) {
+        this.maxPendingChunks = maxPendingChunks;
+        return this;
+    }
+
+    /**
+     * Returns the consumer called with every object taken from the iterator once
+     * its chunk has been written, e.g. to uncache it from the Context.
+     *
+     * @return the consumer of the rendered objects
+     */
+    public Consumer<DSpaceObject> getRenderedObjectConsumer() {
+        return renderedObjectConsumer;
+    }
+
+    public ItemExportOptions setRenderedObjectConsumer(Consumer<DSpaceObject> renderedObjectConsumer) {
+        this.renderedObjectConsumer = renderedObjectConsumer;
+        return this;
+    }
+
+}
@@ -13,6 +13,7 @@ import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
@@ -176,6 +177,17 @@ public class ReferCrosswalk implements ItemExportCrosswalk {
     @Override
     public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out)
         throws CrosswalkException, IOException, SQLException, AuthorizeException {
+        disseminate(context, dsoIterator, out, new ItemExportOptions());
+    }
+
+    @Override
+    public boolean supportsStreaming() {
+        return true;
+    }
+
+    @Override
+    public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out,
+        ItemExportOptions options) throws CrosswalkException, IOException, SQLException, AuthorizeException {
 
         if (CollectionUtils.isEmpty(multipleItemsTemplateLines)) {
             throw new UnsupportedOperationException("No template defined for multiple items");
@@ -185,38 +197,22 @@ public class ReferCrosswalk implements ItemExportCrosswalk {
             throw new AuthorizeException("The current user is not allowed to perform a zip item export");
         }
 
-        List<String> lines = new ArrayList<String>();
-
-        for (TemplateLine line : multipleItemsTemplateLines) {
-
-            if (line.isTemplateField()) {
-
-                while (dsoIterator.hasNext()) {
-
-                    DSpaceObject dso = dsoIterator.next();
-                    if (!canDisseminate(context, dso)) {
-                        throw new CrosswalkObjectNotSupported(
-                            "Can only crosswalk items with the configured type: " + entityType);
-                    }
+        try (PostProcessedLinesWriter writer = new PostProcessedLinesWriter(out)) {
 
-                    List<String> singleTemplateLines = getSingleItemLines(context, dso, line);
-                    for (String singleTemplateLine : singleTemplateLines) {
-                        lines.add(line.getBeforeField() + singleTemplateLine);
-                    }
+            for (TemplateLine line : multipleItemsTemplateLines) {
 
+                if (line.isTemplateField()) {
+                    ChunkedItemRenderer<List<String>> renderer = new ChunkedItemRenderer<>(options,
+                        (chunkContext, chunk) -> getMultipleItemsLines(chunkContext, chunk, line), writer::writeLines);
+                    renderer.render(context, dsoIterator);
+                } else {
+                    writer.writeLines(List.of(line.getBeforeField()));
                 }
 
-            } else {
-                lines.add(line.getBeforeField());
             }
-        }
 
-        if (linesPostProcessor != null) {
-            linesPostProcessor.accept(lines);
         }
 
-        writeLines(out, lines);
-
     }
 
     @Override
@@ -288,6 +284,28 @@ public class ReferCrosswalk implements ItemExportCrosswalk {
         return lines;
     }
 
+    private List<String> getMultipleItemsLines(Context context, List<DSpaceObject> dsos, TemplateLine line)
+        throws CrosswalkObjectNotSupported, IOException {
+
+        List<String> lines = new ArrayList<String>();
+
+        for (DSpaceObject dso : dsos) {
+
+            if (!canDisseminate(context, dso)) {
+                throw new CrosswalkObjectNotSupported(
+                    "Can only crosswalk items with the configured type: " + entityType);
+            }
+
+            List<String> singleTemplateLines = getSingleItemLines(context, dso, line);
+            for (String singleTemplateLine : singleTemplateLines) {
+                lines.add(line.getBeforeField() + singleTemplateLine);
+            }
+
+        }
+
+        return lines;
+    }
+
     private List<String> getSingleItemLines(Context context, DSpaceObject dso, TemplateLine line)
         throws CrosswalkObjectNotSupported, IOException {
 
@@ -606,4 +624,60 @@ public class ReferCrosswalk implements ItemExportCrosswalk {
         this.allowedGroups = allowedGroups;
     }
 
+    /**
+     * Writer of the lines of a multiple items export that applies the lines
+     * post processor to every group of written lines. The last line of every
+     * group is held back until the next group, or the end of the output, is
+     * written, so that the post processor can always look at the following
+     * line.
+     */
+    private class PostProcessedLinesWriter implements Closeable {
+
+        private final BufferedWriter writer;
+
+        private final List<String> pendingLines = new ArrayList<>();
+
+        private PostProcessedLinesWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        }
+
+        private void writeLines(List<String> lines) throws IOException {
+            pendingLines.addAll(lines);
+            if (linesPostProcessor == null) {
+                writePendingLines(pendingLines.size());
+                return;
+            }
+
+            linesPostProcessor.accept(pendingLines);
+            writePendingLines(pendingLines.size() - 1);
+        }
+
+        private void writePendingLines(int count) throws IOException {
+            if (count <= 0) {
+                return;
+            }
+
+            List<String> linesToWrite = pendingLines.subList(0, count);
+            for (String line : linesToWrite) {
+                writer.write(line);
+                writer.newLine();
+            }
+            linesToWrite.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (linesPostProcessor != null) {
+                    linesPostProcessor.accept(pendingLines);
+                }
+                writePendingLines(pendingLines.size());
+                writer.flush();
+            } finally {
+                writer.close();
+            }
+        }
+
+    }
+
 }
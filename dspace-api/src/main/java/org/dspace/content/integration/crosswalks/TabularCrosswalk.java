@@ -7,6 +7,10 @@
  */
 package org.dspace.content.integration.crosswalks;
 
+import static org.apache.commons.collections4.IteratorUtils.chainedIterator;
+import static org.apache.commons.collections4.IteratorUtils.singletonIterator;
+import static org.apache.commons.collections4.IteratorUtils.transformedIterator;
+
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -122,12 +126,14 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     }
 
     /**
-     * Write the given rows into the given outputstream in a specific format.
+     * Write the given rows into the given outputstream in a specific format. The
+     * rows are computed while they are iterated, so they should be written as
+     * soon as they are read.
      *
-     * @param rows the rows to write
+     * @param rows the rows to write, the first one is the header
      * @param out the OutputStream to write into
      */
-    protected abstract void writeRows(List<List<String>> rows, OutputStream out);
+    protected abstract void writeRows(Iterator<List<String>> rows, OutputStream out);
 
     /**
      * Returns the separator string of the values of the same field.
@@ -167,19 +173,17 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out)
         throws CrosswalkException, IOException, SQLException, AuthorizeException {
 
-        List<List<String>> rows = new ArrayList<>();
-        rows.add(getHeader());
+        Iterator<List<String>> rows = chainedIterator(singletonIterator(getHeader()),
+            transformedIterator(dsoIterator, dso -> getRowOrThrow(context, dso)));
 
-        while (dsoIterator.hasNext()) {
-            DSpaceObject dso = dsoIterator.next();
-            if (!canDisseminate(context, dso)) {
-                throw new CrosswalkObjectNotSupported(
-                    "Can only crosswalk an Item with the configured type: " + entityType);
+        try {
+            writeRows(rows, out);
+        } catch (RowCreationException e) {
+            if (e.getCause() instanceof CrosswalkException) {
+                throw (CrosswalkException) e.getCause();
             }
-            rows.add(getRow(context, dso));
+            throw (SQLException) e.getCause();
         }
-
-        writeRows(rows, out);
     }
 
     @Override
@@ -202,6 +206,18 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
             .collect(Collectors.toList());
     }
 
+    private List<String> getRowOrThrow(Context context, DSpaceObject dso) {
+        try {
+            if (!canDisseminate(context, dso)) {
+                throw new CrosswalkObjectNotSupported(
+                    "Can only crosswalk an Item with the configured type: " + entityType);
+            }
+            return getRow(context, dso);
+        } catch (CrosswalkObjectNotSupported | SQLException e) {
+            throw new RowCreationException(e);
+        }
+    }
+
     private List<String> getRow(Context context, DSpaceObject dso) throws CrosswalkObjectNotSupported, SQLException {
         if (dso.getType() != Constants.ITEM) {
             throw new CrosswalkObjectNotSupported("Can only crosswalk an Item.");
@@ -354,4 +370,17 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     public CrosswalkMode getCrosswalkMode() {
         return Optional.ofNullable(this.crosswalkMode).orElse(ItemExportCrosswalk.super.getCrosswalkMode());
     }
+
+    /**
+     * Wraps the checked exceptions thrown while the rows are lazily computed.
+     */
+    private static class RowCreationException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        RowCreationException(Exception cause) {
+            super(cause);
+        }
+
+    }
 }
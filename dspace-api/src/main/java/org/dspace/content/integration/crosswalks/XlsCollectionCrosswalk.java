@@ -18,6 +18,7 @@ import java.util.logging.Level;
 
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.dspace.app.bulkedit.BulkImport;
 import org.dspace.app.bulkimport.service.BulkImportWorkbookBuilder;
 import org.dspace.authorize.AuthorizeException;
@@ -117,7 +118,13 @@ public class XlsCollectionCrosswalk implements ItemExportCrosswalk {
         this.setHandler(this.handler);
         try (Workbook workbook = bulkImportWorkbookBuilder.buildForItems(
                 context, collection, itemIterator, this::logMessage)) {
-            workbook.write(out);
+            try {
+                workbook.write(out);
+            } finally {
+                if (workbook instanceof SXSSFWorkbook) {
+                    ((SXSSFWorkbook) workbook).dispose();
+                }
+            }
         }
 
     }
@@ -9,17 +9,19 @@ package org.dspace.content.integration.crosswalks;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.dspace.util.ColumnWidthEstimator;
 
 /**
- * Implementation of {@StreamDisseminationCrosswalk} to produce a xls file starting from a template.
+ * Implementation of {@StreamDisseminationCrosswalk} to produce a xlsx file starting from a template. The
+ * workbook is streamed, keeping in memory only the last rows written.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -30,29 +32,36 @@ public class XlsCrosswalk extends TabularCrosswalk {
 
     @Override
     public String getMIMEType() {
-        return "application/vnd.ms-excel";
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     }
 
     @Override
-    protected void writeRows(List<List<String>> rows, OutputStream out) {
+    protected void writeRows(Iterator<List<String>> rows, OutputStream out) {
 
-        try (Workbook workbook = new HSSFWorkbook()) {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(getRowAccessWindowSize())) {
 
             Sheet sheet = workbook.createSheet(sheetName);
+            ColumnWidthEstimator columnWidthEstimator = new ColumnWidthEstimator(getColumnWidthSampleSize());
 
             int rowCount = 0;
-            for (List<String> row : rows) {
+            while (rows.hasNext()) {
+                List<String> row = rows.next();
                 Row sheetRow = sheet.createRow(rowCount++);
                 int cellCount = 0;
                 for (String field : row) {
                     Cell cell = sheetRow.createCell(cellCount++);
                     cell.setCellValue(StringUtils.length(field) > 32726 ? field.substring(0, 32725) + "…" : field );
                 }
+                columnWidthEstimator.sample(row);
             }
 
-            autoSizeColumns(sheet);
+            columnWidthEstimator.apply(sheet);
 
-            workbook.write(out);
+            try {
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+            }
 
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -60,14 +69,12 @@ public class XlsCrosswalk extends TabularCrosswalk {
 
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
-            }
-        }
+    protected int getRowAccessWindowSize() {
+        return configurationService.getIntProperty("bulkedit.export.row-access-window", 100);
+    }
+
+    protected int getColumnWidthSampleSize() {
+        return configurationService.getIntProperty("bulkedit.export.column-width.sample-rows", 100);
     }
 
     protected String getValuesSeparator() {
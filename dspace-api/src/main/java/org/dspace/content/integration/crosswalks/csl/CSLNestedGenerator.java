@@ -12,45 +12,142 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import de.undercouch.citeproc.CSL;
 import de.undercouch.citeproc.output.Bibliography;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
+import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.dspace.services.ConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementation of {@link CSLGenerator} that uses a nested Citation processor
  * to generate the citations.
+ * <p>
+ * Creating a citation processor starts a new citeproc engine and compiles the
+ * style, so the processors are kept in a pool for each pair of style and
+ * output format and reused across the requests. The content of the styles read
+ * from the configuration directory is cached as well.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
 public class CSLNestedGenerator implements CSLGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CSLNestedGenerator.class);
+
     @Autowired
     private ConfigurationService configurationService;
 
+    private final Map<String, String> styleContents = new ConcurrentHashMap<>();
+
+    private GenericKeyedObjectPool<Pair<String, String>, PooledCitationProcessor> processorPool;
+
+    @PostConstruct
+    private void initPool() {
+        int maxPerStyle = configurationService.getIntProperty("csl.processor-pool.max-per-style", 8);
+
+        GenericKeyedObjectPoolConfig<PooledCitationProcessor> poolConfig = new GenericKeyedObjectPoolConfig<>();
+        poolConfig.setMaxTotalPerKey(maxPerStyle);
+        poolConfig.setMaxIdlePerKey(maxPerStyle);
+        poolConfig.setMaxTotal(-1);
+        poolConfig.setBlockWhenExhausted(true);
+        poolConfig.setMaxWaitMillis(configurationService.getLongProperty("csl.processor-pool.max-wait", 30000L));
+
+        processorPool = new GenericKeyedObjectPool<>(new CitationProcessorFactory(), poolConfig);
+
+        String[] stylesToPrewarm = configurationService.getArrayProperty("csl.processor-pool.prewarm.styles");
+        if (stylesToPrewarm.length > 0 && isNotWebServiceConfigured()) {
+            String format = configurationService.getProperty("csl.processor-pool.prewarm.format", "text");
+            Thread prewarmThread = new Thread(() -> prewarm(stylesToPrewarm, format), "csl-processor-prewarm");
+            prewarmThread.setDaemon(true);
+            prewarmThread.start();
+        }
+    }
+
+    @PreDestroy
+    private void closePool() {
+        if (processorPool != null) {
+            processorPool.close();
+        }
+    }
+
     @Override
     public CSLResult generate(DSpaceListItemDataProvider itemDataProvider, String style, String format) {
-        CSL citeproc = createCitationProcessor(itemDataProvider, style, format);
-        Bibliography bibliography = citeproc.makeBibliography();
+        Pair<String, String> key = Pair.of(style, format);
+        PooledCitationProcessor processor = borrowProcessor(key);
+
+        Bibliography bibliography;
+        try {
+            bibliography = processor.makeBibliography(itemDataProvider);
+        } catch (RuntimeException e) {
+            invalidateProcessor(key, processor);
+            throw e;
+        }
+
+        returnProcessor(key, processor);
         return CSLResult.fromBibliography(format, bibliography);
     }
 
-    private CSL createCitationProcessor(DSpaceListItemDataProvider itemDataProvider, String style, String format) {
+    private PooledCitationProcessor borrowProcessor(Pair<String, String> key) {
         try {
-            CSL citeproc = new CSL(itemDataProvider, getStyle(style));
-            citeproc.setOutputFormat(format);
-            citeproc.registerCitationItems(itemDataProvider.getIds());
-            return citeproc;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            return processorPool.borrowObject(key);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("An error occurs creating the citation processor for style "
+                + key.getLeft(), e);
         }
     }
 
+    private void returnProcessor(Pair<String, String> key, PooledCitationProcessor processor) {
+        processorPool.returnObject(key, processor);
+    }
+
+    private void invalidateProcessor(Pair<String, String> key, PooledCitationProcessor processor) {
+        try {
+            processorPool.invalidateObject(key, processor);
+        } catch (Exception e) {
+            LOGGER.warn("An error occurs discarding a citation processor for style " + key.getLeft(), e);
+        }
+    }
+
+    private void prewarm(String[] styles, String format) {
+        for (String style : styles) {
+            try {
+                processorPool.addObject(Pair.of(style, format));
+            } catch (Exception e) {
+                LOGGER.warn("An error occurs prewarming the citation processor for style " + style, e);
+            }
+        }
+    }
+
+    private boolean isNotWebServiceConfigured() {
+        return StringUtils.isBlank(configurationService.getProperty("csl.web-service.url"));
+    }
+
     private String getStyle(String style) throws IOException {
-        return CSL.supportsStyle(style) ? style : readXmlStyleContent(style);
+        if (CSL.supportsStyle(style)) {
+            return style;
+        }
+        String styleContent = styleContents.get(style);
+        if (styleContent == null) {
+            styleContent = readXmlStyleContent(style);
+            styleContents.put(style, styleContent);
+        }
+        return styleContent;
     }
 
     private String readXmlStyleContent(String style) throws IOException {
@@ -69,4 +166,23 @@ public class CSLNestedGenerator implements CSLGenerator {
         }
     }
 
+    /**
+     * Factory of the pooled citation processors, keyed by style and output
+     * format.
+     */
+    private class CitationProcessorFactory
+        extends BaseKeyedPooledObjectFactory<Pair<String, String>, PooledCitationProcessor> {
+
+        @Override
+        public PooledCitationProcessor create(Pair<String, String> key) throws IOException {
+            return new PooledCitationProcessor(getStyle(key.getLeft()), key.getRight());
+        }
+
+        @Override
+        public PooledObject<PooledCitationProcessor> wrap(PooledCitationProcessor processor) {
+            return new DefaultPooledObject<>(processor);
+        }
+
+    }
+
 }
@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.integration.crosswalks.csl;
+
+import java.io.IOException;
+
+import de.undercouch.citeproc.CSL;
+import de.undercouch.citeproc.ItemDataProvider;
+import de.undercouch.citeproc.csl.CSLItemData;
+import de.undercouch.citeproc.output.Bibliography;
+
+/**
+ * A {@link CSL} citation processor bound to a style and an output format that
+ * can be reused to format different items, so that the citation engine and the
+ * style are initialized only once.
+ * <p>
+ * The processor is itself the {@link ItemDataProvider} of the wrapped engine
+ * and delegates to the provider of the current {@link #makeBibliography}
+ * call; the engine state is reset after every call. Instances are not thread
+ * safe and are meant to be borrowed from the pool of {@link CSLNestedGenerator}.
+ */
+class PooledCitationProcessor implements ItemDataProvider {
+
+    private static final String[] NO_IDS = new String[0];
+
+    private final CSL citeproc;
+
+    private ItemDataProvider itemDataProvider;
+
+    PooledCitationProcessor(String style, String format) throws IOException {
+        this.citeproc = new CSL(this, style);
+        this.citeproc.setOutputFormat(format);
+    }
+
+    /**
+     * Generate the bibliography of all the items of the given provider.
+     *
+     * @param  provider the item data provider
+     * @return          the generated bibliography
+     */
+    Bibliography makeBibliography(ItemDataProvider provider) {
+        this.itemDataProvider = provider;
+        try {
+            citeproc.registerCitationItems(provider.getIds());
+            return citeproc.makeBibliography();
+        } finally {
+            citeproc.reset();
+            this.itemDataProvider = null;
+        }
+    }
+
+    @Override
+    public CSLItemData retrieveItem(String id) {
+        return itemDataProvider != null ? itemDataProvider.retrieveItem(id) : null;
+    }
+
+    @Override
+    public String[] getIds() {
+        return itemDataProvider != null ? itemDataProvider.getIds() : NO_IDS;
+    }
+
+}
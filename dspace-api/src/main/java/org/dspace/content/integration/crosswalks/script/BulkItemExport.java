@@ -11,8 +11,11 @@ import static org.apache.commons.lang3.StringUtils.substringAfterLast;
 import static org.apache.commons.lang3.StringUtils.substringBeforeLast;
 import static org.apache.commons.lang3.StringUtils.trimToEmpty;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -22,14 +25,18 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.crosswalk.StreamDisseminationCrosswalk;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.integration.crosswalks.FileNameDisseminator;
+import org.dspace.content.integration.crosswalks.ItemExportCrosswalk;
+import org.dspace.content.integration.crosswalks.ItemExportOptions;
 import org.dspace.content.integration.crosswalks.StreamDisseminationCrosswalkMapper;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
@@ -117,6 +124,12 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
 
     private Integer offset;
 
+    private long totalItemsToExport;
+
+    private long readItems;
+
+    private int progressInterval;
+
     @Override
     public void setup() throws ParseException {
 
@@ -173,13 +186,14 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
             if (maxResults > 0) {
                 handler.logInfo("Export will be limited to " + maxResults + " items.");
             }
+            boolean streamingExport = isStreamingExport(streamDisseminationCrosswalk);
             DiscoverResultItemIterator itemsIterator = searchItemsToExport(maxResults,
-                    streamDisseminationCrosswalk.isPubliclyReadable());
-            handler.logInfo("Found " + Math.min(itemsIterator.getTotalSearchResults(),
-                                                maxResults > 0 ? maxResults : Integer.MAX_VALUE) +
-                                " items to export");
+                    streamDisseminationCrosswalk.isPubliclyReadable(), !streamingExport);
+            totalItemsToExport = Math.min(itemsIterator.getTotalSearchResults(),
+                maxResults > 0 ? maxResults : Integer.MAX_VALUE);
+            handler.logInfo("Found " + totalItemsToExport + " items to export");
 
-            performExport(itemsIterator, streamDisseminationCrosswalk);
+            performExport(withProgress(itemsIterator), streamDisseminationCrosswalk);
 
             context.complete();
         } catch (Exception e) {
@@ -218,17 +232,70 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
     }
 
     private void performExport(Iterator<Item> itemsIterator, StreamDisseminationCrosswalk crosswalk) throws Exception {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        crosswalk.disseminate(context, itemsIterator, out);
-        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
-        String name = getFileName(crosswalk);
-        context.setMode(Context.Mode.READ_WRITE);
-        handler.writeFilestream(context, name, in, crosswalk.getMIMEType(), crosswalk.isPubliclyReadable());
-        handler.logInfo("Items exported successfully into file named " + name);
+        File exportFile = File.createTempFile("bulk-item-export", ".tmp");
+        try {
+
+            try (OutputStream out = new FileOutputStream(exportFile)) {
+                if (isStreamingExport(crosswalk)) {
+                    ((ItemExportCrosswalk) crosswalk).disseminate(context, itemsIterator, out, getExportOptions());
+                } else {
+                    crosswalk.disseminate(context, itemsIterator, out);
+                }
+            }
+
+            String name = getFileName(crosswalk);
+            context.setMode(Context.Mode.READ_WRITE);
+            try (InputStream in = new FileInputStream(exportFile)) {
+                handler.writeFilestream(context, name, in, crosswalk.getMIMEType(), crosswalk.isPubliclyReadable());
+            }
+            handler.logInfo("Items exported successfully into file named " + name);
+
+        } finally {
+            if (!exportFile.delete()) {
+                LOGGER.warn("Unable to delete the temporary export file " + exportFile.getAbsolutePath());
+            }
+        }
+    }
+
+    private boolean isStreamingExport(StreamDisseminationCrosswalk crosswalk) {
+        return crosswalk instanceof ItemExportCrosswalk && ((ItemExportCrosswalk) crosswalk).supportsStreaming();
+    }
+
+    /**
+     * Wraps the given iterator to log a progress message every
+     * bulk-export.progress-interval items read from it, whatever the crosswalk
+     * used for the export.
+     */
+    private Iterator<Item> withProgress(Iterator<Item> itemsIterator) {
+        progressInterval = configurationService.getIntProperty("bulk-export.progress-interval", 1000);
+        return IteratorUtils.transformedIterator(itemsIterator, item -> {
+            readItems++;
+            if (progressInterval > 0 && readItems % progressInterval == 0) {
+                handler.logInfo("Read " + readItems + " of " + totalItemsToExport + " items to export");
+            }
+            return item;
+        });
+    }
+
+    private ItemExportOptions getExportOptions() {
+        return new ItemExportOptions()
+            .setChunkSize(configurationService.getIntProperty("bulk-export.chunk-size",
+                ItemExportOptions.DEFAULT_CHUNK_SIZE))
+            .setRenderingThreads(configurationService.getIntProperty("bulk-export.rendering-threads", 1))
+            .setMaxPendingChunks(configurationService.getIntProperty("bulk-export.max-pending-chunks"))
+            .setRenderedObjectConsumer(this::uncacheEntity);
     }
 
-    private DiscoverResultItemIterator searchItemsToExport(int maxResults, boolean onlyPublic)
-            throws SearchServiceException, SQLException {
+    private void uncacheEntity(DSpaceObject dso) {
+        try {
+            context.uncacheEntity(dso);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private DiscoverResultItemIterator searchItemsToExport(int maxResults, boolean onlyPublic,
+        boolean uncacheEntities) throws SearchServiceException, SQLException {
         IndexableObject<?, ?> scopeObject = resolveScope();
         DiscoveryConfiguration discoveryConfiguration = discoveryConfigurationService
             .getDiscoveryConfigurationByNameOrDso(configuration, scopeObject);
@@ -239,9 +306,9 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
         DiscoverQuery discoverQuery = buildDiscoveryQuery(discoveryConfiguration, scopeObject, onlyPublic);
 
         if (isRelatedItem) {
-            return new DiscoverResultItemIterator(context, discoverQuery, maxResults);
+            return new DiscoverResultItemIterator(context, null, discoverQuery, uncacheEntities, maxResults);
         } else {
-            return new DiscoverResultItemIterator(context, scopeObject, discoverQuery, maxResults);
+            return new DiscoverResultItemIterator(context, scopeObject, discoverQuery, uncacheEntities, maxResults);
         }
     }
 
@@ -291,7 +358,7 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
         DiscoverQuery discoverQuery =
             queryBuilder.buildQuery(
                 context, scope, discoveryConfiguration, query, filters,
-                dsoTypes, QUERY_PAGINATION_SIZE,
+                dsoTypes, getSearchPageSize(),
                 Optional.ofNullable(this.offset).map(Long::valueOf).orElse(null),
                 sortBy, sortOrder
             );
@@ -313,6 +380,15 @@ public class BulkItemExport extends DSpaceRunnable<BulkItemExportScriptConfigura
         return discoverQuery;
     }
 
+    /**
+     * Returns the number of items read from the search index with every query:
+     * the streaming exports read a chunk at a time, so they benefit from larger
+     * pages, that reduce the number of round trips to the index.
+     */
+    private int getSearchPageSize() {
+        return configurationService.getIntProperty("bulk-export.search-page-size", QUERY_PAGINATION_SIZE);
+    }
+
     private List<QueryBuilderSearchFilter> parseSearchFilters() {
 
         List<QueryBuilderSearchFilter> queryBuilderSearchFilters = new ArrayList<>();
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dspace.content.MetadataField;
+import org.dspace.layout.CrisLayoutBox;
+import org.dspace.layout.CrisLayoutField;
+import org.dspace.layout.CrisLayoutFieldMetadata;
+import org.dspace.layout.CrisMetadataGroup;
+
+/**
+ * Immutable model of the visibility of the metadata fields of the items of an
+ * entity type, compiled from the layout boxes configured for that entity type.
+ * Every metadata field is public, if it is shown in at least a public box, or
+ * secured by the not public boxes that show it, or not configured in any box;
+ * only identifiers are retained, so the model can be shared across the
+ * requests.
+ */
+final class EntityTypeMetadataVisibility {
+
+    /**
+     * The visibility model to use when no box must be considered.
+     */
+    static final EntityTypeMetadataVisibility NO_BOXES = new EntityTypeMetadataVisibility(false,
+        Collections.emptySet(), Collections.emptyMap());
+
+    private final boolean boxesConfigured;
+
+    private final Set<Integer> publicFieldIds;
+
+    private final Map<Integer, List<Integer>> securedBoxIdsByFieldId;
+
+    private EntityTypeMetadataVisibility(boolean boxesConfigured, Set<Integer> publicFieldIds,
+        Map<Integer, List<Integer>> securedBoxIdsByFieldId) {
+        this.boxesConfigured = boxesConfigured;
+        this.publicFieldIds = publicFieldIds;
+        this.securedBoxIdsByFieldId = securedBoxIdsByFieldId;
+    }
+
+    /**
+     * Compile the visibility model from the given boxes of an entity type.
+     *
+     * @param  boxes the boxes configured for the entity type
+     * @return       the visibility model
+     */
+    static EntityTypeMetadataVisibility compile(List<CrisLayoutBox> boxes) {
+
+        if (boxes.isEmpty()) {
+            return NO_BOXES;
+        }
+
+        Set<Integer> publicFieldIds = new HashSet<>();
+        Map<Integer, List<Integer>> securedBoxIdsByFieldId = new HashMap<>();
+
+        for (CrisLayoutBox box : boxes) {
+            for (MetadataField metadataField : getAllMetadataFields(box)) {
+                if (box.isPublic()) {
+                    publicFieldIds.add(metadataField.getID());
+                } else {
+                    securedBoxIdsByFieldId.computeIfAbsent(metadataField.getID(), id -> new ArrayList<>())
+                        .add(box.getID());
+                }
+            }
+        }
+
+        return new EntityTypeMetadataVisibility(true, publicFieldIds, securedBoxIdsByFieldId);
+    }
+
+    private static Set<MetadataField> getAllMetadataFields(CrisLayoutBox box) {
+        Set<MetadataField> metadataFields = new HashSet<>();
+        for (CrisLayoutField field : box.getLayoutFields()) {
+            if (field instanceof CrisLayoutFieldMetadata) {
+                metadataFields.add(field.getMetadataField());
+                for (CrisMetadataGroup metadataGroup : field.getCrisMetadataGroupList()) {
+                    metadataFields.add(metadataGroup.getMetadataField());
+                }
+            }
+        }
+        return metadataFields;
+    }
+
+    /**
+     * Returns true if at least a box is configured for the entity type.
+     */
+    boolean hasBoxes() {
+        return boxesConfigured;
+    }
+
+    /**
+     * Returns true if the given field is shown in at least a public box.
+     */
+    boolean isPublic(MetadataField metadataField) {
+        return publicFieldIds.contains(metadataField.getID());
+    }
+
+    /**
+     * Returns the identifiers of the not public boxes that show the given field.
+     */
+    List<Integer> getSecuredBoxIds(MetadataField metadataField) {
+        return securedBoxIdsByFieldId.getOrDefault(metadataField.getID(), Collections.emptyList());
+    }
+
+}
@@ -9,6 +9,7 @@ package org.dspace.content.security;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -16,16 +17,20 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.app.util.DCInputSet;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
 import org.dspace.app.util.service.MetadataExposureService;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationListener;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
@@ -36,9 +41,6 @@ import org.dspace.core.Context;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.eperson.EPerson;
 import org.dspace.layout.CrisLayoutBox;
-import org.dspace.layout.CrisLayoutField;
-import org.dspace.layout.CrisLayoutFieldMetadata;
-import org.dspace.layout.CrisMetadataGroup;
 import org.dspace.layout.service.CrisLayoutBoxAccessService;
 import org.dspace.layout.service.CrisLayoutBoxService;
 import org.dspace.services.ConfigurationService;
@@ -51,7 +53,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author Mykhaylo Boychuk (4science.it)
  * @author Luca Giamminonni (4science.it)
  */
-public class MetadataSecurityServiceImpl implements MetadataSecurityService {
+public class MetadataSecurityServiceImpl implements MetadataSecurityService, CacheInvalidationListener {
 
     @Resource(name = "securityLevelsMap")
     private final Map<String, MetadataSecurityEvaluation> securityLevelsMap = new HashMap<>();
@@ -79,6 +81,10 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
 
     private DCInputsReader dcInputsReader;
 
+    private final Map<String, EntityTypeMetadataVisibility> visibilityByEntityType = new ConcurrentHashMap<>();
+
+    private final AtomicLong visibilityGeneration = new AtomicLong();
+
     @PostConstruct
     private void setup() throws DCInputsReaderException {
         this.dcInputsReader = new DCInputsReader();
@@ -119,10 +125,21 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
 
     @Override
     public boolean checkMetadataFieldVisibility(Context context, Item item, MetadataField metadataField) {
-        List<CrisLayoutBox> boxes = findBoxes(context, item, false);
-        return isMetadataFieldVisible(context, boxes, item, metadataField, false);
+        return new VisibilityEvaluation(context, item, false).isMetadataFieldVisible(metadataField);
     }
 
+    @Override
+    public void clearCache() {
+        visibilityGeneration.incrementAndGet();
+        visibilityByEntityType.clear();
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.isOfType(CacheInvalidation.CRIS_LAYOUT_TYPE)) {
+            clearCache();
+        }
+    }
 
     private List<MetadataValue> getPermissionFilteredMetadata(Context context, Item item,
         List<MetadataValue> metadataValues, boolean preventBoxSecurityCheck) {
@@ -131,15 +148,15 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
             return new ArrayList<MetadataValue>();
         }
 
-        List<CrisLayoutBox> boxes = findBoxes(context, item, preventBoxSecurityCheck);
+        VisibilityEvaluation evaluation = new VisibilityEvaluation(context, item, preventBoxSecurityCheck);
 
         Optional<List<DCInputSet>> inputs = submissionDefinitionInputs();
         if (inputs.isPresent()) {
-            return getFromSubmission(context, boxes, item, inputs.get(), metadataValues, preventBoxSecurityCheck);
+            return getFromSubmission(evaluation, inputs.get(), metadataValues);
         }
 
         return metadataValues.stream()
-            .filter(value -> isMetadataValueVisible(context, boxes, item, value, preventBoxSecurityCheck))
+            .filter(value -> evaluation.isMetadataFieldVisible(value.getMetadataField()))
             .filter(value -> isMetadataValueReturnAllowed(context, item, value))
             .collect(Collectors.toList());
 
@@ -156,35 +173,39 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         }
     }
 
-    private List<CrisLayoutBox> findBoxes(Context context, Item item, boolean preventBoxSecurityCheck) {
+    private EntityTypeMetadataVisibility getMetadataVisibility(Context context, Item item,
+        boolean preventBoxSecurityCheck) {
+
         if (context == null || preventBoxSecurityCheck) {
             // the context could be null if the converter is used to prepare test data or in a batch script
-            return new ArrayList<CrisLayoutBox>();
+            return EntityTypeMetadataVisibility.NO_BOXES;
         }
 
         String entityType = itemService.getEntityTypeLabel(item);
-        try {
-            return crisLayoutBoxService.findByEntityType(context, entityType, 1000, 0);
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
+        String cacheKey = StringUtils.defaultString(entityType);
+
+        EntityTypeMetadataVisibility visibility = visibilityByEntityType.get(cacheKey);
+        if (visibility != null) {
+            return visibility;
         }
-    }
 
-    private boolean isMetadataValueVisible(Context context, List<CrisLayoutBox> boxes, Item item, MetadataValue value,
-        boolean preventBoxSecurityCheck) {
-        return isMetadataFieldVisible(context, boxes, item, value.getMetadataField(), preventBoxSecurityCheck);
-    }
+        long generation = visibilityGeneration.get();
+        visibility = EntityTypeMetadataVisibility.compile(findBoxes(context, entityType));
 
-    private boolean isMetadataFieldVisible(Context context, List<CrisLayoutBox> boxes, Item item,
-        MetadataField metadataField, boolean preventBoxSecurityCheck) {
-        if (CollectionUtils.isNotEmpty(boxes)) {
-            return isMetadataFieldVisibleByBoxes(context, boxes, item, metadataField, preventBoxSecurityCheck);
+        // a visibility compiled while the layout was changing is used only by the current evaluation
+        if (generation == visibilityGeneration.get()) {
+            visibilityByEntityType.putIfAbsent(cacheKey, visibility);
         }
-        return isNotAdmin(context) ? isMetadataFieldVisibleFor(context, item, metadataField) : true;
+
+        return visibility;
     }
 
-    private boolean isMetadataFieldVisibleFor(Context context, Item item, MetadataField metadataField) {
-        return canEditItem(context, item) || isNotHidden(context, metadataField);
+    private List<CrisLayoutBox> findBoxes(Context context, String entityType) {
+        try {
+            return crisLayoutBoxService.findByEntityType(context, entityType, 1000, 0);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
     }
 
     private boolean isMetadataValueReturnAllowed(Context context, Item item, MetadataValue metadataValue) {
@@ -201,80 +222,8 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         }
     }
 
-    private boolean isMetadataFieldVisibleByBoxes(Context context, List<CrisLayoutBox> boxes, Item item,
-        MetadataField metadataField, boolean preventBoxSecurityCheck) {
-
-        if (isPublicMetadataField(metadataField, boxes, preventBoxSecurityCheck)) {
-            return true;
-        }
-
-        if (preventBoxSecurityCheck) {
-            return false;
-        }
-
-        EPerson currentUser = context.getCurrentUser();
-        List<CrisLayoutBox> notPublicBoxes = getNotPublicBoxes(metadataField, boxes);
-
-        if (Objects.nonNull(currentUser)) {
-
-            for (CrisLayoutBox box : notPublicBoxes) {
-                if (crisLayoutBoxAccessService.hasAccess(context, currentUser, box, item)) {
-                    return true;
-                }
-            }
-        }
-
-        // the metadata is not included in any box so use the default dspace security
-        if (notPublicBoxes.isEmpty() && isMetadataFieldVisibleFor(context, item, metadataField)) {
-            return true;
-        }
-
-        return false;
-    }
-
-    private boolean isPublicMetadataField(MetadataField metadataField, List<CrisLayoutBox> boxes,
-        boolean preventBoxSecurityCheck) {
-
-        List<String> publicFields = preventBoxSecurityCheck ? getPublicMetadataFromConfig() : getPublicMetadata(boxes);
-
-        return publicFields.stream()
-            .anyMatch(publicField -> publicField.equals(metadataField.toString('.')));
-    }
-
-    private List<String> getPublicMetadataFromConfig() {
-        return List.of(configurationService.getArrayProperty("metadata.publicField"));
-    }
-
-    private List<String> getPublicMetadata(List<CrisLayoutBox> boxes) {
-        return boxes.stream()
-            .filter(box -> box.isPublic())
-            .flatMap(box -> getAllMetadataFields(box).stream())
-            .map(metadataField -> metadataField.toString('.'))
-            .collect(Collectors.toList());
-    }
-
-    private List<CrisLayoutBox> getNotPublicBoxes(MetadataField metadataField, List<CrisLayoutBox> boxes) {
-        return boxes.stream()
-            .filter(box -> box.isNotPublic())
-            .filter(box -> boxContainsMetadataField(box, metadataField))
-            .collect(Collectors.toList());
-    }
-
-    private boolean boxContainsMetadataField(CrisLayoutBox box, MetadataField metadataField) {
-        return getAllMetadataFields(box).contains(metadataField);
-    }
-
-    private Set<MetadataField> getAllMetadataFields(CrisLayoutBox box) {
-        Set<MetadataField> metadataFields = new HashSet<>();
-        for (CrisLayoutField field : box.getLayoutFields()) {
-            if (field instanceof CrisLayoutFieldMetadata) {
-                metadataFields.add(field.getMetadataField());
-                for (CrisMetadataGroup metadataGroup : field.getCrisMetadataGroupList()) {
-                    metadataFields.add(metadataGroup.getMetadataField());
-                }
-            }
-        }
-        return metadataFields;
+    private Set<String> getPublicMetadataFromConfig() {
+        return new HashSet<>(Arrays.asList(configurationService.getArrayProperty("metadata.publicField")));
     }
 
     private Optional<List<DCInputSet>> submissionDefinitionInputs() {
@@ -291,10 +240,6 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         }
     }
 
-    private boolean isAdmin(Context context) {
-        return !isNotAdmin(context);
-    }
-
     private boolean isNotAdmin(Context context) {
         try {
             return context == null || !authorizeService.isAdmin(context);
@@ -303,15 +248,17 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         }
     }
 
-    private List<MetadataValue> getFromSubmission(Context context, List<CrisLayoutBox> boxes, Item item,
-        final List<DCInputSet> dcInputSets, final List<MetadataValue> metadataValues, boolean preventBoxSecurityCheck) {
+    private List<MetadataValue> getFromSubmission(VisibilityEvaluation evaluation, final List<DCInputSet> dcInputSets,
+        final List<MetadataValue> metadataValues) {
 
+        Map<Integer, Boolean> submissionFields = new HashMap<>();
         List<MetadataValue> filteredMetadataValues = new ArrayList<MetadataValue>();
 
         for (MetadataValue metadataValue : metadataValues) {
             MetadataField field = metadataValue.getMetadataField();
-            if (dcInputsContainsField(dcInputSets, field)
-                || isMetadataFieldVisibleByBoxes(context, boxes, item, field, preventBoxSecurityCheck)) {
+            boolean isSubmissionField = submissionFields.computeIfAbsent(field.getID(),
+                id -> dcInputsContainsField(dcInputSets, field));
+            if (isSubmissionField || evaluation.isMetadataFieldVisibleByBoxes(field)) {
                 filteredMetadataValues.add(metadataValue);
             }
         }
@@ -335,4 +282,124 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
     public MetadataSecurityEvaluation getMetadataSecurityEvaluator(int securityValue) {
         return securityLevelsMap.get(securityValue + "");
     }
-}
\ No newline at end of file
+
+    /**
+     * Evaluation of the visibility of the metadata fields of an item, that
+     * resolves the administrator, edit and box access checks at most once, so
+     * that all the values of the item are filtered in a single pass.
+     */
+    private class VisibilityEvaluation {
+
+        private final Context context;
+
+        private final Item item;
+
+        private final boolean preventBoxSecurityCheck;
+
+        private final EntityTypeMetadataVisibility visibility;
+
+        private final Map<Integer, Boolean> visibilityByFieldId = new HashMap<>();
+
+        private final Map<Integer, Boolean> accessByBoxId = new HashMap<>();
+
+        private Boolean admin;
+
+        private Boolean itemEditable;
+
+        private Set<String> publicFieldsFromConfig;
+
+        private VisibilityEvaluation(Context context, Item item, boolean preventBoxSecurityCheck) {
+            this.context = context;
+            this.item = item;
+            this.preventBoxSecurityCheck = preventBoxSecurityCheck;
+            this.visibility = getMetadataVisibility(context, item, preventBoxSecurityCheck);
+        }
+
+        private boolean isMetadataFieldVisible(MetadataField metadataField) {
+            Boolean visible = visibilityByFieldId.get(metadataField.getID());
+            if (visible == null) {
+                visible = computeMetadataFieldVisibility(metadataField);
+                visibilityByFieldId.put(metadataField.getID(), visible);
+            }
+            return visible;
+        }
+
+        private boolean computeMetadataFieldVisibility(MetadataField metadataField) {
+            if (visibility.hasBoxes()) {
+                return isMetadataFieldVisibleByBoxes(metadataField);
+            }
+            return isAdmin() || isMetadataFieldVisibleByDefault(metadataField);
+        }
+
+        private boolean isMetadataFieldVisibleByBoxes(MetadataField metadataField) {
+
+            if (isPublicMetadataField(metadataField)) {
+                return true;
+            }
+
+            if (preventBoxSecurityCheck) {
+                return false;
+            }
+
+            EPerson currentUser = context != null ? context.getCurrentUser() : null;
+            List<Integer> securedBoxIds = visibility.getSecuredBoxIds(metadataField);
+
+            if (Objects.nonNull(currentUser) && securedBoxIds.stream().anyMatch(this::hasBoxAccess)) {
+                return true;
+            }
+
+            // the metadata is not included in any box so use the default dspace security
+            return securedBoxIds.isEmpty() && isMetadataFieldVisibleByDefault(metadataField);
+        }
+
+        private boolean isPublicMetadataField(MetadataField metadataField) {
+            if (!preventBoxSecurityCheck) {
+                return visibility.isPublic(metadataField);
+            }
+
+            if (publicFieldsFromConfig == null) {
+                publicFieldsFromConfig = getPublicMetadataFromConfig();
+            }
+            return publicFieldsFromConfig.contains(metadataField.toString('.'));
+        }
+
+        private boolean isMetadataFieldVisibleByDefault(MetadataField metadataField) {
+            return isItemEditable() || isNotHidden(context, metadataField);
+        }
+
+        private boolean hasBoxAccess(Integer boxId) {
+            Boolean access = accessByBoxId.get(boxId);
+            if (access == null) {
+                access = computeBoxAccess(boxId);
+                accessByBoxId.put(boxId, access);
+            }
+            return access;
+        }
+
+        private boolean computeBoxAccess(Integer boxId) {
+            try {
+                CrisLayoutBox box = crisLayoutBoxService.find(context, boxId);
+                return box != null
+                    && crisLayoutBoxAccessService.hasAccess(context, context.getCurrentUser(), box, item);
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        private boolean isAdmin() {
+            if (admin == null) {
+                admin = !isNotAdmin(context);
+            }
+            return admin;
+        }
+
+        private boolean isItemEditable() {
+            if (itemEditable == null) {
+                itemEditable = canEditItem(context, item);
+            }
+            return itemEditable;
+        }
+
+    }
+
+}
@@ -96,4 +96,13 @@ public interface MetadataSecurityService {
      *                                 otherwise
      */
     boolean checkMetadataFieldVisibility(Context context, Item item, MetadataField metadataField);
+
+    /**
+     * Clears the cached visibility of the metadata fields compiled from the
+     * layout boxes of every entity type. It is called by the invalidations of
+     * the CRIS layout, that the services changing the layout boxes, or the
+     * fields they show, publish on the
+     * {@link org.dspace.cache.CacheInvalidationBus}.
+     */
+    void clearCache();
 }
@@ -13,6 +13,7 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.annotation.Nullable;
 
@@ -187,6 +188,32 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
      */
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    /**
+     * Retrieve the bitstreams with the deleted flag set to true, in order of
+     * id, starting after the given one, so that the retrieval can be resumed
+     * from the last bitstream processed
+     *
+     * @param context the dspace context
+     * @param after   the id of the last bitstream already retrieved, or null to
+     *                start from the first one
+     * @param limit   the maximum number of bitstreams to retrieve
+     * @return the "deleted" bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
+    /**
+     * Retrieve which of the given internal identifiers are referred to by a
+     * bitstream that is not deleted, that is whose asset is still in use
+     *
+     * @param context     the dspace context
+     * @param internalIds the internal identifiers
+     * @return the internal identifiers in use
+     * @throws SQLException if database error
+     */
+    public List<String> findInternalIdentifiersInUse(Context context, Set<String> internalIds)
+        throws SQLException;
+
 
     /**
      * Remove a bitstream that has been set to "deleted" from the database
@@ -200,6 +227,63 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Find a bitstream, not deleted nor registered, of the same asset store of
+     * the given one, with the same checksum and size but stored as a different
+     * asset, that is with a different internal identifier. The bitstream with
+     * the lowest internal identifier is returned, so that all the copies of the
+     * same content converge on the same asset.
+     *
+     * @param context   the dspace context
+     * @param bitstream the bitstream
+     * @return the bitstream with the same content, or null if none was found
+     * @throws SQLException if database error
+     */
+    public Bitstream findDuplicateContent(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * Lock exclusively the database record of the given bitstream until the
+     * end of the current transaction, reloading its state. The cleanup locks
+     * a deleted bitstream before removing its asset, so that it waits for the
+     * transactions that share the asset.
+     *
+     * @param context   the dspace context
+     * @param bitstream the bitstream to lock
+     * @return false if the bitstream no longer exists
+     * @throws SQLException if database error
+     */
+    public boolean lock(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * Lock the database record of the given bitstream in shared mode until the
+     * end of the current transaction, reloading its state. A bitstream whose
+     * asset is shared by a new bitstream is locked until the new bitstream is
+     * committed, so that it is not deleted, and its asset removed by the
+     * cleanup, in the meantime, while the other bitstreams with the same
+     * content can share the asset concurrently.
+     *
+     * @param context   the dspace context
+     * @param bitstream the bitstream to lock
+     * @return false if the bitstream no longer exists
+     * @throws SQLException if database error
+     */
+    public boolean lockShared(Context context, Bitstream bitstream) throws SQLException;
+
+    /**
+     * Make all the bitstreams of the given asset store that refer to the given
+     * asset refer to another asset instead, deleted bitstreams included. The
+     * bitstreams already loaded in the context are not updated.
+     *
+     * @param context       the dspace context
+     * @param storeNumber   the asset store number
+     * @param internalId    the internal identifier of the asset to replace
+     * @param newInternalId the internal identifier of the replacing asset
+     * @return the number of bitstreams updated
+     * @throws SQLException if database error
+     */
+    public int replaceInternalIdentifier(Context context, Integer storeNumber, String internalId,
+                                         String newInternalId) throws SQLException;
+
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException;
 
     public Iterator<Bitstream> getCollectionBitstreams(Context context, Collection collection) throws SQLException;
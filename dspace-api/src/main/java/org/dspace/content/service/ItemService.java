@@ -982,6 +982,20 @@ public interface ItemService
      */
     Iterator<Item> findByIds(Context context, List<String> ids) throws SQLException;
 
+    /**
+     * Load with set based queries the handles and, if requested, the owning
+     * collection, the bundles and the bitstreams of all the given items, so
+     * that rendering them does not issue a query for every item.
+     *
+     * @param  context          DSpace context object
+     * @param  items            the items to prefetch
+     * @param  bundles          whether to load the bundles and their bitstreams
+     * @param  owningCollection whether to load the owning collection
+     * @throws SQLException     if database error
+     */
+    void prefetch(Context context, List<Item> items, boolean bundles, boolean owningCollection)
+        throws SQLException;
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param  item the item.
@@ -7,6 +7,8 @@
  */
 package org.dspace.content.vo;
 
+import java.io.Serializable;
+
 import org.dspace.content.MetadataValue;
 
 /**
@@ -15,7 +17,9 @@ import org.dspace.content.MetadataValue;
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
-public class MetadataValueVO {
+public class MetadataValueVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String value;
 
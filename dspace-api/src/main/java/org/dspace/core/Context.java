@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -111,6 +112,11 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Callbacks to run once the current transaction is committed
+     */
+    private Set<Runnable> commitCallbacks = null;
+
     /**
      * Event dispatcher name
      */
@@ -449,6 +455,39 @@ public class Context implements AutoCloseable {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
                 reloadContextBoundEntities();
+                runCommitCallbacks();
+            }
+        }
+    }
+
+    /**
+     * Add a callback to be run once the current transaction is committed, e.g.
+     * to evict from a shared cache the data changed by the transaction, so that
+     * the data is not cached again before the changes are visible to the other
+     * transactions. The callbacks are discarded if the transaction is rolled
+     * back, and the same callback added more times is run once.
+     *
+     * @param callback the callback to run after the commit
+     */
+    public void addCommitCallback(Runnable callback) {
+        if (commitCallbacks == null) {
+            commitCallbacks = new LinkedHashSet<>();
+        }
+        commitCallbacks.add(callback);
+    }
+
+    private void runCommitCallbacks() {
+        if (commitCallbacks == null) {
+            return;
+        }
+        Set<Runnable> callbacks = commitCallbacks;
+        commitCallbacks = null;
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                // the transaction is already committed, a failing callback must not fail the caller
+                log.error("An error occurs running a commit callback", e);
             }
         }
     }
@@ -580,6 +619,7 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            commitCallbacks = null;
         }
     }
 
@@ -618,6 +658,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            commitCallbacks = null;
         }
     }
 
@@ -0,0 +1,340 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
+
+/**
+ * Performs a {@link Concurrent} curation task on the items of the curated
+ * containers with a bounded pool of worker threads, each one with its own
+ * {@link Context}.
+ * <P>
+ * The items are dispatched in the order in which they are found, and their
+ * outcomes (status, result, reports and log messages) are collected by the
+ * curating thread in the same order, so that they are the same of a serial
+ * performance. A suspending status code stops the dispatching, but the items
+ * already dispatched could have been performed anyway.
+ * <P>
+ * The transaction scope of the curator is preserved: with the OBJECT scope
+ * the workers commit after each item, with the CURATION scope they commit at
+ * the end of the performance, unless it failed, and with the OPEN scope they
+ * never commit, that is why the {@link Curator} performs concurrently only
+ * the tasks that are not {@link Mutative} in this scope.
+ */
+class ConcurrentTaskRunner {
+
+    private static final Logger log = LogManager.getLogger(ConcurrentTaskRunner.class);
+
+    private static final ItemPerformance END = new ItemPerformance(null, null);
+
+    private final Curator curator;
+
+    private final Curator.TaskRunner taskRunner;
+
+    private final Curator.TxScope txScope;
+
+    private final UUID currentUserId;
+
+    private final boolean ignoreAuthorization;
+
+    private final int maxPending;
+
+    private final BlockingQueue<ItemPerformance> queue = new LinkedBlockingQueue<>();
+
+    private final Deque<ItemPerformance> pending = new ArrayDeque<>();
+
+    private final ThreadLocal<ItemPerformance> current = new ThreadLocal<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+
+    private volatile boolean failed = false;
+
+    private volatile Exception commitError = null;
+
+    /**
+     * Starts the worker threads.
+     *
+     * @param  curator      the curator
+     * @param  taskRunner   the runner of the task to perform
+     * @param  txScope      the transaction scope of the curator
+     * @param  threads      the number of worker threads
+     * @throws SQLException if a database error occurs reading the curation
+     *                      context
+     */
+    ConcurrentTaskRunner(Curator curator, Curator.TaskRunner taskRunner, Curator.TxScope txScope, int threads)
+        throws SQLException {
+        this.curator = curator;
+        this.taskRunner = taskRunner;
+        this.txScope = txScope;
+        this.maxPending = threads * 2;
+
+        Context context = Curator.curationContext();
+        this.currentUserId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        this.ignoreAuthorization = context.ignoreAuthorization();
+
+        for (int i = 1; i <= threads; i++) {
+            Thread worker = new Thread(this::work, "curation-" + taskRunner.task.getName() + "-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Performs the task on the given items, collecting their outcomes.
+     *
+     * @param  items        the items
+     * @return              false if a status code suspended the performance,
+     *                      true otherwise
+     * @throws IOException  if the task failed on an item
+     * @throws SQLException if a database error occurs
+     */
+    boolean run(Iterator<Item> items) throws IOException, SQLException {
+        Context context = Curator.curationContext();
+        while (items.hasNext()) {
+            Item item = items.next();
+            String id = (item.getHandle() != null) ? item.getHandle() : "workflow item: " + item.getID();
+            ItemPerformance performance = new ItemPerformance(item.getID(), id);
+            context.uncacheEntity(item);
+
+            pending.add(performance);
+            queue.add(performance);
+            if (pending.size() >= maxPending && !collect(pending.poll())) {
+                return false;
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            if (!collect(pending.poll())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the worker threads, once they have performed the items already
+     * dispatched, and ends their transactions according to the transaction
+     * scope.
+     *
+     * @param  completed   whether the performance completed without errors
+     * @throws IOException if a worker failed to commit its transaction
+     */
+    void close(boolean completed) throws IOException {
+        if (!completed) {
+            failed = true;
+        }
+
+        pending.forEach(performance -> performance.cancelled = true);
+        pending.clear();
+        queue.clear();
+
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                queue.put(END);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the curation workers", e);
+        }
+
+        if (commitError != null) {
+            throw new IOException("Error committing the curation of task '" + taskRunner.task.getName() + "'",
+                commitError);
+        }
+    }
+
+    /**
+     * Records the given report message, if the current thread is performing
+     * an item.
+     *
+     * @param  message the message
+     * @return         true if the message was recorded, false otherwise
+     */
+    boolean report(String message) {
+        ItemPerformance performance = current.get();
+        if (performance == null) {
+            return false;
+        }
+        performance.reports.add(message);
+        return true;
+    }
+
+    /**
+     * Records the given result, if the current thread is performing an item.
+     *
+     * @param  result the result
+     * @return        true if the result was recorded, false otherwise
+     */
+    boolean setResult(String result) {
+        ItemPerformance performance = current.get();
+        if (performance == null) {
+            return false;
+        }
+        performance.result = result;
+        return true;
+    }
+
+    private boolean collect(ItemPerformance performance) throws IOException, SQLException {
+        try {
+            performance.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the curation of " + performance.id, e);
+        }
+
+        if (performance.error != null) {
+            System.out.println("Error executing curation task '" + taskRunner.task.getName() + "'; "
+                + performance.error);
+            failed = true;
+            throwError(performance.error);
+        }
+
+        for (String message : performance.reports) {
+            curator.report(message);
+        }
+        taskRunner.statusCode = performance.statusCode;
+        if (performance.result != null) {
+            taskRunner.setResult(performance.result);
+        }
+        taskRunner.logInfo(taskRunner.logMessage(performance.id));
+        return !taskRunner.suspend(performance.statusCode);
+    }
+
+    private void work() {
+        Context context = null;
+        try {
+            ItemPerformance performance;
+            while ((performance = queue.take()) != END) {
+                if (performance.cancelled) {
+                    continue;
+                }
+                try {
+                    if (context == null) {
+                        context = createWorkerContext();
+                        Curator.curationCtx.set(context);
+                    }
+                    perform(context, performance);
+                } catch (IOException | SQLException | RuntimeException e) {
+                    performance.error = e;
+                    failed = true;
+                } finally {
+                    performance.done.countDown();
+                }
+            }
+
+            if (context != null && !failed && txScope != Curator.TxScope.OPEN) {
+                context.complete();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException | RuntimeException e) {
+            log.error("Error committing the curation of task '" + taskRunner.task.getName() + "'", e);
+            commitError = e;
+        } finally {
+            if (context != null && context.isValid()) {
+                context.abort();
+            }
+            Curator.curationCtx.remove();
+        }
+    }
+
+    private void perform(Context context, ItemPerformance performance) throws IOException, SQLException {
+        Item item = itemService.find(context, performance.itemId);
+        if (item == null) {
+            throw new IOException("Item " + performance.itemId + " not found");
+        }
+
+        current.set(performance);
+        try {
+            performance.statusCode = taskRunner.task.perform(item);
+            curator.visit(item);
+        } finally {
+            current.remove();
+        }
+        context.uncacheEntity(item);
+    }
+
+    private Context createWorkerContext() throws SQLException {
+        Context context = new Context(txScope == Curator.TxScope.OPEN ? Context.Mode.READ_ONLY
+            : Context.Mode.READ_WRITE);
+        if (currentUserId != null) {
+            context.setCurrentUser(ePersonService.find(context, currentUserId));
+        }
+        if (ignoreAuthorization) {
+            context.turnOffAuthorisationSystem();
+        }
+        return context;
+    }
+
+    private void throwError(Exception error) throws IOException, SQLException {
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof SQLException) {
+            throw (SQLException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        throw new IOException(error);
+    }
+
+    /**
+     * The performance of the task on an item, with its outcome.
+     */
+    private static class ItemPerformance {
+
+        private final UUID itemId;
+
+        private final String id;
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private final List<String> reports = new ArrayList<>();
+
+        private volatile boolean cancelled = false;
+
+        private int statusCode = Curator.CURATE_UNSET;
+
+        private String result;
+
+        private Exception error;
+
+        private ItemPerformance(UUID itemId, String id) {
+            this.itemId = itemId;
+            this.id = id;
+        }
+
+    }
+
+}
@@ -20,6 +20,7 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.cli.ParseException;
@@ -35,6 +36,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -145,19 +147,26 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private long runQueue(TaskQueue queue, Curator curator) throws SQLException, AuthorizeException, IOException {
         // use current time as our reader 'ticket'
         long ticket = System.currentTimeMillis();
-        Iterator<TaskQueueEntry> entryIter = queue.dequeue(this.queue, ticket).iterator();
-        while (entryIter.hasNext()) {
-            TaskQueueEntry entry = entryIter.next();
-            if (verbose) {
-                super.handler.logInfo("Curating id: " + entry.getObjectId());
-            }
-            curator.clear();
-            for (String taskName : entry.getTaskNames()) {
-                curator.addTask(taskName);
+        int batchSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                             .getIntProperty("curate.taskqueue.batch-size", 100);
+        Set<TaskQueueEntry> entries;
+        do {
+            // a full batch means that there could be more entries to dequeue
+            entries = queue.dequeue(this.queue, ticket, batchSize);
+            Iterator<TaskQueueEntry> entryIter = entries.iterator();
+            while (entryIter.hasNext()) {
+                TaskQueueEntry entry = entryIter.next();
+                if (verbose) {
+                    super.handler.logInfo("Curating id: " + entry.getObjectId());
+                }
+                curator.clear();
+                for (String taskName : entry.getTaskNames()) {
+                    curator.addTask(taskName);
+                }
+                curator.curate(context, entry.getObjectId());
             }
-            curator.curate(context, entry.getObjectId());
-        }
-        queue.release(this.queue, ticket, true);
+            queue.release(this.queue, ticket, true);
+        } while (entries.size() >= batchSize);
         return ticket;
     }
 
@@ -32,6 +32,7 @@ import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Curator orchestrates and manages the application of a one or more curation
@@ -89,10 +90,12 @@ public class Curator {
     protected Invoked iMode = null;
     protected TaskResolver resolver = new TaskResolver();
     protected TxScope txScope = TxScope.OBJECT;
+    protected int threads = 1;
     protected CommunityService communityService;
     protected ItemService itemService;
     protected HandleService handleService;
     protected DSpaceRunnableHandler handler;
+    private volatile ConcurrentTaskRunner concurrentRunner = null;
 
     /**
      * constructor that uses an handler for logging
@@ -112,6 +115,8 @@ public class Curator {
         itemService = ContentServiceFactory.getInstance().getItemService();
         handleService = HandleServiceFactory.getInstance().getHandleService();
         resolver = new TaskResolver();
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("curate.threads", 1);
     }
 
     /**
@@ -227,6 +232,20 @@ public class Curator {
         return this;
     }
 
+    /**
+     * Defines the number of worker threads that perform the
+     * {@link Concurrent} tasks upon the items of a container.
+     * The default is the value of the 'curate.threads' property, or 1,
+     * meaning that the items are curated serially.
+     *
+     * @param threads number of worker threads
+     * @return return self (Curator instance) with given threads set
+     */
+    public Curator setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
     /**
      * Performs all configured tasks upon object identified by id. If
      * the object can be resolved as a handle, the DSO will be the
@@ -287,16 +306,71 @@ public class Curator {
             // do we need to iterate over the object ?
             if (type == Constants.ITEM || tr.task.isDistributive()) {
                 tr.run(dso);
-            } else if (type == Constants.COLLECTION) {
-                doCollection(tr, (Collection) dso);
-            } else if (type == Constants.COMMUNITY) {
-                doCommunity(tr, (Community) dso);
-            } else if (type == Constants.SITE) {
-                doSite(tr, (Site) dso);
+            } else if (isConcurrent(tr)) {
+                doConcurrently(tr, dso);
+            } else {
+                doContainer(tr, dso);
             }
         }
     }
 
+    /**
+     * Returns whether the task of the given runner should be performed upon
+     * the items of a container by several worker threads. In the 'open'
+     * transactional scope the workers never commit, so only the tasks that
+     * are not mutative can be performed concurrently.
+     *
+     * @param tr TaskRunner
+     * @return true if the task should be performed concurrently
+     */
+    protected boolean isConcurrent(TaskRunner tr) {
+        return threads > 1 && tr.task.isConcurrent()
+            && (!txScope.equals(TxScope.OPEN) || !tr.task.isMutative());
+    }
+
+    /**
+     * Run task for a container, performing it upon its items with a pool
+     * of worker threads.
+     *
+     * @param tr  TaskRunner
+     * @param dso the container
+     * @throws IOException if IO error
+     * @throws SQLException
+     */
+    protected void doConcurrently(TaskRunner tr, DSpaceObject dso) throws IOException, SQLException {
+        ConcurrentTaskRunner runner = new ConcurrentTaskRunner(this, tr, txScope, threads);
+        concurrentRunner = runner;
+        boolean completed = false;
+        try {
+            doContainer(tr, dso);
+            completed = true;
+        } finally {
+            concurrentRunner = null;
+            runner.close(completed);
+        }
+    }
+
+    /**
+     * Run task for a container along with all its members.
+     *
+     * @param tr  TaskRunner
+     * @param dso the container
+     * @return true if successful, false otherwise
+     * @throws IOException if IO error
+     * @throws SQLException
+     */
+    protected boolean doContainer(TaskRunner tr, DSpaceObject dso) throws IOException, SQLException {
+        int type = dso.getType();
+        if (type == Constants.COLLECTION) {
+            return doCollection(tr, (Collection) dso);
+        } else if (type == Constants.COMMUNITY) {
+            return doCommunity(tr, (Community) dso);
+        } else if (type == Constants.SITE) {
+            return doSite(tr, (Site) dso);
+        }
+        return true;
+    }
+
     /**
      * Performs all configured tasks upon DSpace object
      * (Community, Collection or Item).
@@ -352,6 +426,12 @@ public class Curator {
      * @param message the message to output to the reporting stream.
      */
     public void report(String message) {
+        ConcurrentTaskRunner runner = concurrentRunner;
+        if (runner != null && runner.report(message)) {
+            // reported in order once the item is performed
+            return;
+        }
+
         if (null == reporter) {
             logWarning("report called with no Reporter set:  {}", message);
             return;
@@ -393,6 +473,11 @@ public class Curator {
      * @param result   a string indicating results of performing task.
      */
     public void setResult(String taskName, String result) {
+        ConcurrentTaskRunner runner = concurrentRunner;
+        if (runner != null && runner.setResult(result)) {
+            return;
+        }
+
         TaskRunner tr = trMap.get(taskName);
         if (tr != null) {
             tr.setResult(result);
@@ -525,13 +610,20 @@ public class Curator {
             }
             Context context = curationContext();
             Iterator<Item> iter = itemService.findByCollection(context, coll);
-            while (iter.hasNext()) {
-                Item item = iter.next();
-                boolean shouldContinue = tr.run(item);
-                context.uncacheEntity(item);
-                if (!shouldContinue) {
+            ConcurrentTaskRunner runner = concurrentRunner;
+            if (runner != null) {
+                if (!runner.run(iter)) {
                     return false;
                 }
+            } else {
+                while (iter.hasNext()) {
+                    Item item = iter.next();
+                    boolean shouldContinue = tr.run(item);
+                    context.uncacheEntity(item);
+                    if (!shouldContinue) {
+                        return false;
+                    }
+                }
             }
             context.uncacheEntity(coll);
         } catch (SQLException sqlE) {
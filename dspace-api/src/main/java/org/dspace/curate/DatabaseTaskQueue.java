@@ -0,0 +1,291 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.rdbms.DatabaseUtils;
+
+/**
+ * DatabaseTaskQueue provides a TaskQueue implementation based on the
+ * <code>curation_task_queue</code> table, so that the queues can be shared
+ * by the curation processes of several nodes.
+ * <P>
+ * A reader claims a batch of the visible entries of a queue, oldest first,
+ * locking them with <code>SELECT ... FOR UPDATE SKIP LOCKED</code>, so that
+ * concurrent readers claim different entries without waiting for each other.
+ * The claimed entries are invisible to the other readers until they are
+ * released, or until the visibility timeout elapses, so that the entries
+ * claimed by a process that died are processed by another reader instead of
+ * being lost.
+ * <P>
+ * Each operation runs in its own transaction, on a connection of the DSpace
+ * DataSource, independently of the Context of the caller.
+ */
+public class DatabaseTaskQueue implements TaskQueue {
+
+    private static final Logger log = LogManager.getLogger(DatabaseTaskQueue.class);
+
+    protected final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    // claims of the readers, by ticket
+    protected final Map<Long, String> claims = new ConcurrentHashMap<>();
+
+    @Override
+    public String[] queueNames() {
+        try {
+            return execute(connection -> {
+                List<String> queueNames = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT DISTINCT queue_name FROM curation_task_queue ORDER BY queue_name");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        queueNames.add(resultSet.getString(1));
+                    }
+                }
+                return queueNames.toArray(new String[0]);
+            });
+        } catch (SQLException e) {
+            log.error("Unable to read the curation task queues", e);
+            return new String[0];
+        }
+    }
+
+    @Override
+    public void enqueue(String queueName, TaskQueueEntry entry) throws IOException {
+        Set<TaskQueueEntry> entrySet = new LinkedHashSet<>();
+        entrySet.add(entry);
+        enqueue(queueName, entrySet);
+    }
+
+    @Override
+    public void enqueue(String queueName, Set<TaskQueueEntry> entrySet) throws IOException {
+        try {
+            execute(connection -> {
+                String sql = "INSERT INTO curation_task_queue"
+                    + " (id, queue_name, eperson_id, submit_time, tasks, object_id)"
+                    + " VALUES (" + nextId(connection) + ", ?, ?, ?, ?, ?)";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (TaskQueueEntry entry : entrySet) {
+                        statement.setString(1, queueName);
+                        statement.setString(2, entry.getEpersonId());
+                        statement.setLong(3, entry.getSubmitTime());
+                        statement.setString(4, String.join(",", entry.getTaskNames()));
+                        statement.setString(5, entry.getObjectId());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Unable to enqueue the curation tasks on queue " + queueName, e);
+        }
+    }
+
+    /**
+     * Claims at most <code>curate.taskqueue.batch-size</code> entries of
+     * the named queue.
+     */
+    @Override
+    public Set<TaskQueueEntry> dequeue(String queueName, long ticket) throws IOException {
+        return dequeue(queueName, ticket, configurationService.getIntProperty("curate.taskqueue.batch-size", 100));
+    }
+
+    @Override
+    public Set<TaskQueueEntry> dequeue(String queueName, long ticket, int maxEntries) throws IOException {
+        if (claims.containsKey(ticket)) {
+            // the entries claimed with this ticket must be released first
+            return new LinkedHashSet<>();
+        }
+
+        String claim = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        long claimedUntil = now + TimeUnit.SECONDS.toMillis(
+            configurationService.getLongProperty("curate.taskqueue.db.visibility-timeout", 3600));
+
+        Set<TaskQueueEntry> entrySet;
+        try {
+            entrySet = execute(connection -> {
+                Set<TaskQueueEntry> entries = new LinkedHashSet<>();
+                List<Integer> ids = new ArrayList<>();
+
+                String sql = "SELECT id, eperson_id, submit_time, tasks, object_id, claim_token"
+                    + " FROM curation_task_queue"
+                    + " WHERE queue_name = ? AND (claimed_until IS NULL OR claimed_until < ?)"
+                    + " ORDER BY id LIMIT ? FOR UPDATE" + (isPostgres(connection) ? " SKIP LOCKED" : "");
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, queueName);
+                    statement.setLong(2, now);
+                    statement.setInt(3, maxEntries);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            ids.add(resultSet.getInt("id"));
+                            entries.add(new TaskQueueEntry(resultSet.getString("eperson_id"),
+                                resultSet.getLong("submit_time"),
+                                Arrays.asList(resultSet.getString("tasks").split(",")),
+                                resultSet.getString("object_id")));
+                            if (resultSet.getString("claim_token") != null) {
+                                log.warn("The visibility timeout of the entry {} of the curation task queue {} "
+                                    + "elapsed, claiming it again", resultSet.getInt("id"), queueName);
+                            }
+                        }
+                    }
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE curation_task_queue SET claim_token = ?, claimed_until = ? WHERE id = ?")) {
+                    for (Integer id : ids) {
+                        statement.setString(1, claim);
+                        statement.setLong(2, claimedUntil);
+                        statement.setInt(3, id);
+                        statement.addBatch();
+                    }
+                    if (!ids.isEmpty()) {
+                        statement.executeBatch();
+                    }
+                }
+                return entries;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Unable to dequeue the curation tasks of queue " + queueName, e);
+        }
+
+        if (!entrySet.isEmpty()) {
+            claims.put(ticket, claim);
+        }
+        return entrySet;
+    }
+
+    @Override
+    public void release(String queueName, long ticket, boolean removeEntries) {
+        String claim = claims.remove(ticket);
+        if (claim == null) {
+            return;
+        }
+
+        String sql = removeEntries ? "DELETE FROM curation_task_queue WHERE claim_token = ?"
+            : "UPDATE curation_task_queue SET claim_token = NULL, claimed_until = NULL WHERE claim_token = ?";
+        try {
+            execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, claim);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            log.error("Unable to release the curation tasks of queue " + queueName
+                + ", they will be visible again after the visibility timeout", e);
+        }
+    }
+
+    /**
+     * Returns the depth of each queue, that is the number of its entries
+     * visible to the readers and of its entries claimed by a reader, with the
+     * age in milliseconds of its oldest entry.
+     *
+     * @return             the statistics of each queue, by queue name
+     * @throws IOException if the queues cannot be read
+     */
+    public Map<String, Map<String, Object>> getQueueDepths() throws IOException {
+        long now = System.currentTimeMillis();
+        try {
+            return execute(connection -> {
+                Map<String, Map<String, Object>> depths = new LinkedHashMap<>();
+                String sql = "SELECT queue_name,"
+                    + " SUM(CASE WHEN claimed_until IS NULL OR claimed_until < ? THEN 1 ELSE 0 END) AS visible_count,"
+                    + " SUM(CASE WHEN claimed_until >= ? THEN 1 ELSE 0 END) AS claimed_count,"
+                    + " MIN(submit_time) AS oldest_submit_time"
+                    + " FROM curation_task_queue GROUP BY queue_name ORDER BY queue_name";
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setLong(1, now);
+                    statement.setLong(2, now);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Map<String, Object> depth = new LinkedHashMap<>();
+                            depth.put("visible", resultSet.getLong("visible_count"));
+                            depth.put("claimed", resultSet.getLong("claimed_count"));
+                            depth.put("oldestEntryAgeMillis", now - resultSet.getLong("oldest_submit_time"));
+                            depths.put(resultSet.getString("queue_name"), depth);
+                        }
+                    }
+                }
+                return depths;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Unable to read the depth of the curation task queues", e);
+        }
+    }
+
+    protected String nextId(Connection connection) throws SQLException {
+        return isPostgres(connection) ? "nextval('curation_task_queue_id_seq')"
+            : "NEXT VALUE FOR curation_task_queue_id_seq";
+    }
+
+    protected boolean isPostgres(Connection connection) throws SQLException {
+        return StringUtils.equals(DatabaseUtils.getDbType(connection), DatabaseUtils.DBMS_POSTGRES);
+    }
+
+    /**
+     * Executes the given function in a new transaction, committed if the
+     * function completes and rolled back otherwise.
+     */
+    protected <T> T execute(ConnectionFunction<T> function) throws SQLException {
+        try (Connection connection = getDataSource().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = function.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    protected DataSource getDataSource() {
+        return DSpaceServicesFactory.getInstance().getServiceManager()
+                                    .getServiceByName("dataSource", DataSource.class);
+    }
+
+    /**
+     * A function that uses a database connection.
+     */
+    @FunctionalInterface
+    protected interface ConnectionFunction<T> {
+
+        T apply(Connection connection) throws SQLException;
+
+    }
+
+}
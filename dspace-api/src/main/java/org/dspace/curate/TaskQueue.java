@@ -62,6 +62,22 @@ public interface TaskQueue {
      */
     Set<TaskQueueEntry> dequeue(String queueName, long ticket) throws IOException;
 
+    /**
+     * Returns at most the given number of task entries from the named queue,
+     * locking them as {@link #dequeue(String, long)} does. The queues that
+     * cannot be read in batches return all their entries.
+     *
+     * @param queueName  the name of the queue to read
+     * @param ticket     a token which must be presented to release the entries
+     * @param maxEntries the maximum number of entries to return
+     * @return set
+     * the dequeued task entries
+     * @throws IOException if IO error
+     */
+    default Set<TaskQueueEntry> dequeue(String queueName, long ticket, int maxEntries) throws IOException {
+        return dequeue(queueName, ticket);
+    }
+
     /**
      * Releases the lock upon the named queue, deleting it if <code>removeEntries</code>
      * is set to true.
@@ -44,6 +44,11 @@ public class DiscoverResultItemIterator extends DiscoverResultIterator<Item, UUI
         super(context, scopeObject, discoverQuery, true, maxResults);
     }
 
+    public DiscoverResultItemIterator(Context context, IndexableObject<?, ?> scopeObject, DiscoverQuery discoverQuery,
+                                      boolean uncacheEntities, int maxResults) {
+        super(context, scopeObject, discoverQuery, uncacheEntities, maxResults);
+    }
+
     @Override
     public Item next() {
         IndexableObject<?, ?> nextIndexableObject = getNextIndexableObject();
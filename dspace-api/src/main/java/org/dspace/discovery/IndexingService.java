@@ -81,6 +81,17 @@ public interface IndexingService {
 
     void updateMetrics(Context context, CrisMetrics metric);
 
+    /**
+     * Update the metric fields of the documents related to the resources of the
+     * given metrics. All the metrics of the same resource are merged into a single
+     * atomic update and all the updates are sent to solr with one request. No
+     * commit is performed, see {@link #commit()}.
+     *
+     * @param context The DSpace context
+     * @param metrics the metrics to update
+     */
+    void updateMetrics(Context context, List<CrisMetrics> metrics);
+
     public QueryResponse retriveSolrDocByUniqueID(String uniqueID);
 
     void updateRelationForItem(String itemId, String relationLabel, List<String> relatedItems);
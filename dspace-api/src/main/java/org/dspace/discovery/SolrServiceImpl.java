@@ -44,6 +44,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient.RemoteSolrException;
 import org.apache.solr.client.solrj.request.UpdateRequest;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
@@ -1745,6 +1746,63 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void updateMetrics(Context context, List<CrisMetrics> metrics) {
+        Map<UUID, List<CrisMetrics>> metricsByResource = metrics.stream()
+            .collect(Collectors.groupingBy(metric -> metric.getResource().getID(), LinkedHashMap::new,
+                Collectors.toList()));
+
+        List<SolrInputDocument> documents = new ArrayList<>();
+        for (List<CrisMetrics> resourceMetrics : metricsByResource.values()) {
+            DSpaceObject resource = resourceMetrics.get(0).getResource();
+            Optional<IndexableObject> indexableObject = findIndexableObject(context, resource);
+            if (indexableObject.isEmpty()) {
+                log.warn("Unable to define unique id for item {}", resource.getID());
+                continue;
+            }
+            SolrInputDocument solrInDoc = new SolrInputDocument();
+            solrInDoc.addField(SearchUtils.RESOURCE_UNIQUE_ID, indexableObject.get().getUniqueIndexID());
+            solrInDoc.addField(SearchUtils.RESOURCE_TYPE_FIELD, indexableObject.get().getType());
+            solrInDoc.addField(SearchUtils.RESOURCE_ID_FIELD, UUIDUtils.toString(resource.getID()));
+            for (CrisMetrics metric : resourceMetrics) {
+                SearchUtils.addMetricFieldsInSolrDoc(metric, solrInDoc);
+            }
+            documents.add(solrInDoc);
+        }
+
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        try {
+            UpdateRequest req = new UpdateRequest();
+            req.add(documents);
+            solrSearchCore.getSolr().request(req);
+        } catch (RemoteSolrException e) {
+            // a single missing document makes the whole request fail, so the documents are sent one by one
+            log.warn("Bulk metrics update failed, retrying one document at a time: " + e.getMessage());
+            updateMetricDocuments(documents);
+        } catch (SolrServerException | IOException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    private void updateMetricDocuments(List<SolrInputDocument> documents) {
+        for (SolrInputDocument document : documents) {
+            try {
+                UpdateRequest req = new UpdateRequest();
+                req.add(document);
+                solrSearchCore.getSolr().request(req);
+            } catch (RemoteSolrException e) {
+                log.error("Unable to update the metrics of " + document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID)
+                    + ": " + e.getMessage());
+            } catch (SolrServerException | IOException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
     @Override
     public QueryResponse retriveSolrDocByUniqueID(String uniqueID) {
         SolrClient solrClient =  solrSearchCore.getSolr();
@@ -18,11 +18,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationListener;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.DSpaceObjectService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.indexobject.IndexableDSpaceObject;
@@ -31,7 +34,7 @@ import org.dspace.services.factory.DSpaceServicesFactory;
 /**
  * @author Kevin Van de Velde (kevin at atmire dot com)
  */
-public class DiscoveryConfigurationService {
+public class DiscoveryConfigurationService implements CacheInvalidationListener {
 
     private static final Logger log = LogManager.getLogger();
 
@@ -45,6 +48,26 @@ public class DiscoveryConfigurationService {
      */
     private final Map<UUID, DiscoveryConfiguration> comColToDiscoveryConfigurationMap = new ConcurrentHashMap<>();
 
+    /**
+     * Clears the discovery configurations cached by Community/Collection UUID.
+     */
+    public void clearCache() {
+        comColToDiscoveryConfigurationMap.clear();
+    }
+
+    /**
+     * Clears the cached discovery configurations when a Community or Collection
+     * changes, since a change of the hierarchy affects the configuration of all
+     * its descendants.
+     */
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.isOfType(Constants.typeText[Constants.COMMUNITY])
+            || invalidation.isOfType(Constants.typeText[Constants.COLLECTION])) {
+            clearCache();
+        }
+    }
+
     public Map<String, DiscoveryConfiguration> getMap() {
         return map;
     }
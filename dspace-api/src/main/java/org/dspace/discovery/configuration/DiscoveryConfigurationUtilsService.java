@@ -20,6 +20,8 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResultIterator;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -34,19 +36,53 @@ public class DiscoveryConfigurationUtilsService {
     private ItemService itemService;
     @Autowired
     private DiscoveryConfigurationService searchConfigurationService;
+    @Autowired
+    private SearchService searchService;
 
     public Iterator<Item> findByRelation(Context context, Item item, String relationName) {
+        DiscoverQuery discoverQuery = buildRelationQuery(item, relationName);
+        if (discoverQuery == null) {
+            return emptyIterator();
+        }
+        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+    }
+
+    /**
+     * Check if the given item has at least one related item for the given
+     * relation. Unlike {@link #findByRelation(Context, Item, String)} only the
+     * number of hits is requested to solr, so no related item is loaded from the
+     * database.
+     *
+     * @param  context      the DSpace context
+     * @param  item         the item to check
+     * @param  relationName the name of the relation
+     * @return              true if at least one related item exists
+     */
+    public boolean hasRelatedItems(Context context, Item item, String relationName) {
+        DiscoverQuery discoverQuery = buildRelationQuery(item, relationName);
+        if (discoverQuery == null) {
+            return false;
+        }
+        discoverQuery.setMaxResults(0);
+        try {
+            return searchService.search(context, discoverQuery).getTotalSearchResults() > 0;
+        } catch (SearchServiceException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private DiscoverQuery buildRelationQuery(Item item, String relationName) {
         String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
         if (entityType == null) {
             log.warn("The item with id " + item.getID() + " has no dspace.entity.type. No related items is found.");
-            return emptyIterator();
+            return null;
         }
 
         DiscoveryConfiguration discoveryConfiguration = findDiscoveryConfiguration(entityType, relationName);
         if (discoveryConfiguration == null) {
             log.warn("No discovery configuration found for relation " + relationName + " for item with id "
                 + item.getID() + " and type " + entityType + ". No related items is found.");
-            return emptyIterator();
+            return null;
         }
 
         DiscoverQuery discoverQuery = new DiscoverQuery();
@@ -57,8 +93,7 @@ public class DiscoveryConfigurationUtilsService {
         for (String defaultFilterQuery : defaultFilterQueries) {
             discoverQuery.addFilterQueries(MessageFormat.format(defaultFilterQuery, item.getID()));
         }
-
-        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+        return discoverQuery;
     }
 
     private DiscoveryConfiguration findDiscoveryConfiguration(String entityType, String relationName) {
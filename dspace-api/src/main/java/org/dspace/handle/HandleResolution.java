@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * The result of the resolution of a handle, that is the type and the id of the
+ * object bound to the handle, if any, or the information that the handle does
+ * not exist. Instances of this class are kept in the
+ * {@link HandleResolutionCache}.
+ */
+public final class HandleResolution implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String handle;
+
+    private final boolean found;
+
+    private final Integer resourceTypeId;
+
+    private final UUID resourceId;
+
+    private final long creationTime;
+
+    /**
+     * Creates the resolution of an existing handle.
+     *
+     * @param handle         the handle
+     * @param resourceTypeId the type of the object that is, or was, bound to
+     *                       the handle
+     * @param resourceId     the id of the bound object, null if the handle is
+     *                       unbound
+     */
+    public HandleResolution(String handle, Integer resourceTypeId, UUID resourceId) {
+        this(handle, true, resourceTypeId, resourceId);
+    }
+
+    private HandleResolution(String handle, boolean found, Integer resourceTypeId, UUID resourceId) {
+        this.handle = handle;
+        this.found = found;
+        this.resourceTypeId = resourceTypeId;
+        this.resourceId = resourceId;
+        this.creationTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates the resolution of the given handle from its database row.
+     *
+     * @param  handle   the handle
+     * @param  dbHandle the row of the handle, null if the handle does not exist
+     * @return          the resolution
+     */
+    public static HandleResolution of(String handle, Handle dbHandle) {
+        if (dbHandle == null) {
+            return new HandleResolution(handle, false, null, null);
+        }
+        UUID resourceId = dbHandle.getDSpaceObject() != null ? dbHandle.getDSpaceObject().getID() : null;
+        return new HandleResolution(handle, dbHandle.getResourceTypeId(), resourceId);
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    /**
+     * Returns whether the handle exists, bound or not to an object.
+     */
+    public boolean isFound() {
+        return found;
+    }
+
+    /**
+     * Returns whether the handle is currently bound to an object.
+     */
+    public boolean isBound() {
+        return found && resourceTypeId != null && resourceId != null;
+    }
+
+    public Integer getResourceTypeId() {
+        return resourceTypeId;
+    }
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+}
@@ -0,0 +1,271 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
+import org.dspace.cache.CacheInvalidationListener;
+import org.dspace.core.Context;
+import org.dspace.handle.dao.HandleDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * Cache of the resolutions of the handles, kept in the <code>handles</code>
+ * cache of the Spring {@link CacheManager}, that bounds its size. The handles
+ * that do not exist are cached too, for at most
+ * <code>handle.cache.not-found.ttl</code> seconds, as they could be created by
+ * another JVM.
+ * <P>
+ * The {@link HandleServiceImpl} evicts a handle each time it is created,
+ * unbound or moved to another object. The handle is evicted at once, so that
+ * the changing transaction resolves it again, and once more when the change is
+ * committed, since the other readers could have cached the old resolution in
+ * the meantime. The eviction is published on the {@link CacheInvalidationBus}, so that
+ * the other JVMs sharing the database evict it too. The cache can be prewarmed
+ * at startup with the most recent handles, and collects the statistics of its
+ * hits and of the time spent reading the handles from the database.
+ */
+public class HandleResolutionCache implements ApplicationListener<ContextRefreshedEvent>, CacheInvalidationListener {
+
+    private static final Logger log = LogManager.getLogger(HandleResolutionCache.class);
+
+    public static final String CACHE_NAME = "handles";
+
+    /**
+     * The type of the invalidations of the handles published on the
+     * {@link CacheInvalidationBus}.
+     */
+    public static final String HANDLE_TYPE = "Handle";
+
+    @Autowired
+    private HandleDAO handleDAO;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder notFoundHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loadTime = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Resolves the given handle, reading it from the database only if it is
+     * not cached.
+     *
+     * @param  context      the DSpace context
+     * @param  handle       the handle to resolve
+     * @return              the resolution of the handle
+     * @throws SQLException if a database error occurs
+     */
+    public HandleResolution resolve(Context context, String handle) throws SQLException {
+        Cache cache = getCache();
+        if (cache == null) {
+            return load(context, handle);
+        }
+
+        HandleResolution resolution = cache.get(handle, HandleResolution.class);
+        if (resolution != null && !isExpired(resolution)) {
+            hits.increment();
+            if (!resolution.isFound()) {
+                notFoundHits.increment();
+            }
+            return resolution;
+        }
+
+        misses.increment();
+        resolution = load(context, handle);
+        cache.put(handle, resolution);
+        return resolution;
+    }
+
+    /**
+     * Evicts the given handle, in this JVM and in all the other JVMs sharing
+     * the database. It is evicted again from this JVM once the current
+     * transaction of the given context is committed.
+     *
+     * @param  context      the DSpace context that changed the handle
+     * @param  handle       the handle to evict
+     * @throws SQLException if a database error occurs publishing the eviction
+     */
+    public void evict(Context context, String handle) throws SQLException {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.evictIfPresent(handle);
+        }
+        context.addCommitCallback(() -> evictLocally(handle));
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.of(HANDLE_TYPE, handle)));
+    }
+
+    /**
+     * Evicts all the handles, in this JVM and in all the other JVMs sharing the
+     * database. They are evicted again from this JVM once the current
+     * transaction of the given context is committed.
+     *
+     * @param  context      the DSpace context that changed the handles
+     * @throws SQLException if a database error occurs publishing the eviction
+     */
+    public void clear(Context context) throws SQLException {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.invalidate();
+        }
+        context.addCommitCallback(this::clearLocally);
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(HANDLE_TYPE)));
+    }
+
+    /**
+     * Evicts the given handle from the cache of this JVM only, e.g. because its
+     * cached resolution was found outdated.
+     *
+     * @param handle the handle to evict
+     */
+    public void evictLocally(String handle) {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.evictIfPresent(handle);
+        }
+        evictions.increment();
+    }
+
+    private void clearLocally() {
+        Cache cache = getCache();
+        if (cache != null) {
+            cache.invalidate();
+        }
+        evictions.increment();
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (!invalidation.isOfType(HANDLE_TYPE)) {
+            return;
+        }
+        if (invalidation.isAll() || invalidation.isAllOfType()) {
+            clearLocally();
+        } else {
+            evictLocally(invalidation.getId());
+        }
+    }
+
+    /**
+     * Loads in the cache the given number of handles, starting from the most
+     * recent ones.
+     *
+     * @param  context      the DSpace context
+     * @param  size         the number of handles to load
+     * @return              the number of loaded handles
+     * @throws SQLException if a database error occurs
+     */
+    public int prewarm(Context context, int size) throws SQLException {
+        Cache cache = getCache();
+        if (cache == null || size <= 0) {
+            return 0;
+        }
+
+        List<HandleResolution> resolutions = handleDAO.findResolutions(context, size);
+        for (HandleResolution resolution : resolutions) {
+            cache.putIfAbsent(resolution.getHandle(), resolution);
+        }
+        return resolutions.size();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        int size = configurationService.getIntProperty("handle.cache.prewarm.size", 0);
+        if (size <= 0) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> prewarm(size), "handle-cache-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void prewarm(int size) {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            long start = System.currentTimeMillis();
+            int count = prewarm(context, size);
+            log.info("Prewarmed the handle cache with {} handles in {} ms", count,
+                System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Unable to prewarm the handle cache", e);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Returns the statistics of the cache since the start of this JVM.
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hitCount);
+        statistics.put("notFoundHits", notFoundHits.sum());
+        statistics.put("misses", missCount);
+        statistics.put("hitRatio", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        statistics.put("averageLoadTimeMillis",
+            missCount > 0 ? TimeUnit.NANOSECONDS.toMicros(loadTime.sum() / missCount) / 1000.0 : 0.0);
+        statistics.put("evictions", evictions.sum());
+        return statistics;
+    }
+
+    private HandleResolution load(Context context, String handle) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return HandleResolution.of(handle, handleDAO.findByHandle(context, handle));
+        } finally {
+            loadTime.add(System.nanoTime() - start);
+        }
+    }
+
+    private boolean isExpired(HandleResolution resolution) {
+        if (resolution.isFound()) {
+            return false;
+        }
+        long ttl = configurationService.getLongProperty("handle.cache.not-found.ttl", 60);
+        return System.currentTimeMillis() - resolution.getCreationTime() > TimeUnit.SECONDS.toMillis(ttl);
+    }
+
+    private Cache getCache() {
+        if (!configurationService.getBooleanProperty("handle.cache.enabled", true)) {
+            return null;
+        }
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+}
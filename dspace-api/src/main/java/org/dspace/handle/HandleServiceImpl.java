@@ -19,6 +19,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.SiteService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
@@ -59,6 +60,9 @@ public class HandleServiceImpl implements HandleService {
     @Autowired
     protected SiteService siteService;
 
+    @Autowired
+    protected HandleResolutionCache handleResolutionCache;
+
     private static final Pattern[] IDENTIFIER_PATTERNS = {
         Pattern.compile("^hdl:(.*)$"),
         Pattern.compile("^info:hdl/(.*)$"),
@@ -75,9 +79,9 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public String resolveToURL(Context context, String handle)
         throws SQLException {
-        Handle dbhandle = findHandleInternal(context, handle);
+        HandleResolution resolution = resolveHandleInternal(context, handle);
 
-        if (dbhandle == null) {
+        if (!resolution.isFound()) {
             return null;
         }
 
@@ -114,9 +118,9 @@ public class HandleServiceImpl implements HandleService {
         while (handle.startsWith("/")) {
             handle = handle.substring(1);
         }
-        Handle dbhandle = findHandleInternal(context, handle);
+        HandleResolution resolution = resolveHandleInternal(context, handle);
 
-        return (null == dbhandle) ? null : handle;
+        return resolution.isFound() ? handle : null;
     }
 
     @Override
@@ -146,6 +150,7 @@ public class HandleServiceImpl implements HandleService {
         dso.addHandle(handle);
         handle.setResourceTypeId(dso.getType());
         handleDAO.save(context, handle);
+        handleResolutionCache.evict(context, handleId);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -200,6 +205,7 @@ public class HandleServiceImpl implements HandleService {
         handle.setDSpaceObject(dso);
         dso.addHandle(handle);
         handleDAO.save(context, handle);
+        handleResolutionCache.evict(context, suppliedHandle);
 
         log.debug("Created new handle for {} (ID={}) {}",
             () -> Constants.typeText[dso.getType()],
@@ -225,6 +231,7 @@ public class HandleServiceImpl implements HandleService {
 
 
                 handleDAO.save(context, handle);
+                handleResolutionCache.evict(context, handle.getHandle());
 
                 log.debug("Unbound Handle {} from object {} id={}",
                     () -> handle.getHandle(),
@@ -241,6 +248,21 @@ public class HandleServiceImpl implements HandleService {
     @Override
     public DSpaceObject resolveToObject(Context context, String handle)
         throws IllegalStateException, SQLException {
+        HandleResolution resolution = resolveHandleInternal(context, handle);
+        if (!resolution.isBound()) {
+            //if handle has been unbound, just return null (as this will result in a PageNotFound)
+            return null;
+        }
+
+        DSpaceObject dso = ContentServiceFactory.getInstance()
+            .getDSpaceObjectService(resolution.getResourceTypeId())
+            .find(context, resolution.getResourceId());
+        if (dso != null && isOwner(dso, handle)) {
+            return dso;
+        }
+
+        // the cached resolution is outdated, resolve the handle from the database
+        handleResolutionCache.evictLocally(handle);
         Handle dbhandle = findHandleInternal(context, handle);
         // check if handle was allocated previously, but is currently not
         // associated with a DSpaceObject
@@ -304,7 +326,9 @@ public class HandleServiceImpl implements HandleService {
 
     @Override
     public int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException {
-        return handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        int updatedHandles = handleDAO.updateHandlesWithNewPrefix(context, newPrefix, oldPrefix);
+        handleResolutionCache.clear(context);
+        return updatedHandles;
     }
 
     @Override
@@ -322,6 +346,7 @@ public class HandleServiceImpl implements HandleService {
             dbHandle.setResourceTypeId(newOwner.getType());
             newOwner.getHandles().add(0, dbHandle);
             handleDAO.save(context, dbHandle);
+            handleResolutionCache.evict(context, handle);
         }
 
     }
@@ -346,6 +371,36 @@ public class HandleServiceImpl implements HandleService {
         return handleDAO.findByHandle(context, handle);
     }
 
+    /**
+     * Check whether the given object still owns the given handle, since the
+     * cached resolution of a handle moved to another object, or unbound, in a
+     * transaction not yet committed, or by another JVM, could be outdated.
+     *
+     * @param dso    the object the handle resolves to
+     * @param handle the handle
+     * @return true if the handle is bound to the given object
+     */
+    protected boolean isOwner(DSpaceObject dso, String handle) {
+        return dso.getHandles().stream().anyMatch(dsoHandle -> handle.equals(dsoHandle.getHandle()));
+    }
+
+    /**
+     * Resolve the handle using the {@link HandleResolutionCache}.
+     *
+     * @param context DSpace context
+     * @param handle  The handle to resolve
+     * @return The resolution of the handle
+     * @throws SQLException If a database error occurs
+     */
+    protected HandleResolution resolveHandleInternal(Context context, String handle)
+        throws SQLException {
+        if (handle == null) {
+            throw new IllegalArgumentException("Handle is null");
+        }
+
+        return handleResolutionCache.resolve(context, handle);
+    }
+
     /**
      * Create/mint a new handle id.
      *
@@ -405,12 +460,8 @@ public class HandleServiceImpl implements HandleService {
 
     @Override
     public boolean isGone(Context context, String prefix) throws SQLException {
-        Handle handle = handleDAO.findByHandle(context, prefix);
-
-        if (handle != null) {
-            return handle.getDSpaceObject() == null;
-        }
-        return false;
+        HandleResolution resolution = resolveHandleInternal(context, prefix);
+        return resolution.isFound() && resolution.getResourceId() == null;
     }
 
     @Override
@@ -14,6 +14,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
 import org.dspace.handle.Handle;
+import org.dspace.handle.HandleResolution;
 
 /**
  * Database Access Object interface class for the Handle object.
@@ -38,4 +39,15 @@ public interface HandleDAO extends GenericDAO<Handle> {
     int updateHandlesWithNewPrefix(Context context, String newPrefix, String oldPrefix) throws SQLException;
 
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Returns the resolutions of the most recent handles, without loading the
+     * objects bound to them.
+     *
+     * @param  context      the DSpace context
+     * @param  limit        the maximum number of handles to return
+     * @return              the resolutions of the handles
+     * @throws SQLException if a database error occurs
+     */
+    List<HandleResolution> findResolutions(Context context, int limit) throws SQLException;
 }
@@ -22,6 +22,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
 import org.dspace.handle.Handle;
+import org.dspace.handle.HandleResolution;
 import org.dspace.handle.Handle_;
 import org.dspace.handle.dao.HandleDAO;
 import org.hibernate.dialect.Dialect;
@@ -115,6 +116,19 @@ public class HandleDAOImpl extends AbstractHibernateDAO<Handle> implements Handl
         return count(createQuery(context, "SELECT count(*) FROM Handle"));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HandleResolution> findResolutions(Context context, int limit) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT new org.dspace.handle.HandleResolution(h.handle, h.resourceTypeId, d.id) " +
+                                      "FROM Handle h " +
+                                      "LEFT JOIN h.dso d " +
+                                      "ORDER BY h.id DESC");
+
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
     /**
      * Return next available value of Handle suffix (based on DB sequence).
      * @param context Current DSpace Context
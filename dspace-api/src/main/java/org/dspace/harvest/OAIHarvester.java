@@ -47,6 +47,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -80,6 +87,7 @@ import org.dspace.core.Context;
 import org.dspace.core.Utils;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.core.service.PluginService;
+import org.dspace.eperson.EPerson;
 import org.dspace.handle.service.HandleService;
 import org.dspace.harvest.model.OAIHarvesterAction;
 import org.dspace.harvest.model.OAIHarvesterOptions;
@@ -247,6 +255,18 @@ public class OAIHarvester {
 
         String repositoryId = getRepositoryIdentifier(harvestRow, identifyDocument);
 
+        if (isStreamingEnabled() && isPipelineEnabled()) {
+            log.warn("The streaming of the records is ignored because the pipelined harvesting is enabled, "
+                + "which reads whole pages: disable oai.harvester.pipeline.enabled to stream them");
+        } else if (isStreamingEnabled()) {
+            OAIListRecordsReader reader = oaiHarvesterClient.streamRecords(oaiSource, fromDateAsString,
+                toDateAsString, harvestRow.getOaiSetId(), descriptiveMetadataFormat);
+            // the total is known only at the end of the first page
+            OAIHarvesterReport report = new OAIHarvesterReport(0);
+            processStreamedRecords(context, harvestRow, reader, repositoryId, report, options);
+            return report;
+        }
+
         OAIHarvesterResponseDTO responseDTO = oaiHarvesterClient.listRecords(oaiSource, fromDateAsString,
             toDateAsString, harvestRow.getOaiSetId(), descriptiveMetadataFormat);
 
@@ -265,6 +285,11 @@ public class OAIHarvester {
         OAIHarvesterResponseDTO responseDTO, Date toDate, String repositoryId, OAIHarvesterReport report,
         OAIHarvesterOptions options) {
 
+        if (isPipelineEnabled()) {
+            processOAIHarvesterResponseInPipeline(context, harvestRow, responseDTO, repositoryId, report, options);
+            return;
+        }
+
         while (responseDTO != null) {
 
             if (responseDTO.hasErrors()) {
@@ -273,6 +298,7 @@ public class OAIHarvester {
             }
 
             List<Element> records = getAllRecords(responseDTO.getDocument());
+            log.info("Found " + records.size() + " records to process");
 
             // Process the obtained records
             harvestRow = processRecords(context, harvestRow, records, repositoryId, report, options);
@@ -285,13 +311,68 @@ public class OAIHarvester {
 
     }
 
-    private HarvestedCollection processRecords(Context context, HarvestedCollection harvestRow, List<Element> records,
-        String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options) {
+    /**
+     * Processes the harvested records reading each page as a stream, so that
+     * only the record being ingested is kept in memory. The resumption token
+     * of a page, and so the total number of records, is known only once all
+     * the records of the page are read.
+     */
+    private void processStreamedRecords(Context context, HarvestedCollection harvestRow,
+        OAIListRecordsReader firstPageReader, String repositoryId, OAIHarvesterReport report,
+        OAIHarvesterOptions options) {
+
+        OAIListRecordsReader nextPageReader = firstPageReader;
+
+        while (nextPageReader != null) {
+
+            OAIListRecordsReader reader = nextPageReader;
+            String token;
+
+            try {
+
+                // the errors are reported in place of the records
+                if (!reader.hasNext() && reader.hasErrors()) {
+                    handleResponseErrors(reader.getErrors());
+                    return;
+                }
+
+                int processedRecords = report.getSuccessCount() + report.getFailureCount();
+                harvestRow = processRecords(context, harvestRow, () -> reader, repositoryId, report, options);
+                log.info("Processed " + (report.getSuccessCount() + report.getFailureCount() - processedRecords)
+                    + " records of the current page");
+
+                token = reader.getResumptionToken();
+                if (report.getTotalRecordSize() == 0 && reader.getCompleteListSize() != null) {
+                    report.setTotalRecordSize(reader.getCompleteListSize());
+                    log.info("Found " + report.getTotalRecordSize() + " records to harvest");
+                }
+
+            } finally {
+                closeReader(reader);
+            }
+
+            // keep going if there are more records to process
+            nextPageReader = isNotEmpty(token) ? oaiHarvesterClient.streamRecords(harvestRow.getOaiSource(), token)
+                : null;
+
+        }
+
+    }
+
+    private void closeReader(OAIListRecordsReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ex) {
+            log.warn("An error occurs closing the ListRecords response", ex);
+        }
+    }
+
+    private HarvestedCollection processRecords(Context context, HarvestedCollection harvestRow,
+        Iterable<Element> records, String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options) {
 
         UUID collectionId = harvestRow.getCollection().getID();
         Date expirationDate = getExpirationDate();
 
-        log.info("Found " + records.size() + " records to process");
         for (Element record : records) {
 
             // check for STOP interrupt from the scheduler
@@ -335,6 +416,252 @@ public class OAIHarvester {
         return harvestRow;
     }
 
+    /**
+     * Processes the harvested records in pipeline: the next page of records is
+     * requested to the OAI server while the records of the current page are
+     * ingested, in parallel, by the configured number of workers. Each worker
+     * uses its own context and commits the ingested items in batches.
+     */
+    private void processOAIHarvesterResponseInPipeline(Context context, HarvestedCollection harvestRow,
+        OAIHarvesterResponseDTO responseDTO, String repositoryId, OAIHarvesterReport report,
+        OAIHarvesterOptions options) {
+
+        String oaiSource = harvestRow.getOaiSource();
+        int workers = getPipelineWorkers();
+
+        ExecutorService pageFetcher = Executors.newSingleThreadExecutor(new HarvesterThreadFactory("page-fetcher"));
+        ExecutorService recordProcessors = Executors.newFixedThreadPool(workers, new HarvesterThreadFactory("worker"));
+
+        try {
+
+            while (responseDTO != null) {
+
+                if (responseDTO.hasErrors()) {
+                    handleResponseErrors(responseDTO.getErrors());
+                    return;
+                }
+
+                // request the next page while the current one is processed
+                String token = responseDTO.getResumptionToken();
+                Future<OAIHarvesterResponseDTO> nextPage = isNotEmpty(token)
+                    ? pageFetcher.submit(() -> oaiHarvesterClient.listRecords(oaiSource, token)) : null;
+
+                List<Element> records = getAllRecords(responseDTO.getDocument());
+                processRecordsInParallel(context, harvestRow, records, repositoryId, report, options,
+                    recordProcessors, workers);
+
+                harvestRow.setHarvestMessage(formatIntermediateMessage(report));
+                harvestRow = updateHarvestRow(context, harvestRow);
+
+                responseDTO = nextPage != null ? waitFor(nextPage) : null;
+
+            }
+
+        } finally {
+            pageFetcher.shutdownNow();
+            recordProcessors.shutdownNow();
+        }
+
+    }
+
+    private void processRecordsInParallel(Context context, HarvestedCollection harvestRow, List<Element> records,
+        String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options, ExecutorService executor,
+        int workers) {
+
+        log.info("Found " + records.size() + " records to process with " + workers + " workers");
+
+        // the records with the same identifier are processed by the same worker, in order
+        List<List<Element>> partitions = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Element record : records) {
+            partitions.get(Math.floorMod(getItemIdentifier(record).hashCode(), workers)).add(record);
+        }
+
+        Date expirationDate = getExpirationDate();
+        AtomicBoolean stopped = new AtomicBoolean();
+        EPerson currentUser = context.getCurrentUser();
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (List<Element> partition : partitions) {
+            if (!partition.isEmpty()) {
+                futures.add(executor.submit(() -> processRecordsWithWorkerContext(currentUser, harvestRow,
+                    partition, repositoryId, report, options, expirationDate, stopped)));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                waitFor(future);
+            } catch (RuntimeException ex) {
+                stopped.set(true);
+                failure = failure != null ? failure : ex;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Void processRecordsWithWorkerContext(EPerson currentUser, HarvestedCollection harvestRow,
+        List<Element> records, String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options,
+        Date expirationDate, AtomicBoolean stopped) throws Exception {
+
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+
+            if (currentUser != null) {
+                context.setCurrentUser(context.reloadEntity(currentUser));
+            }
+
+            HarvestedCollection workerHarvestRow = context.reloadEntity(harvestRow);
+            UUID collectionId = workerHarvestRow.getCollection().getID();
+            int batchSize = getPipelineCommitBatchSize();
+
+            List<Element> uncommittedRecords = new ArrayList<>();
+            String stopMessage = null;
+
+            for (Element record : records) {
+
+                stopMessage = getStopMessage(collectionId, expirationDate, report);
+                if (stopMessage != null || stopped.get()) {
+                    break;
+                }
+
+                long startTimestamp = System.currentTimeMillis();
+
+                try {
+                    processRecord(context, workerHarvestRow, record, repositoryId, options, startTimestamp, report);
+                    uncommittedRecords.add(record);
+                } catch (Exception ex) {
+                    // the records processed since the last commit are rolled back together with the failed one
+                    workerHarvestRow = rollbackAndReloadEntity(context, workerHarvestRow);
+                    handleRecordFailure(context, workerHarvestRow, record, ex, report, options, startTimestamp);
+                    workerHarvestRow = processRecordsOneByOne(context, workerHarvestRow, uncommittedRecords,
+                        repositoryId, report, options);
+                    uncommittedRecords.clear();
+                    continue;
+                }
+
+                if (uncommittedRecords.size() >= batchSize) {
+                    workerHarvestRow = commitRecords(context, workerHarvestRow, uncommittedRecords, repositoryId,
+                        report, options);
+                    uncommittedRecords.clear();
+                }
+
+            }
+
+            // the progress made up to the interruption is saved
+            commitRecords(context, workerHarvestRow, uncommittedRecords, repositoryId, report, options);
+
+            if (stopMessage != null) {
+                throw new HarvestingException(stopMessage);
+            }
+
+            context.complete();
+            return null;
+
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+
+    private HarvestedCollection commitRecords(Context context, HarvestedCollection harvestRow,
+        List<Element> records, String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options) {
+
+        if (records.isEmpty()) {
+            return harvestRow;
+        }
+
+        try {
+            context.commit();
+            records.forEach(record -> report.incrementSuccessCount());
+            return reloadEntity(context, harvestRow);
+        } catch (Exception ex) {
+            log.warn("An error occurs committing a batch of " + records.size() + " records, "
+                + "processing them one by one", ex);
+            harvestRow = rollbackAndReloadEntity(context, harvestRow);
+            return processRecordsOneByOne(context, harvestRow, records, repositoryId, report, options);
+        }
+    }
+
+    private HarvestedCollection processRecordsOneByOne(Context context, HarvestedCollection harvestRow,
+        List<Element> records, String repositoryId, OAIHarvesterReport report, OAIHarvesterOptions options) {
+
+        for (Element record : records) {
+            long startTimestamp = System.currentTimeMillis();
+            try {
+                processRecord(context, harvestRow, record, repositoryId, options, startTimestamp, report);
+                context.commit();
+                harvestRow = reloadEntity(context, harvestRow);
+                report.incrementSuccessCount();
+            } catch (Exception ex) {
+                harvestRow = rollbackAndReloadEntity(context, harvestRow);
+                handleRecordFailure(context, harvestRow, record, ex, report, options, startTimestamp);
+            }
+        }
+
+        return harvestRow;
+    }
+
+    private void handleRecordFailure(Context context, HarvestedCollection harvestRow, Element record, Exception ex,
+        OAIHarvesterReport report, OAIHarvesterOptions options, long startTimestamp) {
+        log.error("An error occurs while process the record " + getItemIdentifier(record), ex);
+        report.addError(getItemIdentifier(record), getRootMessage(ex), NONE.getAction());
+        report.incrementFailureCount();
+        logRecord(context, options, harvestRow, false, startTimestamp, getItemIdentifier(record), NONE);
+    }
+
+    private String getStopMessage(UUID collectionId, Date expirationDate, OAIHarvesterReport report) {
+
+        if (HarvestScheduler.getInterrupt() == HarvestScheduler.HARVESTER_INTERRUPT_STOP) {
+            return "Harvest process for " + collectionId + " interrupted by stopping the scheduler."
+                + getReportMessage(report);
+        }
+
+        if (expirationDate.before(new Date())) {
+            return "Harvesting timed out for collection " + collectionId + "." + getReportMessage(report);
+        }
+
+        return null;
+    }
+
+    private <T> T waitFor(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HarvestingException("Harvest process interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HarvestingException(cause.getMessage(), cause);
+        }
+    }
+
+    private boolean isPipelineEnabled() {
+        return configurationService.getBooleanProperty("oai.harvester.pipeline.enabled", false);
+    }
+
+    private boolean isStreamingEnabled() {
+        return configurationService.getBooleanProperty("oai.harvester.streaming.enabled", false);
+    }
+
+    private int getPipelineWorkers() {
+        return Math.max(1, configurationService.getIntProperty("oai.harvester.pipeline.workers", 4));
+    }
+
+    private int getPipelineCommitBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("oai.harvester.pipeline.commit-batch-size", 20));
+    }
+
     private void processRecord(Context context, HarvestedCollection harvestRow, Element record, String repositoryId,
         OAIHarvesterOptions options, long startTime, OAIHarvesterReport report) throws Exception {
 
@@ -1188,4 +1515,26 @@ public class OAIHarvester {
         this.oaiHarvesterEmailSender = oaiHarvesterEmailSender;
     }
 
+    /**
+     * Factory of the daemon threads of the pipelined harvesting.
+     */
+    private static final class HarvesterThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        private final String name;
+
+        private HarvesterThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "oai-harvester-" + name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
 }
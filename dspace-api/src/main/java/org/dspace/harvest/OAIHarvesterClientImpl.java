@@ -9,12 +9,22 @@ package org.dspace.harvest;
 
 import static org.dspace.util.ExceptionMessageUtils.getRootMessage;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.lang.StringUtils;
 import org.dspace.harvest.model.OAIHarvesterResponseDTO;
 import org.dspace.harvest.service.OAIHarvesterClient;
+import org.dspace.services.ConfigurationService;
 import org.dspace.util.ThrowingSupplier;
 import org.jdom2.Document;
 import org.jdom2.Element;
@@ -25,6 +35,7 @@ import org.oclc.oai.harvester2.verb.ListMetadataFormats;
 import org.oclc.oai.harvester2.verb.ListRecords;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementation of {@link OAIHarvesterClient}.
@@ -36,6 +47,9 @@ public class OAIHarvesterClientImpl implements OAIHarvesterClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OAIHarvesterClientImpl.class);
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     @Override
     public OAIHarvesterResponseDTO listRecords(String baseURL, String from, String until, String set,
         String metadataPrefix) {
@@ -58,6 +72,26 @@ public class OAIHarvesterClientImpl implements OAIHarvesterClient {
         }
     }
 
+    @Override
+    public OAIListRecordsReader streamRecords(String baseURL, String from, String until, String set,
+        String metadataPrefix) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("verb", "ListRecords");
+        parameters.put("from", from);
+        parameters.put("until", until);
+        parameters.put("set", set);
+        parameters.put("metadataPrefix", metadataPrefix);
+        return stream(baseURL, parameters);
+    }
+
+    @Override
+    public OAIListRecordsReader streamRecords(String baseURL, String resumptionToken) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("verb", "ListRecords");
+        parameters.put("resumptionToken", resumptionToken);
+        return stream(baseURL, parameters);
+    }
+
     @Override
     public OAIHarvesterResponseDTO listMetadataFormats(String baseURL) {
         try {
@@ -112,6 +146,73 @@ public class OAIHarvesterClientImpl implements OAIHarvesterClient {
         return OAIHarvesterResponseDTO.fromHarvesterVerb(harvesterVerb);
     }
 
+    private OAIListRecordsReader stream(String baseURL, Map<String, String> parameters) {
+        try {
+            String requestURL = buildRequestURL(baseURL, parameters);
+            LOGGER.info("HTTP Request: " + requestURL);
+            return new OAIListRecordsReader(openStream(requestURL));
+        } catch (Exception ex) {
+            throw new HarvestingException(formatMessage(baseURL, parameters, ex), ex);
+        }
+    }
+
+    private String buildRequestURL(String baseURL, Map<String, String> parameters) {
+        StringBuilder requestURL = new StringBuilder(baseURL);
+        char separator = baseURL.contains("?") ? '&' : '?';
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (StringUtils.isNotBlank(parameter.getValue())) {
+                requestURL.append(separator).append(parameter.getKey()).append('=')
+                    .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return requestURL.toString();
+    }
+
+    /**
+     * Opens the response stream of the given request, waiting as requested by
+     * the server when it answers with 503 and a Retry-After header, as the
+     * harvester2 verbs do, up to the configured number of retries.
+     */
+    private InputStream openStream(String requestURL) throws IOException, InterruptedException {
+        int maxRetries = configurationService.getIntProperty("oai.harvester.streaming.max-retries", 5);
+        for (int retries = 0; ; retries++) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(requestURL).openConnection();
+            connection.setConnectTimeout(
+                configurationService.getIntProperty("oai.harvester.streaming.connect-timeout", 30000));
+            connection.setReadTimeout(
+                configurationService.getIntProperty("oai.harvester.streaming.read-timeout", 300000));
+            connection.setRequestProperty("User-Agent", "OAIHarvester/2.0");
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_UNAVAILABLE && retries < maxRetries) {
+                long retryAfter = connection.getHeaderFieldLong("Retry-After", -1);
+                if (retryAfter > 0) {
+                    LOGGER.info("Server response: Retry-After=" + retryAfter);
+                    connection.disconnect();
+                    Thread.sleep(retryAfter * 1000);
+                    continue;
+                }
+            }
+
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                throw new IOException("Server returned HTTP response code: " + responseCode);
+            }
+
+            InputStream inputStream = connection.getInputStream();
+            String contentEncoding = connection.getContentEncoding();
+            if ("gzip".equalsIgnoreCase(contentEncoding)) {
+                return new GZIPInputStream(inputStream);
+            }
+            if ("deflate".equalsIgnoreCase(contentEncoding)) {
+                return new InflaterInputStream(inputStream);
+            }
+            return inputStream;
+        }
+    }
+
     private String formatMessage(String baseURL, Map<String,String> parameters, Exception ex) {
         String message = "There was a problem calling " + baseURL;
         if (parameters.isEmpty()) {
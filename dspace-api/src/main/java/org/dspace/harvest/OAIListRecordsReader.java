@@ -0,0 +1,185 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.harvest.service.OAIHarvesterClient;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.input.StAXStreamBuilder;
+
+/**
+ * Streaming reader of an OAI-PMH ListRecords response, that walks the XML with
+ * StAX and materializes one record element at a time, so that the memory used
+ * does not depend on the size of the response page. The error codes, the
+ * resumption token and the complete list size are collected while reading, so
+ * they are available once all the records are read.
+ */
+public class OAIListRecordsReader implements Iterator<Element>, Closeable {
+
+    private static final String OAI_NS_URI = OAIHarvesterClient.OAI_NS.getURI();
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final InputStream inputStream;
+
+    private final XMLStreamReader reader;
+
+    private final StAXStreamBuilder builder = new StAXStreamBuilder();
+
+    private final Set<String> errors = new HashSet<>();
+
+    private Element nextRecord;
+
+    private boolean ended;
+
+    private String resumptionToken;
+
+    private Integer completeListSize;
+
+    public OAIListRecordsReader(InputStream inputStream) {
+        this.inputStream = inputStream;
+        try {
+            this.reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            throw new HarvestingException("An error occurs reading the ListRecords response", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRecord == null && !ended) {
+            nextRecord = readNextRecord();
+        }
+        return nextRecord != null;
+    }
+
+    @Override
+    public Element next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Element record = nextRecord;
+        nextRecord = null;
+        return record;
+    }
+
+    private Element readNextRecord() {
+        try {
+            int event = reader.getEventType();
+            while (true) {
+
+                if (event == START_ELEMENT && OAI_NS_URI.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "record":
+                            // the builder leaves the reader on the event following the record
+                            return (Element) builder.fragment(reader);
+                        case "resumptionToken":
+                            completeListSize = parseCompleteListSize(reader.getAttributeValue(null,
+                                "completeListSize"));
+                            resumptionToken = StringUtils.trimToNull(reader.getElementText());
+                            break;
+                        case "error":
+                            errors.add(reader.getAttributeValue(null, "code"));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+
+                if (!reader.hasNext()) {
+                    ended = true;
+                    return null;
+                }
+
+                event = reader.next();
+            }
+        } catch (XMLStreamException | JDOMException e) {
+            throw new HarvestingException("An error occurs reading the ListRecords response", e);
+        }
+    }
+
+    private Integer parseCompleteListSize(String completeListSize) {
+        try {
+            return StringUtils.isNotBlank(completeListSize) ? Integer.valueOf(completeListSize.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the remaining records, if any, discarding them.
+     */
+    public void skipRemainingRecords() {
+        while (hasNext()) {
+            next();
+        }
+    }
+
+    /**
+     * Returns the error codes read so far. The errors are reported by the OAI
+     * server in place of the records, so they are all known once
+     * {@link #hasNext()} is called for the first time.
+     */
+    public Set<String> getErrors() {
+        return Collections.unmodifiableSet(errors);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Returns the resumption token, available once all the records are read.
+     */
+    public String getResumptionToken() {
+        return resumptionToken;
+    }
+
+    /**
+     * Returns the complete list size reported with the resumption token, if
+     * any, available once all the records are read.
+     */
+    public Integer getCompleteListSize() {
+        return completeListSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+}
@@ -13,7 +13,10 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * A class that model a report of an OAI harvesting.
+ * A class that model a report of an OAI harvesting. The report can be updated
+ * concurrently by the workers of a pipelined harvesting. The same error message
+ * is reported only once for each record, since the records of a batch that
+ * cannot be committed are processed again one by one.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -24,7 +27,7 @@ public class OAIHarvesterReport {
 
     private int successCount = 0;
 
-    private final int totalRecordSize;
+    private int totalRecordSize;
 
     private final Map<String, ErrorDetails> errors;
 
@@ -33,35 +36,39 @@ public class OAIHarvesterReport {
         this.errors = new LinkedHashMap<String, ErrorDetails>();
     }
 
-    public boolean noRecordImportFails() {
+    public synchronized boolean noRecordImportFails() {
         return failureCount == 0;
     }
 
-    public void incrementFailureCount() {
+    public synchronized void incrementFailureCount() {
         this.failureCount++;
     }
 
-    public void incrementSuccessCount() {
+    public synchronized void incrementSuccessCount() {
         this.successCount++;
     }
 
-    public int getSuccessCount() {
+    public synchronized int getSuccessCount() {
         return successCount;
     }
 
-    public int getFailureCount() {
+    public synchronized int getFailureCount() {
         return failureCount;
     }
 
-    public int getTotalRecordSize() {
+    public synchronized int getTotalRecordSize() {
         return totalRecordSize;
     }
 
-    public int getCurrentRecord() {
+    public synchronized void setTotalRecordSize(int totalRecordSize) {
+        this.totalRecordSize = totalRecordSize;
+    }
+
+    public synchronized int getCurrentRecord() {
         return successCount + failureCount + 1;
     }
 
-    public void addError(String recordId, List<String> messages, String action) {
+    public synchronized void addError(String recordId, List<String> messages, String action) {
         if (errors.containsKey(recordId)) {
             errors.get(recordId).addMessages(messages);
         } else {
@@ -69,7 +76,7 @@ public class OAIHarvesterReport {
         }
     }
 
-    public void addError(String recordId, String message, String action) {
+    public synchronized void addError(String recordId, String message, String action) {
         if (errors.containsKey(recordId)) {
             errors.get(recordId).addMessage(message);
         } else {
@@ -77,11 +84,11 @@ public class OAIHarvesterReport {
         }
     }
 
-    public Map<String, ErrorDetails> getErrors() {
+    public synchronized Map<String, ErrorDetails> getErrors() {
         return errors;
     }
 
-    public boolean hasErrors() {
+    public synchronized boolean hasErrors() {
         return !errors.isEmpty();
     }
 
@@ -97,16 +104,19 @@ public class OAIHarvesterReport {
         }
 
         public ErrorDetails(List<String> messages, String action) {
-            this.messages = messages;
+            this.messages = new ArrayList<>();
             this.action = action;
+            addMessages(messages);
         }
 
         public void addMessages(List<String> messages) {
-            this.messages.addAll(messages);
+            messages.forEach(this::addMessage);
         }
 
         public void addMessage(String message) {
-            this.messages.add(message);
+            if (!this.messages.contains(message)) {
+                this.messages.add(message);
+            }
         }
 
         public List<String> getMessages() {
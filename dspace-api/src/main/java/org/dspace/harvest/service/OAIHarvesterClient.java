@@ -7,6 +7,7 @@
  */
 package org.dspace.harvest.service;
 
+import org.dspace.harvest.OAIListRecordsReader;
 import org.dspace.harvest.model.OAIHarvesterResponseDTO;
 import org.jdom2.Namespace;
 
@@ -48,6 +49,38 @@ public interface OAIHarvesterClient {
      */
     OAIHarvesterResponseDTO listRecords(String baseURL, String resumptionToken);
 
+    /**
+     * Harvest records from a repository, reading the response as a stream: the
+     * records are parsed one at a time while they are iterated, without
+     * building the document of the whole response. The returned reader must be
+     * closed by the caller.
+     *
+     * @param  baseURL        the repository base url
+     * @param  from           specifies a lower bound for datestamp-based selective
+     *                        harvesting
+     * @param  until          specifies a upper bound for datestamp-based selective
+     *                        harvesting
+     * @param  set            specifies set criteria for selective harvesting
+     * @param  metadataPrefix specifies the metadataPrefix of the format that should
+     *                        be included in the metadata part of the returned
+     *                        records
+     * @return                the reader of the repository response
+     */
+    OAIListRecordsReader streamRecords(String baseURL, String from, String until, String set,
+        String metadataPrefix);
+
+    /**
+     * Harvest records from a repository using the flow control token, reading
+     * the response as a stream. The returned reader must be closed by the
+     * caller.
+     *
+     * @param  baseURL         the repository base url
+     * @param  resumptionToken the flow control token returned by a previous
+     *                         ListRecords request that issued an incomplete list
+     * @return                 the reader of the repository response
+     */
+    OAIListRecordsReader streamRecords(String baseURL, String resumptionToken);
+
     /**
      * Retrieve the metadata formats available from a repository.
      *
@@ -20,6 +20,8 @@ import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
@@ -44,6 +46,8 @@ public class CrisLayoutToolScript extends DSpaceRunnable<CrisLayoutToolScriptCon
 
     private CrisLayoutTabService tabService;
 
+    private CacheInvalidationBus cacheInvalidationBus;
+
     private CrisLayoutToolValidator validator;
 
     private CrisLayoutToolParser parser;
@@ -59,6 +63,7 @@ public class CrisLayoutToolScript extends DSpaceRunnable<CrisLayoutToolScriptCon
         this.validator = CrisLayoutServiceFactory.getInstance().getCrisLayoutToolValidator();
         this.parser = CrisLayoutServiceFactory.getInstance().getCrisLayoutToolParser();
         this.tabService = CrisLayoutServiceFactory.getInstance().getTabService();
+        this.cacheInvalidationBus = new DSpace().getSingletonService(CacheInvalidationBus.class);
 
         filename = commandLine.getOptionValue('f');
     }
@@ -81,6 +86,8 @@ public class CrisLayoutToolScript extends DSpaceRunnable<CrisLayoutToolScriptCon
 
         try {
             performImport(inputStream);
+            // clear the caches of the layout, of all the nodes, once the new layout is committed
+            cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CacheInvalidation.CRIS_LAYOUT_TYPE)));
             context.complete();
             handler.logInfo("Import completed successfully");
         } catch (Exception e) {
@@ -9,6 +9,8 @@ package org.dspace.layout.service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.EntityType;
@@ -72,6 +74,31 @@ public interface CrisLayoutBoxService extends DSpaceCRUDService<CrisLayoutBox> {
      */
     public boolean hasContent(Context context, CrisLayoutBox box, Item item);
 
+    /**
+     * Check if the given boxes have content to show. The checks that are shared
+     * between the boxes (e.g. the retrieval of the item metrics or the search of
+     * the related items of the same relation) are performed only once.
+     *
+     * @param context The relevant DSpace Context
+     * @param boxes   the CrisLayoutBox instances to check
+     * @param item    the boxes's item
+     * @return a map that associates each box with true if the box has content to
+     *         show, false otherwise
+     */
+    public Map<CrisLayoutBox, Boolean> hasContent(Context context, List<CrisLayoutBox> boxes, Item item);
+
+    /**
+     * Returns a predicate that checks if a box has content to show. The checks
+     * that are shared between the boxes tested with the same predicate are
+     * performed only once, so that boxes can be checked in several steps (e.g.
+     * the boxes and then their alternative boxes) without repeating them.
+     *
+     * @param context The relevant DSpace Context
+     * @param item    the boxes's item
+     * @return the predicate, true if the box has content to show
+     */
+    public Predicate<CrisLayoutBox> hasContentPredicate(Context context, Item item);
+
     /**
      * Establishes wether or not, current user is enabled to have access to layout data
      * contained in a layout box for a given Item.
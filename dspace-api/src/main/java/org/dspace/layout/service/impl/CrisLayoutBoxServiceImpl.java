@@ -7,21 +7,30 @@
  */
 package org.dspace.layout.service.impl;
 
+import static org.dspace.cache.CacheInvalidation.CRIS_LAYOUT_TYPE;
+
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.metrics.CrisMetrics;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.EntityType;
 import org.dspace.content.Item;
@@ -51,6 +60,8 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
+    private static final Logger log = LogManager.getLogger(CrisLayoutBoxServiceImpl.class);
+
     @Autowired
     private CrisLayoutBoxDAO dao;
 
@@ -75,6 +86,9 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
     @Autowired
     private VersionHistoryService versionHistoryService;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     public CrisLayoutBoxServiceImpl() {
     }
 
@@ -84,6 +98,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new AuthorizeException(
                 "You must be an admin to create a Box");
         }
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, new CrisLayoutBox());
     }
 
@@ -104,6 +119,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
                 "You must be an admin to update a Box");
         }
         if (CollectionUtils.isNotEmpty(boxList)) {
+            cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
             for (CrisLayoutBox box : boxList) {
                 dao.save(context, box);
             }
@@ -117,6 +133,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
                 "You must be an admin to delete a Box");
         }
         box.getMetric2box().clear();
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.delete(context, box);
     }
 
@@ -126,6 +143,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new AuthorizeException(
                 "You must be an admin to create a Box");
         }
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, box);
     }
 
@@ -141,6 +159,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
         box.setCollapsed(collapsed);
         box.setMinor(minor);
         box.setType(boxType);
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, box);
 
     }
@@ -153,6 +172,38 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
     @Override
     public boolean hasContent(Context context, CrisLayoutBox box, Item item) {
+        return hasContent(context, box, item, new BoxContentProbes(context, item));
+    }
+
+    @Override
+    public Map<CrisLayoutBox, Boolean> hasContent(Context context, List<CrisLayoutBox> boxes, Item item) {
+        Predicate<CrisLayoutBox> hasContent = hasContentPredicate(context, item);
+        Map<CrisLayoutBox, Boolean> results = new LinkedHashMap<>();
+        for (CrisLayoutBox box : boxes) {
+            if (!results.containsKey(box)) {
+                results.put(box, hasContent.test(box));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Predicate<CrisLayoutBox> hasContentPredicate(Context context, Item item) {
+        BoxContentProbes probes = new BoxContentProbes(context, item);
+        return box -> hasContent(context, box, item, probes);
+    }
+
+    private boolean hasContent(Context context, CrisLayoutBox box, Item item, BoxContentProbes probes) {
+        long start = System.currentTimeMillis();
+        boolean hasContent = evaluateContent(context, box, item, probes);
+        if (log.isDebugEnabled()) {
+            log.debug("Content check of box " + box.getShortname() + " of type " + box.getType() + " for item "
+                + item.getID() + " took " + (System.currentTimeMillis() - start) + " ms (result: " + hasContent + ")");
+        }
+        return hasContent;
+    }
+
+    private boolean evaluateContent(Context context, CrisLayoutBox box, Item item, BoxContentProbes probes) {
         String boxType = box.getType();
 
         if (StringUtils.isEmpty(boxType)) {
@@ -161,9 +212,9 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
         switch (boxType.toUpperCase()) {
             case "RELATION":
-                return hasRelationBoxContent(context, box, item);
+                return hasRelationBoxContent(box, probes);
             case "METRICS":
-                return hasMetricsBoxContent(context, box, item);
+                return hasMetricsBoxContent(context, box, item, probes);
             case "COLLECTIONS":
                 return isOwningCollectionPresent(item);
             case "IIIFVIEWER":
@@ -235,14 +286,17 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
         }
     }
 
-    private boolean hasRelationBoxContent(Context context, CrisLayoutBox box, Item item) {
-        Iterator<Item> relatedItems = searchConfigurationUtilsService.findByRelation(context, item, box.getShortname());
-        return relatedItems.hasNext();
+    private boolean hasRelationBoxContent(CrisLayoutBox box, BoxContentProbes probes) {
+        return probes.hasRelatedItems(box.getShortname());
     }
 
     protected boolean hasMetricsBoxContent(Context context, CrisLayoutBox box, Item item) {
+        return hasMetricsBoxContent(context, box, item, new BoxContentProbes(context, item));
+    }
+
+    private boolean hasMetricsBoxContent(Context context, CrisLayoutBox box, Item item, BoxContentProbes probes) {
 
-        if (box.getMetric2box().isEmpty() || currentUserIsNotAllowedToReadItem(context, item)) {
+        if (box.getMetric2box().isEmpty() || probes.isCurrentUserNotAllowedToReadItem()) {
             return false;
         }
 
@@ -251,12 +305,10 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             boxTypes.add(b.getType());
             crisMetricService.embeddableFallback(b.getType()).ifPresent(boxTypes::add);
         });
-        if (this.crisMetricService.getEmbeddableMetrics(context, item.getID(), null).stream()
-            .filter(m -> boxTypes.contains(m.getMetricType())).count() > 0) {
+        if (probes.getEmbeddableMetricTypes().stream().anyMatch(boxTypes::contains)) {
             return true;
         }
-        if (this.crisMetricService.getStoredMetrics(context, item.getID()).stream()
-            .filter(m -> boxTypes.contains(m.getMetricType())).count() > 0) {
+        if (probes.getStoredMetricTypes().stream().anyMatch(boxTypes::contains)) {
             return true;
         }
         return false;
@@ -292,4 +344,61 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Holder of the probes needed to check the content of the boxes of a single
+     * item. Every probe is executed at most once, so boxes that share the same
+     * relation or that all need the item metrics reuse the same result instead
+     * of querying solr and the metric providers again.
+     */
+    private class BoxContentProbes {
+
+        private final Context context;
+
+        private final Item item;
+
+        private final Map<String, Boolean> relationProbes = new HashMap<>();
+
+        private Boolean notAllowedToReadItem;
+
+        private Set<String> embeddableMetricTypes;
+
+        private Set<String> storedMetricTypes;
+
+        private BoxContentProbes(Context context, Item item) {
+            this.context = context;
+            this.item = item;
+        }
+
+        private boolean hasRelatedItems(String relationName) {
+            return relationProbes.computeIfAbsent(relationName,
+                name -> searchConfigurationUtilsService.hasRelatedItems(context, item, name));
+        }
+
+        private boolean isCurrentUserNotAllowedToReadItem() {
+            if (notAllowedToReadItem == null) {
+                notAllowedToReadItem = currentUserIsNotAllowedToReadItem(context, item);
+            }
+            return notAllowedToReadItem;
+        }
+
+        private Set<String> getEmbeddableMetricTypes() {
+            if (embeddableMetricTypes == null) {
+                embeddableMetricTypes = crisMetricService.getEmbeddableMetrics(context, item.getID(), null).stream()
+                    .map(CrisMetrics::getMetricType)
+                    .collect(Collectors.toSet());
+            }
+            return embeddableMetricTypes;
+        }
+
+        private Set<String> getStoredMetricTypes() {
+            if (storedMetricTypes == null) {
+                storedMetricTypes = crisMetricService.getStoredMetrics(context, item.getID()).stream()
+                    .map(CrisMetrics::getMetricType)
+                    .collect(Collectors.toSet());
+            }
+            return storedMetricTypes;
+        }
+
+    }
 }
@@ -7,11 +7,15 @@
  */
 package org.dspace.layout.service.impl;
 
+import static org.dspace.cache.CacheInvalidation.CRIS_LAYOUT_TYPE;
+
 import java.sql.SQLException;
 import java.util.List;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.MetadataField;
 import org.dspace.core.Context;
 import org.dspace.layout.CrisLayoutField;
@@ -30,8 +34,12 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
     @Autowired
     private CrisLayoutFieldDAO dao;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Override
     public CrisLayoutField create(Context context) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, new CrisLayoutField());
     }
 
@@ -42,6 +50,7 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
 
     @Override
     public void update(Context context, CrisLayoutField field) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.save(context, field);
     }
 
@@ -56,11 +65,13 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
 
     @Override
     public void delete(Context context, CrisLayoutField field) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.delete(context, field);
     }
 
     @Override
     public CrisLayoutField create(Context context, CrisLayoutField field) throws SQLException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, field);
     }
 
@@ -86,6 +97,7 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
         field.setRow(row);
         field.setPriority(priority);
         field.setMetadataField(mf);
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, field);
     }
 
@@ -6,11 +6,15 @@
  * http://www.dspace.org/license/
  */
 package org.dspace.layout.service.impl;
+import static org.dspace.cache.CacheInvalidation.CRIS_LAYOUT_TYPE;
+
 import java.sql.SQLException;
 import java.util.List;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.MetadataField;
 import org.dspace.core.Context;
 import org.dspace.layout.CrisLayoutField;
@@ -28,8 +32,11 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
 
     @Autowired
     private CrisLayoutMetadataGroupDAO dao;
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
     @Override
     public CrisMetadataGroup create(Context context) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, new CrisMetadataGroup());
     }
     @Override
@@ -38,6 +45,7 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
     }
     @Override
     public void update(Context context, CrisMetadataGroup nestedField) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.save(context, nestedField);
     }
     @Override
@@ -51,10 +59,12 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
     }
     @Override
     public void delete(Context context, CrisMetadataGroup nestedField) throws SQLException, AuthorizeException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.delete(context, nestedField);
     }
     @Override
     public CrisMetadataGroup create(Context context, CrisMetadataGroup nestedField) throws SQLException {
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, nestedField);
     }
     @Override
@@ -82,6 +92,7 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
         nestedField.setPriority(priority);
         nestedField.setMetadataField(mf);
         nestedField.setCrisLayoutField(cf);
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(context, nestedField);
     }
 }
\ No newline at end of file
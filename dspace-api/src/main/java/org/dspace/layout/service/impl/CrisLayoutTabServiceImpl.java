@@ -7,6 +7,7 @@
  */
 package org.dspace.layout.service.impl;
 
+import static org.dspace.cache.CacheInvalidation.CRIS_LAYOUT_TYPE;
 import static org.dspace.util.FunctionalUtils.throwingMapperWrapper;
 
 import java.sql.SQLException;
@@ -22,6 +23,8 @@ import org.dspace.app.util.SubmissionConfigReader;
 import org.dspace.app.util.SubmissionConfigReaderException;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
 import org.dspace.content.EntityType;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
@@ -58,6 +61,9 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
     @Autowired
     CrisLayoutTabAccessService crisLayoutTabAccessService;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @PostConstruct
     private void setup() throws SubmissionConfigReaderException {
         submissionConfigReader = new SubmissionConfigReader();
@@ -69,6 +75,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to create a Tab");
         }
+        cacheInvalidationBus.publish(c, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         return dao.create(c, tab);
     }
 
@@ -97,6 +104,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to update a Tab");
         }
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.save(context, tab);
     }
 
@@ -115,6 +123,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to delete a Tab");
         }
+        cacheInvalidationBus.publish(context, List.of(CacheInvalidation.all(CRIS_LAYOUT_TYPE)));
         dao.delete(context, tab);
     }
 
@@ -10,11 +10,14 @@ package org.dspace.metrics;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
@@ -38,6 +41,8 @@ import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 import org.json.JSONObject;
 
@@ -52,6 +57,8 @@ public class StoreViewDownloadsCrisMetrics extends
     private static final Logger log = LogManager.getLogger(StoreViewDownloadsCrisMetrics.class);
     private Context context;
     private UpdateCrisMetricsInSolrDocService updateCrisMetricsInSolrDocService;
+    private ConfigurationService configurationService;
+    private boolean aggregate;
 
     @Override
     public void setup() throws ParseException {
@@ -62,6 +69,8 @@ public class StoreViewDownloadsCrisMetrics extends
         crisMetricsService = new DSpace().getServiceManager()
                 .getServiceByName(CrisMetricsServiceImpl.class.getName(),
                         CrisMetricsServiceImpl.class);
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        aggregate = commandLine.hasOption("a");
     }
 
     @Override
@@ -90,6 +99,10 @@ public class StoreViewDownloadsCrisMetrics extends
     }
 
     private void performUpdateAndStorage(Context context) {
+        if (aggregate) {
+            performAggregatedUpdateAndStorage(context);
+            return;
+        }
         try {
             storeMetricsForDso(context, findItems(context),
                     Item.class.getSimpleName().toLowerCase() + "s", Constants.ITEM);
@@ -102,6 +115,19 @@ public class StoreViewDownloadsCrisMetrics extends
         }
     }
 
+    private void performAggregatedUpdateAndStorage(Context context) {
+        try {
+            storeAggregatedMetricsForDso(context, findItems(context),
+                    Item.class.getSimpleName().toLowerCase() + "s", Constants.ITEM);
+            storeAggregatedMetricsForDso(context, findDSO(context, IndexableCollection.TYPE),
+                    Collection.class.getSimpleName().toLowerCase() + "s", Constants.COLLECTION);
+            storeAggregatedMetricsForDso(context, findDSO(context, IndexableCommunity.TYPE),
+                    "communities", Constants.COMMUNITY);
+        } catch (SearchServiceException | SolrServerException | SQLException | IOException exception) {
+            log.error(exception.getMessage());
+        }
+    }
+
     private Iterator<DSpaceObject> findItems(Context context) throws SearchServiceException {
         DiscoverQuery discoverQuery = new DiscoverQuery();
         discoverQuery.setDSpaceObjectFilter(IndexableItem.TYPE);
@@ -218,9 +244,111 @@ public class StoreViewDownloadsCrisMetrics extends
                 context.commit();
             }
         }
-        handler.logInfo("Found " + countFoundItems + type);
+        handler.logInfo("Found " + countFoundItems + " objects of type " + Constants.typeText[type]);
         handler.logInfo("Added " + countAddedItems + " metrics");
         handler.logInfo("Update end");
         context.commit();
     }
+
+    private void storeAggregatedMetricsForDso(Context context, Iterator<DSpaceObject> dSpaceObjectIterator,
+            String path, int type) throws SQLException, SolrServerException, IOException {
+        int batchSize = configurationService.getIntProperty("metrics.store-metrics.aggregate.batch-size", 100);
+        TotalDownloadsAndVisitsGenerator totalDownloadsAndVisitsGenerator = new TotalDownloadsAndVisitsGenerator();
+        int countFoundItems = 0;
+        int countAddedItems = 0;
+        handler.logInfo("Addition start");
+        List<DSpaceObject> batch = new ArrayList<>(batchSize);
+        while (dSpaceObjectIterator.hasNext()) {
+            batch.add(dSpaceObjectIterator.next());
+            countFoundItems++;
+            if (batch.size() == batchSize) {
+                countAddedItems += storeMetricsForBatch(context, batch, path, type, totalDownloadsAndVisitsGenerator);
+                batch.clear();
+            }
+        }
+        countAddedItems += storeMetricsForBatch(context, batch, path, type, totalDownloadsAndVisitsGenerator);
+        handler.logInfo("Found " + countFoundItems + " objects of type " + Constants.typeText[type]);
+        handler.logInfo("Added " + countAddedItems + " metrics");
+        handler.logInfo("Update end");
+    }
+
+    // views and downloads, previous metrics and deltas of all the objects of the batch are retrieved
+    // with bulk queries, then all the new metrics are committed at once. Returns the number of added metrics
+    private int storeMetricsForBatch(Context context, List<DSpaceObject> batch, String path, int type,
+            TotalDownloadsAndVisitsGenerator totalDownloadsAndVisitsGenerator)
+            throws SQLException, SolrServerException, IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<UUID> uuids = batch.stream().map(DSpaceObject::getID).collect(Collectors.toList());
+        Map<UUID, Map<String, Integer>> usageReports = totalDownloadsAndVisitsGenerator
+                .createUsageReports(uuids, type);
+
+        List<DSpaceObject> viewed = batch.stream()
+                .filter(dso -> usageReports.get(dso.getID()).get("views") > 0)
+                .collect(Collectors.toList());
+        List<DSpaceObject> downloaded = viewed.stream()
+                .filter(dso -> usageReports.get(dso.getID()).get("downloads") > 0)
+                .collect(Collectors.toList());
+
+        List<CrisMetrics> metricsToUncache = new ArrayList<>();
+        int countAddedItems = 0;
+        try {
+            countAddedItems += createMetricObjects("view", "views", viewed, usageReports, path, metricsToUncache);
+            countAddedItems += createMetricObjects("download", "downloads", downloaded, usageReports, path,
+                    metricsToUncache);
+        } catch (AuthorizeException e) {
+            log.error(e.getMessage(), e);
+        }
+
+        context.commit();
+        for (CrisMetrics metric : metricsToUncache) {
+            context.uncacheEntity(metric);
+        }
+        return countAddedItems;
+    }
+
+    private int createMetricObjects(String metricType, String usageKey, List<DSpaceObject> dsos,
+            Map<UUID, Map<String, Integer>> usageReports, String path, List<CrisMetrics> metricsToUncache)
+            throws SQLException, AuthorizeException {
+        if (dsos.isEmpty()) {
+            return 0;
+        }
+        List<UUID> uuids = dsos.stream().map(DSpaceObject::getID).collect(Collectors.toList());
+        Date now = new Date();
+        Map<UUID, CrisMetrics> lastMetrics = crisMetricsService
+                .findLastMetricsByResourceIdsAndMetricsType(context, metricType, uuids);
+        Map<UUID, CrisMetrics> lastWeekMetrics = crisMetricsService
+                .getCrisMetricsByPeriod(context, metricType, uuids, now, "week");
+        Map<UUID, CrisMetrics> lastMonthMetrics = crisMetricsService
+                .getCrisMetricsByPeriod(context, metricType, uuids, now, "month");
+        metricsToUncache.addAll(lastWeekMetrics.values());
+        metricsToUncache.addAll(lastMonthMetrics.values());
+
+        for (DSpaceObject dSpaceObject : dsos) {
+            double metricCount = usageReports.get(dSpaceObject.getID()).get(usageKey);
+            CrisMetrics existentCrisMetrics = lastMetrics.get(dSpaceObject.getID());
+            if (existentCrisMetrics != null) {
+                existentCrisMetrics.setLast(false);
+                metricsToUncache.add(existentCrisMetrics);
+            }
+            CrisMetrics newMetric = crisMetricsService.create(context, dSpaceObject);
+            newMetric.setMetricType(metricType);
+            newMetric.setMetricCount(metricCount);
+            newMetric.setLast(true);
+            JSONObject jsonRemark = new JSONObject();
+            jsonRemark.put("detailUrl", "/statistics/" + path + "/" + dSpaceObject.getID());
+            newMetric.setRemark(jsonRemark.toString());
+            CrisMetrics lastWeek = lastWeekMetrics.get(dSpaceObject.getID());
+            if (lastWeek != null) {
+                newMetric.setDeltaPeriod1(metricCount - lastWeek.getMetricCount());
+            }
+            CrisMetrics lastMonth = lastMonthMetrics.get(dSpaceObject.getID());
+            if (lastMonth != null) {
+                newMetric.setDeltaPeriod2(metricCount - lastMonth.getMetricCount());
+            }
+            metricsToUncache.add(newMetric);
+        }
+        return dsos.size();
+    }
 }
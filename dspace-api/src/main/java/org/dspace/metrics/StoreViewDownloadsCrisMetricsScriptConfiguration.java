@@ -47,8 +47,12 @@ public class StoreViewDownloadsCrisMetricsScriptConfiguration<T extends StoreVie
     @Override
     public Options getOptions() {
         if (options == null) {
-
-            super.options = new Options();
+            Options options = new Options();
+            options.addOption("a", "aggregate", false,
+                "If set, views and downloads are computed and stored in batches of objects, "
+                    + "with bulk queries on the statistics core and on the existing metrics");
+            options.getOption("a").setType(boolean.class);
+            super.options = options;
         }
         return options;
     }
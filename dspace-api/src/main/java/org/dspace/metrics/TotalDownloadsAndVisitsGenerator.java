@@ -10,9 +10,12 @@ package org.dspace.metrics;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.core.Constants;
@@ -73,4 +76,63 @@ public class TotalDownloadsAndVisitsGenerator {
         return views_downloads;
     }
 
+    /**
+     * Bulk version of {@link #createUsageReport(UUID, int)} that computes the
+     * views and downloads of all the given objects with one facet query on the
+     * views and one on the downloads.
+     *
+     * @param uuids     Uuids of the objects for which to find views and downloads
+     * @param type      the type of the given objects
+     * @return  Map<UUID, Map<String, Integer>> with views and downloads of each object
+     */
+    public Map<UUID, Map<String, Integer>> createUsageReports(List<UUID> uuids, int type)
+            throws SolrServerException, IOException {
+        Map<UUID, Map<String, Integer>> usageReports = new HashMap<>();
+        for (UUID uuid : uuids) {
+            Map<String, Integer> views_downloads = new HashMap<>();
+            views_downloads.put("views", 0);
+            views_downloads.put("downloads", 0);
+            usageReports.put(uuid, views_downloads);
+        }
+        if (uuids.isEmpty()) {
+            return usageReports;
+        }
+
+        String filterQuery = "(statistics_type:" + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+
+        String query = "type:" + type + " AND id:(" + joinIds(uuids) + ")";
+        ObjectCount[] viewCounts = solrLoggerService.queryFacetField(query, filterQuery, "id", uuids.size(),
+                                                                     false, null, 1);
+        List<UUID> viewed = new ArrayList<>();
+        for (ObjectCount viewCount : viewCounts) {
+            UUID uuid = UUID.fromString(viewCount.getValue());
+            if (usageReports.containsKey(uuid)) {
+                usageReports.get(uuid).put("views", (int) viewCount.getCount());
+                viewed.add(uuid);
+            }
+        }
+        if (viewed.isEmpty()) {
+            return usageReports;
+        }
+
+        // as in the single object report, downloads are counted only for the viewed objects
+        String bitStreamQuery = "owningItem:(" + joinIds(viewed) + ") AND type:" + Constants.BITSTREAM
+                + " AND -bundleName:LICENSE AND -bundleName:THUMBNAIL AND -bundleName:SWORD AND -bundleName:TEXT";
+        ObjectCount[] downloadCounts = solrLoggerService.queryFacetField(bitStreamQuery, filterQuery, "owningItem",
+                                                                         viewed.size(), false, null, 1);
+        for (ObjectCount downloadCount : downloadCounts) {
+            UUID uuid = UUID.fromString(downloadCount.getValue());
+            if (usageReports.containsKey(uuid)) {
+                usageReports.get(uuid).put("downloads", (int) downloadCount.getCount());
+            }
+        }
+        return usageReports;
+    }
+
+    private String joinIds(List<UUID> uuids) {
+        return uuids.stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(" OR "));
+    }
+
 }
@@ -50,7 +50,12 @@ public class UpdateCrisMetricsInSolrDoc extends
         assignCurrentUserInContext();
         assignSpecialGroupsInContext();
         try {
-            updateCrisMetricsInSolrDocService.performUpdate(context, handler, commandLine.hasOption("o"));
+            if (commandLine.hasOption("b") || commandLine.hasOption("d")) {
+                updateCrisMetricsInSolrDocService.performBulkUpdate(context, handler, commandLine.hasOption("o"),
+                    commandLine.hasOption("d"));
+            } else {
+                updateCrisMetricsInSolrDocService.performUpdate(context, handler, commandLine.hasOption("o"));
+            }
             context.complete();
         } catch (Exception e) {
             log.error(e.getMessage(), e);
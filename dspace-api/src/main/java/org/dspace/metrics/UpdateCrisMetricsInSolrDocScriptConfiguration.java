@@ -48,6 +48,13 @@ public class UpdateCrisMetricsInSolrDocScriptConfiguration<T extends UpdateCrisM
             options.addOption("o", "optimize", false,
                 "If set, performs solr search optimization after the metrics update. It might take a long time");
             options.getOption("o").setType(boolean.class);
+            options.addOption("b", "bulk", false,
+                "If set, all the metrics of the same item are sent to solr with a single update, in batches, "
+                    + "with a single commit at the end");
+            options.getOption("b").setType(boolean.class);
+            options.addOption("d", "delta", false,
+                "If set, only the metrics acquired since the last bulk update are sent to solr. Implies -b");
+            options.getOption("d").setType(boolean.class);
             super.options = options;
         }
         return options;
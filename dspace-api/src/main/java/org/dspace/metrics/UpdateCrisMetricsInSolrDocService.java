@@ -6,8 +6,14 @@
  * http://www.dspace.org/license/
  */
 package org.dspace.metrics;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -20,6 +26,8 @@ import org.dspace.core.Context;
 import org.dspace.discovery.IndexingService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -35,6 +43,9 @@ public class UpdateCrisMetricsInSolrDocService {
     private IndexingService crisIndexingService = new DSpace().getServiceManager().getServiceByName(
             IndexingService.class.getName(), IndexingService.class);
 
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+        .getConfigurationService();
+
     public void performUpdate(Context context, DSpaceRunnableHandler handler, boolean optimize) {
         try {
             List<CrisMetrics> metrics = crisMetricsService.findAllLast(context,-1,-1);
@@ -61,4 +72,79 @@ public class UpdateCrisMetricsInSolrDocService {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Update the metric fields of the solr documents in bulk: the last metrics are
+     * read in pages of resources, so that the metrics of a resource are never
+     * split across pages, all the metrics of the same document are merged in a
+     * single atomic update and each page is sent to solr with one request. A
+     * single commit is performed at the end.
+     *
+     * @param context  the DSpace context
+     * @param handler  the handler of the running script
+     * @param optimize if true, the solr search core is optimized after the update
+     * @param delta    if true, only the metrics acquired since the last bulk
+     *                 update are sent to solr
+     */
+    public void performBulkUpdate(Context context, DSpaceRunnableHandler handler, boolean optimize, boolean delta) {
+        int batchSize = configurationService.getIntProperty("metrics.update-metrics-in-solr.batch-size", 100);
+        Date start = new Date();
+        Date since = delta ? readLastRunDate() : null;
+        try {
+            handler.logInfo("Metric bulk update start" + (since != null ? ", updating the metrics acquired since "
+                + since : ""));
+            int count = 0;
+            List<CrisMetrics> metrics = crisMetricsService.findAllLastAfterResource(context, null, since, batchSize);
+            while (!metrics.isEmpty()) {
+                crisIndexingService.updateMetrics(context, metrics);
+                count += metrics.size();
+                UUID lastResourceId = metrics.get(metrics.size() - 1).getResource().getID();
+                for (CrisMetrics metric : metrics) {
+                    context.uncacheEntity(metric.getResource());
+                    context.uncacheEntity(metric);
+                }
+                handler.logInfo("Sent " + count + " metrics to solr");
+                metrics = crisMetricsService.findAllLastAfterResource(context, lastResourceId, since, batchSize);
+            }
+            crisIndexingService.commit();
+            writeLastRunDate(start);
+            handler.logInfo("Metric bulk update end");
+            if (optimize) {
+                handler.logInfo("Starting solr optimization");
+                crisIndexingService.optimize();
+                handler.logInfo("Solr optimization performed");
+            }
+        } catch (SQLException | SearchServiceException e) {
+            log.error(e.getMessage(), e);
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private Date readLastRunDate() {
+        Path lastRunFile = getLastRunFile();
+        if (!Files.exists(lastRunFile)) {
+            return null;
+        }
+        try {
+            return new Date(Long.parseLong(Files.readString(lastRunFile).trim()));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Unable to read the last run date from " + lastRunFile + ", all the metrics will be updated", e);
+            return null;
+        }
+    }
+
+    private void writeLastRunDate(Date date) {
+        Path lastRunFile = getLastRunFile();
+        try {
+            Files.createDirectories(lastRunFile.toAbsolutePath().getParent());
+            Files.writeString(lastRunFile, String.valueOf(date.getTime()));
+        } catch (IOException e) {
+            log.error("Unable to write the last run date to " + lastRunFile, e);
+        }
+    }
+
+    private Path getLastRunFile() {
+        return Paths.get(configurationService.getProperty("metrics.update-metrics-in-solr.last-run-file",
+            configurationService.getProperty("dspace.dir") + "/var/update-metrics-in-solr.lastrun"));
+    }
 }
\ No newline at end of file
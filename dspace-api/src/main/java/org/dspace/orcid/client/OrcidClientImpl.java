@@ -32,6 +32,7 @@ import javax.xml.stream.XMLStreamReader;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
@@ -309,7 +310,7 @@ public class OrcidClientImpl implements OrcidClient {
             HttpResponse response = client.execute(httpUriRequest);
 
             if (isNotSuccessfull(response)) {
-                throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                throw buildOrcidClientException(response);
             }
 
             return objectMapper.readValue(response.getEntity().getContent(), clazz);
@@ -342,7 +343,7 @@ public class OrcidClientImpl implements OrcidClient {
             }
 
             if (isNotSuccessfull(response)) {
-                throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                throw buildOrcidClientException(response);
             }
 
             return unmarshall(response.getEntity(), clazz);
@@ -362,7 +363,7 @@ public class OrcidClientImpl implements OrcidClient {
             }
 
             if (isNotSuccessfull(response)) {
-                throw new OrcidClientException(getStatusCode(response), formatErrorMessage(response));
+                throw buildOrcidClientException(response);
             }
 
             return new OrcidResponse(getStatusCode(response), getPutCode(response), getContent(response));
@@ -415,6 +416,13 @@ public class OrcidClientImpl implements OrcidClient {
         }
     }
 
+    private OrcidClientException buildOrcidClientException(HttpResponse response) {
+        Header retryAfter = response.getFirstHeader("Retry-After");
+        Long retryAfterSeconds = retryAfter != null && StringUtils.isNumeric(retryAfter.getValue())
+            ? Long.valueOf(retryAfter.getValue()) : null;
+        return new OrcidClientException(getStatusCode(response), formatErrorMessage(response), retryAfterSeconds);
+    }
+
     private boolean isNotSuccessfull(HttpResponse response) {
         int statusCode = getStatusCode(response);
         return statusCode < 200 || statusCode > 299;
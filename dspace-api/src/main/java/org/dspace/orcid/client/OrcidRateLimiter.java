@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that limits the rate of the requests sent to ORCID, shared by
+ * all the threads that contact ORCID. The bucket holds at most
+ * <code>burst</code> tokens and is refilled with
+ * <code>requestsPerSecond</code> tokens per second; every request takes a
+ * token, waiting for it if the bucket is empty.
+ *
+ * @see <a href="https://info.orcid.org/ufaqs/what-are-the-api-limits/">ORCID API limits</a>
+ */
+public class OrcidRateLimiter {
+
+    private final double requestsPerSecond;
+
+    private final double burst;
+
+    private double availableTokens;
+
+    private long lastRefillTime;
+
+    /**
+     * @param requestsPerSecond the number of requests allowed per second
+     * @param burst             the maximum number of requests that can be
+     *                          sent at once
+     */
+    public OrcidRateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("The requests per second and the burst must be positive");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.availableTokens = burst;
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    /**
+     * Takes a token, waiting until one is available.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *                              waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitTime;
+        while ((waitTime = tryAcquireOrGetWaitTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitTime);
+        }
+    }
+
+    /**
+     * Takes a token if one is available, without waiting.
+     *
+     * @return true if the token was taken, false otherwise
+     */
+    public boolean tryAcquire() {
+        return tryAcquireOrGetWaitTime() == 0;
+    }
+
+    /**
+     * Takes a token if one is available and returns 0, otherwise returns the
+     * nanoseconds to wait before the next token is available.
+     */
+    private synchronized long tryAcquireOrGetWaitTime() {
+        long now = System.nanoTime();
+        availableTokens = Math.min(burst, availableTokens + (now - lastRefillTime) * requestsPerSecond / 1e9);
+        lastRefillTime = now;
+
+        if (availableTokens >= 1) {
+            availableTokens -= 1;
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - availableTokens) * 1e9 / requestsPerSecond));
+    }
+
+}
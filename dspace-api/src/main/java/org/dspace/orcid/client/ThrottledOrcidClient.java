@@ -0,0 +1,240 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.client;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpStatus;
+import org.dspace.orcid.exception.OrcidClientException;
+import org.dspace.orcid.model.OrcidTokenResponseDTO;
+import org.orcid.jaxb.model.v3.release.record.Person;
+import org.orcid.jaxb.model.v3.release.record.Record;
+import org.orcid.jaxb.model.v3.release.record.WorkBulk;
+import org.orcid.jaxb.model.v3.release.record.summary.Works;
+import org.orcid.jaxb.model.v3.release.search.expanded.ExpandedSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link OrcidClient} that decorates another client,
+ * limiting the rate of its requests with an {@link OrcidRateLimiter} and
+ * retrying with an exponential backoff the requests that fail for a transient
+ * error, that is a connection error, a 429 Too Many Requests or a server
+ * error. The wait before retrying a 429 is the one requested by its
+ * Retry-After header, if any. The pushes of new objects are not idempotent, so
+ * they are retried only if ORCID certainly did not process them, that is on a
+ * 429 or when the connection is refused. The other errors are thrown as they
+ * are.
+ */
+public class ThrottledOrcidClient implements OrcidClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThrottledOrcidClient.class);
+
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final OrcidClient orcidClient;
+
+    private final OrcidRateLimiter rateLimiter;
+
+    private final int maxRetries;
+
+    private final long backoffMillis;
+
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * @param orcidClient   the client to decorate
+     * @param rateLimiter   the rate limiter, shared by all the clients that
+     *                      contact ORCID with the same credentials
+     * @param maxRetries    the maximum number of retries of a request
+     * @param backoffMillis the wait before the first retry, doubled at each
+     *                      further retry
+     */
+    public ThrottledOrcidClient(OrcidClient orcidClient, OrcidRateLimiter rateLimiter, int maxRetries,
+        long backoffMillis) {
+        this.orcidClient = orcidClient;
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = maxRetries;
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Returns the number of retried requests.
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getReadPublicAccessToken() {
+        return execute(() -> orcidClient.getReadPublicAccessToken());
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getWebhookAccessToken() {
+        return execute(() -> orcidClient.getWebhookAccessToken());
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getAccessToken(String code) {
+        // the authorization code expires upon use, the request can't be retried
+        acquirePermit();
+        return orcidClient.getAccessToken(code);
+    }
+
+    @Override
+    public Person getPerson(String accessToken, String orcid) {
+        return execute(() -> orcidClient.getPerson(accessToken, orcid));
+    }
+
+    @Override
+    public Record getRecord(String accessToken, String orcid) {
+        return execute(() -> orcidClient.getRecord(accessToken, orcid));
+    }
+
+    @Override
+    public Works getWorks(String accessToken, String orcid) {
+        return execute(() -> orcidClient.getWorks(accessToken, orcid));
+    }
+
+    @Override
+    public Works getWorks(String orcid) {
+        return execute(() -> orcidClient.getWorks(orcid));
+    }
+
+    @Override
+    public WorkBulk getWorkBulk(String accessToken, String orcid, List<String> putCodes) {
+        return execute(() -> orcidClient.getWorkBulk(accessToken, orcid, putCodes));
+    }
+
+    @Override
+    public WorkBulk getWorkBulk(String orcid, List<String> putCodes) {
+        return execute(() -> orcidClient.getWorkBulk(orcid, putCodes));
+    }
+
+    @Override
+    public <T> Optional<T> getObject(String accessToken, String orcid, String putCode, Class<T> clazz) {
+        return execute(() -> orcidClient.getObject(accessToken, orcid, putCode, clazz));
+    }
+
+    @Override
+    public <T> Optional<T> getObject(String orcid, String putCode, Class<T> clazz) {
+        return execute(() -> orcidClient.getObject(orcid, putCode, clazz));
+    }
+
+    @Override
+    public OrcidResponse push(String accessToken, String orcid, Object object) {
+        // a retried push could create the object twice
+        return execute(() -> orcidClient.push(accessToken, orcid, object), false);
+    }
+
+    @Override
+    public OrcidResponse update(String accessToken, String orcid, Object object, String putCode) {
+        return execute(() -> orcidClient.update(accessToken, orcid, object, putCode));
+    }
+
+    @Override
+    public OrcidResponse deleteByPutCode(String accessToken, String orcid, String putCode, String path) {
+        return execute(() -> orcidClient.deleteByPutCode(accessToken, orcid, putCode, path));
+    }
+
+    @Override
+    public OrcidResponse registerWebhook(String accessToken, String orcid, String url) {
+        return execute(() -> orcidClient.registerWebhook(accessToken, orcid, url));
+    }
+
+    @Override
+    public OrcidResponse unregisterWebhook(String accessToken, String orcid, String url) {
+        return execute(() -> orcidClient.unregisterWebhook(accessToken, orcid, url));
+    }
+
+    @Override
+    public ExpandedSearch expandedSearch(String accessToken, String query, int start, int rows) {
+        return execute(() -> orcidClient.expandedSearch(accessToken, query, start, rows));
+    }
+
+    @Override
+    public ExpandedSearch expandedSearch(String query, int start, int rows) {
+        return execute(() -> orcidClient.expandedSearch(query, start, rows));
+    }
+
+    private <T> T execute(Supplier<T> request) {
+        return execute(request, true);
+    }
+
+    private <T> T execute(Supplier<T> request, boolean idempotent) {
+        int attempt = 0;
+        while (true) {
+            acquirePermit();
+            try {
+                return request.get();
+            } catch (OrcidClientException ex) {
+                boolean retriable = idempotent ? isTransientError(ex) : isNotProcessed(ex);
+                if (attempt >= maxRetries || !retriable) {
+                    throw ex;
+                }
+                long backoff = getBackoff(ex, attempt);
+                LOGGER.warn("ORCID request failed with status {}, retrying in {} ms", ex.getStatus(), backoff);
+                retries.increment();
+                sleep(backoff);
+                attempt++;
+            }
+        }
+    }
+
+    private boolean isTransientError(OrcidClientException ex) {
+        int status = ex.getStatus();
+        if (status == 0) {
+            return ex.getCause() instanceof IOException;
+        }
+        return status == TOO_MANY_REQUESTS || status >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Returns true if the request failed before being processed by ORCID, so
+     * that it can be retried even if it is not idempotent.
+     */
+    private boolean isNotProcessed(OrcidClientException ex) {
+        return ex.getStatus() == TOO_MANY_REQUESTS
+            || (ex.getStatus() == 0 && ex.getCause() instanceof ConnectException);
+    }
+
+    private long getBackoff(OrcidClientException ex, int attempt) {
+        if (ex.getStatus() == TOO_MANY_REQUESTS && ex.getRetryAfter() != null) {
+            return TimeUnit.SECONDS.toMillis(ex.getRetryAfter());
+        }
+        return Math.min(backoffMillis << attempt, MAX_BACKOFF_MILLIS);
+    }
+
+    private void acquirePermit() {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrcidClientException(e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrcidClientException(e);
+        }
+    }
+
+}
@@ -22,11 +22,18 @@ public class OrcidClientException extends RuntimeException {
 
     private int status = 0;
 
+    private Long retryAfter;
+
     public OrcidClientException(int status, String content) {
         super(content);
         this.status = status;
     }
 
+    public OrcidClientException(int status, String content, Long retryAfter) {
+        this(status, content);
+        this.retryAfter = retryAfter;
+    }
+
     public OrcidClientException(Throwable cause) {
         super(cause);
     }
@@ -35,6 +42,16 @@ public class OrcidClientException extends RuntimeException {
         return this.status;
     }
 
+    /**
+     * Returns the seconds to wait before retrying the request, as requested by
+     * the Retry-After header of the response, if any.
+     *
+     * @return the seconds to wait, null if not requested
+     */
+    public Long getRetryAfter() {
+        return this.retryAfter;
+    }
+
     /**
      * Returns true if the exception is related to an invalid grant error
      * (authentication code non valid), false otherwise
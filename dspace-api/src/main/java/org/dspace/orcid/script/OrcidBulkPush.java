@@ -12,10 +12,17 @@ import static org.dspace.profile.OrcidSynchronizationMode.BATCH;
 import static org.dspace.profile.OrcidSynchronizationMode.MANUAL;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.cli.ParseException;
@@ -26,6 +33,9 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.orcid.OrcidHistory;
 import org.dspace.orcid.OrcidQueue;
+import org.dspace.orcid.client.OrcidClient;
+import org.dspace.orcid.client.OrcidRateLimiter;
+import org.dspace.orcid.client.ThrottledOrcidClient;
 import org.dspace.orcid.exception.OrcidValidationException;
 import org.dspace.orcid.factory.OrcidServiceFactory;
 import org.dspace.orcid.service.OrcidHistoryService;
@@ -42,7 +52,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Script that perform the bulk synchronization with ORCID registry of all the
  * ORCID queue records that has an profileItem that configure the
- * synchronization mode equals to BATCH.
+ * synchronization mode equals to BATCH. If
+ * <code>orcid.bulk-synchronization.threads</code> is greater than one, the
+ * profiles are synchronized concurrently, within the ORCID API rate limits.
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
@@ -113,12 +125,167 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         List<OrcidQueue> queueRecords = findQueueRecordsToSynchronize();
         handler.logInfo("Found " + queueRecords.size() + " queue records to synchronize with ORCID");
 
+        int threads = configurationService.getIntProperty("orcid.bulk-synchronization.threads", 1);
+        if (threads > 1 && !queueRecords.isEmpty()) {
+            performConcurrentSynchronization(queueRecords, threads);
+            return;
+        }
+
         for (OrcidQueue queueRecord : queueRecords) {
             performSynchronization(queueRecord);
         }
 
     }
 
+    /**
+     * Synchronize the given queue records with a pool of workers. The records of
+     * a profile are synchronized in order by a single worker, with its own
+     * context, so that the records of the same profile are never pushed
+     * concurrently. All the workers share a rate limiter that keeps the requests
+     * within the ORCID API limits, and retry the requests that fail for a
+     * transient error. The result of each record is committed as soon as it is
+     * received.
+     */
+    private void performConcurrentSynchronization(List<OrcidQueue> queueRecords, int threads) {
+
+        // the records of each profile are pushed in the order in which they were queued
+        Map<UUID, List<Integer>> queueRecordIdsByProfile = queueRecords.stream()
+            .sorted(Comparator.comparing(OrcidQueue::getID))
+            .collect(Collectors.groupingBy(record -> record.getProfileItem().getID(), LinkedHashMap::new,
+                Collectors.mapping(OrcidQueue::getID, Collectors.toList())));
+
+        ThrottledOrcidClient orcidClient = createThrottledOrcidClient();
+        UUID currentUserId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+
+            List<Future<?>> synchronizations = new ArrayList<>();
+            for (List<Integer> queueRecordIds : queueRecordIdsByProfile.values()) {
+                synchronizations.add(executor.submit(() -> performSynchronization(queueRecordIds, orcidClient,
+                    currentUserId)));
+            }
+
+            for (Future<?> synchronization : synchronizations) {
+                synchronization.get();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the ORCID synchronization", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        handler.logInfo("Synchronized the records of " + queueRecordIdsByProfile.size() + " profiles with "
+            + threads + " threads, " + orcidClient.getRetries() + " requests were retried");
+    }
+
+    /**
+     * Synchronize the queue records of a single profile, in order, with a new
+     * context that is committed after each record, so that the history of the
+     * objects already sent to ORCID, and their put codes, are never lost. If an
+     * unexpected database error occurs, the remaining records of the profile
+     * are skipped.
+     */
+    private void performSynchronization(List<Integer> queueRecordIds, OrcidClient orcidClient,
+        UUID currentUserId) {
+
+        Context workerContext = new Context();
+        try {
+            if (currentUserId != null) {
+                workerContext.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService()
+                    .find(workerContext, currentUserId));
+            }
+            workerContext.turnOffAuthorisationSystem();
+
+            for (Integer queueRecordId : queueRecordIds) {
+                performSynchronization(workerContext, queueRecordId, orcidClient);
+                workerContext.commit();
+            }
+
+            workerContext.complete();
+        } catch (Exception ex) {
+            String errorMessage = getUnexpectedErrorMessage(ex);
+            LOGGER.error(errorMessage, ex);
+            logWorkerError(errorMessage);
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    /**
+     * Try to synchronize the queue record with the given id with ORCID, using
+     * the given context and client, and increment its attempts if it is still
+     * queued after the synchronization.
+     */
+    private void performSynchronization(Context workerContext, Integer queueRecordId, OrcidClient orcidClient)
+        throws SQLException {
+
+        OrcidQueue queueRecord = orcidQueueService.find(workerContext, queueRecordId);
+        if (queueRecord == null) {
+            return;
+        }
+
+        try {
+
+            logWorkerInfo(getOperationInfoMessage(queueRecord));
+
+            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(workerContext, queueRecord,
+                false, orcidClient);
+
+            logWorkerInfo(getSynchronizationResultMessage(orcidHistory));
+
+        } catch (OrcidValidationException ex) {
+            logWorkerError(getValidationErrorMessage(ex));
+        } catch (RuntimeException ex) {
+            String errorMessage = getUnexpectedErrorMessage(ex);
+            LOGGER.error(errorMessage, ex);
+            logWorkerError(errorMessage);
+        }
+
+        queueRecord = orcidQueueService.find(workerContext, queueRecordId);
+        if (queueRecord != null) {
+            queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
+            orcidQueueService.update(workerContext, queueRecord);
+        }
+    }
+
+    /**
+     * Log the given info message of a worker. The handler is not thread safe,
+     * so the messages of the workers are logged one at a time.
+     */
+    private void logWorkerInfo(String message) {
+        synchronized (handler) {
+            handler.logInfo(message);
+        }
+    }
+
+    /**
+     * Log the given error message of a worker, one at a time as
+     * {@link #logWorkerInfo(String)}.
+     */
+    private void logWorkerError(String message) {
+        synchronized (handler) {
+            handler.logError(message);
+        }
+    }
+
+    private ThrottledOrcidClient createThrottledOrcidClient() {
+        int requestsPerSecond = configurationService.getIntProperty(
+            "orcid.bulk-synchronization.requests-per-second", 24);
+        int burst = configurationService.getIntProperty("orcid.bulk-synchronization.burst", 40);
+        int maxRetries = configurationService.getIntProperty("orcid.bulk-synchronization.max-retries", 3);
+        long backoff = configurationService.getLongProperty("orcid.bulk-synchronization.retry-backoff", 1000);
+
+        OrcidRateLimiter rateLimiter = new OrcidRateLimiter(requestsPerSecond, burst);
+        return new ThrottledOrcidClient(orcidHistoryService.getOrcidClient(), rateLimiter, maxRetries, backoff);
+    }
+
     /**
      * Returns all the stored Orcid Queue records (ignoring or not the max attempts)
      * related to a profile that has the synchronization mode set to BATCH.
@@ -16,6 +16,7 @@ import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.orcid.OrcidHistory;
 import org.dspace.orcid.OrcidQueue;
+import org.dspace.orcid.client.OrcidClient;
 import org.dspace.orcid.exception.OrcidValidationException;
 
 /**
@@ -149,4 +150,29 @@ public interface OrcidHistoryService {
     public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition)
         throws SQLException, OrcidValidationException;
 
+    /**
+     * Synchronize the entity related to the given orcidQueue record with ORCID,
+     * contacting ORCID with the given client instead of the configured one.
+     *
+     * @param  context                  DSpace context object
+     * @param  orcidQueue               the orcid queue record that has the
+     *                                  references of the data to be synchronized
+     * @param  forceAddition            to force the insert on the ORCID registry
+     * @param  orcidClient              the client to contact ORCID with
+     * @return                          the created orcid history record with the
+     *                                  synchronization result
+     * @throws SQLException             if database error
+     * @throws OrcidValidationException if the data to synchronize with ORCID is not
+     *                                  valid
+     */
+    public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition,
+        OrcidClient orcidClient) throws SQLException, OrcidValidationException;
+
+    /**
+     * Returns the client used to contact ORCID.
+     *
+     * @return the ORCID client
+     */
+    public OrcidClient getOrcidClient();
+
 }
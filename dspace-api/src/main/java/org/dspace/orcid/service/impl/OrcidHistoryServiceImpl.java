@@ -164,6 +164,12 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
     @Override
     public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition)
         throws SQLException {
+        return synchronizeWithOrcid(context, orcidQueue, forceAddition, orcidClient);
+    }
+
+    @Override
+    public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition,
+        OrcidClient orcidClient) throws SQLException {
 
         Item profileItem = orcidQueue.getProfileItem();
 
@@ -179,7 +185,7 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
 
         try {
 
-            OrcidResponse response = synchronizeWithOrcid(context, orcidQueue, orcid, token, operation);
+            OrcidResponse response = synchronizeWithOrcid(context, orcidClient, orcidQueue, orcid, token, operation);
             OrcidHistory orcidHistory = createHistoryRecordFromOrcidResponse(context, orcidQueue, operation, response);
             orcidQueueDAO.delete(context, orcidQueue);
             return orcidHistory;
@@ -196,12 +202,12 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
 
     }
 
-    private OrcidResponse synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, String orcid, String token,
-        OrcidOperation operation) throws SQLException {
+    private OrcidResponse synchronizeWithOrcid(Context context, OrcidClient orcidClient, OrcidQueue orcidQueue,
+        String orcid, String token, OrcidOperation operation) throws SQLException {
         if (isProfileSectionType(orcidQueue)) {
-            return synchronizeProfileDataWithOrcid(context, orcidQueue, orcid, token, operation);
+            return synchronizeProfileDataWithOrcid(context, orcidClient, orcidQueue, orcid, token, operation);
         } else if (isEntityType(orcidQueue)) {
-            return synchronizeEntityWithOrcid(context, orcidQueue, orcid, token, operation);
+            return synchronizeEntityWithOrcid(context, orcidClient, orcidQueue, orcid, token, operation);
         } else {
             throw new IllegalArgumentException("The type of the given queue record could not be determined");
         }
@@ -216,28 +222,29 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
         return operation != OrcidOperation.DELETE && forceAddition ? OrcidOperation.INSERT : operation;
     }
 
-    private OrcidResponse synchronizeEntityWithOrcid(Context context, OrcidQueue orcidQueue,
+    private OrcidResponse synchronizeEntityWithOrcid(Context context, OrcidClient orcidClient, OrcidQueue orcidQueue,
         String orcid, String token, OrcidOperation operation) throws SQLException {
         if (operation == OrcidOperation.DELETE) {
-            return deleteEntityOnOrcid(context, orcid, token, orcidQueue);
+            return deleteEntityOnOrcid(orcidClient, orcid, token, orcidQueue);
         } else {
-            return sendEntityToOrcid(context, orcid, token, orcidQueue, operation == OrcidOperation.UPDATE);
+            return sendEntityToOrcid(context, orcidClient, orcid, token, orcidQueue,
+                operation == OrcidOperation.UPDATE);
         }
     }
 
-    private OrcidResponse synchronizeProfileDataWithOrcid(Context context, OrcidQueue orcidQueue,
-        String orcid, String token, OrcidOperation operation) throws SQLException {
+    private OrcidResponse synchronizeProfileDataWithOrcid(Context context, OrcidClient orcidClient,
+        OrcidQueue orcidQueue, String orcid, String token, OrcidOperation operation) throws SQLException {
 
         if (operation == OrcidOperation.INSERT) {
-            return sendProfileDataToOrcid(context, orcid, token, orcidQueue);
+            return sendProfileDataToOrcid(context, orcidClient, orcid, token, orcidQueue);
         } else {
-            return deleteProfileDataOnOrcid(context, orcid, token, orcidQueue);
+            return deleteProfileDataOnOrcid(orcidClient, orcid, token, orcidQueue);
         }
 
     }
 
-    private OrcidResponse sendEntityToOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue,
-        boolean toUpdate) {
+    private OrcidResponse sendEntityToOrcid(Context context, OrcidClient orcidClient, String orcid, String token,
+        OrcidQueue orcidQueue, boolean toUpdate) {
 
         Activity activity = activityFactoryService.createOrcidObject(context, orcidQueue.getEntity());
 
@@ -255,7 +262,8 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
 
     }
 
-    private OrcidResponse sendProfileDataToOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse sendProfileDataToOrcid(Context context, OrcidClient orcidClient, String orcid, String token,
+        OrcidQueue orcidQueue) {
 
         OrcidProfileSectionType recordType = OrcidProfileSectionType.fromString(orcidQueue.getRecordType());
         String signature = orcidQueue.getMetadata();
@@ -272,12 +280,14 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
         return orcidClient.push(token, orcid, orcidObject);
     }
 
-    private OrcidResponse deleteProfileDataOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse deleteProfileDataOnOrcid(OrcidClient orcidClient, String orcid, String token,
+        OrcidQueue orcidQueue) {
         OrcidProfileSectionType recordType = OrcidProfileSectionType.fromString(orcidQueue.getRecordType());
         return orcidClient.deleteByPutCode(token, orcid, orcidQueue.getPutCode(), recordType.getPath());
     }
 
-    private OrcidResponse deleteEntityOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse deleteEntityOnOrcid(OrcidClient orcidClient, String orcid, String token,
+        OrcidQueue orcidQueue) {
         OrcidEntityType recordType = OrcidEntityType.fromEntityType(orcidQueue.getRecordType());
         return orcidClient.deleteByPutCode(token, orcid, orcidQueue.getPutCode(), recordType.getPath());
     }
@@ -349,6 +359,7 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
         return isCreatable(orcidQueue.getPutCode()) ? Long.valueOf(orcidQueue.getPutCode()) : null;
     }
 
+    @Override
     public OrcidClient getOrcidClient() {
         return orcidClient;
     }
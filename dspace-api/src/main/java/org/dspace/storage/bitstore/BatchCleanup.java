@@ -0,0 +1,343 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.checker.service.ChecksumHistoryService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+
+/**
+ * Cleans up the asset stores in batches of deleted bitstreams, as an
+ * alternative to the cleanup of the deleted bitstreams one by one of
+ * {@link BitstreamStorageServiceImpl#cleanup(boolean, boolean)}.
+ * <P>
+ * The assets of each batch are described by concurrent workers, then removed
+ * with a single {@link BitStoreService#removeAll(List)} call for each store
+ * and worker, and the database records of the batch are deleted together
+ * before committing. The deleted bitstreams of the batch are locked, then the
+ * asset of a deleted bitstream is removed only if no bitstream that is not
+ * deleted refers to it, and the database record of a
+ * bitstream whose asset could not be removed is kept, so that the removal is
+ * retried by the next cleanup.
+ * <P>
+ * The deleted bitstreams are processed in order of id, and the id of the last
+ * bitstream of each committed batch is written to a checkpoint file, so that
+ * an interrupted cleanup resumes from there. The checkpoint file is deleted
+ * when the cleanup completes. A dry run only reports the assets that would be
+ * removed and the bytes that would be reclaimed, without locking the deleted
+ * bitstreams.
+ */
+class BatchCleanup {
+
+    private static final Logger log = LogManager.getLogger(BatchCleanup.class);
+
+    private final BitstreamStorageServiceImpl storageService;
+
+    private final BitstreamService bitstreamService;
+
+    private final ChecksumHistoryService checksumHistoryService;
+
+    private final Path checkpointFile;
+
+    private final boolean deleteDbRecords;
+
+    private final boolean verbose;
+
+    private final boolean dryRun;
+
+    private final int batchSize;
+
+    private final int threads;
+
+    private final Map<Integer, StoreStatistics> statistics = new TreeMap<>();
+
+    private long deletedRecords = 0;
+
+    BatchCleanup(BitstreamStorageServiceImpl storageService, BitstreamService bitstreamService,
+                 ChecksumHistoryService checksumHistoryService, Path checkpointFile, boolean deleteDbRecords,
+                 boolean verbose, boolean dryRun, int batchSize, int threads) {
+        this.storageService = storageService;
+        this.bitstreamService = bitstreamService;
+        this.checksumHistoryService = checksumHistoryService;
+        this.checkpointFile = checkpointFile;
+        this.deleteDbRecords = deleteDbRecords && !dryRun;
+        this.verbose = verbose;
+        this.dryRun = dryRun;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    void run() throws SQLException, IOException, AuthorizeException {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            context.turnOffAuthorisationSystem();
+
+            UUID last = dryRun ? null : readCheckpoint();
+            if (last != null) {
+                System.out.println("Resuming the cleanup after bitstream " + last);
+            }
+
+            List<Bitstream> batch;
+            while (!(batch = bitstreamService.findDeletedBitstreams(context, last, batchSize)).isEmpty()) {
+                last = batch.get(batch.size() - 1).getID();
+                cleanup(context, executor, batch);
+
+                if (!dryRun) {
+                    context.commit();
+                    writeCheckpoint(last);
+                }
+            }
+
+            context.complete();
+            if (!dryRun) {
+                Files.deleteIfExists(checkpointFile);
+            }
+            printStatistics();
+        } catch (SQLException | IOException | AuthorizeException | RuntimeException e) {
+            // the assets already removed belong to records still deleted, which are expunged by the next cleanup
+            context.abort();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            context.restoreAuthSystemState();
+        }
+    }
+
+    private void cleanup(Context context, ExecutorService executor, List<Bitstream> deletedBitstreams)
+        throws SQLException, IOException, AuthorizeException {
+
+        // the references to the assets committed before the locks are acquired are found below, a dry run
+        // removes nothing and does not lock the bitstreams
+        List<Bitstream> batch = new ArrayList<>();
+        for (Bitstream bitstream : deletedBitstreams) {
+            if ((dryRun || bitstreamService.lock(context, bitstream)) && bitstream.isDeleted()) {
+                batch.add(bitstream);
+            } else {
+                uncache(context, bitstream);
+            }
+        }
+
+        Set<String> internalIds = batch.stream().map(Bitstream::getInternalId).collect(Collectors.toSet());
+        Set<String> inUse = new HashSet<>(bitstreamService.findInternalIdentifiersInUse(context, internalIds));
+
+        Map<Bitstream, Future<Map<String, Object>>> abouts = new LinkedHashMap<>();
+        for (Bitstream bitstream : batch) {
+            BitStoreService store = storageService.getStore(bitstream.getStoreNumber());
+            abouts.put(bitstream, executor.submit(() -> store.about(bitstream, List.of("size_bytes", "modified"))));
+        }
+
+        List<Bitstream> expunged = new ArrayList<>();
+        Map<Integer, Map<String, List<Bitstream>>> removable = new TreeMap<>();
+        for (Map.Entry<Bitstream, Future<Map<String, Object>>> about : abouts.entrySet()) {
+            Bitstream bitstream = about.getKey();
+            Map<String, Object> metadata = get(about.getValue());
+            StoreStatistics storeStatistics = getStatistics(bitstream.getStoreNumber());
+
+            if (MapUtils.isEmpty(metadata)) {
+                // the asset is not present
+                expunged.add(bitstream);
+            } else if (storageService.isRecent(Long.valueOf(metadata.get("modified").toString()))) {
+                // the asset could be being stored, get it next time
+                storeStatistics.recent++;
+                context.uncacheEntity(bitstream);
+            } else if (storageService.isRegisteredBitstream(bitstream.getInternalId())
+                || inUse.contains(bitstream.getInternalId())) {
+                // do not delete registered assets, nor the assets shared with other bitstreams
+                storeStatistics.kept++;
+                expunged.add(bitstream);
+            } else {
+                removable.computeIfAbsent(bitstream.getStoreNumber(), storeNumber -> new LinkedHashMap<>())
+                         .computeIfAbsent(bitstream.getInternalId(), internalId -> new ArrayList<>())
+                         .add(bitstream);
+            }
+        }
+
+        for (Map.Entry<Integer, Map<String, List<Bitstream>>> storeRemovable : removable.entrySet()) {
+            expunged.addAll(remove(context, executor, storeRemovable.getKey(), storeRemovable.getValue()));
+        }
+
+        if (deleteDbRecords) {
+            checksumHistoryService.deleteByBitstreams(context, expunged);
+            for (Bitstream bitstream : expunged) {
+                if (verbose) {
+                    System.out.println(" - Deleting bitstream record from database (ID: " + bitstream.getID() + ")");
+                }
+                bitstreamService.expunge(context, bitstream);
+            }
+            deletedRecords += expunged.size();
+        } else {
+            expunged.forEach(bitstream -> uncache(context, bitstream));
+        }
+    }
+
+    /**
+     * Removes the given assets of a store, with a worker for each partition
+     * of them, and returns the bitstreams whose assets were removed. The
+     * other bitstreams are uncached, their records are kept.
+     */
+    private List<Bitstream> remove(Context context, ExecutorService executor, Integer storeNumber,
+                                   Map<String, List<Bitstream>> bitstreamsByInternalId) throws IOException {
+        BitStoreService store = storageService.getStore(storeNumber);
+        StoreStatistics storeStatistics = getStatistics(storeNumber);
+
+        List<Bitstream> assets = bitstreamsByInternalId.values().stream()
+                                                       .map(bitstreams -> bitstreams.get(0))
+                                                       .collect(Collectors.toList());
+        if (dryRun) {
+            for (Bitstream asset : assets) {
+                storeStatistics.add(asset);
+                if (verbose) {
+                    System.out.println("Would delete bitstreamID " + asset.getID() + ", internalID "
+                        + asset.getInternalId());
+                }
+            }
+            for (List<Bitstream> bitstreams : bitstreamsByInternalId.values()) {
+                bitstreams.forEach(bitstream -> uncache(context, bitstream));
+            }
+            return List.of();
+        }
+
+        int partitionSize = Math.max(1, (assets.size() + threads - 1) / threads);
+        List<Future<List<Bitstream>>> removals = new ArrayList<>();
+        for (List<Bitstream> partition : ListUtils.partition(assets, partitionSize)) {
+            removals.add(executor.submit(() -> store.removeAll(partition)));
+        }
+
+        List<Bitstream> removed = new ArrayList<>();
+        for (Future<List<Bitstream>> removal : removals) {
+            for (Bitstream asset : get(removal)) {
+                storeStatistics.add(asset);
+                removed.addAll(bitstreamsByInternalId.remove(asset.getInternalId()));
+                String message = "Deleted bitstreamID " + asset.getID() + ", internalID " + asset.getInternalId();
+                log.debug(message);
+                if (verbose) {
+                    System.out.println(message);
+                }
+            }
+        }
+
+        // the removal of the remaining assets is retried by the next cleanup
+        storeStatistics.failed += bitstreamsByInternalId.size();
+        for (List<Bitstream> bitstreams : bitstreamsByInternalId.values()) {
+            bitstreams.forEach(bitstream -> uncache(context, bitstream));
+        }
+        return removed;
+    }
+
+    private <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted cleaning up the asset stores", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void uncache(Context context, Bitstream bitstream) {
+        try {
+            context.uncacheEntity(bitstream);
+        } catch (SQLException e) {
+            log.warn("Unable to uncache bitstream " + bitstream.getID(), e);
+        }
+    }
+
+    private StoreStatistics getStatistics(Integer storeNumber) {
+        return statistics.computeIfAbsent(storeNumber, key -> new StoreStatistics());
+    }
+
+    private UUID readCheckpoint() {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(Files.readString(checkpointFile).trim());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unable to read the cleanup checkpoint from " + checkpointFile + ", starting from the first "
+                + "deleted bitstream", e);
+            return null;
+        }
+    }
+
+    private void writeCheckpoint(UUID last) {
+        try {
+            Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+            Files.writeString(checkpointFile, last.toString());
+        } catch (IOException e) {
+            log.error("Unable to write the cleanup checkpoint to " + checkpointFile, e);
+        }
+    }
+
+    private void printStatistics() {
+        for (Map.Entry<Integer, StoreStatistics> storeStatistics : statistics.entrySet()) {
+            StoreStatistics value = storeStatistics.getValue();
+            System.out.println("assetstore[" + storeStatistics.getKey() + "]: "
+                + value.removed + (dryRun ? " assets to delete, " : " assets deleted, ")
+                + FileUtils.byteCountToDisplaySize(value.bytes) + (dryRun ? " reclaimable, " : " reclaimed, ")
+                + value.kept + " registered or shared assets kept, "
+                + value.recent + " recent assets skipped"
+                + (dryRun ? "" : ", " + value.failed + " assets not deleted"));
+        }
+        if (!dryRun) {
+            System.out.println(deletedRecords + " bitstream records deleted from the database");
+        }
+    }
+
+    /**
+     * The statistics of the cleanup of an asset store.
+     */
+    private static class StoreStatistics {
+
+        private long removed = 0;
+
+        private long bytes = 0;
+
+        private long kept = 0;
+
+        private long recent = 0;
+
+        private long failed = 0;
+
+        private void add(Bitstream asset) {
+            removed++;
+            bytes += asset.getSizeBytes();
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+
+/**
+ * Command Line Utility to make the bitstreams of an assetstore with the same
+ * content share the same asset, removing the duplicate assets
+ */
+public class BitStoreDeduplicate {
+
+    /**
+     * log4j log
+     */
+    private static final Logger log = LogManager.getLogger(BitStoreDeduplicate.class);
+
+    private static final BitstreamStorageService bitstreamStorageService
+            = StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    /**
+     * Default constructor
+     */
+    private BitStoreDeduplicate() { }
+
+    /**
+     * Deduplicates asset store.
+     *
+     * @param argv the command line arguments given
+     */
+    public static void main(String[] argv) {
+        try {
+            log.info("Deduplicate Assetstore");
+
+            // set up command line parser
+            CommandLineParser parser = new DefaultParser();
+            CommandLine line = null;
+
+            // create an options object and populate it
+            Options options = new Options();
+
+            options.addOption("a", "assetstore", true,
+                              "Assetstore store_number to deduplicate. This is a number such as 0 or 1");
+            options.addOption("n", "dry-run", false,
+                              "Only report the duplicate assets, without removing them");
+            options.addOption("v", "verbose", false, "Print each duplicate asset");
+            options.addOption("p", "print", false, "Print out current assetstore information");
+            options.addOption("h", "help", false, "Help");
+
+            try {
+                line = parser.parse(options, argv);
+            } catch (ParseException e) {
+                log.fatal(e);
+                System.exit(1);
+            }
+
+            // user asks for help
+            if (line.hasOption('h')) {
+                printHelp(options);
+                System.exit(0);
+            }
+
+            Context context = new Context(Context.Mode.BATCH_EDIT);
+            context.turnOffAuthorisationSystem();
+
+            if (line.hasOption('p')) {
+                bitstreamStorageService.printStores(context);
+                System.exit(0);
+            }
+
+            if (line.hasOption('a')) {
+                Integer assetstore = Integer.valueOf(line.getOptionValue('a'));
+                bitstreamStorageService.deduplicate(context, assetstore, line.hasOption('n'), line.hasOption('v'));
+            } else {
+                printHelp(options);
+                System.exit(0);
+            }
+
+            context.complete();
+
+            System.exit(0);
+        } catch (Exception e) {
+            log.fatal("Caught exception:", e);
+            System.out.println("Exception during BitStoreDeduplicate: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void printHelp(Options options) {
+        HelpFormatter myhelp = new HelpFormatter();
+        myhelp.printHelp("BitStoreDeduplicate\n", options);
+    }
+}
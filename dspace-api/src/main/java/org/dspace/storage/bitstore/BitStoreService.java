@@ -9,9 +9,11 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.logging.log4j.LogManager;
 import org.dspace.content.Bitstream;
 
 /**
@@ -79,6 +81,32 @@ public interface BitStoreService {
      */
     public void remove(Bitstream bitstream) throws IOException;
 
+    /**
+     * Remove the assets of the given bitstreams from the asset store. An
+     * irreversible operation. The assets that cannot be removed are logged and
+     * skipped, so that the caller can keep track of them.
+     *
+     * <p>
+     * By default the assets are removed one by one, the stores that support
+     * bulk deletions should override this method.
+     * </p>
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @return the bitstreams whose assets were removed
+     */
+    public default List<Bitstream> removeAll(List<Bitstream> bitstreams) {
+        List<Bitstream> removed = new ArrayList<>();
+        for (Bitstream bitstream : bitstreams) {
+            try {
+                remove(bitstream);
+                removed.add(bitstream);
+            } catch (IOException e) {
+                LogManager.getLogger(getClass()).error("Unable to remove asset " + bitstream.getInternalId(), e);
+            }
+        }
+        return removed;
+    }
+
     /**
      * Determines if a store has been initialized
      *
@@ -9,16 +9,21 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.annotation.Nullable;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -29,6 +34,7 @@ import org.dspace.content.MetadataValue;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,6 +64,17 @@ import org.springframework.beans.factory.annotation.Autowired;
  * It would be worth re-considering a Listener pattern if another package needs to
  * be notified of BitstreamStorageManager actions.</p>
  *
+ * <p>When <code>assetstore.dedup.enabled</code> is true, a new bitstream whose
+ * content is already stored in the same asset store, as found by its checksum
+ * and size, refers to the existing asset instead of a copy of it. The assets
+ * are then shared by reference, as the assets of the bitstreams cloned by the
+ * versioning, and the bitstreams referring to an asset are its reference
+ * count: {@link #cleanup(boolean, boolean)} deletes an asset only once no
+ * other bitstream refers to it. The bitstream whose asset is shared is locked
+ * until the new reference is committed, and the cleanup locks the deleted
+ * bitstreams before looking for the other references to their assets. {@link #deduplicate(Context, Integer, boolean,
+ * boolean)} shares the assets of the bitstreams already stored.</p>
+ *
  * @author Peter Breton, Robert Tansley, David Little, Nathan Sarr
  */
 public class BitstreamStorageServiceImpl implements BitstreamStorageService, InitializingBean {
@@ -70,6 +87,8 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
     protected ChecksumHistoryService checksumHistoryService;
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
 
     /**
      * asset stores
@@ -119,6 +138,10 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         //bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
         //bitstream.setChecksumAlgorithm("MD5");
 
+        if (configurationService.getBooleanProperty("assetstore.dedup.enabled", false)) {
+            shareDuplicateContent(context, store, bitstream);
+        }
+
         bitstream.setDeleted(false);
         try {
             //Update our bitstream but turn off the authorization system since permissions haven't been set at this
@@ -275,6 +298,12 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                         continue;
                     }
 
+                    // the references to the asset are looked for under the lock of the bitstream
+                    if (!bitstreamService.lock(context, bitstream) || !bitstream.isDeleted()) {
+                        context.uncacheEntity(bitstream);
+                        continue;
+                    }
+
                     if (deleteDbRecords) {
                         log.debug("deleting db record");
                         if (verbose) {
@@ -341,6 +370,15 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         }
     }
 
+    @Override
+    public void cleanup(boolean deleteDbRecords, boolean verbose, boolean dryRun, int batchSize, int threads)
+        throws SQLException, IOException, AuthorizeException {
+        String checkpointFile = configurationService.getProperty("assetstore.cleanup.checkpoint-file",
+            configurationService.getProperty("dspace.dir") + "/var/cleanup.checkpoint");
+        new BatchCleanup(this, bitstreamService, checksumHistoryService, Paths.get(checkpointFile),
+            deleteDbRecords, verbose, dryRun, batchSize, threads).run();
+    }
+
     @Nullable
     @Override
     public Long getLastModified(Bitstream bitstream) throws IOException {
@@ -417,7 +455,9 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
             bitstream.setStoreNumber(assetstoreDestination);
             bitstreamService.update(context, bitstream);
 
-            if (deleteOld) {
+            // the asset could be shared with other bitstreams still to migrate
+            if (deleteOld && bitstreamService.findDuplicateInternalIdentifier(context, bitstream).stream()
+                                             .noneMatch(other -> assetstoreSource.equals(other.getStoreNumber()))) {
                 log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
                 this.getStore(assetstoreSource).remove(bitstream);
             }
@@ -437,6 +477,54 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                 "] completed. " + processedCounter + " objects were transferred.");
     }
 
+    @Override
+    public void deduplicate(Context context, Integer storeNumber, boolean dryRun, boolean verbose)
+        throws SQLException, IOException {
+        Set<String> sharedIds = new HashSet<>();
+        long savedBytes = 0;
+
+        Iterator<Bitstream> bitstreams = bitstreamService.findByStoreNumber(context, storeNumber);
+        while (bitstreams.hasNext()) {
+            Bitstream bitstream = bitstreams.next();
+            String internalId = bitstream.getInternalId();
+            if (bitstream.isDeleted() || isRegisteredBitstream(internalId) || sharedIds.contains(internalId)) {
+                context.uncacheEntity(bitstream);
+                continue;
+            }
+
+            // the bitstreams converge on the asset with the lowest internal id
+            Bitstream original = bitstreamService.findDuplicateContent(context, bitstream);
+            if (original == null || original.getInternalId().compareTo(internalId) > 0
+                || !hasSameContent(getStore(storeNumber), bitstream, original)) {
+                context.uncacheEntity(bitstream);
+                continue;
+            }
+
+            sharedIds.add(internalId);
+            savedBytes += bitstream.getSizeBytes();
+            String message = "Asset " + internalId + " of bitstream " + bitstream.getID()
+                + " is a duplicate of asset " + original.getInternalId() + " of bitstream " + original.getID();
+            log.info(message);
+            if (verbose) {
+                System.out.println(message);
+            }
+
+            if (!dryRun) {
+                bitstreamService.replaceInternalIdentifier(context, storeNumber, internalId,
+                    original.getInternalId());
+                context.commit();
+                // the bitstream in memory still refers to the duplicate asset, removed only once committed
+                getStore(storeNumber).remove(bitstream);
+            }
+            context.uncacheEntity(bitstream);
+            context.uncacheEntity(original);
+        }
+
+        System.out.println((dryRun ? "Found " : "Removed ") + sharedIds.size() + " duplicate assets in assetstore["
+            + storeNumber + "], " + FileUtils.byteCountToDisplaySize(savedBytes)
+            + (dryRun ? " could be saved" : " saved"));
+    }
+
     @Override
     public void printStores(Context context) {
         try {
@@ -493,6 +581,67 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return (now - lastModified) < (1 * 60 * 1000);
     }
 
+    /**
+     * Makes the given bitstream refer to the asset of another bitstream with
+     * the same content, if any, removing the asset just stored.
+     *
+     * @param context   The relevant DSpace Context.
+     * @param store     the store of the bitstream
+     * @param bitstream the bitstream just stored
+     */
+    protected void shareDuplicateContent(Context context, BitStoreService store, Bitstream bitstream)
+        throws SQLException, IOException {
+        Bitstream original = bitstreamService.findDuplicateContent(context, bitstream);
+        if (original == null || !hasSameContent(store, bitstream, original)) {
+            return;
+        }
+
+        // the original can't be deleted until this bitstream is committed, so the cleanup sees the new reference
+        if (!bitstreamService.lockShared(context, original) || original.isDeleted()) {
+            return;
+        }
+
+        try {
+            store.remove(bitstream);
+        } catch (IOException e) {
+            log.warn("Unable to remove the duplicate asset " + bitstream.getInternalId() + ", keeping it", e);
+            return;
+        }
+
+        log.debug("Bitstream " + bitstream.getID() + " shares the asset " + original.getInternalId()
+            + " of bitstream " + original.getID());
+        bitstream.setInternalId(original.getInternalId());
+    }
+
+    /**
+     * Return true if the assets of the given bitstreams have the same content.
+     * The checksums are trusted unless <code>assetstore.dedup.verify</code> is
+     * true, in which case the assets are compared byte by byte.
+     *
+     * @param store     the store of the bitstreams
+     * @param bitstream the bitstream
+     * @param original  the bitstream with the same checksum and size
+     * @return true if the assets have the same content
+     */
+    protected boolean hasSameContent(BitStoreService store, Bitstream bitstream, Bitstream original) {
+        if (!configurationService.getBooleanProperty("assetstore.dedup.verify", true)) {
+            return true;
+        }
+
+        try (InputStream content = store.get(bitstream);
+             InputStream originalContent = store.get(original)) {
+            if (IOUtils.contentEquals(content, originalContent)) {
+                return true;
+            }
+            log.warn("The assets " + bitstream.getInternalId() + " and " + original.getInternalId()
+                + " have the same checksum but a different content");
+        } catch (IOException e) {
+            log.warn("Unable to compare the assets " + bitstream.getInternalId() + " and "
+                + original.getInternalId(), e);
+        }
+        return false;
+    }
+
     protected BitStoreService getStore(int position) throws IOException {
         BitStoreService bitStoreService = this.stores.get(position);
         if (!bitStoreService.isInitialized()) {
@@ -55,6 +55,13 @@ public class Cleanup {
 
             options.addOption("l", "leave", false, "Leave database records but delete file from assetstore");
             options.addOption("v", "verbose", false, "Provide verbose output");
+            options.addOption("b", "batch-size", true,
+                              "Clean up in batches of this number of deleted bitstreams, with bulk deletions, "
+                                  + "resuming an interrupted batched cleanup");
+            options.addOption("t", "threads", true,
+                              "Number of concurrent workers of the batched cleanup (Default: 4)");
+            options.addOption("n", "dry-run", false,
+                              "Only report the assets to delete and the bytes to reclaim, in batches");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -77,8 +84,16 @@ public class Cleanup {
                 deleteDbRecords = false;
             }
             log.debug("leave db records = " + deleteDbRecords);
-            StorageServiceFactory.getInstance().getBitstreamStorageService()
-                                 .cleanup(deleteDbRecords, line.hasOption('v'));
+            if (line.hasOption('b') || line.hasOption('t') || line.hasOption('n')) {
+                int batchSize = Integer.parseInt(line.getOptionValue('b', "1000"));
+                int threads = Integer.parseInt(line.getOptionValue('t', "4"));
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'), line.hasOption('n'), batchSize,
+                                              threads);
+            } else {
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'));
+            }
 
             System.exit(0);
         } catch (IOException | SQLException | AuthorizeException e) {
@@ -16,7 +16,9 @@ import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,7 +41,9 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
@@ -53,6 +57,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
@@ -96,6 +101,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     static final String CSA = "MD5";
 
+    /**
+     * Maximum number of keys of a multi-object delete request
+     */
+    static final int MAX_KEYS_PER_DELETE = 1000;
+
     // These settings control the way an identifier is hashed into
     // directory and file names
     //
@@ -545,6 +555,39 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Remove the assets of the given bitstreams with multi-object delete
+     * requests, of at most 1000 keys each, instead of a request for each asset.
+     *
+     * @param bitstreams The bitstreams of the assets to delete
+     * @return the bitstreams whose assets were removed
+     */
+    @Override
+    public List<Bitstream> removeAll(List<Bitstream> bitstreams) {
+        List<Bitstream> removed = new ArrayList<>();
+        for (List<Bitstream> chunk : ListUtils.partition(bitstreams, MAX_KEYS_PER_DELETE)) {
+            Map<String, Bitstream> bitstreamsByKey = new LinkedHashMap<>();
+            chunk.forEach(bitstream -> bitstreamsByKey.put(getFullKey(bitstream.getInternalId()), bitstream));
+
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                .withKeys(bitstreamsByKey.keySet().toArray(new String[0]))
+                .withQuiet(true);
+            try {
+                s3Service.deleteObjects(request);
+            } catch (MultiObjectDeleteException e) {
+                for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                    log.error("remove(" + error.getKey() + "): " + error.getCode() + " " + error.getMessage());
+                    bitstreamsByKey.remove(error.getKey());
+                }
+            } catch (AmazonClientException e) {
+                log.error("remove(" + bitstreamsByKey.keySet() + ")", e);
+                continue;
+            }
+            removed.addAll(bitstreamsByKey.values());
+        }
+        return removed;
+    }
+
     /**
      * Utility Method: Prefix the key with a subfolder, if this instance assets are stored within subfolder
      *
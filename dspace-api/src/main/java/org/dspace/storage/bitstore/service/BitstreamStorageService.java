@@ -144,6 +144,27 @@ public interface BitstreamStorageService {
      */
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException;
 
+    /**
+     * Clean up the bitstream storage area in batches of deleted bitstreams,
+     * removing the assets of each batch with bulk deletions performed by
+     * concurrent workers. The cleanup resumes from the last committed batch
+     * of an interrupted one.
+     *
+     * @param deleteDbRecords if true deletes the database records otherwise it
+     *                        only deletes the files and directories in the assetstore
+     * @param verbose         verbosity flag
+     * @param dryRun          if true only reports the assets to delete and the
+     *                        bytes to reclaim, without deleting anything
+     * @param batchSize       the number of deleted bitstreams of each batch
+     * @param threads         the number of concurrent workers
+     * @throws IOException        If a problem occurs while cleaning up
+     * @throws SQLException       If a problem occurs accessing the RDBMS
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void cleanup(boolean deleteDbRecords, boolean verbose, boolean dryRun, int batchSize, int threads)
+        throws SQLException, IOException, AuthorizeException;
+
     /**
      * Clone the given bitstream to a new bitstream with a new ID.
      * Metadata of the given bitstream are also copied to the new bitstream.
@@ -183,6 +204,21 @@ public interface BitstreamStorageService {
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Make the bitstreams of the given assetstore with the same content share
+     * the same asset, removing the duplicate assets. Each duplicate asset is
+     * removed once the bitstreams referring to it are committed.
+     *
+     * @param context     The relevant DSpace Context.
+     * @param storeNumber the assetstore
+     * @param dryRun      whether to only report the duplicate assets
+     * @param verbose     whether to print each duplicate asset
+     * @throws IOException  A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void deduplicate(Context context, Integer storeNumber, boolean dryRun, boolean verbose)
+        throws SQLException, IOException;
+
 
     /**
      * Gets the last modified timestamp of the the given bitstream's content, if known.
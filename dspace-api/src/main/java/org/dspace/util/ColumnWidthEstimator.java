@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Estimates the column widths of a sheet from the values of its first rows.
+ * <p>
+ * It is a cheap replacement of {@link Sheet#autoSizeColumn(int)}, which needs
+ * all the rows of the sheet in memory and measures the rendered text of every
+ * cell: here only the number of characters of the longest line of the sampled
+ * values is considered, so the rows can be sampled while they are written and
+ * then discarded.
+ */
+public class ColumnWidthEstimator {
+
+    private static final int CHARACTER_WIDTH = 256;
+
+    private static final int PADDING = 2;
+
+    private static final int MAX_CHARACTERS = 255 - PADDING;
+
+    private final int sampleSize;
+
+    private final Map<Integer, Integer> maxLengths = new HashMap<Integer, Integer>();
+
+    private int sampledRows;
+
+    /**
+     * @param sampleSize the number of rows to sample, header included
+     */
+    public ColumnWidthEstimator(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * @return true if less than sampleSize rows have been sampled
+     */
+    public boolean isSampling() {
+        return sampledRows < sampleSize;
+    }
+
+    /**
+     * Sample the given row values, where each value is placed in the column
+     * equals to its position. Does nothing if sampleSize rows have already been
+     * sampled.
+     *
+     * @param values the row values
+     */
+    public void sample(Iterable<String> values) {
+        if (!isSampling()) {
+            return;
+        }
+        sampledRows++;
+        int column = 0;
+        for (String value : values) {
+            sample(column++, value);
+        }
+    }
+
+    /**
+     * Sample the given row values, indexed by column. Does nothing if sampleSize
+     * rows have already been sampled.
+     *
+     * @param values the row values
+     */
+    public void sample(Map<Integer, String> values) {
+        if (!isSampling()) {
+            return;
+        }
+        sampledRows++;
+        values.forEach(this::sample);
+    }
+
+    private void sample(int column, String value) {
+        int length = getLongestLineLength(value);
+        if (length > maxLengths.getOrDefault(column, 0)) {
+            maxLengths.put(column, Math.min(length, MAX_CHARACTERS));
+        }
+    }
+
+    /**
+     * Set the estimated width on all the sampled columns of the given sheet.
+     *
+     * @param sheet the sheet to resize
+     */
+    public void apply(Sheet sheet) {
+        maxLengths.forEach((column, length) -> sheet.setColumnWidth(column, (length + PADDING) * CHARACTER_WIDTH));
+    }
+
+    private int getLongestLineLength(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return 0;
+        }
+        int longest = 0;
+        for (String line : value.split("\n")) {
+            longest = Math.max(longest, line.length());
+        }
+        return longest;
+    }
+
+}
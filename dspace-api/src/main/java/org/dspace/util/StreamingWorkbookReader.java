@@ -0,0 +1,245 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads an xlsx workbook row by row with the POI event API, without loading
+ * the whole workbook in memory.
+ * <p>
+ * The rows are exposed as regular {@link Row} objects of a small buffer
+ * workbook that has the same sheets of the read one but only holds, for each
+ * sheet, the header row and the row currently being read: the usual
+ * {@link WorkbookUtils} methods, including the ones looking up the header
+ * with {@link Row#getSheet()}, can then be used on the streamed rows. A row
+ * is only valid inside the consumer it is passed to.
+ */
+public class StreamingWorkbookReader implements Closeable {
+
+    private final File file;
+
+    private final OPCPackage xlsxPackage;
+
+    private final XSSFReader reader;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final Workbook rowBuffer = new XSSFWorkbook();
+
+    public StreamingWorkbookReader(InputStream inputStream) throws IOException {
+        this.file = Files.createTempFile("streaming-workbook", ".xlsx").toFile();
+        try {
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            this.xlsxPackage = OPCPackage.open(file, PackageAccess.READ);
+            this.reader = new XSSFReader(xlsxPackage);
+            this.sharedStrings = new ReadOnlySharedStringsTable(xlsxPackage);
+            this.styles = reader.getStylesTable();
+        } catch (OpenXML4JException | SAXException | IOException | RuntimeException e) {
+            Files.deleteIfExists(file.toPath());
+            throw e instanceof IOException ? (IOException) e : new IOException("Invalid xlsx workbook", e);
+        }
+    }
+
+    /**
+     * Read the header of all the sheets. The returned workbook has all the sheets
+     * of the read one, each one holding the header row (the row 0) and the first
+     * not empty row, if different, so that empty sheets and headers can be told
+     * apart.
+     *
+     * @return             the buffer workbook with the sheet headers
+     * @throws IOException if the workbook can not be read
+     */
+    public Workbook readHeaders() throws IOException {
+        for (String sheetName : getSheetNames()) {
+            if (rowBuffer.getSheet(sheetName) == null) {
+                rowBuffer.createSheet(sheetName);
+            }
+        }
+        for (Sheet sheet : rowBuffer) {
+            readSheet(sheet, row -> {
+                if (WorkbookUtils.isNotEmptyRow(row)) {
+                    throw new StopReadingException();
+                }
+            }, true);
+        }
+        return rowBuffer;
+    }
+
+    /**
+     * Read all the rows of the given sheet, header included, passing them to the
+     * given consumer in order. {@link #readHeaders()} must be called first.
+     *
+     * @param  sheetName   the name of the sheet to read
+     * @param  consumer    the row consumer
+     * @throws IOException if the workbook can not be read
+     */
+    public void readRows(String sheetName, Consumer<Row> consumer) throws IOException {
+        Sheet sheet = rowBuffer.getSheet(sheetName);
+        if (sheet == null) {
+            throw new IllegalArgumentException("No sheet found with name " + sheetName);
+        }
+        removeRowsAfterHeader(sheet);
+        readSheet(sheet, consumer, false);
+    }
+
+    private void readSheet(Sheet sheet, Consumer<Row> consumer, boolean keepLastRow) throws IOException {
+        try (InputStream sheetStream = openSheet(sheet.getSheetName())) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                new BufferedRowHandler(sheet, consumer, keepLastRow), new DataFormatter(), false));
+            parser.parse(new InputSource(sheetStream));
+        } catch (StopReadingException e) {
+            // all the needed rows have been read
+        } catch (SAXException | ParserConfigurationException | OpenXML4JException e) {
+            throw new IOException("An error occurs reading the sheet " + sheet.getSheetName(), e);
+        }
+    }
+
+    private List<String> getSheetNames() throws IOException {
+        List<String> sheetNames = new ArrayList<String>();
+        try {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    sheetNames.add(sheets.getSheetName());
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+        return sheetNames;
+    }
+
+    private InputStream openSheet(String sheetName) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream sheetStream = sheets.next();
+            if (sheetName.equals(sheets.getSheetName())) {
+                return sheetStream;
+            }
+            sheetStream.close();
+        }
+        throw new IllegalArgumentException("No sheet found with name " + sheetName);
+    }
+
+    private static void removeRowsAfterHeader(Sheet sheet) {
+        List<Row> rowsToRemove = new ArrayList<Row>();
+        Iterator<Row> rows = sheet.rowIterator();
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            if (row.getRowNum() != 0) {
+                rowsToRemove.add(row);
+            }
+        }
+        rowsToRemove.forEach(sheet::removeRow);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xlsxPackage.revert();
+            rowBuffer.close();
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Copies every parsed row in the buffer sheet, passes it to the consumer and
+     * then removes it, unless it is the header.
+     */
+    private static class BufferedRowHandler implements SheetContentsHandler {
+
+        private final Sheet sheet;
+
+        private final Consumer<Row> consumer;
+
+        private final boolean keepLastRow;
+
+        private Row currentRow;
+
+        private int currentColumn;
+
+        BufferedRowHandler(Sheet sheet, Consumer<Row> consumer, boolean keepLastRow) {
+            this.sheet = sheet;
+            this.consumer = consumer;
+            this.keepLastRow = keepLastRow;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = sheet.getRow(rowNum) != null ? sheet.getRow(rowNum) : sheet.createRow(rowNum);
+            currentColumn = -1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            if (StringUtils.isNotEmpty(formattedValue) && currentRow.getCell(currentColumn) == null) {
+                WorkbookUtils.createCell(currentRow, currentColumn, formattedValue);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            Row row = currentRow;
+            currentRow = null;
+            try {
+                consumer.accept(row);
+            } catch (StopReadingException e) {
+                if (!keepLastRow && row.getRowNum() != 0) {
+                    sheet.removeRow(row);
+                }
+                throw e;
+            }
+            if (row.getRowNum() != 0) {
+                sheet.removeRow(row);
+            }
+        }
+    }
+
+    private static class StopReadingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+    }
+}
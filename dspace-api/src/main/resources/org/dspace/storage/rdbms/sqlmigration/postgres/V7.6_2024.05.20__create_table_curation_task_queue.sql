@@ -0,0 +1,27 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE curation_task_queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE curation_task_queue_id_seq;
+
+CREATE TABLE curation_task_queue
+(
+    id            INTEGER        NOT NULL  PRIMARY KEY,
+    queue_name    VARCHAR(256)   NOT NULL,
+    eperson_id    VARCHAR(256),
+    submit_time   BIGINT         NOT NULL,
+    tasks         VARCHAR(2000)  NOT NULL,
+    object_id     VARCHAR(256)   NOT NULL,
+    claim_token   VARCHAR(36),
+    claimed_until BIGINT
+);
+CREATE INDEX idx_curation_task_queue_name ON curation_task_queue(queue_name, id);
+CREATE INDEX idx_curation_task_queue_claim ON curation_task_queue(claim_token);
@@ -457,6 +457,48 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testCreatePublicationWithAuthorityInStreamingMode() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+        context.commit();
+        context.restoreAuthSystemState();
+
+        String fileLocation = getXlsFilePath("create-publication-with-authority.xlsx");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail(), "-s"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+        assertThat("Expected no errors", handler.getErrorMessages(), empty());
+
+        List<String> warningMessages = handler.getWarningMessages();
+        assertThat("Expected 1 warning message", warningMessages, hasSize(1));
+        assertThat(warningMessages.get(0), containsString("Row 2 - Invalid item left in workspace"));
+
+        List<String> infoMessages = handler.getInfoMessages();
+        assertThat("Expected 3 info messages", infoMessages, hasSize(3));
+        assertThat(infoMessages.get(0), containsString("Start reading all the metadata group rows"));
+        assertThat(infoMessages.get(1), containsString("Found 2 metadata groups to process"));
+        assertThat(infoMessages.get(2), containsString("Processed 1 items"));
+
+        Item createdItem = getItemFromMessage(warningMessages.get(0));
+        assertThat("Item expected to be created", createdItem, notNullValue());
+        assertThat(createdItem.isArchived(), is(false));
+        assertThat(findWorkspaceItem(createdItem), notNullValue());
+
+        List<MetadataValue> metadata = createdItem.getMetadata();
+        assertThat(metadata, hasItems(with("dc.contributor.author", "Author1", null, "authority1", 0, 600)));
+        assertThat(metadata, hasItems(with("dc.contributor.author", "Author2", 1)));
+        assertThat(metadata, hasItems(with("oairecerif.author.affiliation", "OrgUnit1")));
+        assertThat(metadata, hasItems(with("oairecerif.author.affiliation", "OrgUnit2", null, "authority2", 1, 400)));
+
+    }
+
     @Test
     public void testManyPublicationImport() throws Exception {
 
@@ -2495,6 +2537,66 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testRolledBackBatchInStreamingModeLogsEveryRowOnce() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+
+        Item firstPublication = ItemBuilder.createItem(context, publications)
+            .withTitle("First Publication")
+            .withDoiIdentifier("123456")
+            .makeUnDiscoverable()
+            .build();
+
+        Item thirdPublication = ItemBuilder.createItem(context, publications)
+            .withTitle("Third Publication")
+            .withDoiIdentifier("111222")
+            .makeUnDiscoverable()
+            .build();
+
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // the second publication to update is missing, so the whole batch is rolled back
+        String fileLocation = getXlsFilePath("publications_with_discoverable_column.xlsx");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail(), "-s"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+
+        List<String> errorMessages = handler.getErrorMessages();
+        assertThat(errorMessages, hasSize(1));
+        assertThat(errorMessages.get(0), containsString("Row 3 - No item to update found"));
+
+        List<String> warningMessages = handler.getWarningMessages();
+        assertThat(warningMessages, hasSize(4));
+        assertThat(warningMessages.get(0), containsString("Rows from 2 to 7 rolled back because of an error"));
+        assertThat(warningMessages.get(1), containsString("Row 5 - Invalid item left in workspace"));
+        assertThat(warningMessages.get(2), containsString("Row 6 - Invalid item left in workspace"));
+        assertThat(warningMessages.get(3), containsString("Row 7 - Invalid item left in workspace"));
+
+        List<String> infoMessages = handler.getInfoMessages();
+        assertThat(infoMessages, hasSize(5));
+        assertThat(infoMessages.get(0), containsString("Start reading all the metadata group rows"));
+        assertThat(infoMessages.get(1), containsString("Found 0 metadata groups to process"));
+        assertThat(infoMessages.get(2), containsString("Row 2 - Item updated successfully"));
+        assertThat(infoMessages.get(3), containsString("Row 4 - Item updated successfully"));
+        assertThat(infoMessages.get(4), containsString("Processed 6 items"));
+
+        firstPublication = context.reloadEntity(firstPublication);
+        assertThat(firstPublication.isDiscoverable(), is(true));
+
+        thirdPublication = context.reloadEntity(thirdPublication);
+        assertThat(thirdPublication.isDiscoverable(), is(false));
+
+    }
+
     @Test
     public void testWorkbookWithInvalidOptionalColumnPosition() throws Exception {
 
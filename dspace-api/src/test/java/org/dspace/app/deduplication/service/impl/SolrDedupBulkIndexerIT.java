@@ -0,0 +1,179 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.DeduplicationFlag;
+import org.dspace.app.deduplication.utils.MD5ValueSignature;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.deduplication.MockSolrDedupCore;
+import org.dspace.kernel.ServiceManager;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the bulk rebuild of the deduplication index made by
+ * {@link SolrDedupBulkIndexer}.
+ */
+public class SolrDedupBulkIndexerIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String FAILING_SIGNATURE = "FailingSignature";
+
+    private ServiceManager serviceManager = DSpaceServicesFactory.getInstance().getServiceManager();
+
+    private MockSolrDedupCore dedupCore;
+
+    private SolrDedupServiceImpl dedupService;
+
+    private Item firstDuplicate;
+
+    private Item secondDuplicate;
+
+    private Item firstSameDoi;
+
+    private Item secondSameDoi;
+
+    @Before
+    public void setup() throws Exception {
+        dedupCore = serviceManager.getServiceByName(null, MockSolrDedupCore.class);
+        dedupService = dedupCore;
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        firstDuplicate = ItemBuilder.createItem(context, collection)
+            .withTitle("The deduplication of the research outputs").build();
+        secondDuplicate = ItemBuilder.createItem(context, collection)
+            .withTitle("The deduplication of the research outputs").build();
+        firstSameDoi = ItemBuilder.createItem(context, collection)
+            .withTitle("A first title").withDoiIdentifier("10.1000/dedup.1").build();
+        secondSameDoi = ItemBuilder.createItem(context, collection)
+            .withTitle("A different title").withDoiIdentifier("10.1000/dedup.1").build();
+        ItemBuilder.createItem(context, collection).withTitle("An unrelated publication").build();
+        context.restoreAuthSystemState();
+
+        // the items are indexed one by one by the consumer, the rebuild workers find them with their own contexts
+        context.commit();
+        dedupService.commit();
+    }
+
+    @Test
+    public void testRebuildFindsTheSameMatchesOfThePerItemIndexing() throws Exception {
+        Set<String> perItemMatches = findMatches();
+        assertThat(perItemMatches, containsInAnyOrder(key(firstDuplicate, secondDuplicate),
+            key(firstSameDoi, secondSameDoi)));
+
+        dedupCore.reset();
+        assertThat(findMatches(), empty());
+
+        dedupService.rebuildIndex(context, 2);
+
+        assertThat(findMatches(), is(perItemMatches));
+    }
+
+    @Test
+    public void testRebuildRemovesTheStaleDocuments() throws Exception {
+        String staleMatch = writeStaleMatch();
+        assertThat(findMatches(), hasItem(staleMatch));
+
+        dedupService.rebuildIndex(context, 2);
+
+        assertThat(findMatches(), containsInAnyOrder(key(firstDuplicate, secondDuplicate),
+            key(firstSameDoi, secondSameDoi)));
+    }
+
+    @Test
+    public void testFailedRebuildKeepsThePreviousDocuments() throws Exception {
+        String staleMatch = writeStaleMatch();
+        Set<String> previousMatches = findMatches();
+
+        FailingSignature failingSignature = new FailingSignature();
+        failingSignature.setSignatureType("failing");
+        failingSignature.setMetadata("dc.title");
+        failingSignature.setResourceTypeID(2);
+        serviceManager.registerServiceNoAutowire(FAILING_SIGNATURE, failingSignature);
+        try {
+            dedupService.rebuildIndex(context, 2);
+        } finally {
+            serviceManager.unregisterService(FAILING_SIGNATURE);
+        }
+
+        assertThat(findMatches(), is(previousMatches));
+        assertThat(findMatches(), hasItem(staleMatch));
+    }
+
+    /**
+     * Write a MATCH document of two items that no longer exist, indexed before
+     * the rebuild.
+     */
+    private String writeStaleMatch() throws Exception {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        SolrInputDocument document = dedupService.createDocument(context, firstId, secondId,
+            DeduplicationFlag.MATCH, null, null, null);
+        document.setField(SolrDedupServiceImpl.LAST_INDEXED_FIELD, new Date(System.currentTimeMillis() - 60000));
+        dedupService.writeDocuments(List.of(document));
+        dedupService.commit();
+        return key(firstId, secondId);
+    }
+
+    private Set<String> findMatches() throws Exception {
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.MATCH.getDescription());
+        query.setRows(100);
+        return dedupService.search(query).getResults().stream()
+            .map(document -> document.getFieldValues(SolrDedupServiceImpl.RESOURCE_IDS_FIELD).stream()
+                .map(String::valueOf)
+                .sorted()
+                .collect(Collectors.joining("-")))
+            .collect(Collectors.toSet());
+    }
+
+    private String key(Item first, Item second) {
+        return key(first.getID(), second.getID());
+    }
+
+    private String key(UUID first, UUID second) {
+        return Stream.of(first, second).map(UUID::toString).sorted().collect(Collectors.joining("-"));
+    }
+
+    /**
+     * Signature that cannot be computed, so that the rebuild fails.
+     */
+    public static class FailingSignature extends MD5ValueSignature {
+
+        @Override
+        public List<String> getSignature(DSpaceObject item, Context context) {
+            throw new IllegalStateException("The signature of " + item.getID() + " cannot be computed");
+        }
+
+    }
+
+}
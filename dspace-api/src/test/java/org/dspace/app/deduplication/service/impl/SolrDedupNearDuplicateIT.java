@@ -0,0 +1,130 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.DeduplicationFlag;
+import org.dspace.app.deduplication.utils.MinHashSignature;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.deduplication.MockSolrDedupCore;
+import org.dspace.kernel.ServiceManager;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the matches of the near-duplicate signatures built by
+ * the per-item indexing of {@link SolrDedupServiceImpl}.
+ */
+public class SolrDedupNearDuplicateIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String MINHASH_SIGNATURE = "TitleMinHashSignaturePlugin";
+
+    private static final String TITLE = "Near duplicate detection of scholarly records in institutional repositories";
+
+    private ServiceManager serviceManager = DSpaceServicesFactory.getInstance().getServiceManager();
+
+    private MockSolrDedupCore dedupCore;
+
+    private MinHashSignature signature;
+
+    private Collection collection;
+
+    @Before
+    public void setup() {
+        signature = new MinHashSignature();
+        signature.setSignatureType("title_minhash");
+        signature.setMetadata("dc.title");
+        signature.setResourceTypeID(2);
+        signature.setSimilarityThreshold(0.8);
+        serviceManager.registerServiceNoAutowire(MINHASH_SIGNATURE, signature);
+
+        // the near-duplicate signatures already looked up do not include the new one
+        dedupCore = serviceManager.getServiceByName(null, MockSolrDedupCore.class);
+        dedupCore.reset();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void unregisterSignature() {
+        serviceManager.unregisterService(MINHASH_SIGNATURE);
+    }
+
+    @Test
+    public void testNearDuplicatesAreReported() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle(TITLE).build();
+        Item nearDuplicate = ItemBuilder.createItem(context, collection)
+            .withTitle("Near duplicate detection of scholarly records in institutonal repositories").build();
+        context.restoreAuthSystemState();
+
+        assertThat(signature.isSimilar(signature.getSignature(item, context),
+            signature.getSignature(nearDuplicate, context)), is(true));
+        assertThat(findMatches(), contains(key(item, nearDuplicate)));
+    }
+
+    @Test
+    public void testCandidatesBelowTheThresholdAreRejected() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle(TITLE).build();
+        Item candidate = ItemBuilder.createItem(context, collection)
+            .withTitle("Near duplicate detection of records in digital libraries").build();
+        context.restoreAuthSystemState();
+
+        // the two titles share a bucket, so the candidate is found by the signature query
+        List<String> itemSignature = signature.getSignature(item, context);
+        List<String> candidateSignature = signature.getSignature(candidate, context);
+        Set<String> sharedBuckets = new HashSet<>(itemSignature);
+        sharedBuckets.retainAll(candidateSignature);
+        assertThat(sharedBuckets, not(empty()));
+        assertThat(signature.isSimilar(itemSignature, candidateSignature), is(false));
+
+        assertThat(findMatches(), empty());
+    }
+
+    private Set<String> findMatches() throws Exception {
+        dedupCore.commit();
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.MATCH.getDescription());
+        query.setRows(100);
+        return dedupCore.search(query).getResults().stream()
+            .map(document -> document.getFieldValues(SolrDedupServiceImpl.RESOURCE_IDS_FIELD).stream()
+                .map(String::valueOf)
+                .sorted()
+                .collect(Collectors.joining("-")))
+            .collect(Collectors.toSet());
+    }
+
+    private String key(Item first, Item second) {
+        return Stream.of(first, second).map(item -> item.getID().toString()).sorted()
+            .collect(Collectors.joining("-"));
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MinHashGenerator}.
+ */
+public class MinHashGeneratorTest {
+
+    private final MinHashGenerator generator = new MinHashGenerator(16, 4, 3, 7919);
+
+    @Test
+    public void testNormalize() {
+        assertEquals("eleves a l ecole", generator.normalize("  \u00c9l\u00e8ves \u00e0 l'\u00e9cole! "));
+        assertEquals("", generator.normalize(" -- "));
+        assertNull(generator.sketch(" -- "));
+    }
+
+    @Test
+    public void testSameTextProducesSameTokens() {
+        List<String> first = tokens("", "A study of the Deduplication of Items");
+        List<String> second = tokens("", "A study of the deduplication of items.");
+
+        assertEquals(16, first.size());
+        assertEquals(first, second);
+        assertEquals(1.0, generator.estimateSimilarity(first, second), 0.0);
+    }
+
+    @Test
+    public void testSimilarTextsCollide() {
+        List<String> first = tokens("", "Near duplicate detection of scholarly publications in repositories");
+        List<String> second = tokens("", "Near duplicate detection of scholarly publication in repositories");
+
+        assertTrue(first.stream().anyMatch(second::contains));
+        assertTrue(generator.estimateSimilarity(first, second) > 0.8);
+    }
+
+    @Test
+    public void testDifferentTextsAreNotSimilar() {
+        List<String> first = tokens("", "Near duplicate detection of scholarly publications");
+        List<String> second = tokens("", "Measurements of the cosmic microwave background");
+
+        assertFalse(first.stream().anyMatch(second::contains));
+        assertTrue(generator.estimateSimilarity(first, second) < 0.2);
+    }
+
+    @Test
+    public void testBlockingKeyPreventsCollisions() {
+        List<String> first = tokens("Publication", "A study of the deduplication of items");
+        List<String> second = tokens("Patent", "A study of the deduplication of items");
+
+        assertFalse(first.stream().anyMatch(second::contains));
+        assertEquals(0.0, generator.estimateSimilarity(first, second), 0.0);
+    }
+
+    @Test
+    public void testMultipleValuesUseTheBestPair() {
+        List<String> first = new ArrayList<String>(tokens("", "Measurements of the cosmic microwave background"));
+        first.addAll(tokens("", "A study of the deduplication of items"));
+        List<String> second = tokens("", "A study of the deduplication of items");
+
+        assertEquals(1.0, generator.estimateSimilarity(first, second), 0.0);
+        assertEquals(0.0, generator.estimateSimilarity(first, Collections.singletonList("not a token")), 0.0);
+    }
+
+    private List<String> tokens(String blockingKey, String text) {
+        return generator.toBandTokens(blockingKey, generator.sketch(text));
+    }
+}
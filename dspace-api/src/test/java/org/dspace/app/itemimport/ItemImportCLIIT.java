@@ -8,6 +8,7 @@
 package org.dspace.app.itemimport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -262,6 +263,81 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkRelationship();
     }
 
+    @Test
+    public void importItemByZipSafWithBitstreamsInParallel() throws Exception {
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-bitstreams.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", tempDir.toString() + "/mapfile.out", "-T", "2" };
+        // the workers reload the collection with their own contexts
+        context.commit();
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkMetadataWithAnotherSchema();
+        checkBitstream();
+
+        // confirm that the zip file was not extracted and is left in place
+        assertFalse(new File(workDir + File.separator + TEMP_DIR).exists());
+        assertTrue(new File(tempDir.toString() + "/" + ZIP_NAME).exists());
+        assertEquals(1, Files.readAllLines(Path.of(tempDir.toString() + "/mapfile.out")).size());
+    }
+
+    @Test
+    public void importItemByZipSafWithRelationshipsInParallel() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // create collection that contains person
+        Collection collectionPerson = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection Person")
+                .withEntityType("Person")
+                .build();
+        // create person
+        Item person = ItemBuilder.createItem(context, collectionPerson)
+                .withTitle(personTitle)
+                .build();
+        context.restoreAuthSystemState();
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-relationships.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+
+        String[] args = new String[] { "import", "-a", "-p", "-e", admin.getEmail(),
+                "-c", collection.getID().toString(), "-s", tempDir.toString(), "-z", ZIP_NAME,
+                "-m", tempDir.toString() + "/mapfile.out", "-T", "2" };
+        // the workers reload the collection with their own contexts
+        context.commit();
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkRelationship();
+    }
+
+    @Test
+    public void resumeImportItemByZipSafInParallel() throws Exception {
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-bitstreams.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+        // add a mapfile that records the only item as already imported
+        context.turnOffAuthorisationSystem();
+        Item importedItem = ItemBuilder.createItem(context, collection)
+                .withTitle("Already imported")
+                .build();
+        context.restoreAuthSystemState();
+        Path mapFile = Files.createFile(Path.of(tempDir.toString() + "/mapfile.out"));
+        Files.writeString(mapFile, "item_000 " + importedItem.getHandle() + "\n");
+
+        String[] args = new String[] { "import", "-a", "-R", "-e", admin.getEmail(),
+                "-c", collection.getID().toString(), "-s", tempDir.toString(), "-z", ZIP_NAME,
+                "-m", mapFile.toString(), "-T", "2" };
+        // the workers reload the collection with their own contexts
+        context.commit();
+        perfomImportScript(args);
+
+        checkItemDeletion();
+        assertEquals(1, Files.readAllLines(mapFile).size());
+    }
+
     @Test
     public void importItemByZipSafInvalidMimetype() throws Exception {
         // use sample PDF file
@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemimport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link SafZipArchive}.
+ */
+public class SafZipArchiveTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testItemsInsideRootFolder() throws Exception {
+        File zip = buildZip("saf/item_10/dublin_core.xml", "saf/item_2/dublin_core.xml", "saf/item_2/contents",
+            "saf/item_2/file1.txt");
+
+        try (SafZipArchive archive = new SafZipArchive(zip)) {
+            assertThat(archive.getItemNames(), contains("item_10", "item_2"));
+
+            File itemDir = archive.extractItem("item_2", folder.newFolder("dest"));
+            assertThat(itemDir.getName(), is("item_2"));
+            assertThat(itemDir.list(), arrayContainingInAnyOrder("dublin_core.xml", "contents", "file1.txt"));
+            assertThat(Files.readString(new File(itemDir, "file1.txt").toPath()), is("saf/item_2/file1.txt"));
+        }
+    }
+
+    @Test
+    public void testItemsAtRootOfTheArchive() throws Exception {
+        File zip = buildZip("item_1/dublin_core.xml", "item_1/relationships", "item_0/dublin_core.xml");
+
+        try (SafZipArchive archive = new SafZipArchive(zip)) {
+            assertThat(archive.getItemNames(), contains("item_0", "item_1"));
+
+            File itemDir = archive.extractItem("item_1", folder.newFolder("dest"), "relationships");
+            assertThat(itemDir.list(), arrayContainingInAnyOrder("relationships"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testEntryOutsideTheItemFolder() throws Exception {
+        File zip = buildZip("saf/item_0/dublin_core.xml", "saf/item_0/../../evil.txt");
+
+        try (SafZipArchive archive = new SafZipArchive(zip)) {
+            archive.extractItem("item_0", folder.newFolder("dest"));
+        }
+    }
+
+    private File buildZip(String... entryNames) throws IOException {
+        File zip = folder.newFile("saf.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (String entryName : entryNames) {
+                out.putNextEntry(new ZipEntry(entryName));
+                out.write(entryName.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.app.metrics;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -14,6 +15,7 @@ import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
@@ -163,4 +165,34 @@ public class CrisMetricsTest extends AbstractUnitTest {
                                  .findLastMetricByResourceIdAndMetricsTypes(context, "SomeMeticsType", item2.getID());
         assertNull("There is no metric with these characteristics", crisMetrics);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findAllLastAfterResourceTest() throws SQLException, AuthorizeException {
+        context.turnOffAuthorisationSystem();
+        CrisMetrics metrics4 = crisMetricsService.create(context, item2);
+        metrics4.setMetricType("Citation");
+        metrics4.setLast(true);
+        context.commit();
+        context.restoreAuthSystemState();
+        try {
+            List<CrisMetrics> firstPage = crisMetricsService.findAllLastAfterResource(context, null, null, 1);
+            UUID firstResourceId = firstPage.get(0).getResource().getID();
+            List<CrisMetrics> secondPage = crisMetricsService.findAllLastAfterResource(context, firstResourceId,
+                null, 1);
+            UUID secondResourceId = secondPage.get(0).getResource().getID();
+
+            // each page holds all the last metrics of a single resource
+            assertEquals(firstResourceId.equals(item2.getID()) ? 2 : 1, firstPage.size());
+            assertEquals(secondResourceId.equals(item2.getID()) ? 2 : 1, secondPage.size());
+            assertTrue(firstPage.stream().allMatch(m -> m.getResource().getID().equals(firstResourceId)));
+            assertTrue(secondPage.stream().allMatch(m -> m.getResource().getID().equals(secondResourceId)));
+            assertNotEquals(firstResourceId, secondResourceId);
+            assertTrue(crisMetricsService.findAllLastAfterResource(context, secondResourceId, null, 1).isEmpty());
+        } finally {
+            context.turnOffAuthorisationSystem();
+            crisMetricsService.delete(context, context.reloadEntity(metrics4));
+            context.commit();
+            context.restoreAuthSystemState();
+        }
+    }
+}
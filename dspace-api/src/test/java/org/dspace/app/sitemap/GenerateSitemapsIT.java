@@ -0,0 +1,163 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for the generation of the sitemaps from the discovery
+ * index, read with a {@link SitemapSolrCursor}.
+ */
+public class GenerateSitemapsIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private SolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(SolrSearchCore.class).get(0);
+
+    private String sitemapDir;
+
+    private File outputDir;
+
+    private String uiURLStem;
+
+    private Collection collection;
+
+    private Item publication;
+
+    private Item item;
+
+    private Item nonDiscoverableItem;
+
+    private Item withdrawnItem;
+
+    @Before
+    public void setup() throws Exception {
+        sitemapDir = configurationService.getProperty("sitemap.dir");
+        outputDir = folder.newFolder("sitemaps");
+        configurationService.setProperty("sitemap.dir", outputDir.getAbsolutePath());
+        configurationService.setProperty("sitemap.incremental.enabled", false);
+        uiURLStem = StringUtils.appendIfMissing(configurationService.getProperty("dspace.ui.url"), "/");
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        publication = ItemBuilder.createItem(context, collection)
+            .withTitle("A publication").withEntityType("Publication").build();
+        item = ItemBuilder.createItem(context, collection).withTitle("An item").build();
+        nonDiscoverableItem = ItemBuilder.createItem(context, collection)
+            .withTitle("A private item").makeUnDiscoverable().build();
+        withdrawnItem = ItemBuilder.createItem(context, collection)
+            .withTitle("A withdrawn item").withdrawn().build();
+        context.restoreAuthSystemState();
+
+        // the sitemaps are generated with their own contexts
+        context.commit();
+    }
+
+    @After
+    public void restoreSitemapDir() {
+        configurationService.setProperty("sitemap.dir", sitemapDir);
+    }
+
+    @Test
+    public void testCursorReturnsTheDiscoverableItemsOnly() throws Exception {
+        List<String> itemIds = readEntries("Item", 1).stream()
+            .map(SitemapEntry::getResourceId)
+            .collect(Collectors.toList());
+
+        assertThat(itemIds, containsInAnyOrder(publication.getID().toString(), item.getID().toString()));
+    }
+
+    @Test
+    public void testCursorReadsAllThePages() throws Exception {
+        List<SitemapEntry> entries = readEntries("Item", 1);
+        List<String> uniqueIds = entries.stream().map(SitemapEntry::getUniqueId).collect(Collectors.toList());
+
+        // the same entries in the order of the unique key, whatever the size of the pages
+        assertThat(uniqueIds, is(uniqueIds.stream().sorted().collect(Collectors.toList())));
+        assertThat(readEntries("Item", 1000).stream().map(SitemapEntry::getUniqueId)
+            .collect(Collectors.toList()), is(uniqueIds));
+        assertThat(readEntries("Community", 1).get(0).getURL(uiURLStem),
+            is(uiURLStem + "communities/" + parentCommunity.getID()));
+        assertThat(readEntries("Collection", 1).get(0).getURL(uiURLStem),
+            is(uiURLStem + "collections/" + collection.getID()));
+    }
+
+    @Test
+    public void testGenerateSitemaps() throws Exception {
+        GenerateSitemaps.generateSitemaps(true, true);
+
+        String sitemaps = readSitemaps(".xml");
+        assertThat(sitemaps, containsString("<loc>" + uiURLStem + "communities/" + parentCommunity.getID()));
+        assertThat(sitemaps, containsString("<loc>" + uiURLStem + "collections/" + collection.getID()));
+        assertThat(sitemaps, containsString("<loc>" + uiURLStem + "entities/publication/" + publication.getID()));
+        assertThat(sitemaps, containsString("<loc>" + uiURLStem + "items/" + item.getID()));
+        assertThat(sitemaps, not(containsString(nonDiscoverableItem.getID().toString())));
+        assertThat(sitemaps, not(containsString(withdrawnItem.getID().toString())));
+
+        String htmlSitemaps = readSitemaps(".html");
+        assertThat(htmlSitemaps, containsString(uiURLStem + "entities/publication/" + publication.getID()));
+        assertThat(htmlSitemaps, containsString(uiURLStem + "items/" + item.getID()));
+        assertThat(htmlSitemaps, not(containsString(nonDiscoverableItem.getID().toString())));
+        assertThat(htmlSitemaps, not(containsString(withdrawnItem.getID().toString())));
+    }
+
+    private List<SitemapEntry> readEntries(String resourceType, int pageSize) throws Exception {
+        // the sitemaps are generated for the anonymous user
+        Context anonymousContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            List<SitemapEntry> entries = new ArrayList<>();
+            new SitemapSolrCursor(anonymousContext, solrSearchCore, resourceType, pageSize)
+                .forEachRemaining(entries::add);
+            return entries;
+        } finally {
+            anonymousContext.abort();
+        }
+    }
+
+    private String readSitemaps(String extension) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (File file : FileUtils.listFiles(outputDir, new String[] { extension.substring(1) }, false)) {
+            content.append(FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+        }
+        return content.toString();
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.dspace.app.sitemap.SitemapManifest.Chunk;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link IncrementalSitemapsGenerator}.
+ */
+public class IncrementalSitemapsGeneratorTest {
+
+    private static final String UI_URL = "http://localhost:4000/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File outputDir;
+
+    private IncrementalSitemapsGenerator generator;
+
+    @Before
+    public void setup() throws Exception {
+        outputDir = folder.newFolder("sitemaps");
+        generator = new IncrementalSitemapsGenerator(outputDir, UI_URL, 10);
+    }
+
+    @Test
+    public void testFirstGeneration() throws Exception {
+
+        List<Chunk> chunks = generator.generateChunks("Item", buildEntries(0, 25, 1000L).iterator(), List.of());
+
+        assertThat(chunks, hasSize(3));
+        assertThat(chunks.get(0).getFileName(), is("sitemap-item-0.xml.gz"));
+        assertThat(chunks.get(0).getCount(), is(10));
+        assertThat(chunks.get(1).getCount(), is(10));
+        assertThat(chunks.get(2).getCount(), is(5));
+        assertThat(chunks.get(2).getFirstKey(), is(key(20)));
+
+        String content = readChunk(chunks.get(0));
+        assertThat(content, containsString("<loc>" + UI_URL + "entities/publication/" + id(0) + "</loc>"));
+        assertThat(content, containsString("<loc>" + UI_URL + "entities/publication/" + id(9) + "</loc>"));
+        assertThat(content, not(containsString(id(10))));
+
+        generator.writeIndex(chunks);
+        String index = FileUtils.readFileToString(new File(outputDir, "sitemap_index.xml"), StandardCharsets.UTF_8);
+        assertThat(index, containsString("<loc>" + UI_URL + "sitemap-item-2.xml.gz</loc>"));
+    }
+
+    @Test
+    public void testGenerationWithoutChanges() throws Exception {
+
+        List<SitemapEntry> entries = buildEntries(0, 25, 1000L);
+        List<Chunk> previousChunks = generator.generateChunks("Item", entries.iterator(), List.of());
+
+        List<Chunk> chunks = generator.generateChunks("Item", entries.iterator(), previousChunks);
+
+        assertThat(chunks, hasSize(3));
+        for (int i = 0; i < chunks.size(); i++) {
+            assertThat(chunks.get(i), sameInstance(previousChunks.get(i)));
+        }
+    }
+
+    @Test
+    public void testGenerationWithModifiedItem() throws Exception {
+
+        List<SitemapEntry> entries = buildEntries(0, 25, 1000L);
+        List<Chunk> previousChunks = generator.generateChunks("Item", entries.iterator(), List.of());
+
+        entries.set(15, buildEntry(15, 2000L));
+        List<Chunk> chunks = generator.generateChunks("Item", entries.iterator(), previousChunks);
+
+        assertThat(chunks, hasSize(3));
+        assertThat(chunks.get(0), sameInstance(previousChunks.get(0)));
+        assertThat(chunks.get(1), not(sameInstance(previousChunks.get(1))));
+        assertThat(chunks.get(1).getFileName(), is(previousChunks.get(1).getFileName()));
+        assertThat(chunks.get(1).getFingerprint(), not(previousChunks.get(1).getFingerprint()));
+        assertThat(chunks.get(2), sameInstance(previousChunks.get(2)));
+    }
+
+    @Test
+    public void testGenerationWithAddedAndRemovedItems() throws Exception {
+
+        List<SitemapEntry> entries = buildEntries(0, 30, 1000L);
+        List<Chunk> previousChunks = generator.generateChunks("Item", entries.iterator(), List.of());
+
+        // the first chunk grows beyond the maximum size and the last one gets empty
+        List<SitemapEntry> newEntries = new ArrayList<>(entries.subList(0, 20));
+        newEntries.addAll(0, buildEntries(-15, 15, 1000L));
+        newEntries.sort((first, second) -> first.getUniqueId().compareTo(second.getUniqueId()));
+
+        List<Chunk> chunks = generator.generateChunks("Item", newEntries.iterator(), previousChunks);
+
+        assertThat(chunks, hasSize(4));
+        assertThat(chunks.get(0).getFileName(), is(previousChunks.get(0).getFileName()));
+        assertThat(chunks.get(0).getCount(), is(10));
+        assertThat(chunks.get(1).getFileName(), is("sitemap-item-3.xml.gz"));
+        assertThat(chunks.get(1).getCount(), is(10));
+        assertThat(chunks.get(2).getFileName(), is("sitemap-item-4.xml.gz"));
+        assertThat(chunks.get(2).getCount(), is(5));
+        assertThat(chunks.get(3), sameInstance(previousChunks.get(1)));
+
+        assertThat(new File(outputDir, previousChunks.get(2).getFileName()).exists(), is(false));
+        assertThat(readChunk(chunks.get(2)), containsString(id(9)));
+    }
+
+    @Test
+    public void testManifestReadAndWrite() throws Exception {
+
+        List<Chunk> chunks = generator.generateChunks("Item", buildEntries(0, 15, 1000L).iterator(), List.of());
+        SitemapManifest manifest = new SitemapManifest();
+        manifest.setChunks(chunks);
+        manifest.write(outputDir);
+
+        SitemapManifest readManifest = SitemapManifest.read(outputDir);
+        assertThat(readManifest.getChunks("Item"), hasSize(2));
+        assertThat(readManifest.getChunks("Collection"), hasSize(0));
+        assertThat(readManifest.getChunks("Item").get(1).getFingerprint(), is(chunks.get(1).getFingerprint()));
+
+        List<Chunk> newChunks = generator.generateChunks("Item", buildEntries(0, 15, 1000L).iterator(),
+            readManifest.getChunks("Item"));
+        assertThat(newChunks.get(0), sameInstance(readManifest.getChunks("Item").get(0)));
+    }
+
+    private List<SitemapEntry> buildEntries(int from, int count, long lastModified) {
+        List<SitemapEntry> entries = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            entries.add(buildEntry(i, lastModified));
+        }
+        return entries;
+    }
+
+    private SitemapEntry buildEntry(int number, long lastModified) {
+        return new SitemapEntry(key(number), "Item", id(number), "Publication", new Date(lastModified));
+    }
+
+    private String key(int number) {
+        return "Item-" + id(number);
+    }
+
+    private String id(int number) {
+        return String.format("%08d-0000-0000-0000-000000000000", number + 100);
+    }
+
+    private String readChunk(Chunk chunk) throws Exception {
+        try (InputStream inputStream = new GZIPInputStream(new FileInputStream(new File(outputDir,
+            chunk.getFileName())))) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CacheInvalidation} and the payloads of the
+ * {@link PostgresCacheInvalidationBus}.
+ */
+public class CacheInvalidationTest {
+
+    @Test
+    public void testParse() {
+        UUID id = UUID.randomUUID();
+
+        CacheInvalidation invalidation = CacheInvalidation.parse("COLLECTION:" + id);
+        assertThat(invalidation, is(CacheInvalidation.of("COLLECTION", id)));
+        assertThat(invalidation.getId(), is(id.toString()));
+        assertThat(invalidation.isAllOfType(), is(false));
+        assertThat(invalidation.isOfType("COLLECTION"), is(true));
+        assertThat(invalidation.isOfType("COMMUNITY"), is(false));
+
+        CacheInvalidation allOfType = CacheInvalidation.parse("EntityType");
+        assertThat(allOfType, is(CacheInvalidation.all("EntityType")));
+        assertThat(allOfType.getId(), nullValue());
+        assertThat(allOfType.isAllOfType(), is(true));
+
+        CacheInvalidation all = CacheInvalidation.parse(CacheInvalidation.ALL.toString());
+        assertThat(all, is(CacheInvalidation.ALL));
+        assertThat(all.isOfType("COMMUNITY"), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidType() {
+        CacheInvalidation.of("COLLECTION:1", 1);
+    }
+
+    @Test
+    public void testPayloads() {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            invalidations.add(CacheInvalidation.of("ITEM", UUID.randomUUID()));
+        }
+        invalidations.add(CacheInvalidation.all("CrisLayout"));
+
+        List<String> payloads = PostgresCacheInvalidationBus.toPayloads(invalidations);
+        assertThat(payloads, hasSize(6));
+        assertThat(payloads.stream().map(payload -> payload.getBytes(StandardCharsets.UTF_8).length)
+            .collect(Collectors.toList()), everyItem(lessThan(8000)));
+
+        List<CacheInvalidation> parsed = payloads.stream()
+            .flatMap(payload -> PostgresCacheInvalidationBus.fromPayload(payload).stream())
+            .collect(Collectors.toList());
+        assertThat(parsed, contains(invalidations.toArray(new CacheInvalidation[0])));
+    }
+
+    @Test
+    public void testChannels() {
+        assertThat(PostgresCacheInvalidationBus.isValidChannel("dspace_cache_invalidation"), is(true));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel("dspace2"), is(true));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel("DSpace"), is(false));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel("2dspace"), is(false));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel("dspace; DROP TABLE item"), is(false));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel(""), is(false));
+        assertThat(PostgresCacheInvalidationBus.isValidChannel(null), is(false));
+    }
+
+}
@@ -8,13 +8,19 @@
 package org.dspace.content;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.dao.MetadataFieldDAO;
+import org.dspace.content.dao.MetadataSchemaDAO;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.MetadataFieldService;
+import org.dspace.content.service.MetadataSchemaService;
+import org.dspace.utils.DSpace;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -27,6 +33,14 @@ public class MetadataFieldPerformanceTest extends AbstractUnitTest {
 
     private final MetadataFieldService metadataFieldService =
             ContentServiceFactory.getInstance().getMetadataFieldService();
+    private final MetadataSchemaService metadataSchemaService =
+            ContentServiceFactory.getInstance().getMetadataSchemaService();
+    private final MetadataFieldDAO metadataFieldDAO =
+            new DSpace().getServiceManager().getServicesByType(MetadataFieldDAO.class).get(0);
+    private final MetadataSchemaDAO metadataSchemaDAO =
+            new DSpace().getServiceManager().getServicesByType(MetadataSchemaDAO.class).get(0);
+    private final MetadataRegistrySnapshotHolder metadataRegistrySnapshotHolder =
+            new DSpace().getServiceManager().getServicesByType(MetadataRegistrySnapshotHolder.class).get(0);
     private final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
     private final CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
 
@@ -53,6 +67,91 @@ public class MetadataFieldPerformanceTest extends AbstractUnitTest {
                 (((double) duration) / amount) + " ms.", duration < maxDuration);
     }
 
+    @Test
+    public void testManyLookupsByString() throws SQLException {
+        // the lookups made by the metadata and bulk imports, that resolve the column headers
+        List<String> fieldNames = metadataFieldService.findAll(context).stream()
+            .map(field -> MetadataRegistrySnapshot.toFieldName(field))
+            .collect(Collectors.toList());
+
+        long startTime = System.currentTimeMillis();
+
+        int amount = 50000;
+        for (int i = 0; i < amount; i++) {
+            String fieldName = fieldNames.get(i % fieldNames.size());
+            Assert.assertNotNull(metadataSchemaService.find(context, fieldName.substring(0, fieldName.indexOf('.'))));
+            Assert.assertNotNull(metadataFieldService.findByString(context, fieldName, '.'));
+        }
+        long endTime = System.currentTimeMillis();
+
+        long duration = (endTime - startTime);
+
+        double maxDurationPerCall = 0.02;
+        double maxDuration = maxDurationPerCall * amount;
+        Assert.assertTrue("Duration (" + duration + ") should be smaller than " + maxDuration +
+                " for " + amount + " tests." +
+                " Max of " + maxDurationPerCall + " ms per operation exceeded: " +
+                (((double) duration) / amount) + " ms.", duration < maxDuration);
+    }
+
+    @Test
+    public void testLookupsByStringFasterThanQueries() throws SQLException {
+        List<MetadataField> fields = metadataFieldService.findAll(context);
+        List<String> fieldNames = fields.stream()
+            .map(field -> MetadataRegistrySnapshot.toFieldName(field))
+            .collect(Collectors.toList());
+
+        int amount = 5000;
+
+        // the same lookups resolved with the queries used before the registry snapshot
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < amount; i++) {
+            MetadataField field = fields.get(i % fields.size());
+            String schema = field.getMetadataSchema().getName();
+            Assert.assertNotNull(metadataSchemaDAO.find(context, schema));
+            Assert.assertNotNull(metadataFieldDAO.findByElement(context, schema, field.getElement(),
+                field.getQualifier()));
+        }
+        long queriesDuration = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < amount; i++) {
+            String fieldName = fieldNames.get(i % fieldNames.size());
+            Assert.assertNotNull(metadataSchemaService.find(context, fieldName.substring(0, fieldName.indexOf('.'))));
+            Assert.assertNotNull(metadataFieldService.findByString(context, fieldName, '.'));
+        }
+        long duration = System.currentTimeMillis() - startTime;
+
+        Assert.assertTrue("Duration (" + duration + ") should be smaller than the duration of the queries ("
+                + queriesDuration + ") for " + amount + " tests: " + (((double) duration) / amount)
+                + " ms per operation instead of " + (((double) queriesDuration) / amount) + " ms.",
+                duration < queriesDuration);
+    }
+
+    @Test
+    public void testCreatedFieldsPatchTheSnapshot() throws Exception {
+        long version = metadataRegistrySnapshotHolder.getSnapshot(context).getVersion();
+
+        context.turnOffAuthorisationSystem();
+        MetadataSchema schema = metadataSchemaService.create(context, "snapshot", "http://snapshot.test/");
+        int amount = 500;
+        for (int i = 0; i < amount; i++) {
+            MetadataField field = metadataFieldService.create(context, schema, "element" + i, null, null);
+            Assert.assertEquals(field, metadataFieldService.findByElement(context, "snapshot", "element" + i, null));
+        }
+        context.restoreAuthSystemState();
+
+        // the lookups of the created fields are served by the patched snapshot, that is never rebuilt
+        MetadataRegistrySnapshot snapshot = metadataRegistrySnapshotHolder.getSnapshot(context);
+        Assert.assertEquals(version, snapshot.getVersion());
+        Assert.assertEquals(schema.getID(), snapshot.getSchemaIdByNamespace("http://snapshot.test/"));
+        Assert.assertNotNull(snapshot.getFieldId("snapshot", "element" + (amount - 1), null));
+
+        context.turnOffAuthorisationSystem();
+        metadataSchemaService.delete(context, schema);
+        context.restoreAuthSystemState();
+    }
+
     @Test
     public void testManyMetadataAdds() throws SQLException, AuthorizeException {
         context.turnOffAuthorisationSystem();
@@ -325,6 +325,29 @@ public class MetadataFieldTest extends AbstractUnitTest {
         assertThat("testUpdateAuth 0", found.getID(), equalTo(m.getID()));
     }
 
+    /**
+     * Test of findByElement method after the renaming of a field, of class MetadataField.
+     */
+    @Test
+    public void testFindByElementAfterRename() throws Exception {
+        // Allow full Admin perms
+        when(authorizeServiceSpy.isAdmin(context)).thenReturn(true);
+
+        MetadataField m = metadataFieldService.create(context, dcSchema, "elem4", "qual4", null);
+        assertThat("testFindByElementAfterRename 0",
+            metadataFieldService.findByString(context, "dc.elem4.qual4", '.'), equalTo(m));
+
+        m.setElement("elem5");
+        metadataFieldService.update(context, m);
+
+        assertThat("testFindByElementAfterRename 1",
+            metadataFieldService.findByElement(context, MetadataSchemaEnum.DC.getName(), "elem4", "qual4"),
+            nullValue());
+        assertThat("testFindByElementAfterRename 2",
+            metadataFieldService.findByElement(context, MetadataSchemaEnum.DC.getName(), "elem5", "qual4"),
+            equalTo(m));
+    }
+
     /**
      * Test of update method, of class MetadataField.
      */
@@ -620,6 +620,53 @@ public class ReferCrosswalkIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void testManyPersonsJsonDisseminateInChunks() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Item firstItem = createItem(context, collection)
+            .withEntityType("Person")
+            .withTitle("John Smith")
+            .withGivenName("John")
+            .withFamilyName("Smith")
+            .withBirthDate("1992-06-26")
+            .withGender("M")
+            .withPersonAffiliation("Company")
+            .withPersonAffiliationStartDate("2018-01-01")
+            .withPersonAffiliationRole("Developer")
+            .withPersonAffiliationEndDate(PLACEHOLDER_PARENT_METADATA_VALUE)
+            .build();
+        Item secondItem = createItem(context, collection)
+            .withEntityType("Person")
+            .withTitle("Adam White")
+            .withGivenName("Adam")
+            .withFamilyName("White")
+            .withBirthDate("1962-03-23")
+            .withGender("M")
+            .withJobTitle("Researcher")
+            .withPersonMainAffiliation("University")
+            .withPersonKnowsLanguages("English")
+            .withPersonKnowsLanguages("Italian")
+            .withPersonEducation("School")
+            .withPersonEducationStartDate("2000-01-01")
+            .withPersonEducationEndDate("2005-01-01")
+            .withPersonEducationRole("Student")
+            .build();
+        context.restoreAuthSystemState();
+
+        ReferCrosswalk referCrossWalk = (ReferCrosswalk) crosswalkMapper.getByType("person-json");
+        assertThat(referCrossWalk, notNullValue());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        referCrossWalk.disseminate(context, Arrays.asList(firstItem, secondItem).iterator(), out,
+            new ItemExportOptions().setChunkSize(1));
+
+        try (FileInputStream fis = getFileInputStream("persons.json")) {
+            String expectedJson = IOUtils.toString(fis, Charset.defaultCharset());
+            compareEachLine(out.toString(), expectedJson);
+        }
+    }
+
     @Test
     public void testPublicationXmlDisseminate() throws Exception {
 
@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.integration.crosswalks.csl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import de.undercouch.citeproc.ListItemDataProvider;
+import de.undercouch.citeproc.csl.CSLItemData;
+import de.undercouch.citeproc.csl.CSLItemDataBuilder;
+import de.undercouch.citeproc.csl.CSLType;
+import de.undercouch.citeproc.output.Bibliography;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PooledCitationProcessor}.
+ */
+public class PooledCitationProcessorTest {
+
+    private static PooledCitationProcessor processor;
+
+    @BeforeClass
+    public static void initProcessor() throws Exception {
+        processor = new PooledCitationProcessor("ieee", "text");
+    }
+
+    @Test
+    public void testItemsRenderedInSequence() {
+        Bibliography first = processor.makeBibliography(provider(item("first", "First publication title")));
+        Bibliography second = processor.makeBibliography(provider(item("second", "Second publication title")));
+
+        // the engine state is reset after every bibliography, so the items of the previous call are not kept
+        assertThat(first.getEntries(), arrayWithSize(1));
+        assertThat(first.getEntries()[0], containsString("First publication title"));
+        assertThat(second.getEntries(), arrayWithSize(1));
+        assertThat(second.getEntries()[0], containsString("Second publication title"));
+        assertThat(second.getEntries()[0], not(containsString("First publication title")));
+    }
+
+    @Test
+    public void testManyBibliographies() {
+        // initialize the engine before measuring
+        processor.makeBibliography(provider(item("warmup", "Warm up")));
+
+        long startTime = System.currentTimeMillis();
+
+        int amount = 200;
+        for (int i = 0; i < amount; i++) {
+            Bibliography bibliography = processor.makeBibliography(provider(item("item" + i, "Title " + i)));
+            assertThat(bibliography.getEntries()[0], containsString("Title " + i));
+        }
+        long endTime = System.currentTimeMillis();
+
+        long duration = (endTime - startTime);
+
+        double maxDurationPerCall = 100;
+        double maxDuration = maxDurationPerCall * amount;
+        // without the pool every citation created a new engine and compiled the style again
+        Assert.assertTrue("Duration (" + duration + ") should be smaller than " + maxDuration +
+                " for " + amount + " tests." +
+                " Max of " + maxDurationPerCall + " ms per operation exceeded: " +
+                (((double) duration) / amount) + " ms.", duration < maxDuration);
+    }
+
+    private ListItemDataProvider provider(CSLItemData item) {
+        return new ListItemDataProvider(item);
+    }
+
+    private CSLItemData item(String id, String title) {
+        return new CSLItemDataBuilder()
+            .id(id)
+            .type(CSLType.ARTICLE_JOURNAL)
+            .title(title)
+            .author("John", "Doe")
+            .issued(2020)
+            .build();
+    }
+
+}
@@ -99,6 +99,54 @@ public class BulkItemExportIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void testBulkItemExportWithManyRenderingThreads() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 15; i++) {
+            createItem(collection, "Person " + (char) ('A' + i), "Science", "Person");
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+        File xml = new File("person.xml");
+        xml.deleteOnExit();
+
+        String[] args = new String[] { "bulk-item-export", "-t", "Person", "-f", "person-xml", "-so", "dc.title,ASC" };
+
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+        assertThat(handler.getErrorMessages(), empty());
+        String sequentialContent = readContent(xml);
+
+        configurationService.setProperty("bulk-export.chunk-size", 2);
+        configurationService.setProperty("bulk-export.rendering-threads", 3);
+        configurationService.setProperty("bulk-export.max-pending-chunks", 4);
+        configurationService.setProperty("bulk-export.search-page-size", 4);
+        configurationService.setProperty("bulk-export.progress-interval", 5);
+
+        try {
+
+            handler = new TestDSpaceRunnableHandler();
+            handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+
+            assertThat(handler.getErrorMessages(), empty());
+            assertThat(handler.getInfoMessages(), hasItem("Found 15 items to export"));
+            assertThat(handler.getInfoMessages(), hasItem("Read 5 of 15 items to export"));
+            assertThat(handler.getInfoMessages(), hasItem("Read 15 of 15 items to export"));
+            assertThat(readContent(xml), is(sequentialContent));
+
+        } finally {
+            configurationService.setProperty("bulk-export.chunk-size", 100);
+            configurationService.setProperty("bulk-export.rendering-threads", 1);
+            configurationService.setProperty("bulk-export.max-pending-chunks", null);
+            configurationService.setProperty("bulk-export.search-page-size", 100);
+            configurationService.setProperty("bulk-export.progress-interval", 1000);
+        }
+    }
+
     @Test
     public void testBulkItemExportWithQuery() throws Exception {
 
@@ -541,6 +589,39 @@ public class BulkItemExportIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void testBulkItemExportProgressWithoutStreaming() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        createItem(collection, "Edward Red", "Science", "Publication");
+        createItem(collection, "My publication", "", "Publication");
+        createItem(collection, "Walter White", "Science", "Publication");
+        context.restoreAuthSystemState();
+        context.commit();
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("bulk-export.progress-interval", 2);
+
+        try {
+
+            // the citations are sorted over all the items, so they are not exported in chunks
+            String[] args = new String[] { "bulk-item-export", "-t", "Publication", "-f", "publication-chicago" };
+
+            TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+            File txt = new File("publications.txt");
+            txt.deleteOnExit();
+
+            handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+
+            assertThat(handler.getErrorMessages(), empty());
+            assertThat(handler.getInfoMessages(), hasItem("Found 3 items to export"));
+            assertThat(handler.getInfoMessages(), hasItem("Read 2 of 3 items to export"));
+
+        } finally {
+            configurationService.setProperty("bulk-export.progress-interval", 1000);
+        }
+    }
+
     @Test
     public void testBulkItemExportLimited() throws Exception {
 
@@ -598,6 +679,12 @@ public class BulkItemExportIT extends AbstractIntegrationTestWithDatabase {
         configurationService.setProperty("bulk-export.limit.notLoggedIn", notLoggedInLimit);
     }
 
+    private String readContent(File file) throws Exception {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            return IOUtils.toString(fis, Charset.defaultCharset());
+        }
+    }
+
     private Item createItem(Collection collection, String title, String subject, String entityType) {
         return ItemBuilder.createItem(context, collection)
             .withTitle(title)
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.content.MetadataField;
+import org.dspace.layout.CrisLayoutBox;
+import org.dspace.layout.CrisLayoutField;
+import org.dspace.layout.CrisLayoutFieldMetadata;
+import org.dspace.layout.CrisMetadataGroup;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link EntityTypeMetadataVisibility}.
+ */
+public class EntityTypeMetadataVisibilityTest {
+
+    @Test
+    public void testWithoutBoxes() {
+        EntityTypeMetadataVisibility visibility = EntityTypeMetadataVisibility.compile(List.of());
+
+        MetadataField title = metadataField(1);
+        assertThat(visibility.hasBoxes(), is(false));
+        assertThat(visibility.isPublic(title), is(false));
+        assertThat(visibility.getSecuredBoxIds(title), empty());
+    }
+
+    @Test
+    public void testPublicAndSecuredFields() {
+        MetadataField title = metadataField(1);
+        MetadataField email = metadataField(2);
+        MetadataField affiliation = metadataField(3);
+        MetadataField affiliationRole = metadataField(4);
+        MetadataField notShown = metadataField(5);
+
+        CrisLayoutBox publicBox = box(10, true, metadataLayoutField(title));
+        CrisLayoutBox firstSecuredBox = box(11, false, metadataLayoutField(email), metadataLayoutField(title));
+        CrisLayoutBox secondSecuredBox = box(12, false, metadataLayoutField(email),
+            metadataLayoutField(affiliation, affiliationRole));
+
+        EntityTypeMetadataVisibility visibility = EntityTypeMetadataVisibility
+            .compile(List.of(publicBox, firstSecuredBox, secondSecuredBox));
+
+        assertThat(visibility.hasBoxes(), is(true));
+
+        assertThat(visibility.isPublic(title), is(true));
+        assertThat(visibility.isPublic(email), is(false));
+        assertThat(visibility.isPublic(notShown), is(false));
+
+        assertThat(visibility.getSecuredBoxIds(email), contains(11, 12));
+        assertThat(visibility.getSecuredBoxIds(affiliation), contains(12));
+        assertThat(visibility.getSecuredBoxIds(affiliationRole), contains(12));
+        assertThat(visibility.getSecuredBoxIds(notShown), empty());
+    }
+
+    @Test
+    public void testOnlyMetadataLayoutFieldsAreConsidered() {
+        MetadataField file = metadataField(1);
+
+        CrisLayoutField bitstreamField = mock(CrisLayoutField.class);
+        when(bitstreamField.getMetadataField()).thenReturn(file);
+
+        CrisLayoutBox securedBox = box(10, false, bitstreamField);
+
+        EntityTypeMetadataVisibility visibility = EntityTypeMetadataVisibility.compile(List.of(securedBox));
+
+        assertThat(visibility.hasBoxes(), is(true));
+        assertThat(visibility.getSecuredBoxIds(file), empty());
+    }
+
+    private CrisLayoutBox box(int id, boolean isPublic, CrisLayoutField... fields) {
+        CrisLayoutBox box = mock(CrisLayoutBox.class);
+        when(box.getID()).thenReturn(id);
+        when(box.isPublic()).thenReturn(isPublic);
+        when(box.isNotPublic()).thenReturn(!isPublic);
+        when(box.getLayoutFields()).thenReturn(List.of(fields));
+        return box;
+    }
+
+    private CrisLayoutFieldMetadata metadataLayoutField(MetadataField metadataField, MetadataField... nestedFields) {
+        CrisLayoutFieldMetadata field = mock(CrisLayoutFieldMetadata.class);
+        when(field.getMetadataField()).thenReturn(metadataField);
+        List<CrisMetadataGroup> metadataGroups = new ArrayList<>();
+        for (MetadataField nestedField : nestedFields) {
+            CrisMetadataGroup metadataGroup = mock(CrisMetadataGroup.class);
+            when(metadataGroup.getMetadataField()).thenReturn(nestedField);
+            metadataGroups.add(metadataGroup);
+        }
+        when(field.getCrisMetadataGroupList()).thenReturn(metadataGroups);
+        return field;
+    }
+
+    private MetadataField metadataField(int id) {
+        MetadataField metadataField = mock(MetadataField.class);
+        when(metadataField.getID()).thenReturn(id);
+        return metadataField;
+    }
+
+}
@@ -24,6 +24,7 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
@@ -316,6 +317,36 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test of addCommitCallback method, of class Context.
+     */
+    @Test
+    public void testCommitCallbacks() throws SQLException {
+        Context instance = new Context();
+        AtomicInteger calls = new AtomicInteger();
+        Runnable callback = calls::incrementAndGet;
+
+        // the same callback added more times is run once
+        instance.addCommitCallback(callback);
+        instance.addCommitCallback(callback);
+        assertThat("Callback should not run before the commit", calls.get(), equalTo(0));
+
+        instance.commit();
+        assertThat("Callback should run once after the commit", calls.get(), equalTo(1));
+
+        // the callbacks are run only for the transaction they were added in
+        instance.commit();
+        assertThat("Callback should not run again", calls.get(), equalTo(1));
+
+        // the callbacks of a rolled back transaction are discarded
+        instance.addCommitCallback(callback);
+        instance.rollback();
+        instance.commit();
+        assertThat("Callback should be discarded by the rollback", calls.get(), equalTo(1));
+
+        cleanupContext(instance);
+    }
+
     /**
      * Test of abort method, of class Context.
      */
@@ -0,0 +1,194 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the curation of the items of a container with the
+ * {@link Concurrent} tasks.
+ */
+public class ConcurrentCurationIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Collection collection;
+
+    private List<Item> items;
+
+    @Before
+    public void setup() throws SQLException {
+        threadNames.clear();
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("plugin.named.org.dspace.curate.CurationTask",
+            ReportingTask.class.getName() + " = reporting");
+        configurationService.addPropertyValue("plugin.named.org.dspace.curate.CurationTask",
+            DescribingTask.class.getName() + " = describing");
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        items = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            items.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i).build());
+        }
+        context.restoreAuthSystemState();
+
+        // the workers find the items with their own contexts
+        context.commit();
+    }
+
+    @Test
+    public void testConcurrentCurationReportsInSerialOrder() throws Exception {
+
+        CuratorReportTest.ListReporter serialReporter = new CuratorReportTest.ListReporter();
+        Curator serialCurator = new Curator().setThreads(1).setReporter(serialReporter).addTask("reporting");
+        serialCurator.curate(context, collection);
+
+        assertThat(threadNames, hasSize(1));
+        threadNames.clear();
+
+        CuratorReportTest.ListReporter concurrentReporter = new CuratorReportTest.ListReporter();
+        Curator concurrentCurator = new Curator().setThreads(4).setReporter(concurrentReporter).addTask("reporting");
+        concurrentCurator.curate(context, collection);
+
+        assertThat(concurrentReporter.getReport(), is(serialReporter.getReport()));
+        assertThat(concurrentReporter.getReport(), hasSize(items.size() + 1));
+        assertThat(threadNames.size(), greaterThan(1));
+        assertThat(threadNames, everyItem(startsWith("curation-reporting-worker-")));
+
+        assertThat(concurrentCurator.getStatus("reporting"), is(serialCurator.getStatus("reporting")));
+        assertThat(concurrentCurator.getResult("reporting"), is(serialCurator.getResult("reporting")));
+    }
+
+    @Test
+    public void testConcurrentMutativeCurationWithObjectScope() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Curator curator = new Curator().setThreads(3).setTransactionScope(Curator.TxScope.OBJECT)
+                                       .addTask("describing");
+        curator.curate(context, collection);
+        context.restoreAuthSystemState();
+
+        assertThat(threadNames.size(), greaterThan(1));
+        assertThat(threadNames, everyItem(startsWith("curation-describing-worker-")));
+
+        for (Item item : items) {
+            context.uncacheEntity(item);
+            Item reloadedItem = itemService.find(context, item.getID());
+            assertThat(itemService.getMetadata(reloadedItem, "dc.description"), is("Curated"));
+        }
+    }
+
+    @Test
+    public void testMutativeCurationWithOpenScopeIsSerial() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Curator curator = new Curator().setThreads(3).setTransactionScope(Curator.TxScope.OPEN)
+                                       .addTask("describing");
+        curator.curate(context, collection);
+        context.restoreAuthSystemState();
+
+        assertThat(threadNames, hasSize(1));
+        assertThat(threadNames.iterator().next().startsWith("curation-"), is(false));
+
+        for (Item item : items) {
+            assertThat(itemService.getMetadata(context.reloadEntity(item), "dc.description"), is("Curated"));
+        }
+    }
+
+    /**
+     * Concurrent task that reports the title of the items.
+     */
+    @Concurrent
+    public static class ReportingTask extends AbstractCurationTask {
+
+        @Override
+        public int perform(DSpaceObject dso) throws IOException {
+            if (!(dso instanceof Item)) {
+                report("Skipped " + dso.getName());
+                return Curator.CURATE_SKIP;
+            }
+
+            threadNames.add(Thread.currentThread().getName());
+            sleep();
+            String title = itemService.getMetadata((Item) dso, "dc.title");
+            report("Performed on " + title);
+            setResult(title);
+            return Curator.CURATE_SUCCESS;
+        }
+
+    }
+
+    /**
+     * Concurrent task that adds a description to the items.
+     */
+    @Concurrent
+    @Mutative
+    public static class DescribingTask extends AbstractCurationTask {
+
+        @Override
+        public int perform(DSpaceObject dso) throws IOException {
+            if (!(dso instanceof Item)) {
+                return Curator.CURATE_SKIP;
+            }
+
+            threadNames.add(Thread.currentThread().getName());
+            sleep();
+            try {
+                Item item = (Item) dso;
+                itemService.addMetadata(Curator.curationContext(), item, "dc", "description", null, null, "Curated");
+                itemService.update(Curator.curationContext(), item);
+            } catch (SQLException | AuthorizeException e) {
+                throw new IOException(e);
+            }
+            return Curator.CURATE_SUCCESS;
+        }
+
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+}
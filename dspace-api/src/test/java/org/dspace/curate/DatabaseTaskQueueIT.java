@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link DatabaseTaskQueue}.
+ */
+public class DatabaseTaskQueueIT extends AbstractIntegrationTestWithDatabase {
+
+    private DatabaseTaskQueue taskQueue;
+
+    private ConfigurationService configurationService;
+
+    @Before
+    public void setup() {
+        taskQueue = new DatabaseTaskQueue();
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        for (String queueName : taskQueue.queueNames()) {
+            while (!taskQueue.dequeue(queueName, 0L, 1000).isEmpty()) {
+                taskQueue.release(queueName, 0L, true);
+            }
+        }
+    }
+
+    @Test
+    public void testEnqueueAndDequeueInBatches() throws Exception {
+
+        taskQueue.enqueue("first", entries("123456789/1", "123456789/2", "123456789/3"));
+        taskQueue.enqueue("second", entry("123456789/4"));
+
+        assertThat(taskQueue.queueNames(), arrayContaining("first", "second"));
+
+        Set<TaskQueueEntry> firstBatch = taskQueue.dequeue("first", 1L, 2);
+        assertThat(objectIds(firstBatch), contains("123456789/1", "123456789/2"));
+
+        TaskQueueEntry entry = firstBatch.iterator().next();
+        assertThat(entry.getEpersonId(), is("admin@email.com"));
+        assertThat(entry.getSubmitTime(), is(1000L));
+        assertThat(entry.getTaskNames(), contains("noop", "checklinks"));
+
+        // the claimed entries are not visible to the other readers
+        Set<TaskQueueEntry> secondBatch = taskQueue.dequeue("first", 2L, 2);
+        assertThat(objectIds(secondBatch), contains("123456789/3"));
+        assertThat(taskQueue.dequeue("first", 3L, 2), empty());
+
+        Map<String, Map<String, Object>> depths = taskQueue.getQueueDepths();
+        assertThat(depths.get("first"), hasEntry("visible", (Object) 0L));
+        assertThat(depths.get("first"), hasEntry("claimed", (Object) 3L));
+        assertThat(depths.get("second"), hasEntry("visible", (Object) 1L));
+        assertThat(depths.get("second"), hasEntry("claimed", (Object) 0L));
+
+        // the entries released without removing them are visible again
+        taskQueue.release("first", 1L, true);
+        taskQueue.release("first", 2L, false);
+
+        assertThat(taskQueue.getQueueDepths().get("first"), hasEntry("visible", (Object) 1L));
+        assertThat(objectIds(taskQueue.dequeue("first", 4L, 2)), contains("123456789/3"));
+        taskQueue.release("first", 4L, true);
+
+        assertThat(taskQueue.queueNames(), arrayContaining("second"));
+    }
+
+    @Test
+    public void testVisibilityTimeout() throws Exception {
+
+        configurationService.setProperty("curate.taskqueue.db.visibility-timeout", 0);
+
+        taskQueue.enqueue("first", entries("123456789/1", "123456789/2"));
+
+        assertThat(objectIds(taskQueue.dequeue("first", 1L, 10)), contains("123456789/1", "123456789/2"));
+
+        Thread.sleep(5);
+
+        // the entries of a reader that did not release them in time are claimed again
+        assertThat(objectIds(taskQueue.dequeue("first", 2L, 10)), contains("123456789/1", "123456789/2"));
+
+        // the first reader can no longer remove the entries claimed by the second one
+        taskQueue.release("first", 1L, true);
+        Thread.sleep(5);
+        assertThat(taskQueue.getQueueDepths().get("first"), hasEntry("visible", (Object) 2L));
+
+        taskQueue.release("first", 2L, true);
+        assertThat(taskQueue.queueNames().length, is(0));
+    }
+
+    private Set<TaskQueueEntry> entries(String... objectIds) {
+        Set<TaskQueueEntry> entries = new LinkedHashSet<>();
+        for (String objectId : objectIds) {
+            entries.add(new TaskQueueEntry("admin@email.com", 1000L, List.of("noop", "checklinks"), objectId));
+        }
+        return entries;
+    }
+
+    private TaskQueueEntry entry(String objectId) {
+        return new TaskQueueEntry("admin@email.com", 1000L, List.of("noop"), objectId);
+    }
+
+    private List<String> objectIds(Set<TaskQueueEntry> entries) {
+        return entries.stream()
+            .map(TaskQueueEntry::getObjectId)
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+}
@@ -26,9 +26,10 @@ public class MockSolrDedupCore extends SolrDedupServiceImpl implements Initializ
         solr = mockSolrServer.getSolrServer();
     }
 
-    /** Clear all records from the search core. */
+    /** Clear all records from the search core and the signatures looked up. */
     public void reset() {
         mockSolrServer.reset();
+        clearNearDuplicateSignatures();
     }
 
     @Override
@@ -0,0 +1,184 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.handle;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.cache.CacheInvalidation;
+import org.dspace.cache.CacheInvalidationBus;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.handle.dao.HandleDAO;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for {@link HandleResolutionCache}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class HandleResolutionCacheTest {
+
+    @Mock
+    private HandleDAO handleDAO;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(HandleResolutionCache.CACHE_NAME);
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @InjectMocks
+    private HandleResolutionCache handleResolutionCache;
+
+    private Context context;
+
+    @Before
+    public void setup() {
+        context = mock(Context.class);
+        when(configurationService.getBooleanProperty("handle.cache.enabled", true)).thenReturn(true);
+        when(configurationService.getLongProperty(eq("handle.cache.not-found.ttl"), anyLong())).thenReturn(60L);
+    }
+
+    @Test
+    public void testResolveIsCached() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        when(handleDAO.findByHandle(context, "123456789/1")).thenReturn(buildHandle("123456789/1", itemId));
+
+        HandleResolution first = handleResolutionCache.resolve(context, "123456789/1");
+        HandleResolution second = handleResolutionCache.resolve(context, "123456789/1");
+
+        assertThat(first.isBound(), is(true));
+        assertThat(first.getResourceId(), is(itemId));
+        assertThat(second.getResourceId(), is(itemId));
+        verify(handleDAO, times(1)).findByHandle(context, "123456789/1");
+        assertThat(handleResolutionCache.getStatistics().get("hits"), is(1L));
+        assertThat(handleResolutionCache.getStatistics().get("misses"), is(1L));
+    }
+
+    @Test
+    public void testNotFoundHandleIsCachedUntilTtl() throws Exception {
+        HandleResolution resolution = handleResolutionCache.resolve(context, "123456789/2");
+        assertThat(resolution.isFound(), is(false));
+        assertThat(resolution.getResourceId(), nullValue());
+
+        handleResolutionCache.resolve(context, "123456789/2");
+        verify(handleDAO, times(1)).findByHandle(context, "123456789/2");
+        assertThat(handleResolutionCache.getStatistics().get("notFoundHits"), is(1L));
+
+        when(configurationService.getLongProperty(eq("handle.cache.not-found.ttl"), anyLong())).thenReturn(-1L);
+        handleResolutionCache.resolve(context, "123456789/2");
+        verify(handleDAO, times(2)).findByHandle(context, "123456789/2");
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        when(handleDAO.findByHandle(context, "123456789/3"))
+            .thenReturn(null, buildHandle("123456789/3", UUID.randomUUID()));
+
+        assertThat(handleResolutionCache.resolve(context, "123456789/3").isFound(), is(false));
+        handleResolutionCache.evict(context, "123456789/3");
+        assertThat(handleResolutionCache.resolve(context, "123456789/3").isBound(), is(true));
+
+        verify(cacheInvalidationBus).publish(eq(context), anyCollection());
+    }
+
+    @Test
+    public void testEvictAgainAfterCommit() throws Exception {
+        UUID oldItemId = UUID.randomUUID();
+        UUID newItemId = UUID.randomUUID();
+        when(handleDAO.findByHandle(context, "123456789/6"))
+            .thenReturn(buildHandle("123456789/6", oldItemId), buildHandle("123456789/6", newItemId));
+
+        handleResolutionCache.evict(context, "123456789/6");
+
+        // another reader caches the committed resolution before the change is committed
+        assertThat(handleResolutionCache.resolve(context, "123456789/6").getResourceId(), is(oldItemId));
+
+        ArgumentCaptor<Runnable> commitCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(context).addCommitCallback(commitCallback.capture());
+        commitCallback.getValue().run();
+
+        assertThat(handleResolutionCache.resolve(context, "123456789/6").getResourceId(), is(newItemId));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        when(handleDAO.findByHandle(context, "123456789/7")).thenReturn(null, null, null);
+
+        handleResolutionCache.resolve(context, "123456789/7");
+        handleResolutionCache.invalidate(CacheInvalidation.of("Item", "123456789/7"));
+        handleResolutionCache.resolve(context, "123456789/7");
+        verify(handleDAO, times(1)).findByHandle(context, "123456789/7");
+
+        handleResolutionCache.invalidate(CacheInvalidation.of(HandleResolutionCache.HANDLE_TYPE, "123456789/7"));
+        handleResolutionCache.resolve(context, "123456789/7");
+        verify(handleDAO, times(2)).findByHandle(context, "123456789/7");
+
+        handleResolutionCache.invalidate(CacheInvalidation.ALL);
+        handleResolutionCache.resolve(context, "123456789/7");
+        verify(handleDAO, times(3)).findByHandle(context, "123456789/7");
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        when(configurationService.getBooleanProperty("handle.cache.enabled", true)).thenReturn(false);
+
+        handleResolutionCache.resolve(context, "123456789/4");
+        handleResolutionCache.resolve(context, "123456789/4");
+
+        verify(handleDAO, times(2)).findByHandle(context, "123456789/4");
+    }
+
+    @Test
+    public void testPrewarm() throws Exception {
+        UUID itemId = UUID.randomUUID();
+        when(handleDAO.findResolutions(any(Context.class), eq(10)))
+            .thenReturn(List.of(new HandleResolution("123456789/5", Constants.ITEM, itemId)));
+
+        assertThat(handleResolutionCache.prewarm(context, 10), is(1));
+        assertThat(handleResolutionCache.resolve(context, "123456789/5").getResourceId(), is(itemId));
+        verify(handleDAO, times(0)).findByHandle(context, "123456789/5");
+    }
+
+    private Handle buildHandle(String handleString, UUID itemId) {
+        Item item = mock(Item.class);
+        when(item.getID()).thenReturn(itemId);
+        Handle handle = mock(Handle.class);
+        when(handle.getHandle()).thenReturn(handleString);
+        when(handle.getResourceTypeId()).thenReturn(Constants.ITEM);
+        when(handle.getDSpaceObject()).thenReturn(item);
+        return handle;
+    }
+
+}
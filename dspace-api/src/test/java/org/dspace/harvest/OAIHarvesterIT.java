@@ -305,6 +305,102 @@ public class OAIHarvesterIT extends AbstractIntegrationTestWithDatabase {
         assertThat(getFirstMetadataValue(item, "cris.sourceId"), equalTo("test-harvest::3"));
     }
 
+    @Test
+    public void testRunHarvestInPipelineWithResumptionToken() throws Exception {
+
+        configurationService.setProperty("oai.harvester.pipeline.enabled", true);
+        configurationService.setProperty("oai.harvester.pipeline.workers", 2);
+        configurationService.setProperty("oai.harvester.pipeline.commit-batch-size", 2);
+
+        try {
+
+            when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
+                .thenReturn(buildResponseWithResumptionToken("publications-with-resumption-token.xml", "token"));
+            when(mockClient.listRecords(BASE_URL, "token")).thenReturn(buildResponse("single-publication.xml"));
+
+            context.turnOffAuthorisationSystem();
+            HarvestedCollection harvestRow = HarvestedCollectionBuilder.create(context, collection)
+                .withOaiSource(BASE_URL)
+                .withOaiSetId("publications")
+                .withMetadataConfigId("cerif")
+                .withHarvestType(HarvestedCollection.TYPE_DMD)
+                .withHarvestStatus(HarvestedCollection.STATUS_READY)
+                .build();
+            context.restoreAuthSystemState();
+
+            harvester.runHarvest(context, harvestRow, getDefaultOptions());
+
+            verify(mockClient).listRecords(eq(BASE_URL), isNull(), any(), eq("publications"),
+                eq("oai_cerif_openaire"));
+            verify(mockClient).listRecords(BASE_URL, "token");
+
+            List<Item> items = IteratorUtils.toList(itemService.findAllByCollection(context, collection));
+            assertThat(items, hasSize(3));
+
+            harvestRow = harvestedCollectionService.find(context, collection);
+            assertThat(harvestRow.getHarvestStatus(), equalTo(HarvestedCollection.STATUS_READY));
+            assertThat(harvestRow.getLastHarvestDate(), notNullValue());
+            assertThat(harvestRow.getHarvestMessage(), equalTo("Imported 3 records with success"));
+
+            Item item = findItemByOaiID("oai:test-harvest:Publications/1", collection);
+            assertThat(getFirstMetadataValue(item, "dc.title"), equalTo("First Publication"));
+
+            item = findItemByOaiID("oai:test-harvest:Publications/2", collection);
+            assertThat(getFirstMetadataValue(item, "dc.title"), equalTo("Second Publication"));
+
+            item = findItemByOaiID("oai:test-harvest:Publications/3", collection);
+            assertThat(getFirstMetadataValue(item, "dc.title"), equalTo("Test Publication"));
+
+        } finally {
+            configurationService.setProperty("oai.harvester.pipeline.enabled", null);
+            configurationService.setProperty("oai.harvester.pipeline.workers", null);
+            configurationService.setProperty("oai.harvester.pipeline.commit-batch-size", null);
+        }
+    }
+
+    @Test
+    public void testRunHarvestInPipelineWithOneImportFailure() throws Exception {
+
+        configurationService.setProperty("oai.harvester.pipeline.enabled", true);
+        configurationService.setProperty("oai.harvester.pipeline.workers", 1);
+
+        try {
+
+            when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
+                .thenReturn(buildResponse("many-publications-with-one-corrupted.xml"));
+
+            context.turnOffAuthorisationSystem();
+            HarvestedCollection harvestRow = HarvestedCollectionBuilder.create(context, collection)
+                .withOaiSource(BASE_URL)
+                .withOaiSetId("publications")
+                .withMetadataConfigId("cerif")
+                .withHarvestType(HarvestedCollection.TYPE_DMD)
+                .withHarvestStatus(HarvestedCollection.STATUS_READY)
+                .build();
+            context.restoreAuthSystemState();
+
+            harvester.runHarvest(context, harvestRow, getDefaultOptions());
+
+            // the records committed in the same batch of the failed one are imported anyway
+            List<Item> items = IteratorUtils.toList(itemService.findAllByCollection(context, collection));
+            assertThat(items, hasSize(2));
+
+            harvestRow = harvestedCollectionService.find(context, collection);
+            assertThat(harvestRow.getHarvestStatus(), equalTo(HarvestedCollection.STATUS_RETRY));
+            assertThat(harvestRow.getHarvestMessage(),
+                equalTo("Imported 2 records with success - Record import failures: 1"));
+
+            assertThat(
+                harvestedItemService.findByOAIId(context, "oai:test-harvest:Publications/123456789/6",
+                    collection),
+                nullValue());
+
+        } finally {
+            configurationService.setProperty("oai.harvester.pipeline.enabled", null);
+            configurationService.setProperty("oai.harvester.pipeline.workers", null);
+        }
+    }
+
     @Test
     public void testRunHarvestWithNoRecordsMatch() throws Exception {
         when(mockClient.listRecords(eq(BASE_URL), isNull(), any(), eq("publications"), eq("oai_cerif_openaire")))
@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest;
+
+import static org.dspace.harvest.service.OAIHarvesterClient.OAI_NS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.Element;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OAIListRecordsReader}.
+ */
+public class OAIListRecordsReaderTest {
+
+    private static final String OAI_PMH_DIR_PATH = "./target/testing/dspace/assetstore/oai-pmh";
+
+    @Test
+    public void testReadRecords() throws Exception {
+
+        try (OAIListRecordsReader reader = openReader("many-publications.xml")) {
+
+            List<String> identifiers = readIdentifiers(reader);
+            assertThat(identifiers, contains(
+                "oai:test-harvest:Publications/c3ae30ae-ddc4-4c25-b0b8-c87a3f850bca",
+                "oai:test-harvest:Publications/123456789/6",
+                "oai:test-harvest:Publications/123456789/7"));
+
+            assertThat(reader.hasErrors(), is(false));
+            assertThat(reader.getResumptionToken(), nullValue());
+            assertThat(reader.getCompleteListSize(), nullValue());
+        }
+
+    }
+
+    @Test
+    public void testReadRecordsWithMetadata() throws Exception {
+
+        try (OAIListRecordsReader reader = openReader("single-publication.xml")) {
+
+            Element record = reader.next();
+            assertThat(record.getChild("header", OAI_NS), notNullValue());
+            assertThat(record.getChild("metadata", OAI_NS).getChildren().isEmpty(), is(false));
+            assertThat(reader.hasNext(), is(false));
+        }
+
+    }
+
+    @Test
+    public void testReadRecordsWithResumptionToken() throws Exception {
+
+        try (OAIListRecordsReader reader = openReader("publications-with-resumption-token.xml")) {
+
+            assertThat(readIdentifiers(reader), contains("oai:test-harvest:Publications/1",
+                "oai:test-harvest:Publications/2"));
+
+            assertThat(reader.getResumptionToken(), is("oai_cerif_openaire////2"));
+            assertThat(reader.getCompleteListSize(), is(3));
+        }
+
+    }
+
+    @Test
+    public void testReadErrors() throws Exception {
+
+        try (OAIListRecordsReader reader = openReader("response-with-errors.xml")) {
+
+            assertThat(reader.hasNext(), is(false));
+            assertThat(reader.hasErrors(), is(true));
+            assertThat(reader.getErrors(), containsInAnyOrder("errorCode1", "errorCode2"));
+        }
+
+        try (OAIListRecordsReader reader = openReader("no-records-match.xml")) {
+
+            assertThat(reader.hasNext(), is(false));
+            assertThat(reader.getErrors(), contains("noRecordsMatch"));
+        }
+
+    }
+
+    @Test
+    public void testReadLargePage() throws Exception {
+
+        int recordCount = 20000;
+
+        try (OAIListRecordsReader reader = new OAIListRecordsReader(buildLargePage(recordCount))) {
+
+            long startTime = System.currentTimeMillis();
+            List<String> identifiers = readIdentifiers(reader);
+            long endTime = System.currentTimeMillis();
+
+            long duration = (endTime - startTime);
+
+            double maxDurationPerCall = 0.5;
+            double maxDuration = maxDurationPerCall * recordCount;
+            Assert.assertTrue("Duration (" + duration + ") should be smaller than " + maxDuration +
+                    " for " + recordCount + " records." +
+                    " Max of " + maxDurationPerCall + " ms per record exceeded: " +
+                    (((double) duration) / recordCount) + " ms.", duration < maxDuration);
+
+            assertThat(identifiers.size(), is(recordCount));
+            assertThat(identifiers.get(recordCount - 1), is("oai:test:" + (recordCount - 1)));
+            assertThat(reader.getResumptionToken(), is("next-page"));
+            assertThat(reader.getCompleteListSize(), is(recordCount * 2));
+            assertThat(reader.getErrors(), empty());
+        }
+
+    }
+
+    private List<String> readIdentifiers(OAIListRecordsReader reader) {
+        List<String> identifiers = new ArrayList<>();
+        while (reader.hasNext()) {
+            identifiers.add(reader.next().getChild("header", OAI_NS).getChildText("identifier", OAI_NS));
+        }
+        return identifiers;
+    }
+
+    private OAIListRecordsReader openReader(String fileName) throws Exception {
+        return new OAIListRecordsReader(new FileInputStream(new File(OAI_PMH_DIR_PATH, fileName)));
+    }
+
+    private ByteArrayInputStream buildLargePage(int recordCount) {
+        StringBuilder page = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+            .append("<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">")
+            .append("<request verb=\"ListRecords\">http://localhost/oai</request><ListRecords>");
+        for (int i = 0; i < recordCount; i++) {
+            page.append("<record><header><identifier>oai:test:").append(i).append("</identifier>")
+                .append("<datestamp>2021-01-01T00:00:00Z</datestamp></header><metadata>")
+                .append("<oai_dc:dc xmlns:oai_dc=\"http://www.openarchives.org/OAI/2.0/oai_dc/\" ")
+                .append("xmlns:dc=\"http://purl.org/dc/elements/1.1/\"><dc:title>Title ").append(i)
+                .append("</dc:title></oai_dc:dc></metadata></record>");
+        }
+        page.append("<resumptionToken completeListSize=\"").append(recordCount * 2).append("\" cursor=\"0\">")
+            .append("next-page</resumptionToken></ListRecords></OAI-PMH>");
+        return new ByteArrayInputStream(page.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
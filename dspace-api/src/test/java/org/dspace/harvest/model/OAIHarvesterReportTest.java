@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.harvest.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OAIHarvesterReport}.
+ */
+public class OAIHarvesterReportTest {
+
+    @Test
+    public void testErrorsOfRetriedRecordReportedOnce() {
+        OAIHarvesterReport report = new OAIHarvesterReport(2);
+
+        // the record is processed in a batch, then again one by one after the batch commit failed
+        report.addError("oai:test:1", List.of("Missing title", "Missing date"), "addition");
+        report.addError("oai:test:1", List.of("Missing title", "Missing date"), "addition");
+        report.addError("oai:test:1", "Duplicate handle", "none");
+        report.addError("oai:test:1", "Duplicate handle", "none");
+
+        assertThat(report.getErrors().get("oai:test:1").getMessages(),
+            contains("Missing title", "Missing date", "Duplicate handle"));
+    }
+
+}
@@ -7,8 +7,6 @@
  */
 package org.dspace.layout.service.impl;
 
-import static org.apache.commons.collections4.IteratorUtils.arrayIterator;
-import static org.apache.commons.collections4.IteratorUtils.emptyIterator;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
@@ -16,15 +14,16 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.dspace.app.metrics.CrisMetrics;
@@ -105,8 +104,7 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        Iterator<Item> relatedItems = arrayIterator(item(), item());
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(relatedItems);
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "authors")).thenReturn(true);
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(true));
 
     }
@@ -117,11 +115,72 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(emptyIterator());
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "authors")).thenReturn(false);
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(false));
 
     }
 
+    @Test
+    public void testHasContentOfManyBoxesSharesProbes() throws SQLException {
+
+        when(authorizeService.authorizeActionBoolean(eq(context), any(), eq(Constants.READ))).thenReturn(true);
+
+        Item item = item();
+
+        CrisLayoutBox authorsBox = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
+        CrisLayoutBox otherAuthorsBox = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
+        otherAuthorsBox.setId(1);
+        CrisLayoutBox projectsBox = crisLayoutBox("projects", CrisLayoutBoxTypes.RELATION.name());
+        CrisLayoutBox metric1Box = crisLayoutMetricBox("metric1");
+        metric1Box.setShortname("metric1");
+        CrisLayoutBox metric2Box = crisLayoutMetricBox("metric2");
+        metric2Box.setShortname("metric2");
+
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "authors")).thenReturn(true);
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "projects")).thenReturn(false);
+        storedCrisMetrics("metric2");
+        embeddableCrisMetrics();
+
+        Map<CrisLayoutBox, Boolean> results = crisLayoutBoxService.hasContent(context,
+            List.of(authorsBox, otherAuthorsBox, projectsBox, metric1Box, metric2Box), item);
+
+        assertThat(results.get(authorsBox), is(true));
+        assertThat(results.get(otherAuthorsBox), is(true));
+        assertThat(results.get(projectsBox), is(false));
+        assertThat(results.get(metric1Box), is(false));
+        assertThat(results.get(metric2Box), is(true));
+
+        verify(searchConfigurationUtilsService, times(1)).hasRelatedItems(context, item, "authors");
+        verify(searchConfigurationUtilsService, times(1)).hasRelatedItems(context, item, "projects");
+        verify(crisItemMetricsService, times(1)).getStoredMetrics(context, item.getID());
+        verify(crisItemMetricsService, times(1)).getEmbeddableMetrics(context, item.getID(), null);
+    }
+
+    @Test
+    public void testHasContentPredicateSharesProbesBetweenSteps() throws SQLException {
+
+        when(authorizeService.authorizeActionBoolean(eq(context), any(), eq(Constants.READ))).thenReturn(true);
+
+        Item item = item();
+
+        CrisLayoutBox metric1Box = crisLayoutMetricBox("metric1");
+        metric1Box.setShortname("metric1");
+        CrisLayoutBox alternativeMetric2Box = crisLayoutMetricBox("metric2");
+        alternativeMetric2Box.setShortname("metric2");
+
+        storedCrisMetrics("metric2");
+        embeddableCrisMetrics();
+
+        Predicate<CrisLayoutBox> hasContent = crisLayoutBoxService.hasContentPredicate(context, item);
+
+        // the box and then its alternative box, as done by the tab converter
+        assertThat(hasContent.test(metric1Box), is(false));
+        assertThat(hasContent.test(alternativeMetric2Box), is(true));
+
+        verify(crisItemMetricsService, times(1)).getStoredMetrics(context, item.getID());
+        verify(crisItemMetricsService, times(1)).getEmbeddableMetrics(context, item.getID(), null);
+    }
+
     @Test
     public void testHasContentWithBoxWithoutType() {
 
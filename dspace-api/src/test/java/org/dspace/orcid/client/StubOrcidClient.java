@@ -0,0 +1,212 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.client;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.orcid.exception.OrcidClientException;
+import org.dspace.orcid.model.OrcidTokenResponseDTO;
+import org.orcid.jaxb.model.v3.release.record.Person;
+import org.orcid.jaxb.model.v3.release.record.Record;
+import org.orcid.jaxb.model.v3.release.record.WorkBulk;
+import org.orcid.jaxb.model.v3.release.record.summary.Works;
+import org.orcid.jaxb.model.v3.release.search.expanded.ExpandedSearch;
+
+/**
+ * Local stub of {@link OrcidClient} that accepts all the pushes, updates and
+ * deletions, simulating the latency of the ORCID API. It records the requests
+ * received for each ORCID iD, checks that the requests for the same ORCID iD
+ * are never concurrent and can be configured to fail the first requests.
+ */
+public class StubOrcidClient implements OrcidClient {
+
+    private final long latencyMillis;
+
+    private final AtomicInteger putCodes = new AtomicInteger(1000);
+
+    private final Deque<OrcidClientException> failures = new ConcurrentLinkedDeque<>();
+
+    private final Map<String, List<String>> requestsByOrcid = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> inFlightByOrcid = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile boolean concurrentRequestsForSameOrcid = false;
+
+    public StubOrcidClient(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Fails the next request with the given status.
+     */
+    public StubOrcidClient failNextRequest(int status) {
+        return failNextRequest(new OrcidClientException(status, "Stub failure with status " + status));
+    }
+
+    /**
+     * Fails the next request with the given exception.
+     */
+    public StubOrcidClient failNextRequest(OrcidClientException failure) {
+        failures.add(failure);
+        return this;
+    }
+
+    @Override
+    public OrcidResponse push(String accessToken, String orcid, Object object) {
+        return execute(orcid, "push", new OrcidResponse(201, String.valueOf(putCodes.incrementAndGet()), null));
+    }
+
+    @Override
+    public OrcidResponse update(String accessToken, String orcid, Object object, String putCode) {
+        return execute(orcid, "update " + putCode, new OrcidResponse(200, putCode, null));
+    }
+
+    @Override
+    public OrcidResponse deleteByPutCode(String accessToken, String orcid, String putCode, String path) {
+        return execute(orcid, "delete " + putCode, new OrcidResponse(204, null, null));
+    }
+
+    private OrcidResponse execute(String orcid, String request, OrcidResponse response) {
+        AtomicInteger inFlightForOrcid = inFlightByOrcid.computeIfAbsent(orcid, key -> new AtomicInteger());
+        if (inFlightForOrcid.incrementAndGet() > 1) {
+            concurrentRequestsForSameOrcid = true;
+        }
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        requests.incrementAndGet();
+
+        try {
+            Thread.sleep(latencyMillis);
+
+            OrcidClientException failure = failures.poll();
+            if (failure != null) {
+                throw failure;
+            }
+
+            requestsByOrcid.computeIfAbsent(orcid, key -> new ArrayList<>()).add(request);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrcidClientException(e);
+        } finally {
+            inFlight.decrementAndGet();
+            inFlightForOrcid.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the successful requests received for the given ORCID iD, in the
+     * order in which they were received.
+     */
+    public List<String> getRequests(String orcid) {
+        return requestsByOrcid.getOrDefault(orcid, List.of());
+    }
+
+    /**
+     * Returns the number of requests received, failed ones included.
+     */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public boolean hasReceivedConcurrentRequestsForSameOrcid() {
+        return concurrentRequestsForSameOrcid;
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getReadPublicAccessToken() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getWebhookAccessToken() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public OrcidTokenResponseDTO getAccessToken(String code) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Person getPerson(String accessToken, String orcid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Record getRecord(String accessToken, String orcid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Works getWorks(String accessToken, String orcid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Works getWorks(String orcid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WorkBulk getWorkBulk(String accessToken, String orcid, List<String> putCodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WorkBulk getWorkBulk(String orcid, List<String> putCodes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> Optional<T> getObject(String accessToken, String orcid, String putCode, Class<T> clazz) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> Optional<T> getObject(String orcid, String putCode, Class<T> clazz) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public OrcidResponse registerWebhook(String accessToken, String orcid, String url) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public OrcidResponse unregisterWebhook(String accessToken, String orcid, String url) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ExpandedSearch expandedSearch(String accessToken, String query, int start, int rows) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ExpandedSearch expandedSearch(String query, int start, int rows) {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.orcid.client;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import org.dspace.orcid.exception.OrcidClientException;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThrottledOrcidClient} and {@link OrcidRateLimiter},
+ * against a {@link StubOrcidClient}.
+ */
+public class ThrottledOrcidClientTest {
+
+    private static final String ORCID = "0000-1111-2222-3333";
+
+    @Test
+    public void testTransientErrorsAreRetried() {
+        StubOrcidClient stubClient = new StubOrcidClient(0).failNextRequest(503).failNextRequest(429);
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(1000, 10), 3, 1);
+
+        OrcidResponse response = client.update("token", ORCID, new Object(), "12345");
+
+        assertThat(response.getStatus(), is(200));
+        assertThat(client.getRetries(), is(2L));
+        assertThat(stubClient.getRequestCount(), is(3));
+        assertThat(stubClient.getRequests(ORCID), contains("update 12345"));
+    }
+
+    @Test
+    public void testRetriesAreBounded() {
+        StubOrcidClient stubClient = new StubOrcidClient(0).failNextRequest(500).failNextRequest(502)
+            .failNextRequest(503);
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(1000, 10), 2, 1);
+
+        try {
+            client.deleteByPutCode("token", ORCID, "12345", "/work");
+            fail("Expected an OrcidClientException");
+        } catch (OrcidClientException ex) {
+            assertThat(ex.getStatus(), is(503));
+        }
+
+        assertThat(client.getRetries(), is(2L));
+        assertThat(stubClient.getRequestCount(), is(3));
+    }
+
+    @Test
+    public void testClientErrorsAreNotRetried() {
+        StubOrcidClient stubClient = new StubOrcidClient(0).failNextRequest(409);
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(1000, 10), 3, 1);
+
+        try {
+            client.push("token", ORCID, new Object());
+            fail("Expected an OrcidClientException");
+        } catch (OrcidClientException ex) {
+            assertThat(ex.getStatus(), is(409));
+        }
+
+        assertThat(client.getRetries(), is(0L));
+        assertThat(stubClient.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void testPushIsRetriedOnlyIfNotProcessed() {
+        StubOrcidClient stubClient = new StubOrcidClient(0).failNextRequest(429)
+            .failNextRequest(new OrcidClientException(new ConnectException("Connection refused")));
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(1000, 10), 3, 1);
+
+        assertThat(client.push("token", ORCID, new Object()).getStatus(), is(201));
+        assertThat(client.getRetries(), is(2L));
+
+        // ORCID could have created the object before failing
+        stubClient.failNextRequest(503);
+        try {
+            client.push("token", ORCID, new Object());
+            fail("Expected an OrcidClientException");
+        } catch (OrcidClientException ex) {
+            assertThat(ex.getStatus(), is(503));
+        }
+
+        stubClient.failNextRequest(new OrcidClientException(new SocketTimeoutException("Read timed out")));
+        try {
+            client.push("token", ORCID, new Object());
+            fail("Expected an OrcidClientException");
+        } catch (OrcidClientException ex) {
+            assertThat(ex.getCause() instanceof SocketTimeoutException, is(true));
+        }
+
+        assertThat(client.getRetries(), is(2L));
+        assertThat(stubClient.getRequests(ORCID), hasSize(1));
+    }
+
+    @Test
+    public void testRetryAfterIsHonoured() {
+        StubOrcidClient stubClient = new StubOrcidClient(0)
+            .failNextRequest(new OrcidClientException(429, "Too Many Requests", 1L));
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(1000, 10), 3, 1);
+
+        long start = System.nanoTime();
+        assertThat(client.push("token", ORCID, new Object()).getStatus(), is(201));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMillis, greaterThanOrEqualTo(1000L));
+        assertThat(client.getRetries(), is(1L));
+    }
+
+    @Test
+    public void testRequestsAreRateLimited() {
+        StubOrcidClient stubClient = new StubOrcidClient(0);
+        ThrottledOrcidClient client = new ThrottledOrcidClient(stubClient, new OrcidRateLimiter(50, 5), 3, 1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 15; i++) {
+            client.push("token", ORCID, new Object());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the first 5 requests use the burst, the other 10 need 10 tokens at 50 per second
+        assertThat(elapsedMillis, greaterThanOrEqualTo(180L));
+        assertThat(stubClient.getRequests(ORCID).size(), is(15));
+    }
+
+    @Test
+    public void testRateLimiterBurst() {
+        OrcidRateLimiter rateLimiter = new OrcidRateLimiter(1, 3);
+
+        assertThat(rateLimiter.tryAcquire(), is(true));
+        assertThat(rateLimiter.tryAcquire(), is(true));
+        assertThat(rateLimiter.tryAcquire(), is(true));
+        assertThat(rateLimiter.tryAcquire(), is(false));
+    }
+
+}
@@ -20,6 +20,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -50,6 +51,7 @@ import org.dspace.orcid.OrcidOperation;
 import org.dspace.orcid.OrcidQueue;
 import org.dspace.orcid.client.OrcidClient;
 import org.dspace.orcid.client.OrcidResponse;
+import org.dspace.orcid.client.StubOrcidClient;
 import org.dspace.orcid.exception.OrcidClientException;
 import org.dspace.orcid.factory.OrcidServiceFactory;
 import org.dspace.orcid.service.OrcidQueueService;
@@ -491,6 +493,58 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
             matches(history(profileItem, entity, 400, INSERT))));
     }
 
+    @Test
+    public void testWithConcurrentSynchronization() throws Exception {
+
+        configurationService.setProperty("orcid.bulk-synchronization.threads", 3);
+        configurationService.setProperty("orcid.bulk-synchronization.retry-backoff", 1);
+
+        StubOrcidClient stubOrcidClient = new StubOrcidClient(20).failNextRequest(503);
+        orcidHistoryService.setOrcidClient(stubOrcidClient);
+
+        Item firstOwner = createOwnerItem("0000-1111-2222-3333", BATCH, eperson);
+        Item secondOwner = createOwnerItem("1111-2222-3333-4444", BATCH, admin);
+
+        Item firstEntity = createPublication("First publication");
+        Item secondEntity = createPublication("Second publication");
+        Item thirdEntity = createPublication("Third publication");
+        Item fourthEntity = createPublication("Fourth publication");
+        Item fifthEntity = createPublication("Fifth publication");
+
+        createOrcidQueue(context, firstOwner, firstEntity, "101");
+        createOrcidQueue(context, secondOwner, secondEntity, "201");
+        createOrcidQueue(context, firstOwner, thirdEntity, "102");
+        createOrcidQueue(context, secondOwner, fourthEntity, "202");
+        createOrcidQueue(context, firstOwner, fifthEntity, "103");
+
+        context.commit();
+
+        TestDSpaceRunnableHandler handler = runBulkSynchronization(false);
+
+        assertThat(handler.getInfoMessages(), hasItem("Found 5 queue records to synchronize with ORCID"));
+        assertThat(handler.getInfoMessages(),
+            hasItem("Synchronized the records of 2 profiles with 3 threads, 1 requests were retried"));
+        assertThat(handler.getErrorMessages(), empty());
+        assertThat(handler.getWarningMessages(), empty());
+
+        assertThat(stubOrcidClient.getRequests("0000-1111-2222-3333"),
+            contains("update 101", "update 102", "update 103"));
+        assertThat(stubOrcidClient.getRequests("1111-2222-3333-4444"), contains("update 201", "update 202"));
+        assertThat(stubOrcidClient.hasReceivedConcurrentRequestsForSameOrcid(), is(false));
+        // the records of the two profiles are pushed concurrently
+        assertThat(stubOrcidClient.getMaxInFlight(), greaterThan(1));
+
+        assertThat(orcidQueueService.findAll(context), empty());
+
+        List<OrcidHistory> historyRecords = orcidHistoryService.findAll(context);
+        assertThat(historyRecords, hasSize(5));
+        assertThat(historyRecords, hasItem(matches(history(firstOwner, firstEntity, 200, UPDATE))));
+        assertThat(historyRecords, hasItem(matches(history(secondOwner, secondEntity, 200, UPDATE))));
+        assertThat(historyRecords, hasItem(matches(history(firstOwner, thirdEntity, 200, UPDATE))));
+        assertThat(historyRecords, hasItem(matches(history(secondOwner, fourthEntity, 200, UPDATE))));
+        assertThat(historyRecords, hasItem(matches(history(firstOwner, fifthEntity, 200, UPDATE))));
+    }
+
     private Predicate<OrcidHistory> history(Item profileItem, Item entity, int status, OrcidOperation operation) {
         return history -> profileItem.equals(history.getProfileItem())
             && entity.equals(history.getEntity())
@@ -0,0 +1,203 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link BatchCleanup}.
+ */
+public class BatchCleanupIT extends AbstractIntegrationTestWithDatabase {
+
+    private BitstreamStorageServiceImpl bitstreamStorageService =
+        (BitstreamStorageServiceImpl) StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private File checkpointFile;
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        checkpointFile = File.createTempFile("cleanup", ".checkpoint");
+        checkpointFile.delete();
+        configurationService.setProperty("assetstore.cleanup.checkpoint-file", checkpointFile.getAbsolutePath());
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void cleanCheckpoint() {
+        checkpointFile.delete();
+    }
+
+    @Test
+    public void testBatchedCleanup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream first = createBitstream("First content");
+        Bitstream second = createBitstream("Second content");
+        configurationService.setProperty("assetstore.dedup.enabled", true);
+        Bitstream kept = createBitstream("Shared content");
+        Bitstream shared = createBitstream("Shared content");
+        List<File> files = Stream.of(first, second, shared).map(this::file).collect(Collectors.toList());
+
+        delete(first, second, shared);
+        context.restoreAuthSystemState();
+
+        bitstreamStorageService.cleanup(true, false, false, 2, 2);
+
+        assertThat(reload(first), nullValue());
+        assertThat(reload(second), nullValue());
+        assertThat(reload(shared), nullValue());
+        assertThat(files.get(0).exists(), is(false));
+        assertThat(files.get(1).exists(), is(false));
+
+        // the asset shared with a bitstream not deleted is kept
+        assertThat(files.get(2).exists(), is(true));
+        assertThat(read(reload(kept)), is("Shared content"));
+
+        assertThat(checkpointFile.exists(), is(false));
+    }
+
+    @Test
+    public void testSharedAssetRemovedWithTheLastSharer() throws Exception {
+        configurationService.setProperty("assetstore.dedup.enabled", true);
+        context.turnOffAuthorisationSystem();
+        Bitstream first = createBitstream("Shared content");
+        Bitstream second = createBitstream("Shared content");
+        File file = file(first);
+        assertThat(file(second), is(file));
+
+        delete(first);
+        context.restoreAuthSystemState();
+
+        bitstreamStorageService.cleanup(true, false, false, 10, 2);
+
+        assertThat(reload(first), nullValue());
+        assertThat(file.exists(), is(true));
+        assertThat(read(reload(second)), is("Shared content"));
+
+        context.turnOffAuthorisationSystem();
+        delete(reload(second));
+        context.restoreAuthSystemState();
+
+        bitstreamStorageService.cleanup(true, false, false, 10, 2);
+
+        assertThat(reload(second), nullValue());
+        assertThat(file.exists(), is(false));
+        assertThat(checkpointFile.exists(), is(false));
+    }
+
+    @Test
+    public void testDryRun() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Content");
+        File file = file(bitstream);
+        delete(bitstream);
+        context.restoreAuthSystemState();
+
+        bitstreamStorageService.cleanup(true, false, true, 10, 2);
+
+        assertThat(reload(bitstream), notNullValue());
+        assertThat(file.exists(), is(true));
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<Bitstream> bitstreams = Stream.of(createBitstream("First content"), createBitstream("Second content"))
+            .sorted(Comparator.comparing(bitstream -> bitstream.getID().toString()))
+            .collect(Collectors.toList());
+        List<File> files = bitstreams.stream().map(this::file).collect(Collectors.toList());
+        delete(bitstreams.toArray(new Bitstream[0]));
+        context.restoreAuthSystemState();
+
+        // a previous cleanup was interrupted after the first bitstream
+        Files.writeString(checkpointFile.toPath(), bitstreams.get(0).getID().toString());
+
+        bitstreamStorageService.cleanup(true, false, false, 10, 2);
+
+        assertThat(reload(bitstreams.get(0)), notNullValue());
+        assertThat(files.get(0).exists(), is(true));
+        assertThat(reload(bitstreams.get(1)), nullValue());
+        assertThat(files.get(1).exists(), is(false));
+        assertThat(checkpointFile.exists(), is(false));
+    }
+
+    private Bitstream createBitstream(String content) throws Exception {
+        try (InputStream is = IOUtils.toInputStream(content, UTF_8)) {
+            return BitstreamBuilder.createBitstream(context, item, is).build();
+        }
+    }
+
+    private void delete(Bitstream... bitstreams) throws Exception {
+        for (Bitstream bitstream : bitstreams) {
+            bitstreamService.delete(context, bitstream);
+            // the assets stored in the last hour are not removed
+            file(bitstream).setLastModified(System.currentTimeMillis() - 2 * 60 * 60 * 1000);
+        }
+        context.commit();
+    }
+
+    private Bitstream reload(Bitstream bitstream) throws Exception {
+        context.uncacheEntity(bitstream);
+        return bitstreamService.find(context, bitstream.getID());
+    }
+
+    private File file(Bitstream bitstream) {
+        try {
+            return new File(bitstreamStorageService.absolutePath(context, bitstream));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String read(Bitstream bitstream) throws Exception {
+        try (InputStream is = bitstreamStorageService.retrieve(context, bitstream)) {
+            return IOUtils.toString(is, UTF_8);
+        }
+    }
+
+}
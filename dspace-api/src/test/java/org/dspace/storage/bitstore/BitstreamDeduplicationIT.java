@@ -0,0 +1,137 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the content-addressed storage of the bitstreams.
+ */
+public class BitstreamDeduplicationIT extends AbstractIntegrationTestWithDatabase {
+
+    private BitstreamStorageServiceImpl bitstreamStorageService =
+        (BitstreamStorageServiceImpl) StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private Item item;
+
+    @Before
+    public void setup() {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testStoreSharesDuplicateContent() throws Exception {
+        configurationService.setProperty("assetstore.dedup.enabled", true);
+
+        context.turnOffAuthorisationSystem();
+        Bitstream first = createBitstream("Duplicated content");
+        Bitstream second = createBitstream("Duplicated content");
+        Bitstream third = createBitstream("Other content");
+        context.restoreAuthSystemState();
+
+        assertThat(second.getInternalId(), is(first.getInternalId()));
+        assertThat(third.getInternalId(), not(first.getInternalId()));
+        assertThat(read(second), is("Duplicated content"));
+        assertThat(read(third), is("Other content"));
+    }
+
+    @Test
+    public void testStoreWithoutDeduplication() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Bitstream first = createBitstream("Duplicated content");
+        Bitstream second = createBitstream("Duplicated content");
+        context.restoreAuthSystemState();
+
+        assertThat(second.getInternalId(), not(first.getInternalId()));
+    }
+
+    @Test
+    public void testDeduplicateStoredBitstreams() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<Bitstream> bitstreams = List.of(createBitstream("Duplicated content"),
+            createBitstream("Duplicated content"), createBitstream("Duplicated content"));
+        Bitstream other = createBitstream("Other content");
+        context.commit();
+
+        List<File> files = List.of(file(bitstreams.get(0)), file(bitstreams.get(1)), file(bitstreams.get(2)));
+        String originalId = bitstreams.stream().map(Bitstream::getInternalId).sorted().findFirst().get();
+
+        bitstreamStorageService.deduplicate(context, 0, true, false);
+
+        for (int i = 0; i < bitstreams.size(); i++) {
+            assertThat(files.get(i).exists(), is(true));
+            assertThat(reload(bitstreams.get(i)).getInternalId(), is(files.get(i).getName()));
+        }
+
+        bitstreamStorageService.deduplicate(context, 0, false, false);
+        context.restoreAuthSystemState();
+
+        for (int i = 0; i < bitstreams.size(); i++) {
+            Bitstream bitstream = reload(bitstreams.get(i));
+            assertThat(bitstream.getInternalId(), is(originalId));
+            assertThat(read(bitstream), is("Duplicated content"));
+            assertThat(files.get(i).exists(), is(files.get(i).getName().equals(originalId)));
+        }
+        assertThat(reload(other).getInternalId(), not(originalId));
+        assertThat(read(reload(other)), is("Other content"));
+    }
+
+    private Bitstream createBitstream(String content) throws Exception {
+        try (InputStream is = IOUtils.toInputStream(content, UTF_8)) {
+            return BitstreamBuilder.createBitstream(context, item, is).build();
+        }
+    }
+
+    private Bitstream reload(Bitstream bitstream) throws Exception {
+        context.uncacheEntity(bitstream);
+        return bitstreamService.find(context, bitstream.getID());
+    }
+
+    private File file(Bitstream bitstream) throws Exception {
+        return new File(bitstreamStorageService.absolutePath(context, bitstream));
+    }
+
+    private String read(Bitstream bitstream) throws Exception {
+        try (InputStream is = bitstreamStorageService.retrieve(context, bitstream)) {
+            return IOUtils.toString(is, UTF_8);
+        }
+    }
+
+}
@@ -229,6 +229,30 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamsBulkDeletion() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        Bitstream firstBitstream = createBitstream("First bitstream content");
+        Bitstream secondBitstream = createBitstream("Second bitstream content");
+        Bitstream thirdBitstream = createBitstream("Third bitstream content");
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(firstBitstream, toInputStream("First bitstream content"));
+        s3BitStoreService.put(secondBitstream, toInputStream("Second bitstream content"));
+        s3BitStoreService.put(thirdBitstream, toInputStream("Third bitstream content"));
+
+        List<Bitstream> removed = s3BitStoreService.removeAll(List.of(firstBitstream, secondBitstream));
+        assertThat(removed, contains(firstBitstream, secondBitstream));
+
+        assertThrows(IOException.class, () -> s3BitStoreService.get(firstBitstream));
+        assertThrows(IOException.class, () -> s3BitStoreService.get(secondBitstream));
+        assertThat(s3BitStoreService.get(thirdBitstream), notNullValue());
+
+    }
+
     @Test
     public void testAbout() throws IOException {
 
@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ColumnWidthEstimator}.
+ */
+public class ColumnWidthEstimatorTest {
+
+    @Test
+    public void testWidthFromLongestSampledValue() {
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(10);
+        estimator.sample(List.of("id", "dc.title"));
+        estimator.sample(List.of("1", "A longer title"));
+        estimator.sample(Map.of(1, "Short"));
+
+        Sheet sheet = mock(Sheet.class);
+        estimator.apply(sheet);
+
+        verify(sheet).setColumnWidth(0, (2 + 2) * 256);
+        verify(sheet).setColumnWidth(1, (14 + 2) * 256);
+    }
+
+    @Test
+    public void testOnlyFirstRowsAreSampled() {
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(2);
+        estimator.sample(List.of("id"));
+        assertTrue(estimator.isSampling());
+        estimator.sample(List.of("1"));
+        assertFalse(estimator.isSampling());
+        estimator.sample(List.of("a value that is not sampled"));
+
+        Sheet sheet = mock(Sheet.class);
+        estimator.apply(sheet);
+
+        verify(sheet).setColumnWidth(0, (2 + 2) * 256);
+    }
+
+    @Test
+    public void testMultilineAndVeryLongValues() {
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(10);
+        estimator.sample(List.of("first line\nsecond", StringUtils.repeat("x", 1000)));
+
+        Sheet sheet = mock(Sheet.class);
+        estimator.apply(sheet);
+
+        verify(sheet).setColumnWidth(0, (10 + 2) * 256);
+        verify(sheet).setColumnWidth(1, 255 * 256);
+    }
+
+    @Test
+    public void testEmptyValuesAreNotResized() {
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(10);
+        estimator.sample(Map.of(3, ""));
+
+        Sheet sheet = mock(Sheet.class);
+        estimator.apply(sheet);
+
+        verify(sheet, never()).setColumnWidth(anyInt(), anyInt());
+    }
+}
@@ -13,7 +13,10 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.CurationTaskQueueHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
+import org.dspace.app.rest.health.HandleCacheHealthIndicator;
+import org.dspace.app.rest.health.HibernateCacheHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
@@ -88,6 +91,24 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("hibernateCache")
+    public HibernateCacheHealthIndicator hibernateCacheHealthIndicator() {
+        return new HibernateCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("handleCache")
+    public HandleCacheHealthIndicator handleCacheHealthIndicator() {
+        return new HandleCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("curationTaskQueue")
+    public CurationTaskQueueHealthIndicator curationTaskQueueHealthIndicator() {
+        return new CurationTaskQueueHealthIndicator();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
@@ -12,10 +12,13 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 
@@ -33,6 +36,7 @@ import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -88,6 +92,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -206,6 +213,7 @@ public class ConverterService {
             pageable = utils.getPageable(pageable);
         }
         List<M> pageableObjects = utils.getPageObjectList(modelObjects, pageable);
+        prefetch(pageableObjects, projection);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : pageableObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -230,6 +238,7 @@ public class ConverterService {
      * @return the page.
      */
     public <M, R> Page<R> toRestPage(List<M> modelObjects, Pageable pageable, long total, Projection projection) {
+        prefetch(modelObjects, projection);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : modelObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -244,6 +253,40 @@ public class ConverterService {
     }
 
 
+    /**
+     * Allows the converters of the given model objects to load in advance, with
+     * few set-based queries, the data needed to convert all of them with the
+     * given {@link Projection}, instead of loading it object by object. The
+     * objects are grouped by class and passed to the converter of each class.
+     * <p>
+     * The prefetching can be disabled with the
+     * <code>rest.converter.batch-prefetch.enabled</code> property.
+     *
+     * @param modelObjects the model objects that are going to be converted
+     * @param projection   the projection to use
+     */
+    public void prefetch(List<?> modelObjects, Projection projection) {
+        if (modelObjects == null || modelObjects.size() < 2 || !isBatchPrefetchEnabled()) {
+            return;
+        }
+
+        Map<Class<?>, List<Object>> modelObjectsByClass = modelObjects.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.groupingBy(Object::getClass, LinkedHashMap::new, Collectors.toList()));
+
+        for (Map.Entry<Class<?>, List<Object>> entry : modelObjectsByClass.entrySet()) {
+            try {
+                requireConverter(entry.getKey()).prefetch(entry.getValue(), projection);
+            } catch (RuntimeException e) {
+                // the objects will be loaded one by one during the conversion
+                log.warn("Unable to prefetch the objects of type " + entry.getKey().getSimpleName(), e);
+            }
+        }
+    }
+
+    private boolean isBatchPrefetchEnabled() {
+        return configurationService.getBooleanProperty("rest.converter.batch-prefetch.enabled", true);
+    }
     /**
      * Gets the converter supporting the given class as input.
      *
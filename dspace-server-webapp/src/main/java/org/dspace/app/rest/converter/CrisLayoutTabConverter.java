@@ -8,9 +8,12 @@
 package org.dspace.app.rest.converter;
 
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -104,7 +107,7 @@ public class CrisLayoutTabConverter implements DSpaceConverter<CrisLayoutTab, Cr
         rest.setHeader(tab.getHeader());
         rest.setPriority(tab.getPriority());
         rest.setSecurity(tab.getSecurity());
-        rest.setRows(convertRows(getScopeItem(), tab.getRows(), projection));
+        rest.setRows(convertRows(findBoxesToShow(getScopeItem(), tab), tab.getRows(), projection));
         rest.setLeading(tab.isLeading());
         return rest;
     }
@@ -127,54 +130,89 @@ public class CrisLayoutTabConverter implements DSpaceConverter<CrisLayoutTab, Cr
         return tab;
     }
 
-    private List<CrisLayoutRowRest> convertRows(Item item, List<CrisLayoutRow> rows, Projection projection) {
+    private List<CrisLayoutRowRest> convertRows(Map<CrisLayoutBox, CrisLayoutBox> boxesToShow,
+        List<CrisLayoutRow> rows, Projection projection) {
         return rows.stream()
-            .map(row -> convertRow(item, row, projection))
+            .map(row -> convertRow(boxesToShow, row, projection))
             .filter(row -> CollectionUtils.isNotEmpty(row.getCells()))
             .collect(Collectors.toList());
     }
 
-    private CrisLayoutRowRest convertRow(Item item, CrisLayoutRow row, Projection projection) {
+    private CrisLayoutRowRest convertRow(Map<CrisLayoutBox, CrisLayoutBox> boxesToShow, CrisLayoutRow row,
+        Projection projection) {
         CrisLayoutRowRest rest = new CrisLayoutRowRest();
         rest.setStyle(row.getStyle());
-        rest.setCells(convertCells(item, row.getCells(), projection));
+        rest.setCells(convertCells(boxesToShow, row.getCells(), projection));
         return rest;
     }
 
-    private List<CrisLayoutCellRest> convertCells(Item item, List<CrisLayoutCell> cells, Projection projection) {
+    private List<CrisLayoutCellRest> convertCells(Map<CrisLayoutBox, CrisLayoutBox> boxesToShow,
+        List<CrisLayoutCell> cells, Projection projection) {
         return cells.stream()
-            .map(cell -> convertCell(item, cell, projection))
+            .map(cell -> convertCell(boxesToShow, cell, projection))
             .filter(cell -> CollectionUtils.isNotEmpty(cell.getBoxes()))
             .collect(Collectors.toList());
     }
 
-    private CrisLayoutCellRest convertCell(Item item, CrisLayoutCell cell, Projection projection) {
+    private CrisLayoutCellRest convertCell(Map<CrisLayoutBox, CrisLayoutBox> boxesToShow, CrisLayoutCell cell,
+        Projection projection) {
         CrisLayoutCellRest rest = new CrisLayoutCellRest();
         rest.setStyle(cell.getStyle());
-        rest.setBoxes(convertBoxes(item, cell.getBoxes(), projection));
+        rest.setBoxes(convertBoxes(boxesToShow, cell.getBoxes(), projection));
         return rest;
     }
 
-    private List<CrisLayoutBoxRest> convertBoxes(Item item, List<CrisLayoutBox> boxes, Projection projection) {
+    private List<CrisLayoutBoxRest> convertBoxes(Map<CrisLayoutBox, CrisLayoutBox> boxesToShow,
+        List<CrisLayoutBox> boxes, Projection projection) {
         return boxes.stream()
-                    .map(box -> getCrisLayoutBox(item, box))
+                    .map(boxesToShow::get)
                     .filter(Objects::nonNull)
                     .map(box -> boxConverter.convert(box, projection))
                     .collect(Collectors.toList());
     }
 
-    private CrisLayoutBox getCrisLayoutBox(Item item, CrisLayoutBox box) {
+    /**
+     * Returns a map that associates each box of the given tab with the box to be
+     * shown in its place: the box itself, if the current user has access to it
+     * and it has content, or its alternative box, if it has content. Boxes that
+     * must not be shown are not present in the map. The content of all the boxes
+     * is checked in bulk, so that the checks shared between them are performed
+     * only once.
+     */
+    private Map<CrisLayoutBox, CrisLayoutBox> findBoxesToShow(Item item, CrisLayoutTab tab) {
+
+        List<CrisLayoutBox> boxes = tab.getRows().stream()
+            .flatMap(row -> row.getCells().stream())
+            .flatMap(cell -> cell.getBoxes().stream())
+            .collect(Collectors.toList());
 
+        Map<CrisLayoutBox, CrisLayoutBox> boxesToShow = new HashMap<>();
         if (item == null) {
-            return box;
+            boxes.forEach(box -> boxesToShow.put(box, box));
+            return boxesToShow;
+        }
+
+        Context context = ContextUtil.obtainCurrentRequestContext();
+
+        List<CrisLayoutBox> accessibleBoxes = boxes.stream()
+            .filter(box -> hasAccess(item, box))
+            .collect(Collectors.toList());
+
+        // the same predicate is used for the boxes and their alternatives, so that the checks are shared
+        Predicate<CrisLayoutBox> hasContent = crisLayoutBoxService.hasContentPredicate(context, item);
+        Map<CrisLayoutBox, Boolean> boxesContent = new HashMap<>();
+        accessibleBoxes.stream()
+            .filter(box -> boxesContent.computeIfAbsent(box, hasContent::test))
+            .forEach(box -> boxesToShow.put(box, box));
+
+        for (CrisLayoutBox box : boxes) {
+            CrisLayoutBox alternativeBox = boxesToShow.containsKey(box) ? null : findAlternativeBox(box);
+            if (alternativeBox != null && boxesContent.computeIfAbsent(alternativeBox, hasContent::test)) {
+                boxesToShow.put(box, alternativeBox);
+            }
         }
 
-        return Optional.of(box)
-                       .filter(b -> hasAccess(item, b) && hasContent(item, b))
-                       .orElseGet(() ->
-                           Optional.ofNullable(findAlternativeBox(box))
-                                   .filter(altBox -> hasContent(item, altBox))
-                                   .orElse(null));
+        return boxesToShow;
     }
 
     private boolean hasAccess(Item item, CrisLayoutBox box) {
@@ -182,11 +220,6 @@ public class CrisLayoutTabConverter implements DSpaceConverter<CrisLayoutTab, Cr
         return crisLayoutBoxService.hasAccess(context, box, item);
     }
 
-    private boolean hasContent(Item item, CrisLayoutBox box) {
-        Context context = ContextUtil.obtainCurrentRequestContext();
-        return crisLayoutBoxService.hasContent(context, box, item);
-    }
-
     private CrisLayoutBox findAlternativeBox(CrisLayoutBox box) {
         return box.getBox2SecurityGroups()
                   .stream()
@@ -7,6 +7,8 @@
  */
 package org.dspace.app.rest.converter;
 
+import java.util.List;
+
 import org.dspace.app.rest.projection.Projection;
 
 /**
@@ -27,6 +29,19 @@ public interface DSpaceConverter<M, R> {
      */
     R convert(M modelObject, Projection projection);
 
+    /**
+     * Load in advance, with few queries, the data needed to convert the given
+     * model objects, that are going to be converted one by one with the same
+     * projection (e.g. the objects of a page of results). The default
+     * implementation does nothing.
+     *
+     * @param modelObjects the DSpace API model objects to be converted
+     * @param projection   the projection that will be applied
+     */
+    default void prefetch(List<M> modelObjects, Projection projection) {
+
+    }
+
     /**
      * For what DSpace API model class does this converter convert?
      * @return Class of model objects represented.
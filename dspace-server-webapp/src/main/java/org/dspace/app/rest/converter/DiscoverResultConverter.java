@@ -9,6 +9,7 @@ package org.dspace.app.rest.converter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -75,6 +76,7 @@ public class DiscoverResultConverter {
 
     private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
                                   final Projection projection) {
+        prefetchIndexedObjects(searchResult, projection);
         for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
             SearchResultEntryRest resultEntry = new SearchResultEntryRest();
             resultEntry.setProjection(projection);
@@ -96,6 +98,13 @@ public class DiscoverResultConverter {
         }
     }
 
+    private void prefetchIndexedObjects(final DiscoverResult searchResult, final Projection projection) {
+        List<Object> indexedObjects = CollectionUtils.emptyIfNull(searchResult.getIndexableObjects()).stream()
+            .map(IndexableObject::getIndexedObject)
+            .collect(Collectors.toList());
+        converter.prefetch(indexedObjects, projection);
+    }
+
     private RestAddressableModel convertDSpaceObject(final IndexableObject indexableObject,
                                                      final Projection projection) {
         return converter.toRest(indexableObject.getIndexedObject(), projection);
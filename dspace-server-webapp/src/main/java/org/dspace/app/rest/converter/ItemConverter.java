@@ -7,16 +7,20 @@
  */
 package org.dspace.app.rest.converter;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.MetadataValueList;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
 import org.dspace.content.security.service.MetadataSecurityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.discovery.IndexableObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -49,6 +53,27 @@ public class ItemConverter
         return item;
     }
 
+    /**
+     * Loads the handles of all the given items with few queries, so that they
+     * are not loaded item by item during the conversion. The bundles with their
+     * bitstreams, and the owning collection, are loaded too only if the given
+     * projection may embed them.
+     */
+    @Override
+    public void prefetch(List<Item> items, Projection projection) {
+        Context context = ContextUtil.obtainCurrentRequestContext();
+        if (context == null) {
+            return;
+        }
+        boolean bundles = projection.mayEmbed(ItemRest.BUNDLES) || projection.mayEmbed(ItemRest.THUMBNAIL);
+        boolean owningCollection = projection.mayEmbed(ItemRest.OWNING_COLLECTION);
+        try {
+            itemService.prefetch(context, items, bundles, owningCollection);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
     /**
      * Retrieves the metadata list filtered according to the hidden metadata configuration
      * When the context is null, it will return the metadatalist as for an anonymous user
@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.curate.DatabaseTaskQueue;
+import org.dspace.curate.TaskQueue;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that exposes the depth of the
+ * curation task queues, if they are kept in the database by the
+ * {@link DatabaseTaskQueue}.
+ */
+public class CurationTaskQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        TaskQueue taskQueue = (TaskQueue) CoreServiceFactory.getInstance().getPluginService()
+            .getSinglePlugin(TaskQueue.class);
+
+        if (taskQueue instanceof DatabaseTaskQueue) {
+            builder.up().withDetails(((DatabaseTaskQueue) taskQueue).getQueueDepths());
+        } else {
+            builder.unknown().withDetail("taskQueue", taskQueue != null ? taskQueue.getClass().getName() : "none");
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.handle.HandleResolutionCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that exposes the hit rate and the
+ * load time of the {@link HandleResolutionCache}.
+ */
+public class HandleCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private HandleResolutionCache handleResolutionCache;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        builder.up().withDetails(handleResolutionCache.getStatistics());
+    }
+
+}
@@ -72,6 +72,12 @@ public class CompositeProjection extends AbstractProjection {
         return false;
     }
 
+    @Override
+    public boolean mayEmbed(String rel) {
+        return projections.stream()
+                          .anyMatch(prj -> prj.mayEmbed(rel));
+    }
+
     @Override
     public boolean allowLinking(HALResource halResource, LinkRest linkRest) {
         for (Projection projection : projections) {
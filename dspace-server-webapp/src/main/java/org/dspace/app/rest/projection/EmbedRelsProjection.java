@@ -7,6 +7,7 @@
  */
 package org.dspace.app.rest.projection;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -92,6 +93,13 @@ public class EmbedRelsProjection extends AbstractProjection {
         return false;
     }
 
+    @Override
+    public boolean mayEmbed(String rel) {
+        // the rel can be embedded directly (e.g. thumbnail) or along a path (e.g. indexableObject/thumbnail)
+        return embedRels.stream()
+                        .anyMatch(embedRel -> Arrays.asList(StringUtils.split(embedRel, "/")).contains(rel));
+    }
+
     @Override
     public PageRequest getPagingOptions(String rel, HALResource<? extends RestAddressableModel> resource,
                                         Link... oldLinks) {
@@ -34,6 +34,11 @@ public class FullProjection extends AbstractProjection {
         return halResource.getContent().getEmbedLevel() < maxEmbed;
     }
 
+    @Override
+    public boolean mayEmbed(String rel) {
+        return true;
+    }
+
     @Override
     public boolean allowLinking(HALResource halResource, LinkRest linkRest) {
         return true;
@@ -138,6 +138,19 @@ public interface Projection {
      */
     boolean allowLinking(HALResource halResource, LinkRest linkRest);
 
+    /**
+     * Tells whether this projection may embed, at any level, the subresources with the given rel. It lets the
+     * converters skip loading in advance the data of the subresources that are never embedded.
+     *
+     * The default implementation returns {@code true}, since the projection may embed anything.
+     *
+     * @param rel the name of the subresource, as in the {@link LinkRest} annotation.
+     * @return false if the subresources with the given rel are never embedded, true otherwise.
+     */
+    default boolean mayEmbed(String rel) {
+        return true;
+    }
+
     /**
      * This method will return the {@link PageRequest} object for a specific given rel
      * @param rel   The rel for which the {@link PageRequest} object will be made
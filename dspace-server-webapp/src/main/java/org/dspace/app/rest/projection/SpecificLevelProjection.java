@@ -62,6 +62,11 @@ public class SpecificLevelProjection extends AbstractProjection {
         return halResource.getContent().getEmbedLevel() < embedLevelDepth;
     }
 
+    @Override
+    public boolean mayEmbed(String rel) {
+        return true;
+    }
+
     @Override
     public boolean allowLinking(HALResource halResource, LinkRest linkRest) {
         return true;
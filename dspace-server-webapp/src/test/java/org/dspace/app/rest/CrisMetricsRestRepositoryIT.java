@@ -552,6 +552,88 @@ public class CrisMetricsRestRepositoryIT extends AbstractControllerIntegrationTe
                 .andExpect(jsonPath("$.page.totalElements", is(8)));
     }
 
+    @Test
+    public void findLinkedEntitiesMetricsWithBulkUpdateTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                .withEntityType("Publication")
+                .withName("Collection 1").build();
+
+        Item itemA = ItemBuilder.createItem(context, col1)
+                .withDoiIdentifier("10.1016/j.gene.2009.04.019")
+                .withTitle("Title item A").build();
+
+        Calendar calendar = Calendar.getInstance();
+
+        calendar.set(Calendar.YEAR, 2019);
+        calendar.set(Calendar.MONTH, 9);
+        calendar.set(Calendar.DATE, 31);
+
+        Date date = calendar.getTime();
+
+        String remark = "{\"identifier\":\"2-s2.0-67349162500\", \"detailUrl\":\"https://www.scopus.com/inward/citedby.uri?"
+                + "partnerIDu003dHzOxMe3bu0026scpu003d67349162500u0026originu003dinward"
+                + "\",\"pmid\":\"19406218\",\"doi\":\"10.1016/j.gene.2009.04.019\"}";
+
+        CrisMetrics metric = CrisMetricsBuilder.createCrisMetrics(context, itemA)
+                .withAcquisitionDate(date)
+                .withMetricType("ScopusCitation")
+                .withMetricCount(4)
+                .withRemark(remark)
+                .withDeltaPeriod1(3.0)
+                .withDeltaPeriod2(12.0)
+                .withRank(50.0)
+                .isLast(true).build();
+
+        CrisMetrics metric2 = CrisMetricsBuilder.createCrisMetrics(context, itemA)
+                .withAcquisitionDate(date)
+                .withMetricType("view")
+                .withMetricCount(4501)
+                .isLast(true).build();
+
+        CrisMetrics metric3 = CrisMetricsBuilder.createCrisMetrics(context, itemA)
+                .withAcquisitionDate(date)
+                .withMetricType("wosCitation")
+                // without a metric count "null"
+                .isLast(true).build();
+
+        context.restoreAuthSystemState();
+
+        String[] args = new String[]{"update-metrics-in-solr", "-b"};
+
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        int status = handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+
+        assertEquals(0, status);
+        String remarkGoogleScholar = "scholar.google.com/scholar?q=Title+item+A";
+        String remarkAltmetric = "10.1016/j.gene.2009.04.019";
+        String remarkPlumX = "10.1016/j.gene.2009.04.019";
+        String remarkEmbeddedDownload = "http://localhost:4000/statistics/items/" + itemA.getID().toString();
+        String tokenAdmin = getAuthToken(admin.getEmail(), password);
+        String remarkDimensions = "10.1016/j.gene.2009.04.019";
+        getClient(tokenAdmin).perform(get("/api/core/items/" + itemA.getID() + "/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.metrics", Matchers.containsInAnyOrder(
+                        CrisMetricsMatcher.matchCrisMetrics(metric),
+                        CrisMetricsMatcher.matchCrisMetrics(metric2),
+                        CrisMetricsMatcher.matchCrisMetrics(metric3),
+                        CrisMetricsMatcher.matchCrisDynamicMetrics(itemA.getID(), "google-scholar",remarkGoogleScholar),
+                        CrisMetricsMatcher.matchCrisDynamicMetrics(itemA.getID(), "altmetric", remarkAltmetric),
+                        CrisMetricsMatcher.matchCrisDynamicMetrics(itemA.getID(), "embedded-download",
+                                                                                   remarkEmbeddedDownload),
+                        CrisMetricsMatcher.matchCrisDynamicMetrics(itemA.getID(), "plumX", remarkPlumX),
+                        CrisMetricsMatcher.matchCrisDynamicMetrics(itemA.getID(), "dimensions",
+                            remarkDimensions)
+                )))
+                .andExpect(jsonPath("$._links.self.href",
+                        Matchers.containsString("api/core/items/" + itemA.getID() + "/metrics")))
+                .andExpect(jsonPath("$.page.totalElements", is(8)));
+    }
+
     @Test
     public void tryToDeletItemTest() throws Exception {
         context.turnOffAuthorisationSystem();
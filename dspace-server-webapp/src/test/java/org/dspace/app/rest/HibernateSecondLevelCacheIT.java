@@ -0,0 +1,126 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+
+import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.BitstreamFormat;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.EntityType;
+import org.dspace.content.Item;
+import org.dspace.utils.DSpace;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests that count the queries executed to retrieve an item page,
+ * with the registries cached in the Hibernate second-level cache or not.
+ */
+public class HibernateSecondLevelCacheIT extends AbstractControllerIntegrationTest {
+
+    private static final Logger log = LogManager.getLogger(HibernateSecondLevelCacheIT.class);
+
+    private SessionFactory sessionFactory;
+
+    private boolean statisticsEnabled;
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        sessionFactory = new DSpace().getServiceManager().getServiceByName("sessionFactory", SessionFactory.class);
+        statisticsEnabled = sessionFactory.getStatistics().isStatisticsEnabled();
+        sessionFactory.getStatistics().setStatisticsEnabled(true);
+
+        context.turnOffAuthorisationSystem();
+
+        EntityType publicationType = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+
+        Community community = CommunityBuilder.createCommunity(context)
+            .withName("Parent community")
+            .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+            .withName("Collection")
+            .withEntityType(publicationType.getLabel())
+            .build();
+
+        item = ItemBuilder.createItem(context, collection)
+            .withTitle("Publication")
+            .withIssueDate("2021-01-01")
+            .build();
+
+        for (int i = 0; i < 5; i++) {
+            try (InputStream is = IOUtils.toInputStream("Content " + i, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                    .withName("Bitstream " + i + ".txt")
+                    .withMimeType("text/plain")
+                    .build();
+            }
+        }
+
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void restoreStatistics() {
+        sessionFactory.getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    public void testItemPageQueriesWithWarmCache() throws Exception {
+        String token = getAuthToken(admin.getEmail(), password);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+        getItemPage(token);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        getItemPage(token);
+        long warmStatements = statistics.getPrepareStatementCount();
+        long secondLevelCacheHits = statistics.getSecondLevelCacheHitCount();
+        long bitstreamFormatHits = statistics.getEntityStatistics(BitstreamFormat.class.getName()).getCacheHitCount();
+        long collectionHits = statistics.getEntityStatistics(Collection.class.getName()).getCacheHitCount();
+
+        log.info("Queries per item page: {} with empty caches, {} with warm caches", coldStatements, warmStatements);
+
+        assertThat(warmStatements, lessThan(coldStatements));
+        assertThat(secondLevelCacheHits, greaterThan(0L));
+        // the formats of the embedded bitstreams and the owning collection are read from the cache
+        assertThat(bitstreamFormatHits, greaterThan(0L));
+        assertThat(collectionHits, greaterThan(0L));
+    }
+
+    private void getItemPage(String token) throws Exception {
+        getClient(token).perform(get("/api/core/items/" + item.getID())
+            .param("embed", "bundles/bitstreams/format", "owningCollection"))
+            .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+
+import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests that compare the queries executed by the search endpoint
+ * with and without the batch prefetching of the items of the returned page,
+ * for pages of 20, 50 and 100 items, and verify that the responses are the
+ * same.
+ */
+public class SearchResultPrefetchIT extends AbstractControllerIntegrationTest {
+
+    private static final Logger log = LogManager.getLogger(SearchResultPrefetchIT.class);
+
+    private static final String PREFETCH_PROPERTY = "rest.converter.batch-prefetch.enabled";
+
+    private static final int ITEMS = 100;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private SessionFactory sessionFactory;
+
+    private boolean statisticsEnabled;
+
+    @Before
+    public void setup() throws Exception {
+        sessionFactory = new DSpace().getServiceManager().getServiceByName("sessionFactory", SessionFactory.class);
+        statisticsEnabled = sessionFactory.getStatistics().isStatisticsEnabled();
+        sessionFactory.getStatistics().setStatisticsEnabled(true);
+
+        context.turnOffAuthorisationSystem();
+
+        Community community = CommunityBuilder.createCommunity(context)
+            .withName("Parent community")
+            .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+            .withName("Collection")
+            .build();
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = ItemBuilder.createItem(context, collection)
+                .withTitle("Publication " + i)
+                .withIssueDate("2021-01-01")
+                .withAuthor("Smith, John")
+                .withSubject("prefetch")
+                .build();
+
+            try (InputStream is = IOUtils.toInputStream("Content of the publication " + i, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                    .withName("Bitstream " + i)
+                    .withMimeType("text/plain")
+                    .build();
+            }
+        }
+
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void restoreStatistics() {
+        sessionFactory.getStatistics().setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Test
+    public void testSearchPagesWithAndWithoutPrefetch() throws Exception {
+        String token = getAuthToken(admin.getEmail(), password);
+
+        for (int size : new int[] { 20, 50, 100 }) {
+
+            configurationService.setProperty(PREFETCH_PROPERTY, false);
+            search(token, size);
+            String responseWithoutPrefetch = search(token, size);
+            long statementsWithoutPrefetch = countStatements(token, size);
+
+            configurationService.setProperty(PREFETCH_PROPERTY, true);
+            String responseWithPrefetch = search(token, size);
+            long statementsWithPrefetch = countStatements(token, size);
+
+            log.info("Search page of {} items: {} queries without prefetch, {} queries with prefetch", size,
+                statementsWithoutPrefetch, statementsWithPrefetch);
+
+            assertThat(responseWithPrefetch, is(responseWithoutPrefetch));
+            assertThat(statementsWithPrefetch, lessThan(statementsWithoutPrefetch));
+        }
+    }
+
+    private long countStatements(String token, int size) throws Exception {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        search(token, size);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String search(String token, int size) throws Exception {
+        return getClient(token).perform(get("/api/discover/search/objects")
+            .param("dsoType", "ITEM")
+            .param("sort", "dc.title,ASC")
+            .param("size", String.valueOf(size))
+            .param("embed", "thumbnail"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(ITEMS)))
+            .andReturn().getResponse().getContentAsString();
+    }
+
+}
@@ -353,6 +353,111 @@ public class UpdateViewAndDownloadMetricsIT extends AbstractControllerIntegratio
     }
 
 
+    //test with previous week and month views and downloads in aggregate mode
+    @Test
+    public void storeCrisMetricsInAggregateModeForItemWithViewAndDownloadsWithPreviousWeekAndMonthValues()
+        throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        parentCommunity = CommunityBuilder.createSubCommunity(context, community).build();
+        Collection col1 = CollectionBuilder.createCollection(context, community).build();
+        Item itemVisited = ItemBuilder.createItem(context, col1)
+                                      .withDoiIdentifier("10.1016/j.gene.2009.04.019")
+                                      .withTitle("Title item A")
+                                      .inArchive().build();
+        Bitstream bitstream_for_item = BitstreamBuilder.createBitstream(
+            context, itemVisited, toInputStream("test", UTF_8))
+                                                       .withName("bitstream1").build();
+        Calendar cal = Calendar.getInstance();
+        cal.add(Calendar.MONTH, -1);
+        // metrics week and a month before for views
+        CrisMetrics crisMetrics_previous_month_views = CrisMetricsBuilder.createCrisMetrics(context, itemVisited)
+                                                                         .withMetricType("view")
+                                                                         .withMetricCount(1)
+                                                                         .withAcquisitionDate(cal.getTime())
+                                                                         .isLast(false).build();
+        CrisMetrics crisMetrics_previous_week_views = CrisMetricsBuilder.createCrisMetrics(context, itemVisited)
+                                                                        .withMetricType("view")
+                                                                        .withMetricCount(1)
+                                                                        .withAcquisitionDate(
+                                                                            DateUtils.addDays(new Date(), -7))
+                                                                        .isLast(true).build();
+        // metrics week and a month before for downloads
+        CrisMetrics crisMetrics_previous_month_downloads = CrisMetricsBuilder.createCrisMetrics(context, itemVisited)
+                                                                             .withMetricType("download")
+                                                                             .withMetricCount(2)
+                                                                             .withAcquisitionDate(cal.getTime())
+                                                                             .isLast(false).build();
+        CrisMetrics crisMetrics_previous_week_downloads = CrisMetricsBuilder.createCrisMetrics(context, itemVisited)
+                                                                            .withMetricType("download")
+                                                                            .withMetricCount(1)
+                                                                            .withAcquisitionDate(DateUtils.addDays(
+                                                                                new Date(), -7))
+                                                                            .isLast(true).build();
+        context.restoreAuthSystemState();
+        // create view events to store data in statistics
+        // visit the publication
+        ViewEventRest viewEventRestItem = new ViewEventRest();
+        viewEventRestItem.setTargetType("item");
+        viewEventRestItem.setTargetId(itemVisited.getID());
+        // visit the publication bitstream
+        ViewEventRest viewEventRestBitstream = new ViewEventRest();
+        viewEventRestBitstream.setTargetType("bitstream");
+        viewEventRestBitstream.setTargetId(bitstream_for_item.getID());
+        ObjectMapper mapper = new ObjectMapper();
+        // add requests for view events
+        getClient().perform(post("/api/statistics/viewevents")
+                                .content(mapper.writeValueAsBytes(viewEventRestItem))
+                                .contentType(contentType))
+                   .andExpect(status().isCreated());
+
+        getClient().perform(post("/api/statistics/viewevents")
+                                .content(mapper.writeValueAsBytes(viewEventRestBitstream))
+                                .contentType(contentType))
+                   .andExpect(status().isCreated());
+
+        getClient().perform(post("/api/statistics/viewevents")
+                                .content(mapper.writeValueAsBytes(viewEventRestBitstream))
+                                .contentType(contentType))
+                   .andExpect(status().isCreated());
+        this.statisticsEventListener.addConsumer(
+            throwingConsumerWrapper((event) -> {
+                String[] args = new String[] {"store-metrics", "-a"};
+                TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+                int status = handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+                assertEquals(0, status);
+                CrisMetrics metrics_downloads = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "download", itemVisited.getID());
+                CrisMetrics metrics_views = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "view", itemVisited.getID());
+                // find previous metrics
+                CrisMetrics old_metric_views_month =
+                    crisMetriscService.find(context, crisMetrics_previous_week_views.getID());
+                CrisMetrics old_metric_views_week =
+                    crisMetriscService.find(context, crisMetrics_previous_month_views.getID());
+                CrisMetrics old_metric_downloads_month = crisMetriscService.find(context,
+                    crisMetrics_previous_month_downloads.getID());
+                CrisMetrics old_metric_downloads_week = crisMetriscService.find(context,
+                    crisMetrics_previous_week_downloads.getID());
+                assertEquals("view", metrics_views.getMetricType());
+                assertEquals("download", metrics_downloads.getMetricType());
+                assertEquals(2, metrics_downloads.getMetricCount(), 0);
+                assertEquals(1, metrics_views.getMetricCount(), 0);
+                assertTrue(metrics_views.getLast());
+                assertTrue(metrics_downloads.getLast());
+                assertTrue(metrics_views.getDeltaPeriod1() == 0);
+                assertTrue(metrics_views.getDeltaPeriod2() == 0);
+                assertTrue(metrics_downloads.getDeltaPeriod1() == 1);
+                assertTrue(metrics_downloads.getDeltaPeriod2() == 0);
+                // all last values of previous must be false
+                assertFalse(old_metric_views_month.getLast());
+                assertFalse(old_metric_views_week.getLast());
+                assertFalse(old_metric_downloads_month.getLast());
+                assertFalse(old_metric_downloads_week.getLast());
+            }));
+    }
+
+
     //test with previous week and month views and downloads for community and items
     @Test
     public void storeCrisMetricsForCommunityAndItemsWithViewWithPreviousWeekAndMonthValues()